@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks, recording the results as JSON.
+ * <p>
+ * Arguments are passed through to JMH. Unless a result format is given 
+ * with {@code -rf}, results are written as JSON to 
+ * {@code jmh-result-<client version>.json} in the working directory, so 
+ * runs against different releases can be kept side by side and compared.
+ * Pass {@code -rff} to choose the file.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public final class Benchmarks
+{
+    private Benchmarks() {}
+    
+    public static void main(String[] args) throws Exception
+    {
+        List<String> jmhArgs = new ArrayList<String>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf"))
+        {
+            jmhArgs.add("-rf");
+            jmhArgs.add("json");
+            if (!jmhArgs.contains("-rff"))
+            {
+                jmhArgs.add("-rff");
+                jmhArgs.add("jmh-result-" + clientVersion() + ".json");
+            }
+        }
+        Main.main(jmhArgs.toArray(new String[jmhArgs.size()]));
+    }
+    
+    private static String clientVersion() throws Exception
+    {
+        Properties props = new Properties();
+        InputStream in = Benchmarks.class.getResourceAsStream("/benchmarks.properties");
+        try
+        {
+            props.load(in);
+        }
+        finally
+        {
+            in.close();
+        }
+        return props.getProperty("riak.client.version");
+    }
+}
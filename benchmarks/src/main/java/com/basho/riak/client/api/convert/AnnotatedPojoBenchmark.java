@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.convert;
+
+import com.basho.riak.client.api.annotations.RiakBucketName;
+import com.basho.riak.client.api.annotations.RiakContentType;
+import com.basho.riak.client.api.annotations.RiakIndex;
+import com.basho.riak.client.api.annotations.RiakKey;
+import com.basho.riak.client.api.annotations.RiakLastModified;
+import com.basho.riak.client.api.annotations.RiakTombstone;
+import com.basho.riak.client.api.annotations.RiakUsermeta;
+import com.basho.riak.client.api.annotations.RiakVClock;
+import com.basho.riak.client.api.annotations.RiakVTag;
+import com.basho.riak.client.api.cap.BasicVClock;
+import com.basho.riak.client.api.cap.VClock;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Converter#fromDomain(Object, Namespace, BinaryValue)} and
+ * {@link Converter#toDomain(RiakObject, Location)} on a POJO using most of the 
+ * Riak annotations, via both fields and methods.
+ * <p>
+ * {@code json} is the default {@link JSONConverter}. {@code ormOnly} uses a
+ * converter whose payload conversion does nothing, leaving only the cost of 
+ * reading and writing the annotated members.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotatedPojoBenchmark
+{
+    @Param({"json", "ormOnly"})
+    public String converterType;
+    
+    private final Namespace namespace = new Namespace("bucket");
+    private final Location location = new Location(namespace, "key");
+    private Converter<Pojo> converter;
+    private Pojo pojo;
+    private RiakObject riakObject;
+    
+    @Setup
+    public void setUp()
+    {
+        if ("json".equals(converterType))
+        {
+            converter = ConverterFactory.getInstance().getConverter(Pojo.class);
+        }
+        else
+        {
+            converter = new OrmOnlyConverter();
+        }
+        
+        pojo = new Pojo();
+        pojo.key = "key";
+        pojo.bucketName = "bucket";
+        pojo.vclock = new BasicVClock(new byte[] { 1, 2, 3, 4 });
+        pojo.email = "user@example.com";
+        pojo.age = 42L;
+        pojo.department = "engineering";
+        pojo.setRegion("emea");
+        pojo.name = "A User";
+        pojo.description = "Someone who stores a lot of objects";
+        
+        riakObject = converter.fromDomain(pojo, namespace, null).getRiakObject();
+        riakObject.setVTag("vtag").setLastModified(1234567890L);
+    }
+    
+    @Benchmark
+    public Object fromDomain()
+    {
+        return converter.fromDomain(pojo, namespace, null);
+    }
+    
+    @Benchmark
+    public Object toDomain()
+    {
+        return converter.toDomain(riakObject, location);
+    }
+    
+    public static class Pojo
+    {
+        @RiakKey
+        public String key;
+        @RiakBucketName
+        public String bucketName;
+        @RiakVClock
+        public VClock vclock;
+        @RiakContentType
+        public String contentType;
+        @RiakLastModified
+        public Long lastModified;
+        @RiakVTag
+        public String vtag;
+        @RiakTombstone
+        public Boolean tombstone;
+        @RiakIndex(name = "email")
+        public String email;
+        @RiakIndex(name = "age")
+        public Long age;
+        @RiakUsermeta(key = "department")
+        public String department;
+        private String region;
+        
+        public String name;
+        public String description;
+        
+        @RiakUsermeta(key = "region")
+        public String getRegion()
+        {
+            return region;
+        }
+        
+        @RiakUsermeta(key = "region")
+        public void setRegion(String region)
+        {
+            this.region = region;
+        }
+    }
+    
+    private static class OrmOnlyConverter extends Converter<Pojo>
+    {
+        private static final BinaryValue CONTENT = BinaryValue.create("{}");
+        
+        OrmOnlyConverter()
+        {
+            super(Pojo.class);
+        }
+        
+        @Override
+        public Pojo toDomain(BinaryValue value, String contentType)
+        {
+            return new Pojo();
+        }
+
+        @Override
+        public ContentAndType fromDomain(Pojo domainObject)
+        {
+            return new ContentAndType(CONTENT, "application/json");
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.convert;
+
+import com.basho.riak.client.core.util.BinaryValue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting domain objects to and from JSON.
+ * <p>
+ * {@code uncached} reproduces what happened before converters were cached:
+ * a new {@link JSONConverter} per conversion, reading and writing through 
+ * the shared ObjectMapper so the type is resolved on every call.
+ * {@code cached} uses the converter from the {@link ConverterFactory}, with
+ * its prebuilt ObjectReader and ObjectWriter. Each runs over a small, 
+ * medium and large POJO.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONConverterBenchmark
+{
+    @Param({"uncached", "cached"})
+    public String converter;
+    
+    @Param({"small", "medium", "large"})
+    public String size;
+    
+    private Class<?> type;
+    private Object pojo;
+    private BinaryValue json;
+    private boolean cached;
+    
+    @Setup
+    public void setUp() throws Exception
+    {
+        if ("small".equals(size))
+        {
+            type = Small.class;
+            pojo = new Small(0);
+        }
+        else if ("medium".equals(size))
+        {
+            type = Medium.class;
+            pojo = new Medium(0);
+        }
+        else
+        {
+            type = Large.class;
+            pojo = Large.create();
+        }
+        json = BinaryValue.unsafeCreate(JSONConverter.getObjectMapper().writeValueAsBytes(pojo));
+        cached = "cached".equals(converter);
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Object toDomain() throws Exception
+    {
+        if (cached)
+        {
+            Converter<Object> c = ConverterFactory.getInstance().getConverter(type);
+            return c.toDomain(json, "application/json");
+        }
+        new JSONConverter<Object>(type);
+        return JSONConverter.getObjectMapper().readValue(json.unsafeGetValue(), type);
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Object fromDomain() throws Exception
+    {
+        if (cached)
+        {
+            Converter<Object> c = ConverterFactory.getInstance().getConverter(type);
+            return c.fromDomain(pojo);
+        }
+        new JSONConverter<Object>(type);
+        return JSONConverter.getObjectMapper().writeValueAsBytes(pojo);
+    }
+    
+    public static class Small
+    {
+        public int id;
+        public String name;
+        public boolean active;
+        
+        public Small() {}
+        
+        Small(int id)
+        {
+            this.id = id;
+            this.name = "user" + id;
+            this.active = id % 2 == 0;
+        }
+    }
+    
+    public static class Medium
+    {
+        public long id;
+        public String name;
+        public String email;
+        public String address;
+        public double balance;
+        public List<String> tags = new ArrayList<String>();
+        public Map<String, String> attributes = new HashMap<String, String>();
+        public Small owner;
+        
+        public Medium() {}
+        
+        Medium(int id)
+        {
+            this.id = id;
+            this.name = "account" + id;
+            this.email = "account" + id + "@example.com";
+            this.address = id + " Main Street, Springfield";
+            this.balance = id * 100.5;
+            for (int i = 0; i < 10; i++)
+            {
+                tags.add("tag" + i);
+                attributes.put("key" + i, "value" + i);
+            }
+            this.owner = new Small(id);
+        }
+    }
+    
+    public static class Large
+    {
+        public String description;
+        public List<Medium> items = new ArrayList<Medium>();
+        
+        public Large() {}
+        
+        static Large create()
+        {
+            Large large = new Large();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 100; i++)
+            {
+                sb.append("lorem ipsum ");
+            }
+            large.description = sb.toString();
+            for (int i = 0; i < 50; i++)
+            {
+                large.items.add(new Medium(i));
+            }
+            return large;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import com.basho.riak.client.core.operations.PingOperation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures completing a {@link FutureOperation} and dispatching to its 
+ * listeners.
+ * <p>
+ * {@code complete} registers {@code listeners} listeners on a new operation
+ * then sets its response, which fires them. {@code addAfterComplete} adds
+ * the listeners to an operation that has already completed, so each is 
+ * called on the adding thread.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureOperationBenchmark
+{
+    private static final byte MSG_PING_RESP = 2;
+    
+    @Param({"0", "1", "4", "16"})
+    public int listeners;
+    
+    private RiakFutureListener<Void, Void>[] listenerArray;
+    private Blackhole blackhole;
+    
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(Blackhole blackhole)
+    {
+        this.blackhole = blackhole;
+        // Distinct instances; the operation keeps its listeners in a set.
+        listenerArray = new RiakFutureListener[listeners];
+        for (int i = 0; i < listeners; i++)
+        {
+            listenerArray[i] = new RiakFutureListener<Void, Void>()
+            {
+                @Override
+                public void handle(RiakFuture<Void, Void> f)
+                {
+                    FutureOperationBenchmark.this.blackhole.consume(f);
+                }
+            };
+        }
+    }
+    
+    @Benchmark
+    public Object complete()
+    {
+        PingOperation operation = new PingOperation();
+        for (RiakFutureListener<Void, Void> listener : listenerArray)
+        {
+            operation.addListener(listener);
+        }
+        operation.setResponse(new RiakMessage(MSG_PING_RESP, new byte[0]));
+        return operation;
+    }
+    
+    @Benchmark
+    public Object addAfterComplete()
+    {
+        PingOperation operation = new PingOperation();
+        operation.setResponse(new RiakMessage(MSG_PING_RESP, new byte[0]));
+        for (RiakFutureListener<Void, Void> listener : listenerArray)
+        {
+            operation.addListener(listener);
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import com.basho.riak.client.core.fake.FakeRiakServer;
+import com.basho.riak.client.core.operations.PingOperation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures routing operations through a {@link NodeManager} under contention.
+ * <p>
+ * Each node is a real {@link RiakNode} connected to its own 
+ * {@link FakeRiakServer}, so every operation is accepted by the first node
+ * tried and completes. Each call pings through the NodeManager and waits
+ * for the reply. The loopback round trip is the same for every manager, so 
+ * differences between them come from node selection as the number of 
+ * threads grows. {@code locking} is the ReentrantReadWriteLock based 
+ * manager from before DefaultNodeManager became lock-free.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeManagerBenchmark
+{
+    @Param({"default", "locking", "latencyAware"})
+    public String nodeManagerType;
+    
+    @Param({"4"})
+    public int numNodes;
+    
+    private NodeManager nodeManager;
+    private final List<FakeRiakServer> servers = new ArrayList<FakeRiakServer>();
+    private final List<RiakNode> nodes = new ArrayList<RiakNode>();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        for (int i = 0; i < numNodes; i++)
+        {
+            FakeRiakServer server = new FakeRiakServer.Builder()
+                                        .withThreads(1)
+                                        .build()
+                                        .start();
+            servers.add(server);
+            RiakNode node = new RiakNode.Builder()
+                                .withRemoteAddress("127.0.0.1")
+                                .withRemotePort(server.getPort())
+                                .withMinConnections(1)
+                                .build();
+            node.start();
+            nodes.add(node);
+        }
+        
+        if ("latencyAware".equals(nodeManagerType))
+        {
+            nodeManager = new LatencyAwareNodeManager();
+        }
+        else if ("locking".equals(nodeManagerType))
+        {
+            nodeManager = new LockingNodeManager();
+        }
+        else
+        {
+            nodeManager = new DefaultNodeManager();
+        }
+        nodeManager.init(new ArrayList<RiakNode>(nodes));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        for (RiakNode node : nodes)
+        {
+            node.shutdown().get();
+        }
+        for (FakeRiakServer server : servers)
+        {
+            server.shutdown();
+        }
+    }
+    
+    private Object executeOnNode() throws Exception
+    {
+        PingOperation operation = new PingOperation();
+        nodeManager.executeOnNode(operation, null);
+        return operation.get();
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Object threads01() throws Exception
+    {
+        return executeOnNode();
+    }
+    
+    @Benchmark
+    @Threads(2)
+    public Object threads02() throws Exception
+    {
+        return executeOnNode();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Object threads04() throws Exception
+    {
+        return executeOnNode();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Object threads08() throws Exception
+    {
+        return executeOnNode();
+    }
+    
+    @Benchmark
+    @Threads(16)
+    public Object threads16() throws Exception
+    {
+        return executeOnNode();
+    }
+    
+    @Benchmark
+    @Threads(32)
+    public Object threads32() throws Exception
+    {
+        return executeOnNode();
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public Object threads64() throws Exception
+    {
+        return executeOnNode();
+    }
+}
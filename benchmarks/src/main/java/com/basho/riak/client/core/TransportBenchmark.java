@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import com.basho.riak.client.core.netty.RiakMessageCodec;
+import com.basho.riak.client.core.operations.PingOperation;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures round trips through each {@link Transport} against a loopback
+ * stand-in for Riak.
+ * <p>
+ * The stand-in is a Netty server on 127.0.0.1 that answers every 
+ * RpbPingReq with an RpbPingResp, so what's measured is the client's own
+ * path: encoding, the socket, the event loop and completing the future.
+ * EPOLL fails its trials on platforms where the native transport isn't
+ * available.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportBenchmark
+{
+    @Param({"NIO", "EPOLL"})
+    public String transport;
+    
+    @Param({"false", "true"})
+    public boolean pooledAllocator;
+    
+    private EventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private RiakCluster cluster;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        serverGroup = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap()
+            .group(serverGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>()
+            {
+                @Override
+                protected void initChannel(SocketChannel ch)
+                {
+                    ch.pipeline().addLast(new RiakMessageCodec(), new PingResponder());
+                }
+            })
+            .bind(new InetSocketAddress("127.0.0.1", 0))
+            .sync()
+            .channel();
+        
+        int port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+        RiakNode node = new RiakNode.Builder()
+                            .withRemoteAddress("127.0.0.1")
+                            .withRemotePort(port)
+                            .withMinConnections(8)
+                            .withMaxConnections(8)
+                            .withBlockOnMaxConnections(true)
+                            .build();
+        cluster = new RiakCluster.Builder(node)
+                    .withTransport(Transport.valueOf(transport))
+                    .withEventLoopThreads(1)
+                    .withTcpNoDelay(true)
+                    .withPooledAllocator(pooledAllocator)
+                    .build();
+        cluster.start();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        if (cluster != null)
+        {
+            cluster.shutdown().get();
+        }
+        serverChannel.close().sync();
+        serverGroup.shutdownGracefully().sync();
+    }
+    
+    private Object ping() throws Exception
+    {
+        PingOperation operation = new PingOperation();
+        cluster.execute(operation);
+        return operation.get();
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Object threads1() throws Exception
+    {
+        return ping();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Object threads8() throws Exception
+    {
+        return ping();
+    }
+    
+    private static class PingResponder extends SimpleChannelInboundHandler<RiakMessage>
+    {
+        // RiakMessageCodes is relocated in the shaded client jar.
+        private static final byte MSG_PING_RESP = 2;
+        private static final byte[] EMPTY = new byte[0];
+        
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, RiakMessage msg)
+        {
+            // SimpleChannelInboundHandler releases msg
+            ctx.writeAndFlush(new RiakMessage(MSG_PING_RESP, EMPTY));
+        }
+    }
+}
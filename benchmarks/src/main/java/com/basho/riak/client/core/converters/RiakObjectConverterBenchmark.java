@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.converters;
+
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.query.indexes.StringBinIndex;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting a {@link RiakObject} to an RpbContent, as is done
+ * for every store.
+ * <p>
+ * The object has a 1KB value and {@code indexes} / {@code usermeta} 
+ * entries. The opposite direction, for every sibling of a fetch, is 
+ * measured by the OperationDecodeBenchmark.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RiakObjectConverterBenchmark
+{
+    @Param({"0", "5", "20"})
+    public int indexes;
+    
+    @Param({"0", "5", "20"})
+    public int usermeta;
+    
+    private RiakObject ro;
+    
+    @Setup
+    public void setUp()
+    {
+        byte[] value = new byte[1024];
+        for (int i = 0; i < value.length; i++)
+        {
+            value[i] = (byte) ('a' + i % 26);
+        }
+        ro = new RiakObject()
+                .setContentType("application/json")
+                .setValue(BinaryValue.create(value));
+        for (int i = 0; i < indexes; i++)
+        {
+            ro.getIndexes().getIndex(StringBinIndex.named("index" + i)).add("term" + i);
+        }
+        for (int i = 0; i < usermeta; i++)
+        {
+            ro.getUserMeta().put("meta" + i, "value" + i);
+        }
+    }
+    
+    @Benchmark
+    public Object toContent()
+    {
+        return RiakObjectConverter.convert(ro);
+    }
+    
+    @Benchmark
+    public byte[] toContentBytes()
+    {
+        return RiakObjectConverter.convert(ro).toByteArray();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.netty;
+
+import com.basho.riak.client.core.RiakMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures framing messages with the {@link RiakMessageCodec}.
+ * <p>
+ * {@code encode} writes a message backed by a byte[] into a pooled buffer,
+ * as happens for every request. {@code decode} reads one complete frame 
+ * and releases the resulting message, as happens for every response. The 
+ * codec is called directly, without a pipeline, so only its own cost is 
+ * measured.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RiakMessageCodecBenchmark
+{
+    private static final byte MSG_GET_RESP = 10;
+    
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+    
+    @Param({"heap", "direct"})
+    public String bufferType;
+    
+    private final RiakMessageCodec codec = new RiakMessageCodec();
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private final List<Object> decoded = new ArrayList<Object>(1);
+    private RiakMessage message;
+    private ByteBuf frame;
+    
+    @Setup
+    public void setUp()
+    {
+        byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < payload.length; i++)
+        {
+            payload[i] = (byte) i;
+        }
+        message = new RiakMessage(MSG_GET_RESP, payload);
+        
+        frame = "direct".equals(bufferType) 
+            ? Unpooled.directBuffer(payloadSize + 5) 
+            : Unpooled.buffer(payloadSize + 5);
+        frame.writeInt(payloadSize + 1);
+        frame.writeByte(MSG_GET_RESP);
+        frame.writeBytes(payload);
+    }
+    
+    @TearDown
+    public void tearDown()
+    {
+        frame.release();
+    }
+    
+    @Benchmark
+    public int encode() throws Exception
+    {
+        ByteBuf out = "direct".equals(bufferType)
+            ? allocator.directBuffer(payloadSize + 5)
+            : allocator.heapBuffer(payloadSize + 5);
+        try
+        {
+            codec.encode(null, message, out);
+            return out.readableBytes();
+        }
+        finally
+        {
+            out.release();
+        }
+    }
+    
+    @Benchmark
+    public int decode() throws Exception
+    {
+        frame.readerIndex(0);
+        codec.decode(null, frame, decoded);
+        RiakMessage m = (RiakMessage) decoded.remove(0);
+        int length = m.getDataLength();
+        m.release();
+        return length;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.operations;
+
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.converters.RiakObjectConverter;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.query.indexes.StringBinIndex;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures decoding and converting fetch and store responses.
+ * <p>
+ * Each benchmark completes a new operation with a prebuilt response frame
+ * and calls get(), which is where the protocol buffer is turned into 
+ * {@link RiakObject}s by the {@link RiakObjectConverter}. The response 
+ * holds {@code siblings} objects, each with a 1KB value and
+ * {@code indexes} / {@code usermeta} entries. A store response holds only
+ * the first of them, and {@code store} also includes building the request
+ * from it.
+ * </p>
+ * <p>
+ * The frames are assembled by hand from the converter's own output; the 
+ * protocol buffer classes are relocated in the client jar.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationDecodeBenchmark
+{
+    private static final byte MSG_GET_RESP = 10;
+    private static final byte MSG_PUT_RESP = 12;
+    // RpbGetResp and RpbPutResp share these: content = 1, vclock = 2
+    private static final int CONTENT_TAG = (1 << 3) | 2;
+    private static final int VCLOCK_TAG = (2 << 3) | 2;
+    
+    @Param({"1", "3", "10"})
+    public int siblings;
+    
+    @Param({"0", "5"})
+    public int indexes;
+    
+    @Param({"0", "5"})
+    public int usermeta;
+    
+    private final Location location = new Location(new Namespace("bucket"), "key");
+    private byte[] fetchResponse;
+    private byte[] storeResponse;
+    private RiakObject content;
+    
+    @Setup
+    public void setUp()
+    {
+        byte[] value = new byte[1024];
+        for (int i = 0; i < value.length; i++)
+        {
+            value[i] = (byte) ('a' + i % 26);
+        }
+        byte[] vclock = new byte[32];
+        
+        ByteArrayOutputStream fetch = new ByteArrayOutputStream();
+        ByteArrayOutputStream store = new ByteArrayOutputStream();
+        for (int i = 0; i < siblings; i++)
+        {
+            RiakObject ro = new RiakObject()
+                                .setContentType("application/json")
+                                .setValue(BinaryValue.create(value));
+            for (int j = 0; j < indexes; j++)
+            {
+                ro.getIndexes().getIndex(StringBinIndex.named("index" + j)).add("term" + i + "_" + j);
+            }
+            for (int j = 0; j < usermeta; j++)
+            {
+                ro.getUserMeta().put("meta" + j, "value" + j);
+            }
+            
+            byte[] rpbContent = RiakObjectConverter.convert(ro).toByteArray();
+            writeField(fetch, CONTENT_TAG, rpbContent);
+            if (i == 0)
+            {
+                writeField(store, CONTENT_TAG, rpbContent);
+                content = ro;
+            }
+        }
+        writeField(fetch, VCLOCK_TAG, vclock);
+        writeField(store, VCLOCK_TAG, vclock);
+        fetchResponse = fetch.toByteArray();
+        storeResponse = store.toByteArray();
+    }
+    
+    private static void writeField(ByteArrayOutputStream out, int tag, byte[] bytes)
+    {
+        writeVarint(out, tag);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+    
+    private static void writeVarint(ByteArrayOutputStream out, int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+    
+    @Benchmark
+    public Object fetch() throws Exception
+    {
+        FetchOperation operation = new FetchOperation.Builder(location).build();
+        operation.setResponse(new RiakMessage(MSG_GET_RESP, fetchResponse));
+        return operation.get();
+    }
+    
+    @Benchmark
+    public Object store() throws Exception
+    {
+        StoreOperation operation = new StoreOperation.Builder(location)
+                                        .withContent(content)
+                                        .withReturnBody(true)
+                                        .build();
+        operation.setResponse(new RiakMessage(MSG_PUT_RESP, storeResponse));
+        return operation.get();
+    }
+}
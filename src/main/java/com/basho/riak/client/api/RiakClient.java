@@ -15,8 +15,10 @@
  */
 package com.basho.riak.client.api;
 
+import com.basho.riak.client.api.commands.kv.ValueCache;
 import com.basho.riak.client.core.RiakCluster;
 import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakFutureListener;
 import com.basho.riak.client.core.RiakNode;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
@@ -157,6 +159,7 @@ public class RiakClient
 {
 
 	private final RiakCluster cluster;
+    private final ValueCache valueCache;
 
     /**
 	 * Create a new RiakClient to perform operations on the given cluster.
@@ -168,8 +171,24 @@ public class RiakClient
 	 */
 	public RiakClient(RiakCluster cluster)
 	{
-		this.cluster = cluster;
+		this(cluster, null);
 	}
+    
+    /**
+     * Create a new RiakClient that caches fetched values.
+     * <p>
+     * FetchValue commands for the namespaces configured in the cache are 
+     * answered from it where possible, and commands that change values 
+     * remove them from it. See {@link ValueCache}.
+     * </p>
+     * @param cluster the started RiakCluster to use.
+     * @param valueCache the cache to use, or null.
+     */
+    public RiakClient(RiakCluster cluster, ValueCache valueCache)
+    {
+        this.cluster = cluster;
+        this.valueCache = valueCache;
+    }
 
     /**
      * Static factory method to create a new client instance.
@@ -290,7 +309,21 @@ public class RiakClient
 	 */
 	public <T,S> T execute(RiakCommand<T,S> command) throws ExecutionException, InterruptedException
 	{
-		return command.execute(cluster);
+        if (valueCache != null)
+        {
+            RiakFuture<T,S> future = executeAsync(command);
+            future.await();
+            return future.get();
+        }
+        cluster.commandStarted();
+        try
+        {
+            return command.execute(cluster);
+        }
+        finally
+        {
+            cluster.commandSubmitted();
+        }
 	}
 
     /**
@@ -307,7 +340,79 @@ public class RiakClient
      */
     public <T,S> RiakFuture<T,S> executeAsync(RiakCommand<T,S> command)
     {
-        return command.executeAsync(cluster);
+        cluster.commandStarted();
+        try
+        {
+            if (valueCache != null)
+            {
+                RiakFuture<T,S> future = valueCache.executeAsync(command, cluster);
+                if (future != null)
+                {
+                    return future;
+                }
+            }
+            return command.executeAsync(cluster);
+        }
+        finally
+        {
+            cluster.commandSubmitted();
+        }
+    }
+    
+    /**
+     * Execute a StreamableRiakCommand, streaming the results.
+     * <p>
+     * The returned future's {@code get()} returns the response straight 
+     * away. Iterating over the response returns results as they arrive 
+     * from Riak, blocking if necessary, so they never all need to be in 
+     * memory at once. The future completes when the stream ends; cancel it 
+     * if you stop iterating early.
+     * </p>
+     * <pre>
+     * {@code
+     * ListKeys lk = new ListKeys.Builder(ns).build();
+     * RiakFuture<ListKeys.Response, Namespace> future = client.executeAsyncStreaming(lk, 16);
+     * for (Location l : future.get())
+     * {
+     *     System.out.println(l.getKeyAsString());
+     * }}</pre>
+     * @param <T> StreamableRiakCommand's return type.
+     * @param <S> The StreamableRiakCommand's query info type.
+     * @param command The StreamableRiakCommand to execute.
+     * @param maxBufferedChunks the number of messages from Riak to buffer 
+     * before pausing reads until the results are consumed.
+     * @return a RiakFuture for the operation.
+     */
+    public <T,S> RiakFuture<T,S> executeAsyncStreaming(final StreamableRiakCommand<T,S> command, int maxBufferedChunks)
+    {
+        if (valueCache != null)
+        {
+            valueCache.invalidateAll(command);
+        }
+        
+        RiakFuture<T,S> future;
+        cluster.commandStarted();
+        try
+        {
+            future = command.executeAsyncStreaming(cluster, maxBufferedChunks);
+        }
+        finally
+        {
+            cluster.commandSubmitted();
+        }
+        
+        if (valueCache != null)
+        {
+            future.addListener(new RiakFutureListener<T,S>()
+            {
+                @Override
+                public void handle(RiakFuture<T, S> f)
+                {
+                    valueCache.invalidateAll(command);
+                }
+            });
+        }
+        return future;
     }
     
 	/**
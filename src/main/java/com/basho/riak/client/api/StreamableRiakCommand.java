@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api;
+
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+
+/**
+ * The base class for Riak Commands whose results can be streamed.
+ * <p>
+ * As well as being executed normally, these commands can be executed with 
+ * {@link RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)}. The 
+ * response is then available straight away and iterating it returns results
+ * as they arrive from Riak, rather than after all of them have been 
+ * received and held in memory.
+ * </p>
+ * @param <T> The response type
+ * @param <S> The query info type
+ * @since 2.0.2
+ */
+public abstract class StreamableRiakCommand<T,S> extends RiakCommand<T,S>
+{
+    protected abstract RiakFuture<T,S> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks);
+}
@@ -33,6 +33,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * in this factory for a class. It will then be used by the {@link com.basho.riak.client.api.commands.kv.FetchValue.Response}
  * to resolve a set a of siblings to a single object.
  * </p>
+ * <p>
+ * If siblings can be told apart by their metadata alone, one of the 
+ * {@code RiakObject} resolvers ({@link LastModifiedWinsResolver}, 
+ * {@link VTagOrderedResolver}, {@link TombstoneAwareResolver}) can instead be 
+ * passed to {@code FetchValue.Response.getValue(ConflictResolver, Class)}, 
+ * which resolves before converting so only the winning sibling is converted.
+ * </p>
  * 
  * @author Brian Roach <roach at basho dot com>
  * @since 2.0
@@ -43,6 +50,8 @@ public enum ConflictResolverFactory
     
     private final Map<Type, ConflictResolver<?>> resolverInstances =
         new ConcurrentHashMap<Type, ConflictResolver<?>>();
+    // The DefaultResolver has no state so one instance serves every type.
+    private final ConflictResolver<?> defaultResolver = new DefaultResolver<Object>();
 
     /**
      * Returns the instance of the ConflictResolverFactory.
@@ -92,8 +101,7 @@ public enum ConflictResolverFactory
         ConflictResolver<T> resolver = (ConflictResolver<T>) resolverInstances.get(type);
         if (resolver == null)
         {
-            // Cache this?
-            resolver = (ConflictResolver<T>) new DefaultResolver<T>();
+            resolver = (ConflictResolver<T>) defaultResolver;
         }
 
         return resolver;
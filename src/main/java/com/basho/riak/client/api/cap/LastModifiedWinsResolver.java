@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.cap;
+
+import com.basho.riak.client.core.query.RiakObject;
+import java.util.List;
+
+/**
+ * A ConflictResolver that picks the most recently modified sibling.
+ * <p>
+ * Only the siblings' metadata is looked at, so when used with 
+ * {@code FetchValue.Response.getValue(ConflictResolver, Class)} only the 
+ * winning sibling is converted to a domain object. Siblings modified in the 
+ * same second are ordered by vtag so every client picks the same one.
+ * </p>
+ * <p>
+ * Note that last modified times come from the clocks of the Riak nodes that 
+ * coordinated each write; a write can lose to an earlier one if those clocks
+ * differ. 
+ * </p>
+ * @since 2.0.2
+ */
+public class LastModifiedWinsResolver implements ConflictResolver<RiakObject>
+{
+    /**
+     * Returns the sibling with the latest last modified time.
+     * @param siblings the siblings returned from Riak.
+     * @return the most recent sibling, or null if there are none.
+     */
+    @Override
+    public RiakObject resolve(List<RiakObject> siblings)
+    {
+        RiakObject winner = null;
+        for (int i = 0; i < siblings.size(); i++)
+        {
+            RiakObject sibling = siblings.get(i);
+            if (winner == null || 
+                sibling.getLastModified() > winner.getLastModified() ||
+                (sibling.getLastModified() == winner.getLastModified() &&
+                    VTagOrderedResolver.compareVTags(sibling, winner) > 0))
+            {
+                winner = sibling;
+            }
+        }
+        return winner;
+    }
+}
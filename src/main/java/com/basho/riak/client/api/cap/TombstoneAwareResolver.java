@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.cap;
+
+import com.basho.riak.client.core.query.RiakObject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ConflictResolver that ignores tombstones when live siblings exist.
+ * <p>
+ * A delete racing a write leaves a tombstone among the siblings. This 
+ * resolver drops tombstones and hands the remaining siblings to another 
+ * resolver, a {@link LastModifiedWinsResolver} by default. If only one 
+ * sibling is live it is returned without consulting the other resolver. 
+ * If every sibling is a tombstone, the most recent tombstone is returned 
+ * so the caller can see the object was deleted.
+ * </p>
+ * <p>
+ * No list is allocated unless there is a mix of tombstones and more than 
+ * one live sibling.
+ * </p>
+ * @since 2.0.2
+ */
+public class TombstoneAwareResolver implements ConflictResolver<RiakObject>
+{
+    private static final LastModifiedWinsResolver LAST_MODIFIED_WINS = 
+        new LastModifiedWinsResolver();
+    private final ConflictResolver<RiakObject> liveResolver;
+    
+    /**
+     * Creates a TombstoneAwareResolver that resolves live siblings by 
+     * last modified time.
+     */
+    public TombstoneAwareResolver()
+    {
+        this(LAST_MODIFIED_WINS);
+    }
+    
+    /**
+     * Creates a TombstoneAwareResolver.
+     * @param liveResolver the resolver used when more than one sibling is live.
+     */
+    public TombstoneAwareResolver(ConflictResolver<RiakObject> liveResolver)
+    {
+        if (liveResolver == null)
+        {
+            throw new IllegalArgumentException("liveResolver cannot be null");
+        }
+        this.liveResolver = liveResolver;
+    }
+    
+    @Override
+    public RiakObject resolve(List<RiakObject> siblings) throws UnresolvedConflictException
+    {
+        int live = 0;
+        RiakObject lastLive = null;
+        for (int i = 0; i < siblings.size(); i++)
+        {
+            RiakObject sibling = siblings.get(i);
+            if (!sibling.isDeleted())
+            {
+                live++;
+                lastLive = sibling;
+            }
+        }
+        
+        if (live == 0)
+        {
+            return LAST_MODIFIED_WINS.resolve(siblings);
+        }
+        else if (live == 1)
+        {
+            return lastLive;
+        }
+        else if (live == siblings.size())
+        {
+            return liveResolver.resolve(siblings);
+        }
+        else
+        {
+            List<RiakObject> liveSiblings = new ArrayList<RiakObject>(live);
+            for (int i = 0; i < siblings.size(); i++)
+            {
+                if (!siblings.get(i).isDeleted())
+                {
+                    liveSiblings.add(siblings.get(i));
+                }
+            }
+            return liveResolver.resolve(liveSiblings);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.cap;
+
+import com.basho.riak.client.core.query.RiakObject;
+import java.util.List;
+
+/**
+ * A ConflictResolver that picks the sibling with the greatest vtag.
+ * <p>
+ * The vtag is an arbitrary tag Riak gives each version of an object, so 
+ * this doesn't favor any particular write. What it does guarantee is that 
+ * every client resolving the same set of siblings picks the same one, 
+ * without looking at or converting their values. Siblings without a vtag 
+ * lose to those with one.
+ * </p>
+ * @since 2.0.2
+ */
+public class VTagOrderedResolver implements ConflictResolver<RiakObject>
+{
+    /**
+     * Returns the sibling with the greatest vtag.
+     * @param siblings the siblings returned from Riak.
+     * @return the chosen sibling, or null if there are none.
+     */
+    @Override
+    public RiakObject resolve(List<RiakObject> siblings)
+    {
+        RiakObject winner = null;
+        for (int i = 0; i < siblings.size(); i++)
+        {
+            RiakObject sibling = siblings.get(i);
+            if (winner == null || compareVTags(sibling, winner) > 0)
+            {
+                winner = sibling;
+            }
+        }
+        return winner;
+    }
+    
+    static int compareVTags(RiakObject a, RiakObject b)
+    {
+        String vtagA = a.getVTag();
+        String vtagB = b.getVTag();
+        if (vtagA == null)
+        {
+            return vtagB == null ? 0 : -1;
+        }
+        return vtagB == null ? 1 : vtagA.compareTo(vtagB);
+    }
+}
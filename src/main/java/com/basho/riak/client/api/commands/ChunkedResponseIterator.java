@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands;
+
+import com.basho.riak.client.core.StreamingFutureOperation;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the results of a streaming operation as they arrive.
+ * <p>
+ * {@link #hasNext()} blocks until the next chunk of results arrives from 
+ * Riak or the stream ends. If the operation fails, the results received 
+ * before the failure are returned and then {@code hasNext()} throws an 
+ * {@link IllegalStateException} with the failure as its cause.
+ * </p>
+ * @since 2.0.2
+ * @param <C> The type of the results in each chunk.
+ * @param <E> The type returned by the iterator.
+ */
+public abstract class ChunkedResponseIterator<C, E> implements Iterator<E>
+{
+    private final StreamingFutureOperation<?, ?, ?, ? extends Iterable<C>> operation;
+    private Iterator<C> current;
+    
+    public ChunkedResponseIterator(StreamingFutureOperation<?, ?, ?, ? extends Iterable<C>> operation)
+    {
+        this.operation = operation;
+    }
+    
+    @Override
+    public boolean hasNext()
+    {
+        while (current == null || !current.hasNext())
+        {
+            Iterable<C> chunk;
+            try
+            {
+                chunk = operation.takeChunk();
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for results", ex);
+            }
+            
+            if (chunk == null)
+            {
+                if (!operation.isSuccess() && !operation.isCancelled())
+                {
+                    throw new IllegalStateException("Streaming operation failed", operation.cause());
+                }
+                return false;
+            }
+            current = chunk.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        return convert(current.next());
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException();
+    }
+    
+    protected abstract E convert(C result);
+}
@@ -62,7 +62,7 @@ public abstract class CoreFutureAdapter<T2,S2,T,S> extends ListenableFuture<T2,S
     @Override
     public T2 getNow()
     {
-        if (coreFuture.isDone())
+        if (coreFuture.isDone() && !coreFuture.isCancelled())
         {
             return convertResponse(coreFuture.getNow());
         }
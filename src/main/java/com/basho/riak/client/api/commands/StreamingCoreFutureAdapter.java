@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands;
+
+import com.basho.riak.client.core.RiakFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts a streaming core future.
+ * <p>
+ * The response is available straight away from {@link #get()} and 
+ * {@link #getNow()}; iterating it waits for results as they arrive. 
+ * {@link #isDone()}, {@link #await()} and listeners refer to the end of the
+ * stream, and {@link #cancel(boolean)} stops it.
+ * </p>
+ * @since 2.0.2
+ * @param <T> The core response type.
+ * @param <S> The core query info type.
+ * @param <T2> The converted response type.
+ * @param <S2> The converted query info type.
+ */
+public abstract class StreamingCoreFutureAdapter<T2,S2,T,S> extends CoreFutureAdapter<T2,S2,T,S>
+{
+    private final T2 streamingResponse;
+    
+    public StreamingCoreFutureAdapter(RiakFuture<T,S> coreFuture, T2 streamingResponse)
+    {
+        super(coreFuture);
+        this.streamingResponse = streamingResponse;
+    }
+    
+    @Override
+    public T2 get()
+    {
+        return streamingResponse;
+    }
+    
+    @Override
+    public T2 get(long timeout, TimeUnit unit)
+    {
+        return streamingResponse;
+    }
+    
+    @Override
+    public T2 getNow()
+    {
+        return streamingResponse;
+    }
+    
+    @Override
+    protected T2 convertResponse(T coreResponse)
+    {
+        return streamingResponse;
+    }
+}
@@ -54,6 +54,12 @@ public class BigIntIndexQuery extends SecondaryIndexQuery<BigInteger, BigIntInde
     {
         return converter;
     }
+
+    @Override
+    protected Response convertCoreResponse(SecondaryIndexQueryOperation.Response coreResponse)
+    {
+        return new Response(namespace, coreResponse, converter);
+    }
     
     protected BigIntIndexQuery(Init<BigInteger,?> builder)
     {
@@ -97,7 +103,7 @@ public class BigIntIndexQuery extends SecondaryIndexQuery<BigInteger, BigIntInde
         @Override
         protected Response convertResponse(SecondaryIndexQueryOperation.Response coreResponse)
         {
-            return new Response(namespace, coreResponse, converter);
+            return convertCoreResponse(coreResponse);
         }
 
         @Override
@@ -75,6 +75,12 @@ public class BinIndexQuery extends SecondaryIndexQuery<String, BinIndexQuery.Res
         return converter;
     }
 
+    @Override
+    protected Response convertCoreResponse(SecondaryIndexQueryOperation.Response coreResponse)
+    {
+        return new Response(namespace, coreResponse, converter);
+    }
+
     @Override
     protected RiakFuture<Response, BinIndexQuery> executeAsync(RiakCluster cluster)
     {
@@ -96,7 +102,7 @@ public class BinIndexQuery extends SecondaryIndexQuery<String, BinIndexQuery.Res
         @Override
         protected Response convertResponse(SecondaryIndexQueryOperation.Response coreResponse)
         {
-            return new Response(namespace, coreResponse, converter);
+            return convertCoreResponse(coreResponse);
         }
 
         @Override
@@ -52,6 +52,12 @@ public class IntIndexQuery extends SecondaryIndexQuery<Long, IntIndexQuery.Respo
         return converter;
     }
 
+    @Override
+    protected Response convertCoreResponse(SecondaryIndexQueryOperation.Response coreResponse)
+    {
+        return new Response(namespace, coreResponse, converter);
+    }
+
     protected IntIndexQuery(Init<Long,?> builder)
     {
         super(builder);
@@ -96,7 +102,7 @@ public class IntIndexQuery extends SecondaryIndexQuery<Long, IntIndexQuery.Respo
         @Override
         protected Response convertResponse(SecondaryIndexQueryOperation.Response coreResponse)
         {
-            return new Response(namespace, coreResponse, converter);
+            return convertCoreResponse(coreResponse);
         }
 
         @Override
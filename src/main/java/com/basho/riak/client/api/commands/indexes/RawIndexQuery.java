@@ -66,6 +66,12 @@ public class RawIndexQuery extends SecondaryIndexQuery<BinaryValue, RawIndexQuer
         return converter;
     }
 
+    @Override
+    protected Response convertCoreResponse(SecondaryIndexQueryOperation.Response coreResponse)
+    {
+        return new Response(namespace, coreResponse, converter);
+    }
+
     @Override
     protected RiakFuture<Response, RawIndexQuery> executeAsync(RiakCluster cluster)
     {
@@ -87,7 +93,7 @@ public class RawIndexQuery extends SecondaryIndexQuery<BinaryValue, RawIndexQuer
         @Override
         protected Response convertResponse(SecondaryIndexQueryOperation.Response coreResponse)
         {
-            return new Response(namespace, coreResponse, converter);
+            return convertCoreResponse(coreResponse);
         }
 
         @Override
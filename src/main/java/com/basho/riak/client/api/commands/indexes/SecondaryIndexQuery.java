@@ -17,13 +17,27 @@
 package com.basho.riak.client.api.commands.indexes;
 
 import com.basho.riak.client.api.RiakCommand;
+import com.basho.riak.client.api.StreamableRiakCommand;
+import com.basho.riak.client.api.commands.CoreFutureAdapter;
+import com.basho.riak.client.api.commands.ListenableFuture;
+import com.basho.riak.client.api.commands.StreamingCoreFutureAdapter;
+import com.basho.riak.client.core.ChunkListener;
 import com.basho.riak.client.core.RiakCluster;
 import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakFutureListener;
 import com.basho.riak.client.core.operations.SecondaryIndexQueryOperation;
 import com.basho.riak.client.core.query.Location;
 import com.basho.riak.client.core.query.Namespace;
 import com.basho.riak.client.core.util.BinaryValue;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
      * A Secondary Index Query.
@@ -69,6 +83,8 @@ public abstract class SecondaryIndexQuery<T,S,U> extends RiakCommand<S, U>
     protected Integer timeout;
 
     protected abstract IndexConverter<T> getConverter();
+    
+    protected abstract S convertCoreResponse(SecondaryIndexQueryOperation.Response coreResponse);
 
     protected SecondaryIndexQuery(Init<T,?> builder)
     {
@@ -185,6 +201,11 @@ public abstract class SecondaryIndexQuery<T,S,U> extends RiakCommand<S, U>
     }
     
     protected final SecondaryIndexQueryOperation.Query createCoreQuery()
+    {
+        return createCoreQuery(continuation);
+    }
+    
+    private SecondaryIndexQueryOperation.Query createCoreQuery(BinaryValue continuation)
     {
         IndexConverter<T> converter = getConverter();
 
@@ -231,6 +252,328 @@ public abstract class SecondaryIndexQuery<T,S,U> extends RiakCommand<S, U>
         return cluster.execute(builder.build());
     }
                         
+    /**
+     * Returns a command that streams the results of this query to a listener.
+     * <script src="https://google-code-prettify.googlecode.com/svn/loader/run_prettify.js"></script>
+     * <p>
+     * Rather than collecting every result before returning, the listener is 
+     * passed a Response holding the entries from each message as Riak sends
+     * it, so the first results arrive without waiting for the last. 
+     * See {@link ChunkListener} for the threading and backpressure this implies.
+     * </p>
+     * <p>
+     * If the query sets max results, each page's continuation is followed 
+     * automatically until the whole range has been returned, one page in 
+     * memory at a time. The command's future completes after the last page, 
+     * or fails with the first error.
+     * </p>
+     * <pre class="prettyprint">
+     * {@code
+     * IntIndexQuery q = new IntIndexQuery.Builder(ns, "my_index", 0L, 1000000L)
+     *                       .withMaxResults(10000).build();
+     * client.execute(q.streamTo(new ChunkListener<IntIndexQuery.Response>() {
+     *     public void onChunk(IntIndexQuery.Response chunk)
+     *     {
+     *         for (IntIndexQuery.Response.Entry e : chunk.getEntries())
+     *         {
+     *             ...
+     *         }
+     *     }
+     * }));}</pre>
+     * @param listener the listener for each chunk of results.
+     * @return a command to execute with the RiakClient.
+     * @see #stream()
+     */
+    public RiakCommand<Void, U> streamTo(ChunkListener<S> listener)
+    {
+        if (listener == null)
+        {
+            throw new IllegalArgumentException("Listener can not be null");
+        }
+        return new StreamingQuery(listener);
+    }
+    
+    /**
+     * Returns a command that streams the results of this query to the caller.
+     * <script src="https://google-code-prettify.googlecode.com/svn/loader/run_prettify.js"></script>
+     * <p>
+     * Executed with 
+     * {@link com.basho.riak.client.api.RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)},
+     * the response is available straight away and iterating it returns a 
+     * Response holding the entries from each message as Riak sends it. 
+     * Reading from Riak is paused while {@code maxBufferedChunks} of them 
+     * are waiting, so unlike {@link #streamTo(ChunkListener)} the results
+     * are handled on the caller's thread, at the caller's pace.
+     * </p>
+     * <p>
+     * Only the one page is returned. If the query sets max results, the last
+     * Response holds the continuation for the next page. Executed normally,
+     * the command returns the page as a single Response.
+     * </p>
+     * <pre class="prettyprint">
+     * {@code
+     * IntIndexQuery q = new IntIndexQuery.Builder(ns, "my_index", 0L, 1000000L).build();
+     * RiakFuture<SecondaryIndexQuery.StreamingResponse<IntIndexQuery.Response>, IntIndexQuery> future =
+     *     client.executeAsyncStreaming(q.stream(), 16);
+     * for (IntIndexQuery.Response chunk : future.get())
+     * {
+     *     for (IntIndexQuery.Response.Entry e : chunk.getEntries())
+     *     {
+     *         ...
+     *     }
+     * }}</pre>
+     * @return a command to execute with the RiakClient.
+     */
+    public StreamableRiakCommand<StreamingResponse<S>, U> stream()
+    {
+        return new QueuedQuery();
+    }
+    
+    private class QueuedQuery extends StreamableRiakCommand<StreamingResponse<S>, U>
+    {
+        @Override
+        protected RiakFuture<StreamingResponse<S>, U> executeAsync(RiakCluster cluster)
+        {
+            RiakFuture<SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query> coreFuture =
+                executeCoreAsync(cluster);
+            
+            CoreFutureAdapter<StreamingResponse<S>, U, SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query> future =
+                new CoreFutureAdapter<StreamingResponse<S>, U, SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query>(coreFuture)
+                {
+                    @Override
+                    protected StreamingResponse<S> convertResponse(SecondaryIndexQueryOperation.Response coreResponse)
+                    {
+                        return new StreamingResponse<S>(Collections.singletonList(convertCoreResponse(coreResponse)));
+                    }
+
+                    @Override
+                    protected U convertQueryInfo(SecondaryIndexQueryOperation.Query coreQueryInfo)
+                    {
+                        return queryInfo();
+                    }
+                };
+            coreFuture.addListener(future);
+            return future;
+        }
+
+        @Override
+        protected RiakFuture<StreamingResponse<S>, U> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks)
+        {
+            SecondaryIndexQueryOperation operation =
+                new SecondaryIndexQueryOperation.Builder(createCoreQuery())
+                    .streamResults(maxBufferedChunks)
+                    .build();
+            RiakFuture<SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query> coreFuture =
+                cluster.execute(operation);
+            
+            StreamingCoreFutureAdapter<StreamingResponse<S>, U, SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query> future =
+                new StreamingCoreFutureAdapter<StreamingResponse<S>, U, SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query>(coreFuture,
+                    new StreamingResponse<S>(SecondaryIndexQuery.this, operation))
+                {
+                    @Override
+                    protected U convertQueryInfo(SecondaryIndexQueryOperation.Query coreQueryInfo)
+                    {
+                        return queryInfo();
+                    }
+                };
+            coreFuture.addListener(future);
+            return future;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private U queryInfo()
+    {
+        return (U) this;
+    }
+    
+    private class StreamingQuery extends RiakCommand<Void, U>
+    {
+        private final ChunkListener<S> listener;
+        
+        StreamingQuery(ChunkListener<S> listener)
+        {
+            this.listener = listener;
+        }
+        
+        @Override
+        protected RiakFuture<Void, U> executeAsync(RiakCluster cluster)
+        {
+            StreamingQueryFuture future = new StreamingQueryFuture(cluster, listener);
+            future.executePage(continuation);
+            return future;
+        }
+    }
+    
+    /**
+     * Runs a streaming query a page at a time, starting the next page with 
+     * the continuation from the last.
+     */
+    private class StreamingQueryFuture extends ListenableFuture<Void, U>
+        implements ChunkListener<SecondaryIndexQueryOperation.Response>,
+                   RiakFutureListener<SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query>
+    {
+        private final RiakCluster cluster;
+        private final ChunkListener<S> listener;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile SecondaryIndexQueryOperation currentPage;
+        private volatile BinaryValue nextContinuation;
+        private volatile Throwable cause;
+        private volatile boolean cancelled;
+        
+        StreamingQueryFuture(RiakCluster cluster, ChunkListener<S> listener)
+        {
+            this.cluster = cluster;
+            this.listener = listener;
+        }
+        
+        void executePage(BinaryValue pageContinuation)
+        {
+            nextContinuation = null;
+            SecondaryIndexQueryOperation operation =
+                new SecondaryIndexQueryOperation.Builder(createCoreQuery(pageContinuation))
+                    .streamResults(this)
+                    .build();
+            currentPage = operation;
+            cluster.execute(operation);
+            operation.addListener(this);
+        }
+        
+        @Override
+        public void onChunk(SecondaryIndexQueryOperation.Response chunk)
+        {
+            if (chunk.hasContinuation())
+            {
+                nextContinuation = chunk.getContinuation();
+            }
+            if (!chunk.getEntryList().isEmpty())
+            {
+                listener.onChunk(convertCoreResponse(chunk));
+            }
+        }
+        
+        @Override
+        public void handle(RiakFuture<SecondaryIndexQueryOperation.Response, SecondaryIndexQueryOperation.Query> f)
+        {
+            if (f.isSuccess() && nextContinuation != null && !cancelled)
+            {
+                try
+                {
+                    executePage(nextContinuation);
+                }
+                catch (RuntimeException ex)
+                {
+                    finish(ex);
+                }
+            }
+            else
+            {
+                finish(f.isSuccess() || f.isCancelled() ? null : f.cause());
+            }
+        }
+        
+        private synchronized void finish(Throwable t)
+        {
+            if (latch.getCount() != 0)
+            {
+                cause = t;
+                latch.countDown();
+                notifyListeners();
+            }
+        }
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            if (isDone())
+            {
+                return false;
+            }
+            cancelled = true;
+            currentPage.cancel(mayInterruptIfRunning);
+            return true;
+        }
+
+        @Override
+        public Void get() throws InterruptedException, ExecutionException
+        {
+            latch.await();
+            return getResult();
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            if (!latch.await(timeout, unit))
+            {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+        
+        private Void getResult() throws ExecutionException
+        {
+            if (cancelled)
+            {
+                throw new CancellationException();
+            }
+            else if (cause != null)
+            {
+                throw new ExecutionException(cause);
+            }
+            return null;
+        }
+
+        @Override
+        public Void getNow()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return latch.getCount() == 0;
+        }
+
+        @Override
+        public void await() throws InterruptedException
+        {
+            latch.await();
+        }
+
+        @Override
+        public void await(long timeout, TimeUnit unit) throws InterruptedException
+        {
+            latch.await(timeout, unit);
+        }
+
+        @Override
+        public boolean isSuccess()
+        {
+            return isDone() && !cancelled && cause == null;
+        }
+
+        @Override
+        public Throwable cause()
+        {
+            return cause;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public U getQueryInfo()
+        {
+            return (U) SecondaryIndexQuery.this;
+        }
+    }
+    
     protected interface IndexConverter<T>
     {
         T convert(BinaryValue input);
@@ -374,6 +717,104 @@ public abstract class SecondaryIndexQuery<T,S,U> extends RiakCommand<S, U>
         }
     }
     
+    /**
+     * The response from a query executed with {@link #stream()}.
+     * <p>
+     * Iterating a streamed response returns a Response for each message 
+     * from Riak as it arrives, blocking until it does. If the query fails, 
+     * the Responses received before the failure are returned and then 
+     * {@code hasNext()} throws an {@link IllegalStateException} with the 
+     * failure as its cause. A streamed response can only be iterated once.
+     * </p>
+     * @param <S> the query's Response type.
+     * @since 2.0.2
+     */
+    public static class StreamingResponse<S> implements Iterable<S>
+    {
+        private final List<S> responses;
+        private final SecondaryIndexQuery<?, S, ?> query;
+        private final SecondaryIndexQueryOperation streamingOperation;
+        
+        StreamingResponse(List<S> responses)
+        {
+            this.responses = responses;
+            this.query = null;
+            this.streamingOperation = null;
+        }
+        
+        StreamingResponse(SecondaryIndexQuery<?, S, ?> query, SecondaryIndexQueryOperation streamingOperation)
+        {
+            this.responses = null;
+            this.query = query;
+            this.streamingOperation = streamingOperation;
+        }
+        
+        @Override
+        public Iterator<S> iterator()
+        {
+            if (streamingOperation != null)
+            {
+                return new StreamingIterator<S>(query, streamingOperation);
+            }
+            return Collections.unmodifiableList(responses).iterator();
+        }
+    }
+    
+    private static class StreamingIterator<S> implements Iterator<S>
+    {
+        private final SecondaryIndexQuery<?, S, ?> query;
+        private final SecondaryIndexQueryOperation operation;
+        private SecondaryIndexQueryOperation.Response next;
+        private boolean ended;
+        
+        StreamingIterator(SecondaryIndexQuery<?, S, ?> query, SecondaryIndexQueryOperation operation)
+        {
+            this.query = query;
+            this.operation = operation;
+        }
+        
+        @Override
+        public boolean hasNext()
+        {
+            if (next == null && !ended)
+            {
+                try
+                {
+                    next = operation.takeChunk();
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for results", ex);
+                }
+                ended = next == null;
+            }
+            if (ended && !operation.isSuccess() && !operation.isCancelled())
+            {
+                throw new IllegalStateException("Streaming operation failed", operation.cause());
+            }
+            return next != null;
+        }
+
+        @Override
+        public S next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            S result = query.convertCoreResponse(next);
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+    
     /**
      * Base class for all 2i responses.
      * @param <T> The type contained in the resposne.
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency statistics for a batch command.
+ * <p>
+ * Returned by {@link MultiFetch}, {@link MultiStore} and {@link MultiDelete}.
+ * Latency is measured for each item from when its request is sent to when 
+ * it completes; time an item spends waiting for a slot in the in-flight 
+ * window isn't included. Elapsed time runs from the start of the batch to 
+ * the last completion, or to now if the batch is still running.
+ * </p>
+ * @since 2.0.2
+ */
+public final class BatchStats
+{
+    private final int itemCount;
+    private final int completedCount;
+    private final int failedCount;
+    private final long elapsedNanos;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+    
+    BatchStats(int itemCount, int completedCount, int failedCount, long elapsedNanos,
+               long totalLatencyNanos, long maxLatencyNanos)
+    {
+        this.itemCount = itemCount;
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+        this.elapsedNanos = elapsedNanos;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+    
+    /**
+     * Returns the number of items in the batch.
+     * @return the number of items.
+     */
+    public int getItemCount()
+    {
+        return itemCount;
+    }
+    
+    /**
+     * Returns the number of items that have completed, successfully or not.
+     * @return the number of completed items.
+     */
+    public int getCompletedCount()
+    {
+        return completedCount;
+    }
+    
+    /**
+     * Returns the number of items that failed.
+     * @return the number of failed items.
+     */
+    public int getFailedCount()
+    {
+        return failedCount;
+    }
+    
+    /**
+     * Returns the time the batch took, or has taken so far.
+     * @param unit the unit to return the time in.
+     * @return the elapsed time.
+     */
+    public long getElapsed(TimeUnit unit)
+    {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Returns the number of items completed per second.
+     * @return the throughput of the batch.
+     */
+    public double getThroughput()
+    {
+        if (elapsedNanos == 0)
+        {
+            return 0;
+        }
+        return completedCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+    
+    /**
+     * Returns the mean latency of the completed items.
+     * @param unit the unit to return the latency in.
+     * @return the mean latency.
+     */
+    public double getMeanLatency(TimeUnit unit)
+    {
+        if (completedCount == 0)
+        {
+            return 0;
+        }
+        return (double) totalLatencyNanos / completedCount / unit.toNanos(1);
+    }
+    
+    /**
+     * Returns the highest latency of the completed items.
+     * @param unit the unit to return the latency in.
+     * @return the maximum latency.
+     */
+    public long getMaxLatency(TimeUnit unit)
+    {
+        return unit.convert(maxLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return String.format("{items: %d, completed: %d, failed: %d, elapsed: %dms, "
+                             + "throughput: %.1f/s, mean latency: %.3fms, max latency: %dms}",
+                             itemCount, completedCount, failedCount, 
+                             getElapsed(TimeUnit.MILLISECONDS), getThroughput(),
+                             getMeanLatency(TimeUnit.MILLISECONDS),
+                             getMaxLatency(TimeUnit.MILLISECONDS));
+    }
+}
@@ -81,9 +81,24 @@ public final class DeleteValue extends RiakCommand<Void, Location>
 
     @Override
     protected RiakFuture<Void, Location> executeAsync(RiakCluster cluster)
+    {
+        return executeAsync(cluster, location, vClock, options);
+    }
+    
+    Location getLocation()
+    {
+        return location;
+    }
+    
+    /**
+     * Deletes a value with options that have already been resolved, so 
+     * that {@link MultiDelete} can share them between items.
+     */
+    static RiakFuture<Void, Location> executeAsync(RiakCluster cluster, Location location, 
+                                                   VClock vClock, Map<Option<?>, Object> options)
     {
         RiakFuture<Void, Location> coreFuture =
-            cluster.execute(buildCoreOperation());
+            cluster.execute(buildCoreOperation(location, vClock, options));
         
         CoreFutureAdapter<Void, Location, Void, Location> future =
             new CoreFutureAdapter<Void, Location, Void, Location>(coreFuture)
@@ -104,7 +119,8 @@ public final class DeleteValue extends RiakCommand<Void, Location>
         return future;
     }
 
-    private DeleteOperation buildCoreOperation()
+    private static DeleteOperation buildCoreOperation(Location location, VClock vClock, 
+                                                      Map<Option<?>, Object> options)
     {
         DeleteOperation.Builder builder = new DeleteOperation.Builder(location);
 
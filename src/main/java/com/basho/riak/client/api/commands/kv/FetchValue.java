@@ -24,6 +24,8 @@ import com.basho.riak.client.core.RiakFuture;
 import com.basho.riak.client.api.commands.CoreFutureAdapter;
 import com.basho.riak.client.api.commands.RiakOption;
 import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.RiakObject;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -77,11 +79,13 @@ public final class FetchValue extends RiakCommand<FetchValue.Response, Location>
 	private final Location location;
 	private final Map<Option<?>, Object> options =
 			new HashMap<Option<?>, Object>();
+	private final ByteBufAllocator valueAllocator;
 
 	FetchValue(Builder builder)
 	{
 		this.location = builder.location;
 		this.options.putAll(builder.options);
+		this.valueAllocator = builder.valueAllocator;
 	}
 
 	@Override
@@ -114,9 +118,25 @@ public final class FetchValue extends RiakCommand<FetchValue.Response, Location>
         
     }
 
+    Location getLocation()
+    {
+        return location;
+    }
+    
+    Map<Option<?>, Object> getOptions()
+    {
+        return options;
+    }
+    
+    ByteBufAllocator getValueAllocator()
+    {
+        return valueAllocator;
+    }
+
 	private FetchOperation buildCoreOperation()
 	{
-		FetchOperation.Builder builder = new FetchOperation.Builder(location);
+		FetchOperation.Builder builder = new FetchOperation.Builder(location)
+		    .withValueAllocator(valueAllocator);
 
 		for (Map.Entry<Option<?>, Object> opPair : options.entrySet())
 		{
@@ -327,6 +347,7 @@ public final class FetchValue extends RiakCommand<FetchValue.Response, Location>
 		private final Location location;
 		private final Map<Option<?>, Object> options =
 				new HashMap<Option<?>, Object>();
+		private ByteBufAllocator valueAllocator;
 
         /**
          * Constructs a builder for a FetchValue operation using the supplied location.
@@ -371,6 +392,27 @@ public final class FetchValue extends RiakCommand<FetchValue.Response, Location>
             return this;
         }
         
+        /**
+         * Hold fetched values in buffers from the supplied allocator.
+         * <p>
+         * Large values can be kept off the Java heap by supplying a direct
+         * allocator such as {@code PooledByteBufAllocator.DEFAULT}. Each 
+         * returned {@link RiakObject} then holds its value in a 
+         * {@link com.basho.riak.client.core.util.BufferedValue} that can be
+         * read as a stream or {@code ByteBuffer}, and which you must release 
+         * by calling {@link RiakObject#release()}. Fetches using this bypass 
+         * any {@link ValueCache}.
+         * </p>
+         * @param allocator the allocator for value buffers, or null for heap {@code byte[]}s.
+         * @return a reference to this object.
+         * @see FetchOperation.Builder#withValueAllocator(ByteBufAllocator) 
+         */
+        public Builder withValueAllocator(ByteBufAllocator allocator)
+        {
+            this.valueAllocator = allocator;
+            return this;
+        }
+        
 		/**
 		 * Build a {@link FetchValue} object
 		 *
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+/**
+ * Estimates how often items have been seen recently.
+ * <p>
+ * A count-min sketch of four rows of byte counters that saturate at 15, 
+ * each row four to eight times the maximum size of the cache wide to keep 
+ * collisions rare. Every 
+ * {@code 10 * maximumSize} increments all counters are halved so that the 
+ * estimates favour recent popularity. Used by {@link ValueCache} to decide
+ * whether a new entry is worth evicting an existing one for (TinyLFU 
+ * admission). Not thread safe.
+ * </p>
+ * @since 2.0.2
+ */
+final class FrequencySketch
+{
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = 
+        { 0x97cb3127, 0x9e3779b9, 0xc2b2ae35, 0x27d4eb2f };
+    
+    private final byte[] table;
+    private final int width;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+    
+    FrequencySketch(int maximumSize)
+    {
+        int size = Math.max(maximumSize, 16);
+        int w = Integer.highestOneBit(size - 1) << 3;
+        this.width = w;
+        this.mask = w - 1;
+        this.table = new byte[DEPTH * w];
+        this.sampleSize = 10 * size;
+    }
+    
+    void increment(Object item)
+    {
+        int hash = spread(item.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++)
+        {
+            int index = indexOf(hash, i);
+            if (table[index] < MAX_COUNT)
+            {
+                table[index]++;
+                added = true;
+            }
+        }
+        
+        if (added && ++additions >= sampleSize)
+        {
+            reset();
+        }
+    }
+    
+    int frequency(Object item)
+    {
+        int hash = spread(item.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++)
+        {
+            frequency = Math.min(frequency, table[indexOf(hash, i)]);
+        }
+        return frequency;
+    }
+    
+    private void reset()
+    {
+        for (int i = 0; i < table.length; i++)
+        {
+            table[i] >>= 1;
+        }
+        additions /= 2;
+    }
+    
+    private int indexOf(int hash, int row)
+    {
+        int h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 16;
+        return row * width + (h & mask);
+    }
+    
+    private static int spread(int h)
+    {
+        h ^= (h >>> 17);
+        h *= 0xed5ad4bb;
+        h ^= (h >>> 11);
+        return h;
+    }
+}
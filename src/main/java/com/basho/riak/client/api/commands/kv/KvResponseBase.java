@@ -260,6 +260,81 @@ abstract class KvResponseBase
         return resolved;
     }
 
+    /**
+     * Get a single, resolved object from this response, resolving siblings
+     * before converting them.
+     * <p>
+     * If there are multiple values present (siblings), the supplied 
+     * {@link com.basho.riak.client.api.cap.ConflictResolver} chooses between 
+     * the {@code RiakObject}s as returned from Riak. Only the chosen one is 
+     * then converted to the supplied class using the 
+     * {@link com.basho.riak.client.api.convert.Converter} returned from the 
+     * {@link com.basho.riak.client.api.convert.ConverterFactory}. When 
+     * siblings can be told apart by their metadata this avoids converting 
+     * the ones that lose; see {@link com.basho.riak.client.api.cap.LastModifiedWinsResolver},
+     * {@link com.basho.riak.client.api.cap.VTagOrderedResolver} and 
+     * {@link com.basho.riak.client.api.cap.TombstoneAwareResolver}.
+     * </p>
+     * @param resolver the conflict resolver to apply to the raw values.
+     * @param clazz the class to be converted to.
+     * @return the single, resolved value converted to the supplied class.
+     * @throws UnresolvedConflictException if the resolver fails to resolve siblings.
+     */
+    public <T> T getValue(ConflictResolver<RiakObject> resolver, Class<T> clazz) throws UnresolvedConflictException
+    {
+        Converter<T> converter = ConverterFactory.getInstance().getConverter(clazz);
+        return resolveThenConvert(resolver, converter);
+    }
+    
+    /**
+     * Get a single, resolved object from this response, resolving siblings
+     * before converting them.
+     * <p>
+     * This version should only be used if you're converting to a parameterized 
+     * generic domain object.
+     * </p>
+     * @param resolver the conflict resolver to apply to the raw values.
+     * @param typeReference The TypeReference of the class to be converted to.
+     * @return the single, resolved value converted to the supplied class.
+     * @throws UnresolvedConflictException if the resolver fails to resolve siblings.
+     * @see #getValue(ConflictResolver, Class)
+     */
+    public <T> T getValue(ConflictResolver<RiakObject> resolver, TypeReference<T> typeReference) throws UnresolvedConflictException
+    {
+        Converter<T> converter = ConverterFactory.getInstance().getConverter(typeReference);
+        return resolveThenConvert(resolver, converter);
+    }
+    
+    /**
+     * Get a single, resolved object from this response, resolving siblings
+     * before converting them with the supplied converter.
+     * @param resolver the conflict resolver to apply to the raw values.
+     * @param converter The converter to use.
+     * @return the single, resolved value.
+     * @throws UnresolvedConflictException if the resolver fails to resolve siblings.
+     * @see #getValue(ConflictResolver, Class)
+     */
+    public <T> T getValue(ConflictResolver<RiakObject> resolver, Converter<T> converter) throws UnresolvedConflictException
+    {
+        return resolveThenConvert(resolver, converter);
+    }
+    
+    private <T> T resolveThenConvert(ConflictResolver<RiakObject> resolver, Converter<T> converter) throws UnresolvedConflictException
+    {
+        RiakObject winner = resolver.resolve(values);
+        if (winner == null)
+        {
+            return null;
+        }
+        
+        T resolved = converter.toDomain(winner, location);
+        if (resolved != null)
+        {
+            AnnotationUtil.setVClock(resolved, values.get(0).getVClock());
+        }
+        return resolved;
+    }
+
     /** 
      * Get the objects returned in this response.
      * <p>
@@ -15,7 +15,9 @@
  */
 package com.basho.riak.client.api.commands.kv;
 
-import com.basho.riak.client.api.RiakCommand;
+import com.basho.riak.client.api.StreamableRiakCommand;
+import com.basho.riak.client.api.commands.ChunkedResponseIterator;
+import com.basho.riak.client.api.commands.StreamingCoreFutureAdapter;
 import com.basho.riak.client.core.RiakCluster;
 import com.basho.riak.client.core.RiakFuture;
 import com.basho.riak.client.core.operations.ListKeysOperation;
@@ -44,13 +46,25 @@ import java.util.List;
  * }}</pre>
  * </p>
  * <p>
+ * Listing a large bucket this way holds every key in memory. Executing the 
+ * command with {@link com.basho.riak.client.api.RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)}
+ * instead returns keys as they arrive from Riak, with bounded memory use:
+ * <pre class="prettyprint">
+ * {@code
+ * RiakFuture<ListKeys.Response, Namespace> future = client.executeAsyncStreaming(lk, 16);
+ * for (Location l : future.get())
+ * {
+ *     System.out.println(l.getKeyAsString());
+ * }}</pre>
+ * </p>
+ * <p>
  * <b>This is a very expensive operation and is not recommended for use on a production system</b>
  * </p>
  *
  * @author Dave Rusek <drusek at basho dot com>
  * @since 2.0
  */
-public final class ListKeys extends RiakCommand<ListKeys.Response, Namespace>
+public final class ListKeys extends StreamableRiakCommand<ListKeys.Response, Namespace>
 {
 
 	private final Namespace namespace;
@@ -87,9 +101,39 @@ public final class ListKeys extends RiakCommand<ListKeys.Response, Namespace>
         return future;
     }
     
+    @Override
+    protected RiakFuture<ListKeys.Response, Namespace> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks)
+    {
+        ListKeysOperation operation = buildCoreOperation(maxBufferedChunks);
+        RiakFuture<ListKeysOperation.Response, Namespace> coreFuture = cluster.execute(operation);
+        
+        StreamingCoreFutureAdapter<ListKeys.Response, Namespace, ListKeysOperation.Response, Namespace> future =
+            new StreamingCoreFutureAdapter<ListKeys.Response, Namespace, ListKeysOperation.Response, Namespace>(coreFuture, 
+                new Response(namespace, operation))
+            {
+                @Override
+                protected Namespace convertQueryInfo(Namespace coreQueryInfo)
+                {
+                    return coreQueryInfo;
+                }
+            };
+        coreFuture.addListener(future);
+        return future;
+    }
+    
     private ListKeysOperation buildCoreOperation()
+    {
+        return buildCoreOperation(0);
+    }
+    
+    private ListKeysOperation buildCoreOperation(int maxBufferedChunks)
     {
         ListKeysOperation.Builder builder = new ListKeysOperation.Builder(namespace);
+        
+        if (maxBufferedChunks > 0)
+        {
+            builder.streamResults(maxBufferedChunks);
+        }
 
 		if (timeout > 0)
 		{
@@ -104,16 +148,39 @@ public final class ListKeys extends RiakCommand<ListKeys.Response, Namespace>
 
 		private final Namespace namespace;
 		private final List<BinaryValue> keys;
+        private final ListKeysOperation streamingOperation;
 
 		public Response(Namespace namespace, List<BinaryValue> keys)
 		{
 			this.namespace = namespace;
             this.keys = keys;
+            this.streamingOperation = null;
+        }
+        
+        /**
+         * A response whose keys are streamed. It can only be iterated once.
+         */
+        Response(Namespace namespace, ListKeysOperation streamingOperation)
+        {
+            this.namespace = namespace;
+            this.keys = null;
+            this.streamingOperation = streamingOperation;
         }
 
 		@Override
 		public Iterator<Location> iterator()
 		{
+            if (streamingOperation != null)
+            {
+                return new ChunkedResponseIterator<BinaryValue, Location>(streamingOperation)
+                {
+                    @Override
+                    protected Location convert(BinaryValue key)
+                    {
+                        return new Location(namespace, key);
+                    }
+                };
+            }
 			return new Itr(namespace, keys.iterator());
 		}
 	}
@@ -0,0 +1,471 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import com.basho.riak.client.api.commands.ListenableFuture;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakFutureListener;
+import com.basho.riak.client.core.query.Location;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a batch of single-item commands, keeping up to maxInFlight outstanding.
+ * <p>
+ * There is no submitting thread; each completion sends the next item from
+ * its listener. The item futures are kept in input order. When streaming,
+ * completed items are also queued for a consumer, and no more are sent while
+ * {@code maxBufferedChunks} are waiting.
+ * </p>
+ * @param <T> The batch response type.
+ * @param <R> The response type of each item.
+ * @since 2.0.2
+ */
+abstract class MultiCommandFuture<T, R> extends ListenableFuture<T, List<Location>>
+{
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final List<Location> locations;
+    private final int itemCount;
+    private final int maxInFlight;
+    private final AtomicReferenceArray<RiakFuture<R, Location>> results;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    // Requests to send the next item; see submitNext()
+    private final AtomicInteger pendingSubmits = new AtomicInteger();
+    
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private volatile long startTime;
+    private volatile long endTime;
+    
+    // Streaming only.
+    private final int maxBufferedChunks;
+    private final BlockingQueue<RiakFuture<R, Location>> completedQueue;
+    private final AtomicInteger deferredSubmits = new AtomicInteger();
+    private volatile T streamingResponse;
+    
+    /**
+     * @param locations the query info for the batch.
+     * @param itemCount the number of items.
+     * @param maxInFlight the maximum number of items outstanding at once.
+     * @param maxBufferedChunks the number of completed items to queue for a 
+     * streaming consumer, or 0 to not stream.
+     */
+    MultiCommandFuture(List<Location> locations, int itemCount, int maxInFlight, int maxBufferedChunks)
+    {
+        if (maxInFlight <= 0)
+        {
+            throw new IllegalArgumentException("maxInFlight must be greater than zero");
+        }
+        this.locations = locations;
+        this.itemCount = itemCount;
+        this.maxInFlight = maxInFlight;
+        this.results = new AtomicReferenceArray<RiakFuture<R, Location>>(itemCount);
+        this.maxBufferedChunks = maxBufferedChunks;
+        completedQueue = maxBufferedChunks > 0 
+            ? new LinkedBlockingQueue<RiakFuture<R, Location>>() 
+            : null;
+    }
+    
+    /**
+     * Sends the item at the given index.
+     * @param index the item's position in the batch.
+     * @return the item's future.
+     */
+    protected abstract RiakFuture<R, Location> execute(int index);
+    
+    /**
+     * Creates the response once all the items have completed.
+     * @param futures the items' futures, in input order.
+     * @return the batch response.
+     */
+    protected abstract T createResponse(List<RiakFuture<R, Location>> futures);
+    
+    /**
+     * Creates the response returned straight away when streaming. 
+     * @return the batch response.
+     */
+    protected abstract T createStreamingResponse();
+    
+    final void start()
+    {
+        if (completedQueue != null)
+        {
+            streamingResponse = createStreamingResponse();
+        }
+        startTime = System.nanoTime();
+        if (itemCount == 0)
+        {
+            setCompleted();
+            return;
+        }
+        
+        int initial = Math.min(maxInFlight, itemCount);
+        for (int i = 0; i < initial; i++)
+        {
+            submitNext();
+        }
+    }
+    
+    /**
+     * Sends the next item, if there is one. 
+     * <p>
+     * An item that fails immediately (e.g. no nodes are available) 
+     * completes on this thread, and its listener would call back 
+     * into here. Rather than recursing once per item, only the 
+     * outermost call sends; nested calls are counted and it loops.
+     * </p>
+     */
+    private void submitNext()
+    {
+        if (pendingSubmits.getAndIncrement() != 0)
+        {
+            return;
+        }
+        do
+        {
+            final int index = nextIndex.getAndIncrement();
+            if (index < itemCount)
+            {
+                final long sent = System.nanoTime();
+                RiakFuture<R, Location> future;
+                try
+                {
+                    future = execute(index);
+                }
+                catch (RuntimeException ex)
+                {
+                    future = new FailedFuture<R>(locations.get(index), ex);
+                }
+                future.addListener(new RiakFutureListener<R, Location>()
+                {
+                    @Override
+                    public void handle(RiakFuture<R, Location> f)
+                    {
+                        itemCompleted(index, f, System.nanoTime() - sent);
+                    }
+                });
+            }
+        } while (pendingSubmits.decrementAndGet() != 0);
+    }
+    
+    private void itemCompleted(int index, RiakFuture<R, Location> f, long latency)
+    {
+        results.set(index, f);
+        
+        if (!f.isSuccess())
+        {
+            failed.incrementAndGet();
+        }
+        totalLatency.addAndGet(latency);
+        long max;
+        while (latency > (max = maxLatency.get()) && !maxLatency.compareAndSet(max, latency))
+        {
+            // retry
+        }
+        
+        if (completedQueue == null)
+        {
+            submitNext();
+        }
+        else
+        {
+            completedQueue.offer(f);
+            if (completedQueue.size() <= maxBufferedChunks)
+            {
+                submitNext();
+            }
+            else
+            {
+                deferredSubmits.incrementAndGet();
+                // The consumer may have caught up before seeing the deferral.
+                if (completedQueue.size() <= maxBufferedChunks)
+                {
+                    resumeDeferredSubmit();
+                }
+            }
+        }
+        
+        if (completed.incrementAndGet() == itemCount)
+        {
+            setCompleted();
+        }
+    }
+    
+    private void resumeDeferredSubmit()
+    {
+        int deferred;
+        while ((deferred = deferredSubmits.get()) > 0)
+        {
+            if (deferredSubmits.compareAndSet(deferred, deferred - 1))
+            {
+                submitNext();
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Returns an iterator over the items as they complete. Only used when
+     * streaming.
+     * @return an iterator.
+     */
+    final Iterator<RiakFuture<R, Location>> completionIterator()
+    {
+        return new Iterator<RiakFuture<R, Location>>()
+        {
+            private int returned;
+            
+            @Override
+            public boolean hasNext()
+            {
+                return returned < itemCount;
+            }
+
+            @Override
+            public RiakFuture<R, Location> next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                try
+                {
+                    RiakFuture<R, Location> f = completedQueue.take();
+                    returned++;
+                    resumeDeferredSubmit();
+                    return f;
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for results", ex);
+                }
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+    
+    /**
+     * Returns the statistics for the batch so far.
+     * @return the current statistics.
+     */
+    final BatchStats getStats()
+    {
+        long end = isDone() ? endTime : System.nanoTime();
+        return new BatchStats(itemCount, completed.get(), failed.get(), end - startTime,
+                              totalLatency.get(), maxLatency.get());
+    }
+    
+    private T buildResponse()
+    {
+        if (streamingResponse != null)
+        {
+            return streamingResponse;
+        }
+        List<RiakFuture<R, Location>> futures = new ArrayList<RiakFuture<R, Location>>(itemCount);
+        for (int i = 0; i < itemCount; i++)
+        {
+            futures.add(results.get(i));
+        }
+        return createResponse(futures);
+    }
+    
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning)
+    {
+        return false;
+    }
+
+    @Override
+    public T get() throws InterruptedException
+    {
+        if (streamingResponse == null)
+        {
+            latch.await();
+        }
+        return buildResponse();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException
+    {
+        if (streamingResponse == null && !latch.await(timeout, unit))
+        {
+            throw new TimeoutException();
+        }
+        return buildResponse();
+    }
+
+    @Override
+    public T getNow()
+    {
+        if (isDone() || streamingResponse != null)
+        {
+            return buildResponse();
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isCancelled()
+    {
+        return false;
+    }
+
+    @Override
+    public boolean isDone()
+    {
+        return latch.getCount() != 1;
+    }
+
+    @Override
+    public void await() throws InterruptedException
+    {
+        latch.await();
+    }
+
+    @Override
+    public void await(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        latch.await(timeout, unit);
+    }
+
+    @Override
+    public boolean isSuccess()
+    {
+        return isDone();
+    }
+
+    @Override
+    public List<Location> getQueryInfo()
+    {
+        return locations;
+    }
+
+    @Override
+    public Throwable cause()
+    {
+        return null;
+    }
+
+    private void setCompleted()
+    {
+        endTime = System.nanoTime();
+        latch.countDown();
+        notifyListeners();
+    }
+    
+    /**
+     * The future for an item that couldn't be sent, e.g. because its value
+     * couldn't be converted.
+     */
+    private static class FailedFuture<R> extends ListenableFuture<R, Location>
+    {
+        private final Location location;
+        private final Throwable cause;
+        
+        FailedFuture(Location location, Throwable cause)
+        {
+            this.location = location;
+            this.cause = cause;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            return false;
+        }
+
+        @Override
+        public R get() throws ExecutionException
+        {
+            throw new ExecutionException(cause);
+        }
+
+        @Override
+        public R get(long timeout, TimeUnit unit) throws ExecutionException
+        {
+            throw new ExecutionException(cause);
+        }
+
+        @Override
+        public R getNow()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return true;
+        }
+
+        @Override
+        public void await()
+        {
+        }
+
+        @Override
+        public void await(long timeout, TimeUnit unit)
+        {
+        }
+
+        @Override
+        public boolean isSuccess()
+        {
+            return false;
+        }
+
+        @Override
+        public Throwable cause()
+        {
+            return cause;
+        }
+
+        @Override
+        public Location getQueryInfo()
+        {
+            return location;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import com.basho.riak.client.api.StreamableRiakCommand;
+import com.basho.riak.client.api.commands.kv.DeleteValue.Option;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.query.Location;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Command used to delete multiple values from Riak.
+ * <script src="https://google-code-prettify.googlecode.com/svn/loader/run_prettify.js"></script>
+ * <p>
+ * Like {@link MultiFetch}, this sends a delete for each location, keeping 
+ * up to {@code maxInFlight} outstanding; each completion sends the next. 
+ * The options are shared by every delete.
+ * </p>
+ * <pre class="prettyprint">
+ * {@code
+ * MultiDelete md = new MultiDelete.Builder().addLocations(locations)
+ *                                           .withMaxInFlight(64).build();
+ * MultiDelete.Response response = client.execute(md);
+ * for (RiakFuture<Void, Location> f : response)
+ * {
+ *     if (!f.isSuccess())
+ *     {
+ *         // log error, retry, etc.
+ *     }
+ * }}</pre>
+ *
+ * @since 2.0.2
+ */
+public final class MultiDelete extends StreamableRiakCommand<MultiDelete.Response, List<Location>>
+{
+    public static final int DEFAULT_MAX_IN_FLIGHT = 10;
+    
+    private final List<Location> locations;
+    private final Map<Option<?>, Object> options = new HashMap<Option<?>, Object>();
+    private final int maxInFlight;
+    
+    private MultiDelete(Builder builder)
+    {
+        this.locations = new ArrayList<Location>(builder.locations);
+        this.options.putAll(builder.options);
+        this.maxInFlight = builder.maxInFlight;
+    }
+    
+    @Override
+    protected RiakFuture<Response, List<Location>> executeAsync(RiakCluster cluster)
+    {
+        MultiDeleteFuture future = new MultiDeleteFuture(cluster, 0);
+        future.start();
+        return future;
+    }
+    
+    @Override
+    protected RiakFuture<Response, List<Location>> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks)
+    {
+        if (maxBufferedChunks <= 0)
+        {
+            throw new IllegalArgumentException("maxBufferedChunks must be greater than zero");
+        }
+        MultiDeleteFuture future = new MultiDeleteFuture(cluster, maxBufferedChunks);
+        future.start();
+        return future;
+    }
+    
+    List<Location> getLocations()
+    {
+        return locations;
+    }
+    
+    /**
+     * Used to construct a MultiDelete command.
+     */
+    public static class Builder
+    {
+        private final List<Location> locations = new ArrayList<Location>();
+        private final Map<Option<?>, Object> options = new HashMap<Option<?>, Object>();
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        
+        /**
+         * Add a location to delete.
+         * @param location the location.
+         * @return a reference to this object.
+         */
+        public Builder addLocation(Location location)
+        {
+            if (location == null)
+            {
+                throw new IllegalArgumentException("Location can not be null");
+            }
+            locations.add(location);
+            return this;
+        }
+        
+        /**
+         * Add locations to delete.
+         * @param locations the locations.
+         * @return a reference to this object.
+         */
+        public Builder addLocations(Location... locations)
+        {
+            return addLocations(Arrays.asList(locations));
+        }
+        
+        /**
+         * Add locations to delete.
+         * @param locations the locations.
+         * @return a reference to this object.
+         */
+        public Builder addLocations(Iterable<Location> locations)
+        {
+            for (Location location : locations)
+            {
+                addLocation(location);
+            }
+            return this;
+        }
+        
+        /**
+         * Set the maximum number of deletes to be in progress simultaneously.
+         * @param maxInFlight the max number of outstanding requests.
+         * @return a reference to this object.
+         */
+        public Builder withMaxInFlight(int maxInFlight)
+        {
+            if (maxInFlight <= 0)
+            {
+                throw new IllegalArgumentException("maxInFlight must be greater than zero");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+        
+        /**
+         * A {@link DeleteValue.Option} to use with each delete.
+         * @param option an option
+         * @param value the option's associated value
+         * @param <U> the type of the option's value
+         * @return a reference to this object.
+         */
+        public <U> Builder withOption(Option<U> option, U value)
+        {
+            options.put(option, value);
+            return this;
+        }
+        
+        /**
+         * Set the Riak-side timeout value for each delete.
+         * @param timeout the timeout in milliseconds to be sent to riak.
+         * @return a reference to this object.
+         */
+        public Builder withTimeout(int timeout)
+        {
+            withOption(Option.TIMEOUT, timeout);
+            return this;
+        }
+        
+        /**
+         * Build a {@link MultiDelete} command from this builder.
+         * @return a new MultiDelete command.
+         */
+        public MultiDelete build()
+        {
+            return new MultiDelete(this);
+        }
+    }
+    
+    /**
+     * The response from Riak for a MultiDelete command.
+     * <p>
+     * The futures are in the same order as the locations in the command. A
+     * streamed response instead returns them as they complete and can only
+     * be iterated once.
+     * </p>
+     */
+    public static final class Response implements Iterable<RiakFuture<Void, Location>>
+    {
+        private final List<RiakFuture<Void, Location>> responses;
+        private final MultiCommandFuture<Response, Void> future;
+        
+        Response(List<RiakFuture<Void, Location>> responses, MultiCommandFuture<Response, Void> future)
+        {
+            this.responses = responses;
+            this.future = future;
+        }
+        
+        @Override
+        public Iterator<RiakFuture<Void, Location>> iterator()
+        {
+            if (responses == null)
+            {
+                return future.completionIterator();
+            }
+            return unmodifiableList(responses).iterator();
+        }
+        
+        /**
+         * Returns the futures for each delete, in the order the locations were added.
+         * @return the futures.
+         * @throws IllegalStateException if the response is being streamed.
+         */
+        public List<RiakFuture<Void, Location>> getResponses()
+        {
+            if (responses == null)
+            {
+                throw new IllegalStateException("Results are being streamed; iterate the response instead");
+            }
+            return responses;
+        }
+        
+        /**
+         * Returns throughput and latency statistics for the deletes. For a 
+         * streamed response these cover the deletes completed so far.
+         * @return the statistics.
+         */
+        public BatchStats getStats()
+        {
+            return future.getStats();
+        }
+    }
+    
+    private class MultiDeleteFuture extends MultiCommandFuture<Response, Void>
+    {
+        private final RiakCluster cluster;
+        
+        MultiDeleteFuture(RiakCluster cluster, int maxBufferedChunks)
+        {
+            super(unmodifiableList(locations), locations.size(), maxInFlight, maxBufferedChunks);
+            this.cluster = cluster;
+        }
+        
+        @Override
+        protected RiakFuture<Void, Location> execute(int index)
+        {
+            return DeleteValue.executeAsync(cluster, locations.get(index), null, options);
+        }
+        
+        @Override
+        protected Response createResponse(List<RiakFuture<Void, Location>> futures)
+        {
+            return new Response(futures, this);
+        }
+        
+        @Override
+        protected Response createStreamingResponse()
+        {
+            return new Response(null, this);
+        }
+    }
+}
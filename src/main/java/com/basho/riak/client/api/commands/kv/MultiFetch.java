@@ -16,38 +16,32 @@
 package com.basho.riak.client.api.commands.kv;
 
 import com.basho.riak.client.core.RiakCluster;
-import com.basho.riak.client.api.RiakCommand;
+import com.basho.riak.client.api.StreamableRiakCommand;
 import com.basho.riak.client.core.RiakFuture;
-import com.basho.riak.client.core.RiakFutureListener;
-import com.basho.riak.client.api.commands.ListenableFuture;
 import com.basho.riak.client.api.commands.kv.FetchValue.Option;
 import com.basho.riak.client.core.query.Location;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 
 
 import static java.util.Collections.unmodifiableList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Command used to fetch multiple values from Riak.
  * <script src="https://google-code-prettify.googlecode.com/svn/loader/run_prettify.js"></script>
  * <p>
- * Riak itself does not support pipelining of requests. MutliFetch addresses this issue by using a thread to
- * parallelize and manage a set of async fetch operations for a given set of keys.
+ * Riak itself does not support pipelining of requests. MutliFetch addresses this issue by 
+ * parallelizing and managing a set of async fetch operations for a given set of keys. 
+ * No thread is used; each time a fetch completes the next one is sent from 
+ * its completion listener.
  * </p>
  * <p>
  * The result of executing this command is a {@code List} of {@link RiakFuture} objects, each one representing a single
- * fetch operation. The returned {@code RiakFuture} that contains that list completes
+ * fetch operation, in the same order as the locations were added. The returned {@code RiakFuture} that contains that list completes
  * when all the FetchValue operations contained have finished.
  * <p/>
  * <pre class="prettyprint">
@@ -73,6 +67,14 @@ import java.util.concurrent.atomic.AtomicInteger;
  * when constructing the operation.
  * </p>
  * <p>
+ * Executing the command with 
+ * {@link com.basho.riak.client.api.RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)}
+ * returns a response straight away. Iterating it returns each fetch as it
+ * completes, in whatever order that happens. No more than 
+ * {@code maxBufferedChunks} completed fetches are held waiting for the 
+ * iterator; until it catches up no further fetches are sent.
+ * </p>
+ * <p>
  * Be aware that because requests are being parallelized performance is also
  * dependent on the client's underlying connection pool. If there are no connections
  * available performance will suffer initially as connections will need to be established
@@ -82,7 +84,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * @author Dave Rusek <drusek at basho dot com>
  * @since 2.0
  */
-public final class MultiFetch extends RiakCommand<MultiFetch.Response, List<Location>>
+public final class MultiFetch extends StreamableRiakCommand<MultiFetch.Response, List<Location>>
 {
     public static final int DEFAULT_MAX_IN_FLIGHT = 10;
     
@@ -100,15 +102,20 @@ public final class MultiFetch extends RiakCommand<MultiFetch.Response, List<Loca
 	@Override
     protected RiakFuture<Response, List<Location>> executeAsync(final RiakCluster cluster)
     {
-        List<FetchValue> fetchOperations = buildFetchOperations();
-        MultiFetchFuture future = new MultiFetchFuture(locations);
-        
-        Submitter submitter = new Submitter(fetchOperations, maxInFlight, 
-                                            cluster, future);
-        
-        Thread t = new Thread(submitter);
-        t.setDaemon(true);
-        t.start();
+        MultiFetchFuture future = new MultiFetchFuture(cluster, buildFetchOperations(), 0);
+        future.start();
+        return future;
+    }
+    
+    @Override
+    protected RiakFuture<Response, List<Location>> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks)
+    {
+        if (maxBufferedChunks <= 0)
+        {
+            throw new IllegalArgumentException("maxBufferedChunks must be greater than zero");
+        }
+        MultiFetchFuture future = new MultiFetchFuture(cluster, buildFetchOperations(), maxBufferedChunks);
+        future.start();
         return future;
     }
 
@@ -116,7 +123,7 @@ public final class MultiFetch extends RiakCommand<MultiFetch.Response, List<Loca
     private List<FetchValue> buildFetchOperations()
     {
         List<FetchValue> fetchValueOperations =
-            new LinkedList<FetchValue>();
+            new ArrayList<FetchValue>(locations.size());
         
         for (Location location : locations)
 		{
@@ -244,196 +251,89 @@ public final class MultiFetch extends RiakCommand<MultiFetch.Response, List<Loca
 
 	/**
 	 * The response from Raik for a MultiFetch command.
-	 *
+	 * <p>
+	 * The futures are in the same order as the locations in the command. A
+	 * streamed response instead returns them as they complete and can only
+	 * be iterated once.
+	 * </p>
 	 */
 	public static final class Response implements Iterable<RiakFuture<FetchValue.Response, Location>>
 	{
 
 		private final List<RiakFuture<FetchValue.Response, Location>> responses;
+        private final MultiCommandFuture<Response, FetchValue.Response> future;
 
-		Response(List<RiakFuture<FetchValue.Response, Location>> responses)
+		Response(List<RiakFuture<FetchValue.Response, Location>> responses, 
+                 MultiCommandFuture<Response, FetchValue.Response> future)
 		{
 			this.responses = responses;
+            this.future = future;
 		}
 
 		@Override
 		public Iterator<RiakFuture<FetchValue.Response, Location>> iterator()
 		{
+            if (responses == null)
+            {
+                return future.completionIterator();
+            }
 			return unmodifiableList(responses).iterator();
 		}
         
+        /**
+         * Returns the futures for each fetch, in the order the locations were added.
+         * @return the futures.
+         * @throws IllegalStateException if the response is being streamed.
+         */
         public List<RiakFuture<FetchValue.Response, Location>> getResponses()
         {
-            return responses;
-        }
-        
-	}
-
-    private class Submitter implements Runnable, RiakFutureListener<FetchValue.Response, Location>
-    {
-        private final List<FetchValue> operations;
-        private final Semaphore inFlight;
-        private final AtomicInteger received = new AtomicInteger();
-        private final RiakCluster cluster;
-        private final MultiFetchFuture multiFuture;
-        
-        public Submitter(List<FetchValue> operations, int maxInFlight, 
-                         RiakCluster cluster, MultiFetchFuture multiFuture)
-        {
-            this.operations = operations;
-            this.cluster = cluster;
-            this.multiFuture = multiFuture;
-            inFlight = new Semaphore(maxInFlight);
-        }
-        
-        @Override
-        public void run()
-        {
-            for (FetchValue fv : operations)
+            if (responses == null)
             {
-                try
-                {
-                    inFlight.acquire();
-                }
-                catch (InterruptedException ex)
-                {
-                    multiFuture.setFailed(ex);
-                    break;
-                }
-                
-                RiakFuture<FetchValue.Response, Location> future =
-                    fv.executeAsync(cluster);
-                future.addListener(this);
+                throw new IllegalStateException("Results are being streamed; iterate the response instead");
             }
+            return responses;
         }
-
-        @Override
-        public void handle(RiakFuture<FetchValue.Response, Location> f)
+        
+        /**
+         * Returns throughput and latency statistics for the fetches. For a 
+         * streamed response these cover the fetches completed so far.
+         * @return the statistics.
+         */
+        public BatchStats getStats()
         {
-            multiFuture.addFetchFuture(f);
-            inFlight.release();
-            int completed = received.incrementAndGet();
-            if (completed == operations.size())
-            {
-                multiFuture.setCompleted();
-            }
+            return future.getStats();
         }
         
-    }
+	}
     
-    private class MultiFetchFuture extends ListenableFuture<Response, List<Location>>
+    private class MultiFetchFuture extends MultiCommandFuture<Response, FetchValue.Response>
     {
-        private final CountDownLatch latch = new CountDownLatch(1);
-        private final List<Location> locations;
-        private final List<RiakFuture<FetchValue.Response, Location>> futures;
-        private volatile Throwable exception;
-        
-        private MultiFetchFuture(List<Location> locations)
-        {
-            this.locations = locations;
-            futures = 
-                Collections.synchronizedList(new LinkedList<RiakFuture<FetchValue.Response, Location>>());
-        }
-        
-        @Override
-        public boolean cancel(boolean mayInterruptIfRunning)
-        {
-            return false;
-        }
-
-        @Override
-        public Response get() throws InterruptedException
-        {
-            latch.await();
-            return new Response(futures);
-        }
-
-        @Override
-        public Response get(long timeout, TimeUnit unit) throws InterruptedException
-        {
-            latch.await(timeout, unit);
-            if (isDone())
-            {
-                return new Response(futures);
-            }
-            else
-            {
-                return null;
-            }
-        }
-
-        @Override
-        public Response getNow()
-        {
-            if (isDone())
-            {
-                return new Response(futures);
-            }
-            else
-            {
-                return null;
-            }
-        }
+        private final RiakCluster cluster;
+        private final List<FetchValue> operations;
         
-        @Override
-        public boolean isCancelled()
+        private MultiFetchFuture(RiakCluster cluster, List<FetchValue> operations, int maxBufferedChunks)
         {
-            return false;
-        }
-
-        @Override
-        public boolean isDone()
-        {
-            return latch.getCount() != 1;
-        }
-
-        @Override
-        public void await() throws InterruptedException
-        {
-            latch.await();
+            super(locations, operations.size(), maxInFlight, maxBufferedChunks);
+            this.cluster = cluster;
+            this.operations = operations;
         }
 
         @Override
-        public void await(long timeout, TimeUnit unit) throws InterruptedException
+        protected RiakFuture<FetchValue.Response, Location> execute(int index)
         {
-            latch.await(timeout, unit);
+            return operations.get(index).executeAsync(cluster);
         }
 
         @Override
-        public boolean isSuccess()
+        protected Response createResponse(List<RiakFuture<FetchValue.Response, Location>> futures)
         {
-            return isDone() && exception == null;
+            return new Response(futures, this);
         }
 
         @Override
-        public List<Location> getQueryInfo()
-        {
-            return locations;
-        }
-        
-        @Override
-        public Throwable cause()
-        {
-            return exception;
-        }
-        
-        private void addFetchFuture(RiakFuture<FetchValue.Response, Location> future)
-        {
-            futures.add(future);
-        }
-        
-        private void setCompleted()
-        {
-            latch.countDown();
-            notifyListeners();
-        }
-        
-        private void setFailed(Throwable t)
+        protected Response createStreamingResponse()
         {
-            this.exception = t;
-            latch.countDown();
-            notifyListeners();
+            return new Response(null, this);
         }
- 
     }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import com.basho.riak.client.api.StreamableRiakCommand;
+import com.basho.riak.client.api.convert.Converter;
+import com.basho.riak.client.api.convert.ConverterFactory;
+import com.basho.riak.client.api.commands.kv.StoreValue.Option;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.query.Location;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Command used to store multiple values in Riak.
+ * <script src="https://google-code-prettify.googlecode.com/svn/loader/run_prettify.js"></script>
+ * <p>
+ * Like {@link MultiFetch}, this sends a store for each value, keeping up to 
+ * {@code maxInFlight} outstanding; each completion sends the next. The 
+ * stores go through the cluster's NodeManager and so are spread across 
+ * the nodes like any other operation. Each value is converted as its 
+ * store is sent, so a value that can't be converted fails only its own 
+ * store. The options are shared by every store.
+ * </p>
+ * <p>
+ * The result of executing this command is a {@code List} of {@link RiakFuture} 
+ * objects, one for each store, in the order the values were added, along 
+ * with statistics for the batch.
+ * </p>
+ * <pre class="prettyprint">
+ * {@code
+ * MultiStore.Builder builder = new MultiStore.Builder().withMaxInFlight(64);
+ * for (MyPojo p : pojos)
+ * {
+ *     builder.addValue(new Location(ns, p.getId()), p);
+ * }
+ * MultiStore.Response response = client.execute(builder.build());
+ * for (RiakFuture<StoreValue.Response, Location> f : response)
+ * {
+ *     if (!f.isSuccess())
+ *     {
+ *         // log error, retry, etc.
+ *     }
+ * }
+ * System.out.println(response.getStats());}</pre>
+ * <p>
+ * Executing it with 
+ * {@link com.basho.riak.client.api.RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)}
+ * instead returns each store as it completes.
+ * </p>
+ *
+ * @since 2.0.2
+ */
+public final class MultiStore extends StreamableRiakCommand<MultiStore.Response, List<Location>>
+{
+    public static final int DEFAULT_MAX_IN_FLIGHT = 10;
+    
+    private final List<Location> locations;
+    private final List<Object> values;
+    private final Map<Option<?>, Object> options = new HashMap<Option<?>, Object>();
+    private final int maxInFlight;
+    
+    private MultiStore(Builder builder)
+    {
+        this.locations = new ArrayList<Location>(builder.locations);
+        this.values = new ArrayList<Object>(builder.values);
+        this.options.putAll(builder.options);
+        this.maxInFlight = builder.maxInFlight;
+    }
+    
+    @Override
+    protected RiakFuture<Response, List<Location>> executeAsync(RiakCluster cluster)
+    {
+        MultiStoreFuture future = new MultiStoreFuture(cluster, 0);
+        future.start();
+        return future;
+    }
+    
+    @Override
+    protected RiakFuture<Response, List<Location>> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks)
+    {
+        if (maxBufferedChunks <= 0)
+        {
+            throw new IllegalArgumentException("maxBufferedChunks must be greater than zero");
+        }
+        MultiStoreFuture future = new MultiStoreFuture(cluster, maxBufferedChunks);
+        future.start();
+        return future;
+    }
+    
+    List<Location> getLocations()
+    {
+        return locations;
+    }
+    
+    /**
+     * Used to construct a MultiStore command.
+     */
+    public static class Builder
+    {
+        private final List<Location> locations = new ArrayList<Location>();
+        private final List<Object> values = new ArrayList<Object>();
+        private final Map<Option<?>, Object> options = new HashMap<Option<?>, Object>();
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        
+        /**
+         * Add a value to store at the given location.
+         * <p>
+         * The value is converted as with {@link StoreValue}; anything other 
+         * than a RiakObject is stored as JSON unless a converter has been 
+         * registered for its class.
+         * </p>
+         * @param location the location to store the value at.
+         * @param value the value.
+         * @return a reference to this object.
+         */
+        public Builder addValue(Location location, Object value)
+        {
+            if (location == null)
+            {
+                throw new IllegalArgumentException("Location can not be null");
+            }
+            else if (value == null)
+            {
+                throw new IllegalArgumentException("Value can not be null");
+            }
+            locations.add(location);
+            values.add(value);
+            return this;
+        }
+        
+        /**
+         * Add values to store at the given locations.
+         * @param values a map of locations to values.
+         * @return a reference to this object.
+         */
+        public Builder addValues(Map<Location, ?> values)
+        {
+            for (Map.Entry<Location, ?> entry : values.entrySet())
+            {
+                addValue(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+        
+        /**
+         * Set the maximum number of stores to be in progress simultaneously.
+         * @param maxInFlight the max number of outstanding requests.
+         * @return a reference to this object.
+         */
+        public Builder withMaxInFlight(int maxInFlight)
+        {
+            if (maxInFlight <= 0)
+            {
+                throw new IllegalArgumentException("maxInFlight must be greater than zero");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+        
+        /**
+         * A {@link StoreValue.Option} to use with each store.
+         * @param option an option
+         * @param value the option's associated value
+         * @param <U> the type of the option's value
+         * @return a reference to this object.
+         */
+        public <U> Builder withOption(Option<U> option, U value)
+        {
+            options.put(option, value);
+            return this;
+        }
+        
+        /**
+         * Set the Riak-side timeout value for each store.
+         * @param timeout the timeout in milliseconds to be sent to riak.
+         * @return a reference to this object.
+         */
+        public Builder withTimeout(int timeout)
+        {
+            withOption(Option.TIMEOUT, timeout);
+            return this;
+        }
+        
+        /**
+         * Build a {@link MultiStore} command from this builder.
+         * @return a new MultiStore command.
+         */
+        public MultiStore build()
+        {
+            return new MultiStore(this);
+        }
+    }
+    
+    /**
+     * The response from Riak for a MultiStore command.
+     * <p>
+     * The futures are in the same order as the values in the command. A
+     * streamed response instead returns them as they complete and can only
+     * be iterated once.
+     * </p>
+     */
+    public static final class Response implements Iterable<RiakFuture<StoreValue.Response, Location>>
+    {
+        private final List<RiakFuture<StoreValue.Response, Location>> responses;
+        private final MultiCommandFuture<Response, StoreValue.Response> future;
+        
+        Response(List<RiakFuture<StoreValue.Response, Location>> responses,
+                 MultiCommandFuture<Response, StoreValue.Response> future)
+        {
+            this.responses = responses;
+            this.future = future;
+        }
+        
+        @Override
+        public Iterator<RiakFuture<StoreValue.Response, Location>> iterator()
+        {
+            if (responses == null)
+            {
+                return future.completionIterator();
+            }
+            return unmodifiableList(responses).iterator();
+        }
+        
+        /**
+         * Returns the futures for each store, in the order the values were added.
+         * @return the futures.
+         * @throws IllegalStateException if the response is being streamed.
+         */
+        public List<RiakFuture<StoreValue.Response, Location>> getResponses()
+        {
+            if (responses == null)
+            {
+                throw new IllegalStateException("Results are being streamed; iterate the response instead");
+            }
+            return responses;
+        }
+        
+        /**
+         * Returns throughput and latency statistics for the stores. For a 
+         * streamed response these cover the stores completed so far.
+         * @return the statistics.
+         */
+        public BatchStats getStats()
+        {
+            return future.getStats();
+        }
+    }
+    
+    private class MultiStoreFuture extends MultiCommandFuture<Response, StoreValue.Response>
+    {
+        private final RiakCluster cluster;
+        
+        MultiStoreFuture(RiakCluster cluster, int maxBufferedChunks)
+        {
+            super(unmodifiableList(locations), locations.size(), maxInFlight, maxBufferedChunks);
+            this.cluster = cluster;
+        }
+        
+        @Override
+        protected RiakFuture<StoreValue.Response, Location> execute(int index)
+        {
+            // The factory caches converters by class. Anything thrown fails
+            // just this item.
+            Object value = values.get(index);
+            Converter<?> converter = ConverterFactory.getInstance().getConverter(value.getClass());
+            Location location = locations.get(index);
+            return StoreValue.executeAsync(cluster, converter, value,
+                                           location.getNamespace(), location.getKey(), 
+                                           null, options);
+        }
+        
+        @Override
+        protected Response createResponse(List<RiakFuture<StoreValue.Response, Location>> futures)
+        {
+            return new Response(futures, this);
+        }
+        
+        @Override
+        protected Response createStreamingResponse()
+        {
+            return new Response(null, this);
+        }
+    }
+}
@@ -90,11 +90,10 @@ public final class StoreValue extends RiakCommand<StoreValue.Response, Location>
     }
 
     
-    @SuppressWarnings("unchecked")
     @Override
     protected RiakFuture<Response, Location> executeAsync(RiakCluster cluster)
     {
-        Converter converter;
+        Converter<?> converter;
         
         if (typeReference == null)
         {
@@ -105,6 +104,28 @@ public final class StoreValue extends RiakCommand<StoreValue.Response, Location>
             converter = ConverterFactory.getInstance().getConverter(typeReference);
         }
         
+        return executeAsync(cluster, converter, value, namespace, key, vclock, options);
+    }
+    
+    /**
+     * Returns the location being stored to, or null if Riak is to generate
+     * the key or the key comes from the value's annotations.
+     */
+    Location getLocation()
+    {
+        return namespace != null && key != null ? new Location(namespace, key) : null;
+    }
+    
+    /**
+     * Stores a value with a converter and options that have already been 
+     * resolved, so that {@link MultiStore} can share them between items.
+     */
+    @SuppressWarnings("unchecked")
+    static RiakFuture<Response, Location> executeAsync(RiakCluster cluster, Converter converter, 
+                                                       Object value, Namespace namespace, 
+                                                       BinaryValue key, VClock vclock,
+                                                       Map<Option<?>, Object> options)
+    {
         final OrmExtracted orm = converter.fromDomain(value, namespace, key);
         
         // If there's no vector clock in the object, use one possibly given via
@@ -115,7 +136,7 @@ public final class StoreValue extends RiakCommand<StoreValue.Response, Location>
         }
         
         RiakFuture<StoreOperation.Response, Location> coreFuture =
-            cluster.execute(buildCoreOperation(orm));
+            cluster.execute(buildCoreOperation(orm, options));
         
         CoreFutureAdapter<Response, Location, StoreOperation.Response, Location> future = 
             new CoreFutureAdapter<Response, Location, StoreOperation.Response, Location>(coreFuture)
@@ -150,7 +171,7 @@ public final class StoreValue extends RiakCommand<StoreValue.Response, Location>
         return future;
     }
     
-    private StoreOperation buildCoreOperation(OrmExtracted orm)
+    private static StoreOperation buildCoreOperation(OrmExtracted orm, Map<Option<?>, Object> options)
     {
         StoreOperation.Builder builder;
         
@@ -23,6 +23,8 @@ import com.basho.riak.client.api.convert.ConversionException;
 import com.basho.riak.client.api.convert.reflection.AnnotationUtil;
 import com.basho.riak.client.core.RiakFuture;
 import com.basho.riak.client.core.RiakFutureListener;
+import com.basho.riak.client.core.RetryPolicy;
+import com.basho.riak.client.core.netty.RiakResponseException;
 import com.basho.riak.client.api.commands.ListenableFuture;
 import com.basho.riak.client.core.query.Location;
 import com.basho.riak.client.core.query.RiakObject;
@@ -86,6 +88,16 @@ import java.util.concurrent.TimeoutException;
  *     new UpdateValue.Builder(loc).withUpdate(update).build();
  * 
  * UpdateValue.Response response = client.execute(uv);}</pre>
+ * <p>
+ * By default the store is sent with the fetched vector clock and, if 
+ * someone else has written the object in the meantime, Riak keeps both 
+ * versions as siblings. On a hot key in a bucket with allow_mult set those 
+ * siblings pile up and every later fetch and resolve gets slower. 
+ * {@link Builder#withRetryOnConflict(int)} instead stores conditionally 
+ * and, when another write got there first, fetches, applies the 
+ * {@code Update} and stores again, up to the given number of attempts.
+ * Your {@code Update} may therefore be applied more than once.
+ * </p>
  * @author Dave Rusek <drusek at basho dot com>
  * @since 2.0
  */
@@ -98,6 +110,9 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
 	    new HashMap<FetchValue.Option<?>, Object>();
     private final Map<StoreValue.Option<?>, Object> storeOptions =
 	    new HashMap<StoreValue.Option<?>, Object>();
+    private final boolean conditional;
+    private final int maxAttempts;
+    private final RetryPolicy conflictBackoff;
 
     UpdateValue(Builder builder)
     {
@@ -106,120 +121,212 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
         this.typeReference = builder.typeReference;
 	    this.fetchOptions.putAll(builder.fetchOptions);
 	    this.storeOptions.putAll(builder.storeOptions);
+        this.conditional = builder.maxAttempts > 0;
+        this.maxAttempts = Math.max(1, builder.maxAttempts);
+        this.conflictBackoff = builder.conflictBackoff;
+    }
+    
+    Location getLocation()
+    {
+        return location;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected RiakFuture<Response, Location> executeAsync(final RiakCluster cluster)
     {
         final UpdateValueFuture updateFuture = new UpdateValueFuture(location);
+        new Attempt(cluster, updateFuture, 1).run();
+        return updateFuture;
+    }
+    
+    private boolean isConflict(Throwable cause)
+    {
+        return conditional && 
+            cause instanceof RiakResponseException && 
+            ((RiakResponseException) cause).isPreconditionFailure();
+    }
+    
+    /**
+     * One fetch, apply, store cycle. When storing conditionally and the 
+     * store fails because someone else wrote first, a new Attempt is 
+     * scheduled after the backoff rather than blocking a thread.
+     */
+    private class Attempt implements Runnable, RiakFutureListener<FetchValue.Response, Location>
+    {
+        private final RiakCluster cluster;
+        private final UpdateValueFuture updateFuture;
+        private final int attempt;
         
-        FetchValue.Builder fetchBuilder = new FetchValue.Builder(location);
-        for (Map.Entry<FetchValue.Option<?>, Object> optPair : fetchOptions.entrySet())
+        Attempt(RiakCluster cluster, UpdateValueFuture updateFuture, int attempt)
         {
-            fetchBuilder.withOption((FetchValue.Option<Object>) optPair.getKey(), optPair.getValue());
+            this.cluster = cluster;
+            this.updateFuture = updateFuture;
+            this.attempt = attempt;
         }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public void run()
+        {
+            FetchValue.Builder fetchBuilder = new FetchValue.Builder(location);
+            for (Map.Entry<FetchValue.Option<?>, Object> optPair : fetchOptions.entrySet())
+            {
+                fetchBuilder.withOption((FetchValue.Option<Object>) optPair.getKey(), optPair.getValue());
+            }
 
-        RiakFuture<FetchValue.Response, Location> fetchFuture =
-            fetchBuilder.build().executeAsync(cluster);
+            try
+            {
+                RiakFuture<FetchValue.Response, Location> fetchFuture =
+                    fetchBuilder.build().executeAsync(cluster);
+                fetchFuture.addListener(this);
+            }
+            catch (RuntimeException ex)
+            {
+                // e.g. the cluster is shutting down. A retry runs on the
+                // cluster's executor, which would swallow this.
+                updateFuture.setException(ex);
+            }
+        }
         
-        // Anonymous listener that will do the work
-        RiakFutureListener<FetchValue.Response, Location> fetchListener =
-            new RiakFutureListener<FetchValue.Response, Location>()
+        @SuppressWarnings("unchecked")
+        @Override
+        public void handle(RiakFuture<FetchValue.Response, Location> f)
+        {
+            if (f.isSuccess())
             {
-                @Override
-                public void handle(RiakFuture<FetchValue.Response, Location> f)
+                FetchValue.Response fetchResponse;
+                try 
                 {
-                    if (f.isSuccess())
+                    fetchResponse = f.get();
+                    Object resolved = null;
+                    VClock vclock = null;
+
+                    if (!fetchResponse.isNotFound())
                     {
-                        FetchValue.Response fetchResponse;
-                        try 
+                        if (typeReference == null)
                         {
-                            fetchResponse = f.get();
-                            Object resolved = null;
-                            VClock vclock = null;
-                            
-                            if (!fetchResponse.isNotFound())
+                            // Steal the type from the Update. Yes, Really.
+                            ParameterizedType pType = (ParameterizedType)update.getClass().getGenericSuperclass();
+                            Type t = pType.getActualTypeArguments()[0];
+                            if (t instanceof ParameterizedType)
                             {
-                                if (typeReference == null)
-                                {
-                                    // Steal the type from the Update. Yes, Really.
-                                    ParameterizedType pType = (ParameterizedType)update.getClass().getGenericSuperclass();
-                                    Type t = pType.getActualTypeArguments()[0];
-                                    if (t instanceof ParameterizedType)
-                                    {
-                                        t = ((ParameterizedType)t).getRawType();
-                                    }
-
-                                    resolved = fetchResponse.getValue((Class<?>) t);
-                                }
-                                else
-                                {
-                                    resolved = fetchResponse.getValue(typeReference);
-                                }
-
-                                // We get the vclock so we can inject it into the updated object. 
-                                // This is so the end user doesn't have to worry about vclocks
-                                // in the Update.
-                                vclock = fetchResponse.getVectorClock();
+                                t = ((ParameterizedType)t).getRawType();
                             }
-                            
-                            Object updated = ((Update<Object>)update).apply(resolved);
 
-                            if (update.isModified())
-                            {
-                                AnnotationUtil.setVClock(updated, vclock);
-                                
-                                StoreValue.Builder store = 
-                                    new StoreValue.Builder(updated, typeReference)
-                                        .withLocation(location)
-                                        .withVectorClock(vclock);
-
-                                for (Map.Entry<StoreValue.Option<?>, Object> optPair : storeOptions.entrySet())
-                                {
-                                    store.withOption((StoreValue.Option<Object>) optPair.getKey(), optPair.getValue());
-                                }
-                                RiakFuture<StoreValue.Response, Location> storeFuture = 
-                                    store.build().executeAsync(cluster);
-                                storeFuture.addListener(updateFuture);
-                            }
-                            else
-                            {
-                                Response updateResponse = new Response.Builder()
-                                    .withLocation(f.getQueryInfo())
-                                    .withUpdated(false)
-                                    .build();
-                                updateFuture.setResponse(updateResponse);
-                            }
-                            
-                            
+                            resolved = fetchResponse.getValue((Class<?>) t);
                         }
-                        catch (InterruptedException ex) 
+                        else
                         {
-                            updateFuture.setException(ex);
+                            resolved = fetchResponse.getValue(typeReference);
                         }
-                        catch (UnresolvedConflictException ex)
+
+                        // We get the vclock so we can inject it into the updated object. 
+                        // This is so the end user doesn't have to worry about vclocks
+                        // in the Update.
+                        vclock = fetchResponse.getVectorClock();
+                    }
+
+                    Object updated = ((Update<Object>)update).apply(resolved);
+
+                    if (update.isModified())
+                    {
+                        AnnotationUtil.setVClock(updated, vclock);
+
+                        StoreValue.Builder store = 
+                            new StoreValue.Builder(updated, typeReference)
+                                .withLocation(location)
+                                .withVectorClock(vclock);
+
+                        for (Map.Entry<StoreValue.Option<?>, Object> optPair : storeOptions.entrySet())
                         {
-                            updateFuture.setException(ex);
+                            store.withOption((StoreValue.Option<Object>) optPair.getKey(), optPair.getValue());
                         }
-                        catch (ConversionException ex)
+                        
+                        if (conditional)
                         {
-                            updateFuture.setException(ex);
+                            // Only write if nobody else has since we fetched; 
+                            // a concurrent writer makes us start over rather 
+                            // than create a sibling.
+                            if (vclock != null)
+                            {
+                                store.withOption(StoreValue.Option.IF_NOT_MODIFIED, true);
+                            }
+                            else
+                            {
+                                store.withOption(StoreValue.Option.IF_NONE_MATCH, true);
+                            }
                         }
-                        catch (ExecutionException ex)
+                        
+                        RiakFuture<StoreValue.Response, Location> storeFuture = 
+                            store.build().executeAsync(cluster);
+                        storeFuture.addListener(new RiakFutureListener<StoreValue.Response, Location>()
                         {
-                            updateFuture.setException(ex);
-                        }
+                            @Override
+                            public void handle(RiakFuture<StoreValue.Response, Location> f)
+                            {
+                                if (!f.isSuccess() && attempt < maxAttempts && isConflict(f.cause()))
+                                {
+                                    retry();
+                                }
+                                else
+                                {
+                                    updateFuture.storeComplete(f, attempt);
+                                }
+                            }
+                        });
                     }
                     else
                     {
-                        updateFuture.setException(f.cause().getCause());
+                        Response updateResponse = new Response.Builder()
+                            .withLocation(f.getQueryInfo())
+                            .withUpdated(false)
+                            .withAttempts(attempt)
+                            .build();
+                        updateFuture.setResponse(updateResponse);
                     }
                 }
-            };
+                catch (InterruptedException ex) 
+                {
+                    updateFuture.setException(ex);
+                }
+                catch (UnresolvedConflictException ex)
+                {
+                    updateFuture.setException(ex);
+                }
+                catch (ConversionException ex)
+                {
+                    updateFuture.setException(ex);
+                }
+                catch (RuntimeException ex)
+                {
+                    // Thrown by the Update, or by a cluster that can't
+                    // accept the store.
+                    updateFuture.setException(ex);
+                }
+                catch (ExecutionException ex)
+                {
+                    updateFuture.setException(ex);
+                }
+            }
+            else
+            {
+                updateFuture.setException(f.cause());
+            }
+        }
         
-        fetchFuture.addListener(fetchListener);
-        return updateFuture;
+        private void retry()
+        {
+            Attempt next = new Attempt(cluster, updateFuture, attempt + 1);
+            long backoff = conflictBackoff.getBackoff(attempt, TimeUnit.NANOSECONDS);
+            if (backoff == 0)
+            {
+                next.run();
+            }
+            else
+            {
+                cluster.schedule(next, backoff, TimeUnit.NANOSECONDS);
+            }
+        }
     }
     
     /**
@@ -228,11 +335,13 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
     public static class Response extends KvResponseBase
     {
         private final boolean wasUpdated;
+        private final int attempts;
 
         Response(Init<?> builder)
         {
             super(builder);
             this.wasUpdated = builder.wasUpdated;
+            this.attempts = builder.attempts;
         }
 
         /**
@@ -249,6 +358,20 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
         {
             return wasUpdated;
         }
+        
+        /**
+         * Returns the number of fetch, update, store cycles it took.
+         * <p>
+         * This is always 1 unless the command was built with 
+         * {@link Builder#withRetryOnConflict(int)}, in which case each 
+         * store that lost a race with another writer adds one.
+         * </p>
+         * @return the number of attempts made.
+         */
+        public int getAttempts()
+        {
+            return attempts;
+        }
 
         /**
          * @ExcludeFromJavadoc 
@@ -256,12 +379,19 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
         protected static abstract class Init<T extends Init<T>> extends KvResponseBase.Init<T>
         {
             private boolean wasUpdated;
+            private int attempts = 1;
             
             T withUpdated(boolean updated)
             {
                 this.wasUpdated = updated;
                 return self();
             }
+            
+            T withAttempts(int attempts)
+            {
+                this.attempts = attempts;
+                return self();
+            }
         }
         
         static class Builder extends Init<Builder>
@@ -335,6 +465,8 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
 			new HashMap<FetchValue.Option<?>, Object>();
 		private final Map<StoreValue.Option<?>, Object> storeOptions =
 			new HashMap<StoreValue.Option<?>, Object>();
+        private int maxAttempts;
+        private RetryPolicy conflictBackoff = new RetryPolicy.Builder().build();
 
         /**
          * Construct a Builder for an UpdateValue command.
@@ -439,6 +571,45 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
             return this;
         }
         
+        /**
+         * Store conditionally and start over when another write gets in first.
+         * <p>
+         * The store is sent with {@code IF_NOT_MODIFIED} (or {@code IF_NONE_MATCH} 
+         * if the object didn't exist) so Riak rejects it, rather than 
+         * creating a sibling, if the object changed after it was fetched. 
+         * The fetch, {@code Update} and store are then repeated after a 
+         * backoff, up to {@code maxAttempts} times in all, after which the 
+         * command fails with Riak's error. The backoff defaults to a
+         * {@link RetryPolicy} with the default settings.
+         * </p>
+         * @param maxAttempts the most fetch, update, store cycles to make.
+         * @return a reference to this object.
+         */
+        public Builder withRetryOnConflict(int maxAttempts)
+        {
+            if (maxAttempts < 1)
+            {
+                throw new IllegalArgumentException("maxAttempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        
+        /**
+         * Store conditionally and start over, backing off as given, when 
+         * another write gets in first.
+         * @param maxAttempts the most fetch, update, store cycles to make.
+         * @param backoff the policy giving the delay before each new attempt.
+         * @return a reference to this object.
+         * @see #withRetryOnConflict(int)
+         */
+        public Builder withRetryOnConflict(int maxAttempts, RetryPolicy backoff)
+        {
+            withRetryOnConflict(maxAttempts);
+            this.conflictBackoff = backoff;
+            return this;
+        }
+        
         /**
          * Construct the UpdateValue command.
          * @return a new UpdateValue command.
@@ -450,7 +621,6 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
 	}
     
     private class UpdateValueFuture extends ListenableFuture<UpdateValue.Response, Location>
-        implements RiakFutureListener<StoreValue.Response, Location>
     {
         private final Location location;
         private final CountDownLatch latch = new CountDownLatch(1);
@@ -558,8 +728,7 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
             notifyListeners();
         }
 
-        @Override
-        public void handle(RiakFuture<StoreValue.Response, Location> f)
+        private void storeComplete(RiakFuture<StoreValue.Response, Location> f, int attempts)
         {
             if (f.isSuccess())
             {
@@ -571,6 +740,7 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
                         .withValues(storeResponse.getValues(RiakObject.class))
                         .withLocation(f.getQueryInfo())
                         .withUpdated(true)
+                        .withAttempts(attempts)
                         .build();
                     setResponse(response);
                     
@@ -586,7 +756,7 @@ public final class UpdateValue extends RiakCommand<UpdateValue.Response, Locatio
             }
             else
             {
-                setException(f.cause().getCause());
+                setException(f.cause());
             }
         }
 
@@ -0,0 +1,830 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import com.basho.riak.client.api.RiakCommand;
+import com.basho.riak.client.api.cap.VClock;
+import com.basho.riak.client.api.commands.ListenableFuture;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakFutureListener;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.query.indexes.RawIndex;
+import com.basho.riak.client.core.query.indexes.RiakIndex;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client-side read-through cache for {@link FetchValue}.
+ * <script src="https://google-code-prettify.googlecode.com/svn/loader/run_prettify.js"></script>
+ * <p>
+ * Values are only cached for the namespaces the cache is configured with,
+ * each with its own maximum size and time to live. A fetched value is 
+ * returned from the cache without contacting Riak until its time to live 
+ * has passed. After that the next fetch asks Riak for the value only if it 
+ * has changed ({@link FetchValue.Option#IF_MODIFIED} with the cached vector
+ * clock); if it hasn't, Riak replies without the value and the cached 
+ * value is used for another time to live.
+ * </p>
+ * <p>
+ * When a namespace is full, W-TinyLFU decides what to keep: new entries 
+ * go into a small LRU window, and an entry leaving the window only 
+ * replaces the least recently used entry of the main (segmented LRU) area 
+ * if it has been requested more often recently. One-off reads such as 
+ * scans therefore don't flush out hot keys.
+ * </p>
+ * <p>
+ * The cache is used by passing it to 
+ * {@link com.basho.riak.client.api.RiakClient#RiakClient(RiakCluster, ValueCache)}.
+ * {@link StoreValue}, {@link DeleteValue}, {@link UpdateValue}, 
+ * {@link MultiStore} and {@link MultiDelete} commands executed through 
+ * that client remove the values they change. Writes made by other clients 
+ * are seen once the time to live passes. Fetches with any 
+ * {@link FetchValue.Option} set (R, PR, notfound_ok, a timeout, HEAD ...), 
+ * or with a value allocator, bypass the cache; only fetches with the 
+ * bucket's default read options are cached.
+ * </p>
+ * <pre class="prettyprint">
+ * {@code
+ * ValueCache cache = new ValueCache.Builder()
+ *                        .withNamespace(ns, 10000, 5, TimeUnit.SECONDS)
+ *                        .build();
+ * RiakClient client = new RiakClient(cluster, cache);}</pre>
+ * <p>
+ * Every caller gets its own copy of a cached response and its RiakObjects,
+ * so modifying them doesn't change what later fetches return.
+ * </p>
+ * @since 2.0.2
+ */
+public class ValueCache
+{
+    private final Map<Namespace, Segment> segments;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    private ValueCache(Builder builder)
+    {
+        Map<Namespace, Segment> map = new HashMap<Namespace, Segment>();
+        for (Map.Entry<Namespace, long[]> e : builder.namespaces.entrySet())
+        {
+            map.put(e.getKey(), new Segment((int) e.getValue()[0], e.getValue()[1]));
+        }
+        this.segments = Collections.unmodifiableMap(map);
+    }
+    
+    /**
+     * Executes a command, using the cache if it is a fetch and updating it
+     * if it is a write.
+     * <p>
+     * Called by the RiakClient this cache was given to.
+     * </p>
+     * @param command the command to execute.
+     * @param cluster the cluster to execute it on.
+     * @return the future for the command, or null if the command doesn't 
+     * involve the cache and should be executed normally.
+     */
+    @SuppressWarnings("unchecked")
+    public <T,S> RiakFuture<T,S> executeAsync(RiakCommand<T,S> command, RiakCluster cluster)
+    {
+        if (command instanceof FetchValue)
+        {
+            return (RiakFuture<T,S>) fetch((FetchValue) command, cluster);
+        }
+        else if (command instanceof StoreValue)
+        {
+            StoreValue sv = (StoreValue) command;
+            Location location = sv.getLocation();
+            return (RiakFuture<T,S>) executeWrite(sv.executeAsync(cluster), location, true);
+        }
+        else if (command instanceof DeleteValue)
+        {
+            DeleteValue dv = (DeleteValue) command;
+            return (RiakFuture<T,S>) executeWrite(dv.executeAsync(cluster), dv.getLocation(), false);
+        }
+        else if (command instanceof UpdateValue)
+        {
+            UpdateValue uv = (UpdateValue) command;
+            return (RiakFuture<T,S>) executeWrite(uv.executeAsync(cluster), uv.getLocation(), false);
+        }
+        else if (command instanceof MultiStore || command instanceof MultiDelete)
+        {
+            invalidateAll(command);
+            final RiakCommand<T,S> batch = command;
+            RiakFuture<T,S> future = (command instanceof MultiStore)
+                ? (RiakFuture<T,S>) ((MultiStore) command).executeAsync(cluster)
+                : (RiakFuture<T,S>) ((MultiDelete) command).executeAsync(cluster);
+            future.addListener(new RiakFutureListener<T,S>()
+            {
+                @Override
+                public void handle(RiakFuture<T, S> f)
+                {
+                    invalidateAll(batch);
+                }
+            });
+            return future;
+        }
+        return null;
+    }
+    
+    /**
+     * Removes the values a command will change from the cache. 
+     * <p>
+     * Called by the RiakClient this cache was given to for commands 
+     * executed with streaming, before they are executed and when they 
+     * complete.
+     * </p>
+     * @param command the command being executed.
+     */
+    public void invalidateAll(RiakCommand<?,?> command)
+    {
+        if (command instanceof MultiStore)
+        {
+            for (Location location : ((MultiStore) command).getLocations())
+            {
+                invalidate(location);
+            }
+        }
+        else if (command instanceof MultiDelete)
+        {
+            for (Location location : ((MultiDelete) command).getLocations())
+            {
+                invalidate(location);
+            }
+        }
+    }
+    
+    /**
+     * Removes a value from the cache.
+     * <p>
+     * A fetch of the value that is already in progress won't put it back.
+     * </p>
+     * @param location the location of the value.
+     */
+    public void invalidate(Location location)
+    {
+        Segment segment = segments.get(location.getNamespace());
+        if (segment != null && segment.invalidate(location))
+        {
+            invalidations.incrementAndGet();
+        }
+    }
+    
+    private <T> RiakFuture<T, Location> executeWrite(RiakFuture<T, Location> future, 
+                                                     Location location, 
+                                                     final boolean useQueryInfo)
+    {
+        if (location != null)
+        {
+            invalidate(location);
+        }
+        final Location written = location;
+        future.addListener(new RiakFutureListener<T, Location>()
+        {
+            @Override
+            public void handle(RiakFuture<T, Location> f)
+            {
+                // Also catches a fetch that started while the write was in progress.
+                Location loc = useQueryInfo ? f.getQueryInfo() : written;
+                if (loc != null && loc.getKey() != null)
+                {
+                    invalidate(loc);
+                }
+            }
+        });
+        return future;
+    }
+    
+    private RiakFuture<FetchValue.Response, Location> fetch(FetchValue fv, RiakCluster cluster)
+    {
+        final Location location = fv.getLocation();
+        final Segment segment = segments.get(location.getNamespace());
+        // Entries are keyed by location only, so a fetch asking for anything
+        // other than the default read options can't be answered from them.
+        if (segment == null 
+            || !fv.getOptions().isEmpty()
+            || fv.getValueAllocator() != null)
+        {
+            return fv.executeAsync(cluster);
+        }
+        
+        final long stamp = segment.stamp(location);
+        final CachedValue cached = segment.get(location);
+        final long now = System.nanoTime();
+        
+        if (cached == null)
+        {
+            misses.incrementAndGet();
+            // The caller only gets the response once the cache has its own
+            // copy, so it can't be changed before it is copied.
+            final CacheFuture future = new CacheFuture(location);
+            RiakFuture<FetchValue.Response, Location> fetch = fv.executeAsync(cluster);
+            future.setFetch(fetch);
+            fetch.addListener(new RiakFutureListener<FetchValue.Response, Location>()
+            {
+                @Override
+                public void handle(RiakFuture<FetchValue.Response, Location> f)
+                {
+                    if (f.isCancelled())
+                    {
+                        future.cancelled();
+                    }
+                    else if (!f.isSuccess())
+                    {
+                        future.fail(f.cause());
+                    }
+                    else
+                    {
+                        FetchValue.Response response = f.getNow();
+                        store(segment, location, response, now, stamp);
+                        future.complete(response);
+                    }
+                }
+            });
+            return future;
+        }
+        else if (now - cached.validatedAt < segment.timeToLive)
+        {
+            hits.incrementAndGet();
+            CacheFuture future = new CacheFuture(location);
+            future.complete(copy(cached.response, location));
+            return future;
+        }
+        
+        revalidations.incrementAndGet();
+        final CacheFuture future = new CacheFuture(location);
+        FetchValue.Builder builder = new FetchValue.Builder(location);
+        builder.withOption(FetchValue.Option.IF_MODIFIED, cached.response.getVectorClock());
+        
+        RiakFuture<FetchValue.Response, Location> fetch = builder.build().executeAsync(cluster);
+        future.setFetch(fetch);
+        fetch.addListener(
+            new RiakFutureListener<FetchValue.Response, Location>()
+            {
+                @Override
+                public void handle(RiakFuture<FetchValue.Response, Location> f)
+                {
+                    if (f.isCancelled())
+                    {
+                        future.cancelled();
+                        return;
+                    }
+                    else if (!f.isSuccess())
+                    {
+                        future.fail(f.cause());
+                        return;
+                    }
+                    
+                    FetchValue.Response response = f.getNow();
+                    if (response.isUnchanged())
+                    {
+                        unchanged.incrementAndGet();
+                        segment.revalidated(location, cached, now, stamp);
+                        future.complete(copy(cached.response, location));
+                    }
+                    else
+                    {
+                        store(segment, location, response, now, stamp);
+                        future.complete(response);
+                    }
+                }
+            });
+        
+        return future;
+    }
+    
+    private void store(Segment segment, Location location, FetchValue.Response response, 
+                       long fetchedAt, long stamp)
+    {
+        VClock vclock = response.getVectorClock();
+        if (response.isNotFound() || !response.hasValues() || vclock == null)
+        {
+            segment.invalidate(location);
+        }
+        else
+        {
+            // The caller keeps the response it was given; the cache keeps its own.
+            evictions.addAndGet(segment.put(location, new CachedValue(copy(response, location), fetchedAt), stamp));
+        }
+    }
+    
+    private static FetchValue.Response copy(FetchValue.Response response, Location location)
+    {
+        List<RiakObject> values = new ArrayList<RiakObject>(response.getNumberOfValues());
+        for (RiakObject o : response.getValues())
+        {
+            values.add(copy(o));
+        }
+        return new FetchValue.Response.Builder()
+                    .withNotFound(response.isNotFound())
+                    .withUnchanged(response.isUnchanged())
+                    .withLocation(location)
+                    .withValues(values)
+                    .build();
+    }
+    
+    private static RiakObject copy(RiakObject o)
+    {
+        // BinaryValues and VClocks aren't modified in place, so they can be shared.
+        RiakObject copy = new RiakObject()
+                            .setValue(o.getValue())
+                            .setVClock(o.getVClock())
+                            .setVTag(o.getVTag())
+                            .setLastModified(o.getLastModified())
+                            .setContentType(o.getContentType())
+                            .setDeleted(o.isDeleted());
+        if (o.hasLinks())
+        {
+            copy.getLinks().addLinks(o.getLinks().getLinks());
+        }
+        if (o.hasIndexes())
+        {
+            for (RiakIndex<?> index : o.getIndexes())
+            {
+                copy.getIndexes()
+                    .getIndex(RawIndex.named(index.getName(), index.getType()))
+                    .add(index.rawValues());
+            }
+        }
+        if (o.hasUserMeta())
+        {
+            for (Map.Entry<BinaryValue, BinaryValue> e : o.getUserMeta().getUserMetadata())
+            {
+                copy.getUserMeta().put(e.getKey(), e.getValue());
+            }
+        }
+        return copy;
+    }
+    
+    /**
+     * Returns the number of fetches answered from the cache without contacting Riak.
+     * @return the number of hits.
+     */
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+    
+    /**
+     * Returns the number of fetches for values that weren't cached.
+     * @return the number of misses.
+     */
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+    
+    /**
+     * Returns the number of fetches that asked Riak whether a cached value 
+     * had changed.
+     * @return the number of revalidations.
+     */
+    public long getRevalidationCount()
+    {
+        return revalidations.get();
+    }
+    
+    /**
+     * Returns the number of revalidations where the value hadn't changed.
+     * @return the number of revalidations answered from the cache.
+     */
+    public long getUnchangedCount()
+    {
+        return unchanged.get();
+    }
+    
+    /**
+     * Returns the number of values evicted to make room for others.
+     * @return the number of evictions.
+     */
+    public long getEvictionCount()
+    {
+        return evictions.get();
+    }
+    
+    /**
+     * Returns the number of cached values removed because they were written.
+     * @return the number of invalidations.
+     */
+    public long getInvalidationCount()
+    {
+        return invalidations.get();
+    }
+    
+    /**
+     * Returns the number of values cached for a namespace.
+     * @param namespace the namespace.
+     * @return the number of cached values.
+     */
+    public int size(Namespace namespace)
+    {
+        Segment segment = segments.get(namespace);
+        return segment == null ? 0 : segment.size();
+    }
+    
+    private static class CachedValue
+    {
+        final FetchValue.Response response;
+        volatile long validatedAt;
+        
+        CachedValue(FetchValue.Response response, long validatedAt)
+        {
+            this.response = response;
+            this.validatedAt = validatedAt;
+        }
+    }
+    
+    /**
+     * The cache for one namespace. 
+     * <p>
+     * Entries start in the window (1% of the size). One evicted from the 
+     * window competes with the main area's LRU victim and is admitted, into
+     * probation, if the sketch says it has been requested more often. An
+     * entry requested again while in probation moves to the protected 
+     * segment (80% of the main area), demoting that segment's LRU entry back 
+     * to probation when full.
+     * </p>
+     * <p>
+     * Each invalidation increments a stamp for the key's stripe. A fetch
+     * records the stamp before it starts and only caches its result if the
+     * stamp is unchanged, so a fetch that overlaps a write doesn't cache 
+     * the old value.
+     * </p>
+     */
+    private static class Segment
+    {
+        private static final int STRIPES = 64;
+        
+        final long timeToLive;
+        private final int maxWindow;
+        private final int maxMain;
+        private final int maxProtected;
+        private final FrequencySketch sketch;
+        private final LinkedHashMap<Location, CachedValue> window = newLru();
+        private final LinkedHashMap<Location, CachedValue> probation = newLru();
+        private final LinkedHashMap<Location, CachedValue> protectedArea = newLru();
+        private final long[] stamps = new long[STRIPES];
+        
+        Segment(int maximumSize, long timeToLive)
+        {
+            this.timeToLive = timeToLive;
+            this.maxWindow = Math.max(1, maximumSize / 100);
+            this.maxMain = Math.max(0, maximumSize - maxWindow);
+            this.maxProtected = (int) (maxMain * 0.8);
+            this.sketch = new FrequencySketch(maximumSize);
+        }
+        
+        private static LinkedHashMap<Location, CachedValue> newLru()
+        {
+            return new LinkedHashMap<Location, CachedValue>(16, 0.75f, true);
+        }
+        
+        private static int stripe(Location location)
+        {
+            int h = location.hashCode();
+            return (h ^ (h >>> 16)) & (STRIPES - 1);
+        }
+        
+        synchronized long stamp(Location location)
+        {
+            return stamps[stripe(location)];
+        }
+        
+        synchronized int size()
+        {
+            return window.size() + probation.size() + protectedArea.size();
+        }
+        
+        synchronized CachedValue get(Location location)
+        {
+            sketch.increment(location);
+            
+            CachedValue value = window.get(location);
+            if (value != null)
+            {
+                return value;
+            }
+            value = protectedArea.get(location);
+            if (value != null)
+            {
+                return value;
+            }
+            value = probation.remove(location);
+            if (value != null)
+            {
+                protectedArea.put(location, value);
+                if (protectedArea.size() > maxProtected)
+                {
+                    Map.Entry<Location, CachedValue> demoted = eldest(protectedArea);
+                    protectedArea.remove(demoted.getKey());
+                    probation.put(demoted.getKey(), demoted.getValue());
+                }
+            }
+            return value;
+        }
+        
+        /**
+         * Adds or replaces a value, unless the key was invalidated since the
+         * stamp was taken.
+         * @return the number of entries evicted.
+         */
+        synchronized int put(Location location, CachedValue value, long stamp)
+        {
+            if (stamps[stripe(location)] != stamp)
+            {
+                return 0;
+            }
+            
+            if (window.containsKey(location))
+            {
+                window.put(location, value);
+                return 0;
+            }
+            else if (probation.containsKey(location))
+            {
+                probation.put(location, value);
+                return 0;
+            }
+            else if (protectedArea.containsKey(location))
+            {
+                protectedArea.put(location, value);
+                return 0;
+            }
+            
+            window.put(location, value);
+            if (window.size() <= maxWindow)
+            {
+                return 0;
+            }
+            
+            Map.Entry<Location, CachedValue> candidate = eldest(window);
+            window.remove(candidate.getKey());
+            if (probation.size() + protectedArea.size() < maxMain)
+            {
+                probation.put(candidate.getKey(), candidate.getValue());
+                return 0;
+            }
+            
+            LinkedHashMap<Location, CachedValue> victimArea = 
+                probation.isEmpty() ? protectedArea : probation;
+            if (victimArea.isEmpty())
+            {
+                return 1;
+            }
+            Map.Entry<Location, CachedValue> victim = eldest(victimArea);
+            if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey()))
+            {
+                victimArea.remove(victim.getKey());
+                probation.put(candidate.getKey(), candidate.getValue());
+            }
+            return 1;
+        }
+        
+        synchronized void revalidated(Location location, CachedValue value, long validatedAt, long stamp)
+        {
+            if (stamps[stripe(location)] == stamp && value.validatedAt < validatedAt)
+            {
+                value.validatedAt = validatedAt;
+            }
+        }
+        
+        synchronized boolean invalidate(Location location)
+        {
+            stamps[stripe(location)]++;
+            return window.remove(location) != null
+                || probation.remove(location) != null
+                || protectedArea.remove(location) != null;
+        }
+        
+        private static Map.Entry<Location, CachedValue> eldest(LinkedHashMap<Location, CachedValue> map)
+        {
+            Iterator<Map.Entry<Location, CachedValue>> i = map.entrySet().iterator();
+            return i.next();
+        }
+    }
+    
+    /**
+     * The future returned for a cache hit or a revalidation.
+     */
+    private static class CacheFuture extends ListenableFuture<FetchValue.Response, Location>
+    {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final Location location;
+        private volatile FetchValue.Response response;
+        private volatile Throwable cause;
+        private volatile boolean cancelled;
+        // The fetch from Riak this future is waiting for, if any.
+        private volatile RiakFuture<FetchValue.Response, Location> fetch;
+        
+        CacheFuture(Location location)
+        {
+            this.location = location;
+        }
+        
+        void setFetch(RiakFuture<FetchValue.Response, Location> fetch)
+        {
+            this.fetch = fetch;
+        }
+        
+        void complete(FetchValue.Response response)
+        {
+            this.response = response;
+            latch.countDown();
+            notifyListeners();
+        }
+        
+        void fail(Throwable cause)
+        {
+            this.cause = cause;
+            latch.countDown();
+            notifyListeners();
+        }
+        
+        void cancelled()
+        {
+            cancelled = true;
+            latch.countDown();
+            notifyListeners();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            RiakFuture<FetchValue.Response, Location> f = fetch;
+            return f != null && !isDone() && f.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public FetchValue.Response get() throws InterruptedException, ExecutionException
+        {
+            latch.await();
+            return getResult();
+        }
+
+        @Override
+        public FetchValue.Response get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            if (!latch.await(timeout, unit))
+            {
+                throw new TimeoutException();
+            }
+            return getResult();
+        }
+        
+        private FetchValue.Response getResult() throws ExecutionException
+        {
+            if (cancelled)
+            {
+                throw new CancellationException();
+            }
+            else if (cause != null)
+            {
+                throw new ExecutionException(cause);
+            }
+            return response;
+        }
+
+        @Override
+        public FetchValue.Response getNow()
+        {
+            return response;
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return latch.getCount() == 0;
+        }
+
+        @Override
+        public void await() throws InterruptedException
+        {
+            latch.await();
+        }
+
+        @Override
+        public void await(long timeout, TimeUnit unit) throws InterruptedException
+        {
+            latch.await(timeout, unit);
+        }
+
+        @Override
+        public boolean isSuccess()
+        {
+            return isDone() && !cancelled && cause == null;
+        }
+
+        @Override
+        public Throwable cause()
+        {
+            return cause;
+        }
+
+        @Override
+        public Location getQueryInfo()
+        {
+            return location;
+        }
+    }
+    
+    /**
+     * Used to construct a ValueCache.
+     */
+    public static class Builder
+    {
+        private final Map<Namespace, long[]> namespaces = new HashMap<Namespace, long[]>();
+        
+        /**
+         * Cache values for a namespace.
+         * @param namespace the namespace.
+         * @param maximumSize the maximum number of values to cache.
+         * @param timeToLive how long a cached value is used before asking 
+         * Riak whether it has changed. 0 asks every time.
+         * @param unit the unit of {@code timeToLive}.
+         * @return a reference to this object.
+         */
+        public Builder withNamespace(Namespace namespace, int maximumSize, long timeToLive, TimeUnit unit)
+        {
+            if (namespace == null)
+            {
+                throw new IllegalArgumentException("Namespace can not be null");
+            }
+            else if (maximumSize <= 0)
+            {
+                throw new IllegalArgumentException("maximumSize must be greater than zero");
+            }
+            else if (timeToLive < 0)
+            {
+                throw new IllegalArgumentException("timeToLive can not be negative");
+            }
+            namespaces.put(namespace, new long[] { maximumSize, unit.toNanos(timeToLive) });
+            return this;
+        }
+        
+        /**
+         * Cache values for several namespaces with the same settings.
+         * @param namespaces the namespaces.
+         * @param maximumSize the maximum number of values to cache for each.
+         * @param timeToLive how long a cached value is used before asking 
+         * Riak whether it has changed.
+         * @param unit the unit of {@code timeToLive}.
+         * @return a reference to this object.
+         */
+        public Builder withNamespaces(Collection<Namespace> namespaces, int maximumSize, 
+                                      long timeToLive, TimeUnit unit)
+        {
+            for (Namespace ns : namespaces)
+            {
+                withNamespace(ns, maximumSize, timeToLive, unit);
+            }
+            return this;
+        }
+        
+        /**
+         * Construct the ValueCache.
+         * @return a new ValueCache.
+         */
+        public ValueCache build()
+        {
+            return new ValueCache(this);
+        }
+    }
+}
@@ -13,8 +13,9 @@
  */
 package com.basho.riak.client.api.commands.mapreduce;
 
-import com.basho.riak.client.api.RiakCommand;
 import com.basho.riak.client.api.RiakException;
+import com.basho.riak.client.api.StreamableRiakCommand;
+import com.basho.riak.client.api.commands.StreamingCoreFutureAdapter;
 import com.basho.riak.client.api.convert.ConversionException;
 import com.basho.riak.client.core.RiakCluster;
 import com.basho.riak.client.core.RiakFuture;
@@ -39,10 +40,26 @@ import java.util.*;
  * Base abstract class for all MapReduce commands.
  * <p> See <a
  * href="http://wiki.basho.com/MapReduce.html">Map/Reduce</a> for details. </p>
+ * <p>
+ * Executing a MapReduce command with 
+ * {@link com.basho.riak.client.api.RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)}
+ * returns the results of each phase as they arrive rather than holding 
+ * them all in memory. Each element can be decoded to a class of your own:
+ * </p>
+ * <pre class="prettyprint">
+ * {@code
+ * RiakFuture<MapReduce.Response, BinaryValue> future = client.executeAsyncStreaming(mr, 16);
+ * for (MapReduceOperation.PhaseResult result : future.get())
+ * {
+ *     for (MyPojo p : result.getResults(MyPojo.class))
+ *     {
+ *         ...
+ *     }
+ * }}</pre>
  * @author Dave Rusek <drusek at basho dot com>
  * @since 2.0
  */
-public abstract class MapReduce extends RiakCommand<MapReduce.Response, BinaryValue>
+public abstract class MapReduce extends StreamableRiakCommand<MapReduce.Response, BinaryValue>
 {
 	private final MapReduceSpec spec;
 
@@ -55,19 +72,7 @@ public abstract class MapReduce extends RiakCommand<MapReduce.Response, BinaryVa
 	@Override
 	protected RiakFuture<Response, BinaryValue> executeAsync(RiakCluster cluster)
 	{
-		
-        BinaryValue jobSpec;
-		try
-		{
-			String spec = writeSpec();
-            //System.out.println(spec);
-            jobSpec = BinaryValue.create(spec);
-		} catch (RiakException e)
-		{
-			throw new RuntimeException(e);
-		}
-
-		MapReduceOperation operation = new MapReduceOperation.Builder(jobSpec).build();
+		MapReduceOperation operation = buildCoreOperation(0);
 
 		final RiakFuture<MapReduceOperation.Response, BinaryValue> coreFuture = cluster.execute(operation);
 
@@ -93,6 +98,47 @@ public abstract class MapReduce extends RiakCommand<MapReduce.Response, BinaryVa
 
 	}
 
+    @Override
+    protected RiakFuture<Response, BinaryValue> executeAsyncStreaming(RiakCluster cluster, int maxBufferedChunks)
+    {
+        MapReduceOperation operation = buildCoreOperation(maxBufferedChunks);
+        RiakFuture<MapReduceOperation.Response, BinaryValue> coreFuture = cluster.execute(operation);
+        
+        StreamingCoreFutureAdapter<Response, BinaryValue, MapReduceOperation.Response, BinaryValue> future =
+            new StreamingCoreFutureAdapter<Response, BinaryValue, MapReduceOperation.Response, BinaryValue>(coreFuture,
+                new Response(operation))
+            {
+                @Override
+                protected BinaryValue convertQueryInfo(BinaryValue coreQueryInfo)
+                {
+                    return coreQueryInfo;
+                }
+            };
+        coreFuture.addListener(future);
+        return future;
+    }
+    
+    private MapReduceOperation buildCoreOperation(int maxBufferedChunks)
+    {
+        BinaryValue jobSpec;
+		try
+		{
+			String spec = writeSpec();
+            //System.out.println(spec);
+            jobSpec = BinaryValue.create(spec);
+		} catch (RiakException e)
+		{
+			throw new RuntimeException(e);
+		}
+
+		MapReduceOperation.Builder builder = new MapReduceOperation.Builder(jobSpec);
+        if (maxBufferedChunks > 0)
+        {
+            builder.streamResults(maxBufferedChunks);
+        }
+        return builder.build();
+    }
+
 	/**
 	 * Creates the JSON string of the M/R job for submitting to the client
 	 * <p/>
@@ -337,34 +383,64 @@ public abstract class MapReduce extends RiakCommand<MapReduce.Response, BinaryVa
 
     /**
      * Response from a Map Reduce command.
+     * <p>
+     * Iterating the response returns the results a phase at a time. When 
+     * the command was executed with 
+     * {@link com.basho.riak.client.api.RiakClient#executeAsyncStreaming(StreamableRiakCommand, int)}
+     * iteration returns results as they arrive from Riak, a phase's results 
+     * may be split over several {@link MapReduceOperation.PhaseResult}s, 
+     * and the response can only be iterated once. The other methods, which need
+     * all the results, can't be used on a streamed response.
+     * </p>
      */
-	public static class Response
+	public static class Response implements Iterable<MapReduceOperation.PhaseResult>
 	{
 
 		private final Map<Integer, ArrayNode> results;
+        private final MapReduceOperation streamingOperation;
 
 		public Response(Map<Integer, ArrayNode> results)
 		{
 			this.results = results;
+            this.streamingOperation = null;
 		}
+        
+        Response(MapReduceOperation streamingOperation)
+        {
+            this.results = null;
+            this.streamingOperation = streamingOperation;
+        }
+        
+        /**
+         * Returns whether the results are being streamed.
+         * @return true if this response was returned by a streaming execution.
+         */
+        public boolean isStreaming()
+        {
+            return streamingOperation != null;
+        }
 
         public boolean hasResultForPhase(int i)
         {
+            checkNotStreaming();
             return results.containsKey(i);
         }
         
         public ArrayNode getResultForPhase(int i)
         {
+            checkNotStreaming();
             return results.get(i);
         }
         
         public ArrayNode getResultsFromAllPhases()
         {
+            checkNotStreaming();
             return flattenResults();
         }
         
         public <T> Collection<T> getResultsFromAllPhases(Class<T> resultType)
         {
+            checkNotStreaming();
             ArrayNode flat = flattenResults();
             ObjectMapper mapper = new ObjectMapper();
             try
@@ -377,6 +453,31 @@ public abstract class MapReduce extends RiakCommand<MapReduce.Response, BinaryVa
             }
         }
         
+        @Override
+        public Iterator<MapReduceOperation.PhaseResult> iterator()
+        {
+            if (streamingOperation != null)
+            {
+                return new StreamingIterator(streamingOperation);
+            }
+            
+            List<MapReduceOperation.PhaseResult> phaseResults = 
+                new ArrayList<MapReduceOperation.PhaseResult>(results.size());
+            for (Map.Entry<Integer,ArrayNode> entry : results.entrySet())
+            {
+                phaseResults.add(new MapReduceOperation.PhaseResult(entry.getKey(), entry.getValue()));
+            }
+            return Collections.unmodifiableList(phaseResults).iterator();
+        }
+        
+        private void checkNotStreaming()
+        {
+            if (streamingOperation != null)
+            {
+                throw new IllegalStateException("Results are being streamed; iterate the response instead");
+            }
+        }
+        
         private ArrayNode flattenResults()
         {
             final JsonNodeFactory factory = JsonNodeFactory.instance;
@@ -389,4 +490,62 @@ public abstract class MapReduce extends RiakCommand<MapReduce.Response, BinaryVa
         }
 		
 	}
-}
\ No newline at end of file
+    
+    /**
+     * Returns PhaseResults as they are taken from a streaming operation. If
+     * the operation fails, hasNext() throws an IllegalStateException once 
+     * the results received before the failure have been returned.
+     */
+    private static class StreamingIterator implements Iterator<MapReduceOperation.PhaseResult>
+    {
+        private final MapReduceOperation operation;
+        private MapReduceOperation.PhaseResult next;
+        private boolean ended;
+        
+        StreamingIterator(MapReduceOperation operation)
+        {
+            this.operation = operation;
+        }
+        
+        @Override
+        public boolean hasNext()
+        {
+            if (next == null && !ended)
+            {
+                try
+                {
+                    next = operation.takeChunk();
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for results", ex);
+                }
+                ended = next == null;
+            }
+            if (ended && !operation.isSuccess() && !operation.isCancelled())
+            {
+                throw new IllegalStateException("Streaming operation failed", operation.cause());
+            }
+            return next != null;
+        }
+
+        @Override
+        public MapReduceOperation.PhaseResult next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            MapReduceOperation.PhaseResult result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -52,6 +52,11 @@ public enum ConverterFactory
           put(String.class, new StringConverter());
         }};
     
+    // Default JSONConverters created on demand, kept apart from registered 
+    // converters so registering one for a type still takes precedence.
+    private final ConcurrentHashMap<Type, Converter<?>> jsonConverters =
+        new ConcurrentHashMap<Type, Converter<?>>();
+    
     
     
     /**
@@ -67,6 +72,7 @@ public enum ConverterFactory
      * Returns a Converter<T> instance for the supplied class.
      * <p>
      * If no converter is registered, the default {@link JSONConverter} is returned.
+     * One JSONConverter is created per type and then reused.
      * </p>
      * @param <T> The type for the converter
      * @param type The type used to look up the converter
@@ -100,16 +106,24 @@ public enum ConverterFactory
         
         converter = (Converter<T>) converterInstances.get(type);
         if (converter == null)
+        {
+            converter = (Converter<T>) jsonConverters.get(type);
+        }
+        if (converter == null)
         {
             if (typeReference != null)
             {
-                // Should we cache this?
                 converter = new JSONConverter<T>(typeReference);
             }
             else
             {
                 converter = new JSONConverter<T>(type);
             }
+            Converter<T> existing = (Converter<T>) jsonConverters.putIfAbsent(type, converter);
+            if (existing != null)
+            {
+                converter = existing;
+            }
         }
 
         return converter;
@@ -17,9 +17,16 @@ package com.basho.riak.client.api.convert;
 
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
 
@@ -34,6 +41,13 @@ import java.lang.reflect.Type;
  * This uses the Jackson JSON library to serialize / deserialize objects to JSON.
  * The reulsting JSON is then stored in Riak. 
  * </p>
+ * <p>
+ * Each JSONConverter builds a Jackson {@link ObjectReader} for its type and an
+ * {@link ObjectWriter} the first time they are needed and reuses them, so 
+ * the type isn't resolved again for every object converted. They are 
+ * rebuilt when the shared {@link ObjectMapper} is reconfigured. The 
+ * {@link ConverterFactory} keeps one JSONConverter per type.
+ * </p>
  * @author Brian Roach <roach at basho dot com>
  * @param <T> type to convert to/from
  * 
@@ -42,7 +56,11 @@ public class JSONConverter<T> extends Converter<T> {
 
     // Object mapper per domain class is expensive, a singleton (and ThreadSafe) will do.
     private static final ObjectMapper OBJECT_MAPPER= new ObjectMapper();
+    // Bumped when a module is registered so existing converters rebuild
+    // their readers and writers; they copy the mapper's configuration.
+    private static final AtomicInteger mapperVersion = new AtomicInteger();
     private final TypeReference<T> typeReference;
+    private volatile Codec codec;
     static {
         OBJECT_MAPPER.registerModule(new RiakJacksonModule());
         OBJECT_MAPPER.registerModule(new JodaModule());
@@ -69,6 +87,13 @@ public class JSONConverter<T> extends Converter<T> {
     /**
      * Returns the {@link ObjectMapper} being used.
      * This is a convenience method to allow changing its behavior.
+     * <p>
+     * Converters take a copy of the mapper's configuration and take a new 
+     * one when it changes, so settings such as 
+     * {@link ObjectMapper#configure(com.fasterxml.jackson.databind.SerializationFeature, boolean)}
+     * apply to later conversions. Modules should be added via 
+     * {@link #registerJacksonModule(Module)}.
+     * </p>
      * @return The Jackson ObjectMapper
      */
     public static ObjectMapper getObjectMapper() {
@@ -81,6 +106,18 @@ public class JSONConverter<T> extends Converter<T> {
      */
     public static void registerJacksonModule(final Module jacksonModule) {
         OBJECT_MAPPER.registerModule(jacksonModule);
+        mapperVersion.incrementAndGet();
+    }
+    
+    private Codec codec()
+    {
+        Codec c = codec;
+        if (c == null || c.isStale())
+        {
+            c = new Codec();
+            codec = c;
+        }
+        return c;
     }
 
     @SuppressWarnings("unchecked")
@@ -89,19 +126,7 @@ public class JSONConverter<T> extends Converter<T> {
     {
         try
         {
-            if (typeReference != null)
-            {
-                return OBJECT_MAPPER.readValue(value.unsafeGetValue(), typeReference);
-            }
-            else
-            {
-                Class<?> rawType = type instanceof Class<?>
-                    ? (Class<?>) type
-                    : (Class<?>) ((ParameterizedType) type).getRawType();
-               return OBJECT_MAPPER.readValue(value.unsafeGetValue(), (Class<T>) rawType);
-                
-            }
-            
+            return (T) codec().reader.readValue(value.unsafeGetValue());
         }
         catch (IOException ex)
         {
@@ -114,7 +139,7 @@ public class JSONConverter<T> extends Converter<T> {
     {
         try    
         {
-            return new ContentAndType(BinaryValue.unsafeCreate(OBJECT_MAPPER.writeValueAsBytes(domainObject)),
+            return new ContentAndType(BinaryValue.unsafeCreate(codec().writer.writeValueAsBytes(domainObject)),
                                         "application/json");
         }
         catch (JsonProcessingException ex)
@@ -122,5 +147,45 @@ public class JSONConverter<T> extends Converter<T> {
             throw new ConversionException(ex);
         }
     }
-
+    
+    private class Codec
+    {
+        // The mapper replaces these rather than modifying them when it is 
+        // configured, so comparing references tells whether it has changed.
+        // Taken before building the reader and writer so that a change made
+        // while they're built is seen next time.
+        final int version = mapperVersion.get();
+        final SerializationConfig serializationConfig = OBJECT_MAPPER.getSerializationConfig();
+        final DeserializationConfig deserializationConfig = OBJECT_MAPPER.getDeserializationConfig();
+        final SerializerFactory serializerFactory = OBJECT_MAPPER.getSerializerFactory();
+        final DeserializationContext deserializationContext = OBJECT_MAPPER.getDeserializationContext();
+        final ObjectReader reader;
+        // Serialization uses the runtime class of the object as 
+        // writeValueAsBytes() always has, so subclasses keep their fields.
+        final ObjectWriter writer = OBJECT_MAPPER.writer();
+        
+        Codec()
+        {
+            if (typeReference != null)
+            {
+                reader = OBJECT_MAPPER.reader(typeReference);
+            }
+            else
+            {
+                Class<?> rawType = type instanceof Class<?>
+                    ? (Class<?>) type
+                    : (Class<?>) ((ParameterizedType) type).getRawType();
+                reader = OBJECT_MAPPER.reader(rawType);
+            }
+        }
+        
+        boolean isStale()
+        {
+            return version != mapperVersion.get()
+                || serializationConfig != OBJECT_MAPPER.getSerializationConfig()
+                || deserializationConfig != OBJECT_MAPPER.getDeserializationConfig()
+                || serializerFactory != OBJECT_MAPPER.getSerializerFactory()
+                || deserializationContext != OBJECT_MAPPER.getDeserializationContext();
+        }
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.convert.reflection;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Reads or writes one Riak annotated member of a domain class.
+ * <p>
+ * Accessors are created once when a class is scanned and kept in its 
+ * {@link AnnotationInfo}, which is cached by the {@link AnnotationCache}. 
+ * Whether the member is a field or a method and whether it holds raw bytes
+ * is worked out then rather than for every object converted, and the member
+ * is made accessible up front so the JVM doesn't repeat its access check on
+ * each call.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+abstract class Accessor
+{
+    private final boolean bytes;
+    
+    private Accessor(Class<?> type)
+    {
+        this.bytes = type.isArray() && type.getComponentType().equals(byte.class);
+    }
+    
+    /**
+     * Returns whether the member holds a {@code byte[]}.
+     * @return true if the member is a byte array.
+     */
+    final boolean isBytes()
+    {
+        return bytes;
+    }
+    
+    abstract Object get(Object obj);
+    
+    abstract void set(Object obj, Object value);
+    
+    static Accessor forField(Field f)
+    {
+        return new FieldAccessor(makeAccessible(f));
+    }
+    
+    static Accessor forGetter(Method m)
+    {
+        return new GetterAccessor(makeAccessible(m));
+    }
+    
+    static Accessor forSetter(Method m)
+    {
+        return new SetterAccessor(makeAccessible(m));
+    }
+    
+    /**
+     * Returns an Accessor that reads via the getter if there is one, 
+     * otherwise the field, or null if there is neither.
+     */
+    static Accessor reader(Method getter, Field field)
+    {
+        if (getter != null)
+        {
+            return forGetter(getter);
+        }
+        return field != null ? forField(field) : null;
+    }
+    
+    /**
+     * Returns an Accessor that writes via the setter if there is one, 
+     * otherwise the field, or null if there is neither.
+     */
+    static Accessor writer(Method setter, Field field)
+    {
+        if (setter != null)
+        {
+            return forSetter(setter);
+        }
+        return field != null ? forField(field) : null;
+    }
+    
+    private static <T extends AccessibleObject> T makeAccessible(T member)
+    {
+        try
+        {
+            member.setAccessible(true);
+        }
+        catch (SecurityException e)
+        {
+            // Public members of public classes still work, just with the
+            // access check on every call. The scanner has already done 
+            // ClassUtil.checkAndFixAccess() for anything else.
+        }
+        return member;
+    }
+    
+    private static class FieldAccessor extends Accessor
+    {
+        private final Field field;
+        
+        FieldAccessor(Field field)
+        {
+            super(field.getType());
+            this.field = field;
+        }
+        
+        @Override
+        Object get(Object obj)
+        {
+            return ClassUtil.getFieldValue(field, obj);
+        }
+
+        @Override
+        void set(Object obj, Object value)
+        {
+            ClassUtil.setFieldValue(field, obj, value);
+        }
+    }
+    
+    private static class GetterAccessor extends Accessor
+    {
+        private final Method getter;
+        
+        GetterAccessor(Method getter)
+        {
+            super(getter.getReturnType());
+            this.getter = getter;
+        }
+        
+        @Override
+        Object get(Object obj)
+        {
+            return ClassUtil.getMethodValue(getter, obj);
+        }
+
+        @Override
+        void set(Object obj, Object value)
+        {
+            throw new UnsupportedOperationException("Not a setter: " + getter);
+        }
+    }
+    
+    private static class SetterAccessor extends Accessor
+    {
+        private final Method setter;
+        
+        SetterAccessor(Method setter)
+        {
+            super(setter.getParameterTypes()[0]);
+            this.setter = setter;
+        }
+        
+        @Override
+        Object get(Object obj)
+        {
+            throw new UnsupportedOperationException("Not a getter: " + setter);
+        }
+
+        @Override
+        void set(Object obj, Object value)
+        {
+            ClassUtil.setMethodValue(setter, obj, value);
+        }
+    }
+}
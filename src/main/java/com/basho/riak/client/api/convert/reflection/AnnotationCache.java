@@ -25,6 +25,9 @@ import java.util.concurrent.FutureTask;
  */
 public class AnnotationCache {
     @SuppressWarnings("rawtypes") private final ConcurrentHashMap<Class, Future<AnnotationInfo>> cache = new ConcurrentHashMap<Class, Future<AnnotationInfo>>();
+    // Completed scans; converting one object looks its class up a dozen 
+    // times so this skips the Future once the scan has finished.
+    @SuppressWarnings("rawtypes") private final ConcurrentHashMap<Class, AnnotationInfo> scanned = new ConcurrentHashMap<Class, AnnotationInfo>();
 
     /**
      * @param clazz the class to be scanned and cached.
@@ -32,6 +35,11 @@ public class AnnotationCache {
      */
     public <T> AnnotationInfo get(Class<T> clazz) {
 
+        AnnotationInfo info = scanned.get(clazz);
+        if (info != null) {
+            return info;
+        }
+        
         Future<AnnotationInfo> scanner = cache.get(clazz);
 
         if (scanner == null) {
@@ -45,7 +53,9 @@ public class AnnotationCache {
         }
 
         try {
-            return scanner.get();
+            info = scanner.get();
+            scanned.put(clazz, info);
+            return info;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
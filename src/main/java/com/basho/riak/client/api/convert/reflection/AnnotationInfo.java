@@ -13,11 +13,6 @@
  */
 package com.basho.riak.client.api.convert.reflection;
 
-import static com.basho.riak.client.api.convert.reflection.ClassUtil.getFieldValue;
-import static com.basho.riak.client.api.convert.reflection.ClassUtil.setFieldValue;
-import static com.basho.riak.client.api.convert.reflection.ClassUtil.getMethodValue;
-import static com.basho.riak.client.api.convert.reflection.ClassUtil.setMethodValue;
-
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -53,67 +48,74 @@ import java.util.LinkedList;
 public class AnnotationInfo
 {
 
-    private final Field riakKeyField;
-    private final Method riakKeySetter;
-    private final Method riakKeyGetter;
+    // Resolved once per class from the annotated fields and methods; a 
+    // getter or setter takes precedence over a field.
+    private final Accessor riakKeyReader;
+    private final Accessor riakKeyWriter;
     private final List<UsermetaField> usermetaFields;
     private final List<UsermetaMethod> usermetaMethods;
     private final List<RiakIndexField> indexFields;
     private final List<RiakIndexMethod> indexMethods;
-    private final Field riakLinksField;
-    private final Method riakLinksGetter;
-    private final Method riakLinksSetter;
-    private final Field riakVClockField;
-    private final Method riakVClockSetter;
-    private final Method riakVClockGetter;
-    private final Field riakTombstoneField;
-    private final Method riakTombstoneSetter;
-    private final Method riakTombstoneGetter;
-    private final Field riakContentTypeField;
-    private final Method riakContentTypeGetter;
-    private final Method riakContentTypeSetter;
-    private final Field riakLastModifiedField;
-    private final Method riakLastModifiedSetter;
-    private final Field riakVTagField;
-    private final Method riakVTagSetter;
-    private final Field riakBucketNameField;
-    private final Method riakBucketNameSetter;
-    private final Method riakBucketNameGetter;
-    private final Field riakBucketTypeField;
-    private final Method riakBucketTypeSetter;
-    private final Method riakBucketTypeGetter;
+    private final Accessor riakLinksReader;
+    private final Accessor riakLinksWriter;
+    private final Accessor riakVClockReader;
+    private final Accessor riakVClockWriter;
+    private final Accessor riakTombstoneReader;
+    private final Accessor riakTombstoneWriter;
+    private final Accessor riakContentTypeReader;
+    private final Accessor riakContentTypeWriter;
+    private final Accessor riakLastModifiedWriter;
+    private final Accessor riakVTagWriter;
+    private final Accessor riakBucketNameReader;
+    private final Accessor riakBucketNameWriter;
+    private final Accessor riakBucketTypeReader;
+    private final Accessor riakBucketTypeWriter;
 
     private AnnotationInfo(Builder builder)
     {
-        this.riakKeyField = builder.riakKeyField;
-        this.riakKeyGetter = builder.riakKeyGetter;
-        this.riakKeySetter = builder.riakKeySetter;
-        this.riakLinksField = builder.riakLinksField;
-        this.riakLinksGetter = builder.riakLinksGetter;
-        this.riakLinksSetter = builder.riakLinksSetter;
-        this.riakVClockField = builder.riakVClockField;
-        this.riakVClockGetter = builder.riakVClockGetter;
-        this.riakVClockSetter = builder.riakVClockSetter;
-        this.riakTombstoneField = builder.riakTombstoneField;
-        this.riakTombstoneGetter = builder.riakTombstoneGetter;
-        this.riakTombstoneSetter = builder.riakTombstoneSetter;
+        this.riakKeyReader = Accessor.reader(builder.riakKeyGetter, builder.riakKeyField);
+        this.riakKeyWriter = Accessor.writer(builder.riakKeySetter, builder.riakKeyField);
+        this.riakLinksReader = Accessor.reader(builder.riakLinksGetter, builder.riakLinksField);
+        this.riakLinksWriter = Accessor.writer(builder.riakLinksSetter, builder.riakLinksField);
+        this.riakVClockReader = Accessor.reader(builder.riakVClockGetter, builder.riakVClockField);
+        this.riakVClockWriter = Accessor.writer(builder.riakVClockSetter, builder.riakVClockField);
+        this.riakTombstoneReader = Accessor.reader(builder.riakTombstoneGetter, builder.riakTombstoneField);
+        this.riakTombstoneWriter = Accessor.writer(builder.riakTombstoneSetter, builder.riakTombstoneField);
         this.usermetaFields = builder.usermetaFields;
         this.usermetaMethods = builder.usermetaMethods;
         this.indexFields = builder.indexFields;
         this.indexMethods = builder.indexMethods;
-        this.riakContentTypeField = builder.riakContentTypeField;
-        this.riakContentTypeGetter = builder.riakContentTypeGetter;
-        this.riakContentTypeSetter = builder.riakContentTypeSetter;
-        this.riakLastModifiedField = builder.riakLastModifiedField;
-        this.riakLastModifiedSetter = builder.riakLastModified;
-        this.riakVTagField = builder.riakVTagField;
-        this.riakVTagSetter = builder.riakVTagSetter;
-        this.riakBucketNameField = builder.riakBucketNameField;
-        this.riakBucketNameGetter = builder.riakBucketNameGetter;
-        this.riakBucketNameSetter = builder.riakBucketNameSetter;
-        this.riakBucketTypeField = builder.riakBucketTypeField;
-        this.riakBucketTypeGetter = builder.riakBucketTypeGetter;
-        this.riakBucketTypeSetter = builder.riakBucketTypeSetter;
+        this.riakContentTypeReader = Accessor.reader(builder.riakContentTypeGetter, builder.riakContentTypeField);
+        this.riakContentTypeWriter = Accessor.writer(builder.riakContentTypeSetter, builder.riakContentTypeField);
+        this.riakLastModifiedWriter = Accessor.writer(builder.riakLastModified, builder.riakLastModifiedField);
+        this.riakVTagWriter = Accessor.writer(builder.riakVTagSetter, builder.riakVTagField);
+        this.riakBucketNameReader = Accessor.reader(builder.riakBucketNameGetter, builder.riakBucketNameField);
+        this.riakBucketNameWriter = Accessor.writer(builder.riakBucketNameSetter, builder.riakBucketNameField);
+        this.riakBucketTypeReader = Accessor.reader(builder.riakBucketTypeGetter, builder.riakBucketTypeField);
+        this.riakBucketTypeWriter = Accessor.writer(builder.riakBucketTypeSetter, builder.riakBucketTypeField);
+    }
+    
+    // TODO: charset
+    private static BinaryValue getStringOrBytes(Accessor reader, Object obj)
+    {
+        if (reader != null)
+        {
+            Object o = reader.get(obj);
+            if (o != null)
+            {
+                return reader.isBytes() ? BinaryValue.create((byte[]) o) : BinaryValue.create((String) o);
+            }
+        }
+        return null;
+    }
+    
+    // TODO: charset
+    private static void setStringOrBytes(Accessor writer, Object obj, BinaryValue value)
+    {
+        if (writer != null)
+        {
+            writer.set(obj, writer.isBytes() ? value.unsafeGetValue() : value.toString());
+        }
     }
 
     /**
@@ -129,257 +131,54 @@ public class AnnotationInfo
      */
     public <T> BinaryValue getRiakKey(T obj)
     {
-        // TODO: charset
-        BinaryValue key = null;
-        if (riakKeyGetter != null)
-        {
-            if (riakKeyGetter.getReturnType().isArray())
-            {
-                Object o = getMethodValue(riakKeyGetter, obj);
-                if (o != null)
-                {
-                    key = BinaryValue.create((byte[]) o);
-                }
-            }
-            else
-            {
-                Object o = getMethodValue(riakKeyGetter, obj);
-                if (o != null)
-                {
-                    key = BinaryValue.create((String) o);
-                }
-            }
-        }
-        else if (riakKeyField != null)
-        {
-            if (riakKeyField.getType().equals(String.class))
-            {
-                Object o = getFieldValue(riakKeyField, obj);
-                if (o != null)
-                {
-                    key = BinaryValue.create((String) o);
-                }
-            }
-            else
-            {
-                Object o = getFieldValue(riakKeyField, obj);
-                if (o != null)
-                {
-                    key = BinaryValue.create((byte[]) o);
-                }
-            }
-        }
-        
-        return key;
+        return getStringOrBytes(riakKeyReader, obj);
     }
 
-    // TODO: charset
     public <T> void setRiakKey(T obj, BinaryValue key)
     {
-        if (riakKeySetter != null)
-        {
-            if (riakKeySetter.getParameterTypes()[0].isArray())
-            {
-                setMethodValue(riakKeySetter, obj, key.unsafeGetValue());
-            }
-            else
-            {
-                setMethodValue(riakKeySetter, obj, key.toString());
-            }
-        }
-        else if (riakKeyField != null)
-        {
-            if (riakKeyField.getType().equals(String.class))
-            {
-                setFieldValue(riakKeyField, obj, key.toString());
-            }
-            else
-            {
-                setFieldValue(riakKeyField, obj, key.unsafeGetValue());
-            }
-        }
-         
+        setStringOrBytes(riakKeyWriter, obj, key);
     }
 
-    // TODO: charset in annotation
     public <T> BinaryValue getRiakBucketName(T obj)
     {
-        BinaryValue bucketName = null;
-        
-        if (riakBucketNameGetter != null)
-        {
-            if (riakBucketNameGetter.getReturnType().isArray())
-            {
-                Object o = getMethodValue(riakBucketNameGetter, obj);
-                if (o != null)
-                {
-                    bucketName = BinaryValue.create((byte[]) o);
-                }
-            }
-            else
-            {
-                Object o = getMethodValue(riakBucketNameGetter, obj);
-                if (o != null)
-                {
-                    bucketName = BinaryValue.create((String) o);
-                }
-            }
-        }
-        else if (riakBucketNameField != null)
-        {
-            if (riakBucketNameField.getType().equals(String.class))
-            {
-                Object o = getFieldValue(riakBucketNameField, obj);
-                if (o != null)
-                {
-                    bucketName = BinaryValue.create((String) o);
-                }
-            }
-            else
-            {
-                Object o = getFieldValue(riakBucketNameField, obj);
-                if (o != null)
-                {
-                    bucketName = BinaryValue.create((byte[]) o);
-                }
-            }
-        }
-         
-        return bucketName;
+        return getStringOrBytes(riakBucketNameReader, obj);
     }
     
-    // TODO: charset in annotation
     public <T> void setRiakBucketName(T obj, BinaryValue bucketName)
     {
-        if (riakBucketNameSetter != null)
-        {
-            if (riakBucketNameSetter.getParameterTypes()[0].isArray())
-            {
-                setMethodValue(riakBucketNameSetter, obj, bucketName.unsafeGetValue());
-            }
-            else
-            {
-                setMethodValue(riakBucketNameSetter, obj, bucketName.toString());
-            }
-        }
-        else if (riakBucketNameField != null)
-        {
-            if (riakBucketNameField.getType().equals(String.class))
-            {
-                setFieldValue(riakBucketNameField, obj, bucketName.toString());
-            }
-            else
-            {
-                setFieldValue(riakBucketNameField, obj, bucketName.unsafeGetValue());
-            }
-        }
+        setStringOrBytes(riakBucketNameWriter, obj, bucketName);
     }
     
-    // TODO: charset in annotation
     public <T> BinaryValue getRiakBucketType(T obj)
     {
-        BinaryValue bucketType = null;
-        
-        if (riakBucketTypeGetter != null)
-        {
-            if (riakBucketTypeGetter.getReturnType().isArray())
-            {
-                Object o = getMethodValue(riakBucketTypeGetter, obj);
-                if (o != null)
-                {
-                    bucketType = BinaryValue.create((byte[]) o);
-                }
-            }
-            else
-            {
-                Object o = getMethodValue(riakBucketTypeGetter, obj);
-                if (o != null)
-                {
-                    bucketType = BinaryValue.create((String) o);
-                }
-            }
-        }
-        else if (riakBucketTypeField != null)
-        {
-            if (riakBucketTypeField.getType().equals(String.class))
-            {
-                Object o = getFieldValue(riakBucketTypeField, obj);
-                if (o != null)
-                {
-                    bucketType = BinaryValue.create((String) o);
-                }
-            }
-            else
-            {
-                Object o = getFieldValue(riakBucketTypeField, obj);
-                if (o != null)
-                {
-                    bucketType = BinaryValue.create((byte[]) o);
-                }
-            }
-        }
-        return bucketType;
+        return getStringOrBytes(riakBucketTypeReader, obj);
     }
     
-    // TODO: charset in annotation
     public <T> void setRiakBucketType(T obj, BinaryValue bucketType)
     {
-        if (riakBucketTypeSetter != null)
-        {
-            if (riakBucketTypeSetter.getParameterTypes()[0].isArray())
-            {
-                setMethodValue(riakBucketTypeSetter, obj, bucketType.unsafeGetValue());
-            }
-            else
-            {
-                setMethodValue(riakBucketTypeSetter, obj, bucketType.toString());
-            }
-        }
-        else if (riakBucketTypeField != null)
-        {
-            if (riakBucketTypeField.getType().equals(String.class))
-            {
-                setFieldValue(riakBucketTypeField, obj, bucketType.toString());
-            }
-            else
-            {
-                setFieldValue(riakBucketTypeField, obj, bucketType.unsafeGetValue());
-            }
-        }
+        setStringOrBytes(riakBucketTypeWriter, obj, bucketType);
     }
     
     public boolean hasRiakVClock()
     {
-        return riakVClockField != null || riakVClockSetter != null;
+        return riakVClockWriter != null;
     }
     
     public <T> VClock getRiakVClock(T obj)
     {
-
         VClock vclock = null;
 
-        // We allow the annotated field to be either an actual VClock, or
+        // We allow the annotated member to be either an actual VClock, or
         // a byte array.
-        if (riakVClockGetter != null)
+        if (riakVClockReader != null)
         {
-            if (riakVClockGetter.getReturnType().isArray())
+            if (riakVClockReader.isBytes())
             {
-                vclock = new BasicVClock((byte[]) getMethodValue(riakVClockGetter, obj));
+                vclock = new BasicVClock((byte[]) riakVClockReader.get(obj));
             }
             else
             {
-                vclock = (VClock) getMethodValue(riakVClockGetter, obj);
-            }
-        }
-        else if (riakVClockField != null)
-        {
-            if (riakVClockField.getType().isAssignableFrom(VClock.class))
-            {
-                vclock = (VClock) getFieldValue(riakVClockField, obj);
-            }
-            else
-            {
-                vclock = new BasicVClock((byte[]) getFieldValue(riakVClockField, obj));
+                vclock = (VClock) riakVClockReader.get(obj);
             }
         }
         
@@ -388,110 +187,60 @@ public class AnnotationInfo
 
     public <T> void setRiakVClock(T obj, VClock vclock)
     {
-
-        // We allow the annotated field to be either an actual VClock, or
+        // We allow the annotated member to be either an actual VClock, or
         // a byte array. This is enforced in the AnnotationScanner
-        if (riakVClockSetter != null)
+        if (riakVClockWriter != null)
         {
-            Class<?> pType = riakVClockSetter.getParameterTypes()[0];
-            if (pType.isArray())
+            if (riakVClockWriter.isBytes())
             {
-                setMethodValue(riakVClockSetter, obj, vclock.getBytes());
+                riakVClockWriter.set(obj, vclock.getBytes());
             }
             else
             {
-                setMethodValue(riakVClockSetter, obj, vclock);
-            }
-        }
-        else if (riakVClockField != null)
-        {
-
-            if (riakVClockField.getType().isAssignableFrom(VClock.class))
-            {
-                setFieldValue(riakVClockField, obj, vclock);
-            }
-            else
-            {
-                setFieldValue(riakVClockField, obj, vclock.getBytes());
+                riakVClockWriter.set(obj, vclock);
             }
         }
     }
 
     public <T> Boolean getRiakTombstone(T obj)
     {
-        Boolean tombstone = null;
-        if (riakTombstoneGetter != null)
-        {
-            tombstone = (Boolean) getMethodValue(riakTombstoneGetter, obj);
-        }
-        else if (riakTombstoneField != null)
-        {
-            tombstone = (Boolean) getFieldValue(riakTombstoneField, obj);
-        }
-        
-        return tombstone;
+        return riakTombstoneReader != null ? (Boolean) riakTombstoneReader.get(obj) : null;
     }
 
     public <T> void setRiakTombstone(T obj, Boolean isDeleted)
     {
-
-        if (riakTombstoneSetter != null)
+        if (riakTombstoneWriter != null)
         {
-            setMethodValue(riakTombstoneSetter, obj, isDeleted);
-        }
-        else if (riakTombstoneField != null)
-        {
-            setFieldValue(riakTombstoneField, obj, isDeleted);
+            riakTombstoneWriter.set(obj, isDeleted);
         }
     }
 
     public <T> String getRiakContentType(T obj)
     {
-        String contentType = null;
-        if (riakContentTypeGetter != null)
-        {
-            contentType = (String) getMethodValue(riakContentTypeGetter, obj);
-        }
-        else if (riakContentTypeField != null)
-        {
-            contentType = (String) getFieldValue(riakContentTypeField, obj);
-        }
-        return contentType;
+        return riakContentTypeReader != null ? (String) riakContentTypeReader.get(obj) : null;
     }
     
     public <T> void setRiakContentType(T obj, String contentType)
     {
-        if (riakContentTypeSetter != null)
+        if (riakContentTypeWriter != null)
         {
-            setMethodValue(riakContentTypeSetter, obj, contentType);
+            riakContentTypeWriter.set(obj, contentType);
         }
-        else if (riakContentTypeField != null)
-        {
-            setFieldValue(riakContentTypeField, obj, contentType);
-        } 
     }
     
     public <T> void setRiakLastModified(T obj, Long lastModified)
     {
-        if (riakLastModifiedSetter != null)
-        {
-            setMethodValue(riakLastModifiedSetter, obj, lastModified);
-        }
-        else if (riakLastModifiedField != null)
+        if (riakLastModifiedWriter != null)
         {
-            setFieldValue(riakLastModifiedField, obj, lastModified);
+            riakLastModifiedWriter.set(obj, lastModified);
         }
     }
     
     public <T> void setRiakVTag(T obj, String vtag)
     {
-        if (riakVTagSetter != null)
-        {
-            setMethodValue(riakVTagSetter, obj, vtag);
-        }
-        else if (riakVTagField != null)
+        if (riakVTagWriter != null)
         {
-            setFieldValue(riakVTagField, obj, vtag);
+            riakVTagWriter.set(obj, vtag);
         }
     }
     
@@ -503,14 +252,14 @@ public class AnnotationInfo
             {
                 case MAP:
                     @SuppressWarnings("unchecked")
-                    Map<String, String> map = (Map<String, String>) getFieldValue(uf.getField(), obj);
+                    Map<String, String> map = (Map<String, String>) uf.getAccessor().get(obj);
                     if (map != null)
                     {
                         container.put(map);
                     }
                     break;
                 case STRING:
-                    Object o = getFieldValue(uf.getField(), obj);
+                    Object o = uf.getAccessor().get(obj);
                     String val = o == null ? null : o.toString();
                     String key = uf.getUsermetaDataKey();
                     // null is not a user meta datum
@@ -530,14 +279,14 @@ public class AnnotationInfo
             {
                 case MAP_GETTER:
                     @SuppressWarnings("unchecked")
-                    Map<String, String> map = (Map<String, String>) getMethodValue(um.getMethod(), obj);
+                    Map<String, String> map = (Map<String, String>) um.getAccessor().get(obj);
                     if (map != null)
                     {
                         container.put(map);
                     }
                     break;
                 case STRING_GETTER:
-                    Object o = getMethodValue(um.getMethod(), obj);
+                    Object o = um.getAccessor().get(obj);
                     String val = o == null ? null : o.toString();
                     String key = um.getUsermetaDataKey();
                     if (o != null)
@@ -561,40 +310,42 @@ public class AnnotationInfo
      */
     public <T> void setUsermetaData(RiakUserMetadata userMetadata, T obj)
     {
-        Field mapField = null;
+        Accessor mapField = null;
         for (UsermetaField uf : usermetaFields)
         {
             switch(uf.getFieldType())
             {
                 case STRING:
-                    if (userMetadata.containsKey(uf.getUsermetaDataKey()))
+                    BinaryValue value = userMetadata.get(uf.getWrappedKey());
+                    if (value != null)
                     {
-                        setFieldValue(uf.getField(), obj, userMetadata.get(uf.getUsermetaDataKey()));
-                        userMetadata.remove(uf.getUsermetaDataKey());
+                        uf.getAccessor().set(obj, value.toString());
+                        userMetadata.remove(uf.getWrappedKey());
                     }
                     break;
                 case MAP:
-                    mapField = uf.getField();
+                    mapField = uf.getAccessor();
                     break;
                 default:
                     break;
             }
         }
 
-        Method mapSetter = null;
+        Accessor mapSetter = null;
         for (UsermetaMethod um : usermetaMethods)
         {
             switch(um.getMethodType())
             {
                 case STRING_SETTER:
-                    if (userMetadata.containsKey(um.getUsermetaDataKey()))
+                    BinaryValue value = userMetadata.get(um.getWrappedKey());
+                    if (value != null)
                     {
-                        setMethodValue(um.getMethod(), obj, userMetadata.get(um.getUsermetaDataKey()));
-                        userMetadata.remove(um.getUsermetaDataKey());
+                        um.getAccessor().set(obj, value.toString());
+                        userMetadata.remove(um.getWrappedKey());
                     }
                     break;
                 case MAP_SETTER:
-                    mapSetter = um.getMethod();
+                    mapSetter = um.getAccessor();
                     break;
                 default:
                     break;
@@ -612,12 +363,12 @@ public class AnnotationInfo
             
             if (mapSetter != null)
             {
-                setMethodValue(mapSetter, obj, mapCopy);
+                mapSetter.set(obj, mapCopy);
             }
 
             if (mapField != null)
             {
-                setFieldValue(mapField, obj, mapCopy);
+                mapField.set(obj, mapCopy);
             }
         }
     }
@@ -633,7 +384,7 @@ public class AnnotationInfo
     {
         for (RiakIndexField f : indexFields)
         {
-            final Object val = getFieldValue(f.getField(), obj);
+            final Object val = f.getAccessor().get(obj);
             switch(f.getFieldType())
             {
                 case SET_LONG:
@@ -718,7 +469,7 @@ public class AnnotationInfo
             {
                 case SET_LONG_GETTER:
                 case LONG_GETTER:
-                    val = getMethodValue(m.getMethod(), obj);
+                    val = m.getAccessor().get(obj);
                     // We want to create the index regardless
                     LongIntIndex index = container.getIndex(LongIntIndex.named(m.getIndexName()));
                     if (val != null)
@@ -735,7 +486,7 @@ public class AnnotationInfo
                     break;
                 case SET_STRING_GETTER:
                 case STRING_GETTER:
-                    val = getMethodValue(m.getMethod(), obj);
+                    val = m.getAccessor().get(obj);
                     // We want to create the index regardless
                     StringBinIndex stringBinIndex = container.getIndex(StringBinIndex.named(m.getIndexName()));
                     if (val != null)
@@ -752,7 +503,7 @@ public class AnnotationInfo
                     break;
                 case SET_BIG_INT_GETTER:
                 case BIG_INT_GETTER:
-                    val = getMethodValue(m.getMethod(), obj);
+                    val = m.getAccessor().get(obj);
                     // We want to create the index regardless
                     BigIntIndex bigIntIndex = container.getIndex(BigIntIndex.named(m.getIndexName()));
                     if (val != null)
@@ -769,7 +520,7 @@ public class AnnotationInfo
                     break;
                 case SET_RAW_GETTER:
                 case RAW_GETTER:
-                    val = getMethodValue(m.getMethod(), obj);
+                    val = m.getAccessor().get(obj);
                     IndexType iType = IndexType.typeFromFullname(m.getIndexName());
                     RawIndex rawIndex = container.getIndex(RawIndex.named(m.getIndexName(), iType));
                     if (val != null)
@@ -847,12 +598,12 @@ public class AnnotationInfo
                 {
                     if (!val.isEmpty())
                     {
-                        setFieldValue(f.getField(), obj, val.iterator().next()); // take the first value
+                        f.getAccessor().set(obj, val.iterator().next()); // take the first value
                     } 
                 }
                 else
                 {
-                    setFieldValue(f.getField(), obj, val);
+                    f.getAccessor().set(obj, val);
                 }
             }
         }
@@ -903,12 +654,12 @@ public class AnnotationInfo
                 {
                     if (!val.isEmpty())
                     {
-                        setMethodValue(m.getMethod(), obj, val.iterator().next()); // take the first value
+                        m.getAccessor().set(obj, val.iterator().next()); // take the first value
                     } 
                 }
                 else
                 {
-                    setMethodValue(m.getMethod(), obj, val); 
+                    m.getAccessor().set(obj, val); 
                 }
 
             }
@@ -918,19 +669,13 @@ public class AnnotationInfo
     @SuppressWarnings("unchecked")
     public <T> RiakLinks getLinks(RiakLinks container, T obj)
     {
-        Object o = null;
-        if (riakLinksGetter != null)
+        if (riakLinksReader != null)
         {
-            o = getMethodValue(riakLinksGetter, obj);
-        }
-        else if (riakLinksField != null)
-        {
-            o = getFieldValue(riakLinksField, obj);
-        }
-        
-        if (o != null)
-        {
-            container.addLinks((Collection<RiakLink>) o);
+            Object o = riakLinksReader.get(obj);
+            if (o != null)
+            {
+                container.addLinks((Collection<RiakLink>) o);
+            }
         }
 
         return container;
@@ -938,15 +683,10 @@ public class AnnotationInfo
 
     public <T> void setLinks(RiakLinks links, T obj)
     {
-        if (riakLinksSetter != null)
+        if (riakLinksWriter != null)
         {
-            setMethodValue(riakLinksSetter, obj, links.getLinks());
+            riakLinksWriter.set(obj, links.getLinks());
         }
-        else if (riakLinksField != null)
-        {
-            setFieldValue(riakLinksField, obj, links.getLinks());
-        }
-        
     }
 
     public static class Builder
@@ -31,6 +31,7 @@ public class RiakIndexField {
     
     private final Field field;
     private final String indexName;
+    private final Accessor accessor;
     private final FieldType type;
 
     /**
@@ -42,6 +43,7 @@ public class RiakIndexField {
         type = validateAndGetType(field);
         this.field = field;
         this.indexName = field.getAnnotation(RiakIndex.class).name();
+        this.accessor = Accessor.forField(field);
         
         if (indexName.isEmpty())
         {
@@ -68,6 +70,10 @@ public class RiakIndexField {
         return indexName;
     }
     
+    Accessor getAccessor() {
+        return accessor;
+    }
+    
     public FieldType getFieldType() {
         return type;
     }
@@ -35,6 +35,7 @@ public class RiakIndexMethod
     
     private final Method method;
     private final String indexName;
+    private final Accessor accessor;
     private final MethodType methodType;
 
     /**
@@ -48,6 +49,7 @@ public class RiakIndexMethod
         
         this.method = method;
         this.indexName = method.getAnnotation(RiakIndex.class).name();
+        this.accessor = method.getParameterTypes().length == 1 ? Accessor.forSetter(method) : Accessor.forGetter(method);
         
         if (indexName.isEmpty())
         {
@@ -76,6 +78,11 @@ public class RiakIndexMethod
     {
         return indexName;
     }
+    
+    Accessor getAccessor()
+    {
+        return accessor;
+    }
 
     /**
      * @return the type
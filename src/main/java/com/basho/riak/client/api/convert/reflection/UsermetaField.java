@@ -14,6 +14,7 @@
 package com.basho.riak.client.api.convert.reflection;
 
 import com.basho.riak.client.api.annotations.RiakUsermeta;
+import com.basho.riak.client.core.util.BinaryValue;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -32,6 +33,8 @@ public class UsermetaField {
     
     private final Field field;
     private final String usermetaDataKey;
+    private final BinaryValue wrappedKey;
+    private final Accessor accessor;
     private final FieldType fieldType;
 
     /**
@@ -43,6 +46,9 @@ public class UsermetaField {
         this.fieldType = validateAndGetType(field);
         this.field = field;
         this.usermetaDataKey = field.getAnnotation(RiakUsermeta.class).key();
+        // RiakUserMetadata encodes String keys using the default Charset
+        this.wrappedKey = BinaryValue.unsafeCreate(usermetaDataKey.getBytes());
+        this.accessor = Accessor.forField(field);
         
         if (fieldType == FieldType.STRING && "".equals(usermetaDataKey))
         {
@@ -73,6 +79,14 @@ public class UsermetaField {
         return usermetaDataKey;
     }
     
+    BinaryValue getWrappedKey() {
+        return wrappedKey;
+    }
+    
+    Accessor getAccessor() {
+        return accessor;
+    }
+    
     private FieldType validateAndGetType(Field f)
     {
         if (f != null)
@@ -17,6 +17,7 @@
 package com.basho.riak.client.api.convert.reflection;
 
 import com.basho.riak.client.api.annotations.RiakUsermeta;
+import com.basho.riak.client.core.util.BinaryValue;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -32,6 +33,8 @@ public class UsermetaMethod
     
     private final Method method;
     private final String usermetaDataKey;
+    private final BinaryValue wrappedKey;
+    private final Accessor accessor;
     private final MethodType methodType;
     
     public UsermetaMethod(Method method) 
@@ -39,6 +42,9 @@ public class UsermetaMethod
         this.methodType = validateAndGetReturnType(method);
         this.method = method;
         this.usermetaDataKey = method.getAnnotation(RiakUsermeta.class).key();
+        // RiakUserMetadata encodes String keys using the default Charset
+        this.wrappedKey = BinaryValue.unsafeCreate(usermetaDataKey.getBytes());
+        this.accessor = method.getParameterTypes().length == 1 ? Accessor.forSetter(method) : Accessor.forGetter(method);
         
         if ((methodType == MethodType.STRING_GETTER || methodType == MethodType.STRING_SETTER) && 
             "".equals(usermetaDataKey))
@@ -64,6 +70,16 @@ public class UsermetaMethod
         return usermetaDataKey;
     }
     
+    BinaryValue getWrappedKey()
+    {
+        return wrappedKey;
+    }
+    
+    Accessor getAccessor()
+    {
+        return accessor;
+    }
+    
     /**
      * Get the return type.
      * @return the return type for this method.
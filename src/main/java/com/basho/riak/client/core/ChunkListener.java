@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+/**
+ * Receives the results of a streaming operation a chunk at a time.
+ * <p>
+ * Chunks are delivered in order on the I/O thread as each message from 
+ * Riak is decoded, and the next message isn't read until this method 
+ * returns. A slow listener therefore slows the stream down rather than 
+ * letting results pile up in memory, but it also holds up other 
+ * connections sharing the thread; hand the results off to another thread
+ * if processing them takes a while.
+ * </p>
+ * @param <C> The type of the chunks.
+ * @since 2.0.2
+ */
+public interface ChunkListener<C>
+{
+    void onChunk(C chunk);
+}
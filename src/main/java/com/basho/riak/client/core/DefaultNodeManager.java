@@ -16,10 +16,9 @@
 package com.basho.riak.client.core;
 
 import com.basho.riak.client.core.RiakNode.State;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,129 +35,103 @@ import org.slf4j.LoggerFactory;
  * the list is tried until either the operation is accepted or all nodes have 
  * been tried. If no nodes are able to accept the operation its setException() 
  * method is called with a {@link NoNodesAvailableException}.
+ * <p>
+ * The lists of nodes are immutable arrays replaced (copy-on-write) whenever 
+ * a node is added, removed or changes state, so executing an operation takes
+ * no lock.
+ * </p>
  * 
  * @author Brian Roach <roach at basho dot com>
  * @since 2.0
  */
 public class DefaultNodeManager implements NodeManager, NodeStateListener
 {
-    private final ArrayList<RiakNode> healthy = new ArrayList<RiakNode>();
-    private final ArrayList<RiakNode> unhealthy = new ArrayList<RiakNode>();
+    static final RiakNode[] NO_NODES = new RiakNode[0];
+    
+    // Both only replaced while holding this object's lock.
+    private volatile RiakNode[] healthy = NO_NODES;
+    private volatile RiakNode[] unhealthy = NO_NODES;
     private final AtomicInteger index = new AtomicInteger();
     private final Logger logger = LoggerFactory.getLogger(DefaultNodeManager.class);
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
     
     @Override
-    public void init(List<RiakNode> nodes)
+    public synchronized void init(List<RiakNode> nodes)
     {
-        try
-        {
-            lock.writeLock().lock();
-            healthy.addAll(nodes);
-        }
-        finally
+        RiakNode[] updated = healthy;
+        for (RiakNode node : nodes)
         {
-            lock.writeLock().unlock();
+            updated = with(updated, node);
         }
+        healthy = updated;
     }
 
     @Override
     public void executeOnNode(FutureOperation operation, RiakNode previousNode)
     {
-        try
+        RiakNode[] nodes = healthy;
+        boolean executed = false;
+        if (nodes.length > 1)
         {
-            lock.readLock().lock();
-            boolean executed = false;
-            if (healthy.size() > 1)
+            int startIndex = Math.abs(index.getAndIncrement() % nodes.length);
+            for (int i = 0; i < nodes.length; i++)
             {
-                int startIndex = index.getAndIncrement();
-                int currentIndex = startIndex;
-                
-                do
+                if (nodes[(startIndex + i) % nodes.length].execute(operation))
                 {
-                    if (healthy.get(Math.abs(currentIndex % healthy.size())).execute(operation))
-                    {
-                        executed = true;
-                        break;
-                    }
-                    currentIndex++;
+                    executed = true;
+                    break;
                 }
-                while (Math.abs(currentIndex % healthy.size()) != Math.abs(startIndex % healthy.size()));
-            }
-            else if (healthy.size() == 1)
-            {
-                executed = healthy.get(0).execute(operation);
-            }
-            
-            if (!executed)
-            {
-                operation.setException(new NoNodesAvailableException());
             }
         }
-        finally
+        else if (nodes.length == 1)
         {
-            lock.readLock().unlock();
+            executed = nodes[0].execute(operation);
+        }
+
+        if (!executed)
+        {
+            operation.setException(new NoNodesAvailableException());
         }
     }
     
     @Override
-    public void nodeStateChanged(RiakNode node, State state)
+    public synchronized void nodeStateChanged(RiakNode node, State state)
     {
+        RiakNode[] updated;
         switch (state)
         {
             case RUNNING:
-                try
+                updated = without(unhealthy, node);
+                if (updated != unhealthy)
                 {
-                    lock.writeLock().lock();
-                    if (unhealthy.remove(node))
-                    {
-                        healthy.add(node);
-                        logger.info("NodeManager moved node to healthy list; {}:{}", 
-                                    node.getRemoteAddress(), node.getPort());
-                    }
-                }
-                finally
-                {
-                    lock.writeLock().unlock();
+                    unhealthy = updated;
+                    healthy = with(healthy, node);
+                    logger.info("NodeManager moved node to healthy list; {}:{}", 
+                                node.getRemoteAddress(), node.getPort());
                 }
                 break;
             case HEALTH_CHECKING:
-                try
+                updated = without(healthy, node);
+                if (updated != healthy)
                 {
-                    lock.writeLock().lock();
-                    if (healthy.remove(node))
-                    {
-                        unhealthy.add(node);
-                        logger.info("NodeManager moved node to unhealthy list; {}:{}", 
-                                    node.getRemoteAddress(), node.getPort());
-                    }
-                }
-                finally
-                {
-                    lock.writeLock().unlock();
+                    healthy = updated;
+                    unhealthy = with(unhealthy, node);
+                    logger.info("NodeManager moved node to unhealthy list; {}:{}", 
+                                node.getRemoteAddress(), node.getPort());
                 }
                 break;
             case SHUTTING_DOWN:
             case SHUTDOWN:
-                boolean removed = false;
-                try
-                {
-                    lock.writeLock().lock();
-                    removed = healthy.remove(node);
-                    if (!removed)
-                    {
-                        unhealthy.remove(node);
-                    }
-                }
-                finally
-                {
-                    lock.writeLock().unlock();
-                }
-                if (removed)
+                updated = without(healthy, node);
+                if (updated != healthy)
                 {
+                    healthy = updated;
                     logger.info("NodeManager removed node due to it shutting down; {}:{}",
                                 node.getRemoteAddress(), node.getPort());
                 }
+                else
+                {
+                    unhealthy = without(unhealthy, node);
+                }
                 break;
             default:
                 break;
@@ -166,36 +139,29 @@ public class DefaultNodeManager implements NodeManager, NodeStateListener
     }
 
     @Override
-    public void addNode(RiakNode newNode)
+    public synchronized void addNode(RiakNode newNode)
     {
-        try
-        {
-            lock.writeLock().lock();
-            healthy.add(newNode);
-        }
-        finally
-        {
-            lock.writeLock().unlock();
-        }
-        
+        healthy = with(healthy, newNode);
     }
 
     @Override
     public boolean removeNode(RiakNode node)
     {
-        boolean removed;
-        try
+        boolean removed = false;
+        synchronized (this)
         {
-            lock.writeLock().lock();
-            removed = healthy.remove(node);
-            if (!removed)
+            RiakNode[] updated = without(healthy, node);
+            if (updated != healthy)
             {
-                removed = unhealthy.remove(node);
+                healthy = updated;
+                removed = true;
+            }
+            else
+            {
+                updated = without(unhealthy, node);
+                removed = updated != unhealthy;
+                unhealthy = updated;
             }
-        }
-        finally
-        {
-            lock.writeLock().unlock();
         }
         
         if (removed)
@@ -207,4 +173,33 @@ public class DefaultNodeManager implements NodeManager, NodeStateListener
         }
         return removed;
     }
+    
+    /**
+     * Returns a copy of the array with the node appended.
+     */
+    static RiakNode[] with(RiakNode[] nodes, RiakNode node)
+    {
+        RiakNode[] updated = Arrays.copyOf(nodes, nodes.length + 1);
+        updated[nodes.length] = node;
+        return updated;
+    }
+
+    /**
+     * Returns a copy of the array without the node, or the same array if
+     * the node isn't in it.
+     */
+    static RiakNode[] without(RiakNode[] nodes, RiakNode node)
+    {
+        for (int i = 0; i < nodes.length; i++)
+        {
+            if (nodes[i] == node)
+            {
+                RiakNode[] updated = new RiakNode[nodes.length - 1];
+                System.arraycopy(nodes, 0, updated, 0, i);
+                System.arraycopy(nodes, i + 1, updated, i, nodes.length - i - 1);
+                return updated;
+            }
+        }
+        return nodes;
+    }
 }
@@ -15,7 +15,12 @@
  */
 package com.basho.riak.client.core;
 
-
+import com.basho.riak.client.core.tracing.OperationTracer;
+import com.basho.riak.client.core.tracing.TraceStage;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +28,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -51,10 +57,26 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
     private volatile List<U> rawResponse = new LinkedList<U>();
     private volatile Throwable exception;
     private volatile T converted;
+    private volatile RuntimeException conversionException;
     private volatile State state = State.CREATED;
     private volatile RiakNode lastNode;
+    private volatile long timeoutInNanos;
+    private volatile Timeout deadline;
+    private volatile RiakNode attemptNode;
+    private volatile long attemptStart;
+    private volatile Channel channel;
+    private volatile boolean readPaused;
+    private volatile boolean partialResponse;
+    private volatile OperationTracer tracer = OperationTracer.NOOP;
+    private volatile ChannelFutureListener traceWriteListener;
+    private volatile int attempt;
+    // End of the last span traced for this attempt; where the next one starts.
+    private volatile long traceMark;
 
     private final ReentrantLock listenersLock = new ReentrantLock();
+    // Held while converting; the response is converted at most once. Not the
+    // operation's monitor, so a get() doesn't wait on listeners being fired.
+    private final Object convertLock = new Object();
     private final HashSet<RiakFutureListener<T,S>> listeners =
         new HashSet<RiakFutureListener<T,S>>();
     private volatile boolean listenersFired = false;
@@ -126,10 +148,15 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
 
         if (fireNow)
         {
+            long start = tracing() ? System.nanoTime() : 0;
             for (RiakFutureListener<T,S> listener : listeners)
             {
                 listener.handle(this);
             }
+            if (start != 0)
+            {
+                trace(TraceStage.LISTENERS, start, System.nanoTime());
+            }
         }
 
     }
@@ -141,6 +168,70 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
         this.remainingTries = numTries;
     }
 
+    /**
+     * Sets the tracer this operation reports its stages to.
+     * @param tracer the tracer.
+     * @param commandStart when the command that created this operation 
+     * started, or 0 if unknown.
+     */
+    final void setTracer(OperationTracer tracer, long commandStart)
+    {
+        this.tracer = tracer;
+        if (tracer != OperationTracer.NOOP)
+        {
+            traceWriteListener = new ChannelFutureListener()
+            {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception
+                {
+                    if (future.isSuccess())
+                    {
+                        writeCompleted();
+                    }
+                }
+            };
+            
+            if (commandStart != 0)
+            {
+                trace(TraceStage.COMMAND, commandStart, System.nanoTime());
+            }
+        }
+    }
+    
+    /**
+     * Returns a listener that traces the write of this operation to its
+     * connection.
+     * @return the listener, or null if this operation isn't being traced.
+     */
+    final ChannelFutureListener getTraceWriteListener()
+    {
+        return traceWriteListener;
+    }
+    
+    private boolean tracing()
+    {
+        return tracer != OperationTracer.NOOP;
+    }
+    
+    private void trace(TraceStage stage, long start, long end)
+    {
+        try
+        {
+            tracer.span(this, stage, start, end, lastNode, attempt);
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn("OperationTracer threw an exception", e);
+        }
+    }
+    
+    private void writeCompleted()
+    {
+        long now = System.nanoTime();
+        trace(TraceStage.WRITE, traceMark, now);
+        traceMark = now;
+    }
+    
     final RiakNode getLastNode()
     {
         return lastNode;
@@ -151,15 +242,148 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
         this.lastNode = node;
     }
 
+    /**
+     * Returns the client-side timeout for each attempt of this operation.
+     * @return the timeout in nanoseconds, or 0 if there is none.
+     */
+    final long getTimeoutInNanos()
+    {
+        return timeoutInNanos;
+    }
+
+    final void setTimeoutInNanos(long timeoutInNanos)
+    {
+        this.timeoutInNanos = timeoutInNanos;
+    }
+
+    final void setDeadline(Timeout deadline)
+    {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the pending deadline for the current attempt, if any.
+     */
+    final void cancelDeadline()
+    {
+        Timeout t = deadline;
+        if (t != null)
+        {
+            deadline = null;
+            t.cancel();
+        }
+    }
+
+    /**
+     * Records the connection this operation has exclusive use of.
+     */
+    final void setChannel(Channel channel)
+    {
+        this.channel = channel;
+    }
+
+    /**
+     * Pauses or resumes reading responses from the connection.
+     * <p>
+     * Used by streaming operations to apply backpressure when the consumer 
+     * of the results falls behind. Reading is always resumed when the 
+     * attempt finishes so the connection can go back to the pool.
+     * </p>
+     * @param autoRead false to stop reading, true to resume.
+     */
+    final void setAutoRead(boolean autoRead)
+    {
+        Channel c = channel;
+        if (c != null)
+        {
+            readPaused = !autoRead;
+            c.config().setAutoRead(autoRead);
+        }
+    }
+
+    /**
+     * Resumes reading from the connection if it was paused and forgets the
+     * connection, which is about to go back to the pool.
+     * <p>
+     * Called when an attempt finishes, holding this object's lock.
+     * </p>
+     */
+    void releaseChannel()
+    {
+        if (readPaused)
+        {
+            setAutoRead(true);
+        }
+        channel = null;
+    }
+
+    /**
+     * Records that a node has accepted this operation. 
+     * @param node the node executing this attempt.
+     */
+    synchronized final void attemptStarted(RiakNode node)
+    {
+        attemptNode = node;
+        attemptStart = System.nanoTime();
+        attempt++;
+        traceMark = attemptStart;
+    }
+
+    synchronized final void attemptRejected()
+    {
+        attemptNode = null;
+        attempt--;
+    }
+
+    /**
+     * Tells the node executing the current attempt that it has finished, and
+     * resumes reading from the connection if a streaming consumer paused it.
+     * Must be called holding this object's lock so it happens once per attempt.
+     * @param recordLatency whether the node should count this attempt's latency.
+     */
+    private void attemptFinished(boolean recordLatency)
+    {
+        releaseChannel();
+
+        RiakNode node = attemptNode;
+        if (node != null)
+        {
+            attemptNode = null;
+            node.attemptFinished(this, System.nanoTime() - attemptStart, 
+                                 exception == null, recordLatency);
+        }
+    }
+
     // Exposed for testing.
     public synchronized final void setResponse(RiakMessage rawResponse)
     {
+        if (state == State.CANCELLED)
+        {
+            // Cancelled while the response was in flight.
+            return;
+        }
         stateCheck(State.CREATED, State.WRITTEN, State.RETRY);
+        long start = 0;
+        if (tracing())
+        {
+            start = System.nanoTime();
+            trace(TraceStage.RESPONSE, traceMark, start);
+        }
         U decodedMessage = decode(rawResponse);
-        this.rawResponse.add(decodedMessage);
+        if (start != 0)
+        {
+            traceMark = System.nanoTime();
+            trace(TraceStage.DECODE, start, traceMark);
+        }
+        processMessage(decodedMessage);
         exception = null;
-        if (done(decodedMessage))
+        if (!done(decodedMessage))
         {
+            partialResponse = true;
+        }
+        else
+        {
+            attemptFinished(true);
             remainingTries--;
             if (retrier != null)
             {
@@ -171,6 +395,19 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
         }
     }
 
+    /**
+     * Handles a decoded response message.
+     * <p>
+     * By default the message is kept and later passed to {@link #convert(java.util.List)}.
+     * Streaming operations may override this to hand the message on instead.
+     * </p>
+     * @param decodedMessage the decoded message.
+     */
+    protected void processMessage(U decodedMessage)
+    {
+        this.rawResponse.add(decodedMessage);
+    }
+
     /**
      * Detect when the streaming operation is finished
      *
@@ -182,11 +419,46 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
         return true;
     }
 
+    /**
+     * Whether this operation receives a stream of responses.
+     * <p>
+     * Streaming operations are never pipelined; they have exclusive use of
+     * their connection until complete.
+     * </p>
+     * @return true if Riak may send more than one message in reply.
+     */
+    protected boolean isStreaming()
+    {
+        return false;
+    }
+
     synchronized final void setException(Throwable t)
     {
+        setException(t, true);
+    }
+
+    /**
+     * Fails the current attempt of this operation.
+     * @param t the cause
+     * @param retry if false the operation is failed outright even if it has
+     * attempts remaining.
+     */
+    synchronized final void setException(Throwable t, boolean retry)
+    {
+        if (state == State.CANCELLED)
+        {
+            return;
+        }
         stateCheck(State.CREATED, State.WRITTEN, State.RETRY);
         this.exception = t;
+        attemptFinished(true);
 
+        // Retrying after part of a stream has been received would 
+        // deliver those results twice.
+        if (!retry || partialResponse)
+        {
+            remainingTries = 1;
+        }
         remainingTries--;
         if (remainingTries == 0)
         {
@@ -206,17 +478,101 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
 
     }
 
+    /**
+     * Fails the current attempt unless the operation has already completed.
+     * <p>
+     * Used when a node aborts an attempt, since a timeout can race the 
+     * response that completes the operation.
+     * </p>
+     * @param t the cause
+     * @param retry if false the operation is failed outright even if it has
+     * attempts remaining.
+     * @return false if the operation had already completed.
+     */
+    synchronized final boolean failAttempt(Throwable t, boolean retry)
+    {
+        if (state == State.COMPLETE)
+        {
+            return false;
+        }
+        setException(t, retry);
+        return true;
+    }
+
+    /**
+     * Fails an operation that was waiting to be retried.
+     * <p>
+     * Used when the retrier decides not to retry after all, e.g. because 
+     * the error isn't retryable or the retry budget is spent. The last 
+     * exception is the cause.
+     * </p>
+     */
+    synchronized final void abandonRetry()
+    {
+        if (state == State.RETRY)
+        {
+            remainingTries = 0;
+            state = State.COMPLETE;
+            latch.countDown();
+            fireListeners();
+        }
+    }
+
     public synchronized final Object channelMessage()
     {
+        if (tracing())
+        {
+            long now = System.nanoTime();
+            trace(TraceStage.CONNECTION_WAIT, traceMark, now);
+            traceMark = now;
+        }
         Object message = createChannelMessage();
         state = State.WRITTEN;
         return message;
     }
 
+    /**
+     * Cancels this operation.
+     * <p>
+     * Riak has no way to abort a request, so if the operation is in progress
+     * the connection it is using is closed and returned to the pool. This is
+     * most useful for streaming operations that would otherwise hold their 
+     * connection until the stream ends. The operation will not be retried, 
+     * and listeners are notified with a {@link CancellationException} as the
+     * cause.
+     * </p>
+     * @param mayInterruptIfRunning ignored; the connection is always closed.
+     * @return false if the operation had already completed or been cancelled.
+     */
     @Override
     public final boolean cancel(boolean mayInterruptIfRunning)
     {
-        return false;
+        synchronized (this)
+        {
+            if (state == State.COMPLETE || state == State.CANCELLED)
+            {
+                return false;
+            }
+            exception = new CancellationException("Operation cancelled");
+            state = State.CANCELLED;
+            attemptFinished(false);
+        }
+
+        RiakNode node = lastNode;
+        if (node != null)
+        {
+            node.cancelOperation(this);
+        }
+
+        if (retrier != null)
+        {
+            // No retries.
+            retrier.operationFailed(this, 0);
+        }
+
+        latch.countDown();
+        fireListeners();
+        return true;
     }
 
     @Override
@@ -228,7 +584,7 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
     @Override
     public final boolean isDone()
     {
-        return state == State.COMPLETE;
+        return state == State.COMPLETE || state == State.CANCELLED;
     }
 
     @Override
@@ -255,17 +611,16 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
     {
         latch.await();
 
-        if (exception != null)
+        if (isCancelled())
         {
-            throw new ExecutionException(exception);
+            throw (CancellationException) exception;
         }
-        else if(null == converted)
+        else if (exception != null)
         {
-            converted = convert(rawResponse);
-            
+            throw new ExecutionException(exception);
         }
 
-        return converted;
+        return getConverted();
     }
 
     @Override
@@ -277,29 +632,24 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
         {
             throw new TimeoutException();
         }
-        else if (exception != null)
+        else if (isCancelled())
         {
-            throw new ExecutionException(exception);
+            throw (CancellationException) exception;
         }
-        else if (null == converted)
+        else if (exception != null)
         {
-            converted = convert(rawResponse);
+            throw new ExecutionException(exception);
         }
         
-        return converted;
+        return getConverted();
     }
 
     @Override
     public final T getNow()
     {
-        if (latch.getCount() < 1)
+        if (latch.getCount() < 1 && !isCancelled())
         {
-            if (null == converted)
-            {
-                converted = convert(rawResponse);
-            }
-            
-            return converted;
+            return getConverted();
         }
         else
         {
@@ -320,6 +670,50 @@ public abstract class FutureOperation<T, U, S> implements RiakFuture<T,S>
     }
     
     
+    private T getConverted()
+    {
+        T result = converted;
+        if (result == null)
+        {
+            synchronized (convertLock)
+            {
+                if (conversionException != null)
+                {
+                    throw conversionException;
+                }
+                result = converted;
+                if (result == null)
+                {
+                    try
+                    {
+                        result = convertResponse();
+                    }
+                    catch (RuntimeException e)
+                    {
+                        // Conversion may have consumed the response; don't
+                        // try again with what's left.
+                        conversionException = e;
+                        throw e;
+                    }
+                    converted = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    private T convertResponse()
+    {
+        if (tracing())
+        {
+            long start = System.nanoTime();
+            T result = convert(rawResponse);
+            trace(TraceStage.CONVERT, start, System.nanoTime());
+            return result;
+        }
+        return convert(rawResponse);
+    }
+    
     private void stateCheck(State... allowedStates)
     {
         if (Arrays.binarySearch(allowedStates, state) < 0)
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import com.basho.riak.client.core.RiakNode.State;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link NodeManager} that routes operations away from slow or busy nodes.
+ * <p>
+ * Each {@link RiakNode} keeps an exponentially weighted moving average of
+ * how long its operations take and a count of operations in flight. For
+ * each operation this NodeManager picks two healthy nodes at random and
+ * sends the operation to the one with the lower cost,
+ * {@code (averageLatency + 1) * (inFlight + 1)} ("power of two choices").
+ * Sampling two nodes rather than always taking the best one avoids every
+ * client piling onto the same node at once.
+ * </p>
+ * <p>
+ * Failed attempts aren't part of a node's average latency, so a node that
+ * hasn't completed an operation yet is costed at the mean latency of the
+ * other healthy nodes, and the cost of a node doubles with each attempt
+ * that has failed on it since its last success. Otherwise a node that fails
+ * fast would look like the fastest node in the cluster.
+ * </p>
+ * <p>
+ * If the chosen node cannot accept the operation the other is tried, then
+ * the rest of the healthy nodes. If no node is able to accept the operation
+ * its setException() method is called with a {@link NoNodesAvailableException}.
+ * As with the {@link DefaultNodeManager}, nodes that are health checking
+ * are not used until they are running again.
+ * </p>
+ *
+ * @since 2.0.2
+ */
+public class LatencyAwareNodeManager implements NodeManager, NodeStateListener
+{
+    // The failure penalty stops growing after this many consecutive failures.
+    private static final int MAX_PENALIZED_FAILURES = 10;
+    
+    private final Logger logger = LoggerFactory.getLogger(LatencyAwareNodeManager.class);
+    private final Random random = new Random();
+    // Copy-on-write; only replaced while holding this object's lock.
+    private volatile RiakNode[] healthy = DefaultNodeManager.NO_NODES;
+    private volatile RiakNode[] unhealthy = DefaultNodeManager.NO_NODES;
+
+    @Override
+    public synchronized void init(List<RiakNode> nodes)
+    {
+        RiakNode[] updated = healthy;
+        for (RiakNode node : nodes)
+        {
+            updated = DefaultNodeManager.with(updated, node);
+        }
+        healthy = updated;
+    }
+
+    @Override
+    public void executeOnNode(FutureOperation operation, RiakNode previousNode)
+    {
+        RiakNode[] nodes = healthy;
+        boolean executed = false;
+
+        if (nodes.length > 1)
+        {
+            int first = random.nextInt(nodes.length);
+            int second = random.nextInt(nodes.length - 1);
+            if (second >= first)
+            {
+                second++;
+            }
+
+            // Prefer not to retry on the node that just failed.
+            double meanLatency = meanLatency(nodes);
+            if (nodes[first] == previousNode ||
+                (nodes[second] != previousNode && 
+                    cost(nodes[second], meanLatency) < cost(nodes[first], meanLatency)))
+            {
+                int tmp = first;
+                first = second;
+                second = tmp;
+            }
+
+            executed = nodes[first].execute(operation) || nodes[second].execute(operation);
+
+            for (int i = 0; !executed && i < nodes.length; i++)
+            {
+                if (i != first && i != second)
+                {
+                    executed = nodes[i].execute(operation);
+                }
+            }
+        }
+        else if (nodes.length == 1)
+        {
+            executed = nodes[0].execute(operation);
+        }
+
+        if (!executed)
+        {
+            operation.setException(new NoNodesAvailableException());
+        }
+    }
+
+    private static double cost(RiakNode node, double meanLatency)
+    {
+        double latency = node.getAverageLatency(TimeUnit.MICROSECONDS);
+        if (latency == 0)
+        {
+            // Nothing has succeeded on this node yet.
+            latency = meanLatency;
+        }
+        int failures = Math.min(node.getConsecutiveFailures(), MAX_PENALIZED_FAILURES);
+        return (latency + 1) * (node.getInFlightCount() + 1) * (1 << failures);
+    }
+
+    private static double meanLatency(RiakNode[] nodes)
+    {
+        double total = 0;
+        int sampled = 0;
+        for (RiakNode node : nodes)
+        {
+            double latency = node.getAverageLatency(TimeUnit.MICROSECONDS);
+            if (latency != 0)
+            {
+                total += latency;
+                sampled++;
+            }
+        }
+        return sampled == 0 ? 0 : total / sampled;
+    }
+
+    @Override
+    public synchronized void nodeStateChanged(RiakNode node, State state)
+    {
+        RiakNode[] updated;
+        switch (state)
+        {
+            case RUNNING:
+                updated = DefaultNodeManager.without(unhealthy, node);
+                if (updated != unhealthy)
+                {
+                    unhealthy = updated;
+                    healthy = DefaultNodeManager.with(healthy, node);
+                    logger.info("NodeManager moved node to healthy list; {}:{}",
+                                node.getRemoteAddress(), node.getPort());
+                }
+                break;
+            case HEALTH_CHECKING:
+                updated = DefaultNodeManager.without(healthy, node);
+                if (updated != healthy)
+                {
+                    healthy = updated;
+                    unhealthy = DefaultNodeManager.with(unhealthy, node);
+                    logger.info("NodeManager moved node to unhealthy list; {}:{}",
+                                node.getRemoteAddress(), node.getPort());
+                }
+                break;
+            case SHUTTING_DOWN:
+            case SHUTDOWN:
+                updated = DefaultNodeManager.without(healthy, node);
+                if (updated != healthy)
+                {
+                    healthy = updated;
+                    logger.info("NodeManager removed node due to it shutting down; {}:{}",
+                                node.getRemoteAddress(), node.getPort());
+                }
+                else
+                {
+                    unhealthy = DefaultNodeManager.without(unhealthy, node);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public synchronized void addNode(RiakNode newNode)
+    {
+        healthy = DefaultNodeManager.with(healthy, newNode);
+    }
+
+    @Override
+    public boolean removeNode(RiakNode node)
+    {
+        boolean removed = false;
+        synchronized (this)
+        {
+            RiakNode[] updated = DefaultNodeManager.without(healthy, node);
+            if (updated != healthy)
+            {
+                healthy = updated;
+                removed = true;
+            }
+            else
+            {
+                updated = DefaultNodeManager.without(unhealthy, node);
+                removed = updated != unhealthy;
+                unhealthy = updated;
+            }
+        }
+
+        if (removed)
+        {
+            node.removeStateListener(this);
+            node.shutdown();
+            logger.info("NodeManager removed and shutdown node; {}:{}",
+                        node.getRemoteAddress(), node.getPort());
+        }
+        return removed;
+    }
+}
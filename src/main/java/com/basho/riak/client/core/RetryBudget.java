@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a proportion of recent requests.
+ * <p>
+ * When a node or the whole cluster is struggling, retrying every failed 
+ * operation multiplies the load at the worst possible time. A RetryBudget 
+ * is a token bucket: every request adds {@code retryRatio} of a token and 
+ * every retry takes a whole one. With a ratio of 0.1, retries make up at 
+ * most about 10% of the traffic. Once the budget is spent failed operations
+ * fail straight away instead of being retried.
+ * </p>
+ * <p>
+ * The bucket starts with {@code minRetries} tokens so a lightly loaded client
+ * can still retry, and never holds more than {@code minRetries} plus the 
+ * tokens from the last {@value #RECENT_REQUESTS} requests, so a long quiet 
+ * spell doesn't bank an unlimited number of retries.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public class RetryBudget
+{
+    public static final int RECENT_REQUESTS = 1000;
+    
+    // Tokens are stored in thousandths so the ratio can be fractional.
+    private static final long TOKEN = 1000;
+    
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    
+    /**
+     * Constructs a RetryBudget.
+     * @param retryRatio retries allowed per request, e.g. 0.1 for 10%.
+     * @param minRetries retries allowed regardless of the number of requests.
+     */
+    public RetryBudget(double retryRatio, int minRetries)
+    {
+        if (retryRatio < 0 || minRetries < 0)
+        {
+            throw new IllegalArgumentException("Retry ratio and minimum retries must not be negative");
+        }
+        this.deposit = (long) (retryRatio * TOKEN);
+        this.maxBalance = minRetries * TOKEN + deposit * RECENT_REQUESTS;
+        this.balance = new AtomicLong(minRetries * TOKEN);
+    }
+    
+    /**
+     * Records a request, adding to the budget.
+     */
+    public void requestStarted()
+    {
+        long current;
+        do
+        {
+            current = balance.get();
+            if (current >= maxBalance)
+            {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + deposit)));
+    }
+    
+    /**
+     * Takes a retry from the budget if there is one.
+     * @return true if the retry may go ahead, false if the budget is spent.
+     */
+    public boolean tryRetry()
+    {
+        long current;
+        do
+        {
+            current = balance.get();
+            if (current < TOKEN)
+            {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+    
+    /**
+     * Returns the number of retries currently available.
+     * @return the whole number of tokens in the bucket.
+     */
+    public long getAvailableRetries()
+    {
+        return balance.get() / TOKEN;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether and when a failed operation is retried.
+ * <p>
+ * The delay before retry {@code n} (starting at 1) is 
+ * {@code min(maxBackoff, initialBackoff * multiplier^(n-1))}, reduced by a 
+ * random amount of up to {@code jitter} times itself. Jitter spreads retries
+ * out so clients that failed together don't all retry together; with the 
+ * default of 1.0 ("full jitter") the delay is anywhere between zero and the 
+ * backoff.
+ * </p>
+ * <p>
+ * A {@link RiakCluster} has a default policy, {@link #IMMEDIATE} unless 
+ * set with {@link RiakCluster.Builder#withRetryPolicy(RetryPolicy)}, and
+ * may have a policy for each error code Riak returns, see 
+ * {@link RiakCluster.Builder#withRetryPolicy(int, RetryPolicy)}.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public class RetryPolicy
+{
+    /**
+     * A policy that never retries.
+     */
+    public static final RetryPolicy NO_RETRY = new Builder().build(false);
+    /**
+     * A policy that retries straight away, with no backoff.
+     */
+    public static final RetryPolicy IMMEDIATE = 
+        new Builder().withInitialBackoff(0, TimeUnit.MILLISECONDS).build();
+    
+    private final boolean retry;
+    private final long initialBackoffInNanos;
+    private final long maxBackoffInNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final Random random = new Random();
+    
+    private RetryPolicy(Builder builder, boolean retry)
+    {
+        this.retry = retry;
+        this.initialBackoffInNanos = builder.initialBackoffInNanos;
+        this.maxBackoffInNanos = builder.maxBackoffInNanos;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+    }
+    
+    /**
+     * Returns whether operations failing under this policy are retried.
+     * @return false if this policy never retries.
+     */
+    public boolean isRetryable()
+    {
+        return retry;
+    }
+    
+    /**
+     * Returns the delay before a retry, including jitter.
+     * @param retryNumber 1 for the first retry, 2 for the second and so on.
+     * @param unit the unit to return the delay in.
+     * @return the delay.
+     */
+    public long getBackoff(int retryNumber, TimeUnit unit)
+    {
+        double backoff = initialBackoffInNanos;
+        for (int i = 1; i < retryNumber && backoff < maxBackoffInNanos; i++)
+        {
+            backoff *= multiplier;
+        }
+        backoff = Math.min(backoff, maxBackoffInNanos);
+        backoff -= backoff * jitter * random.nextDouble();
+        return unit.convert((long) backoff, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Builder used to create {@link RetryPolicy} instances.
+     */
+    public static class Builder
+    {
+        public static final int DEFAULT_INITIAL_BACKOFF = 10;
+        public static final int DEFAULT_MAX_BACKOFF = 1000;
+        public static final double DEFAULT_MULTIPLIER = 2.0;
+        public static final double DEFAULT_JITTER = 1.0;
+        
+        private long initialBackoffInNanos = 
+            TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_BACKOFF);
+        private long maxBackoffInNanos = 
+            TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_BACKOFF);
+        private double multiplier = DEFAULT_MULTIPLIER;
+        private double jitter = DEFAULT_JITTER;
+        
+        /**
+         * Sets the backoff before the first retry.
+         * <p>
+         * The default is {@value #DEFAULT_INITIAL_BACKOFF} milliseconds. 
+         * </p>
+         * @param backoff the backoff, 0 to retry immediately.
+         * @param unit the unit of {@code backoff}.
+         * @return this
+         */
+        public Builder withInitialBackoff(long backoff, TimeUnit unit)
+        {
+            if (backoff < 0)
+            {
+                throw new IllegalArgumentException("Backoff must not be negative");
+            }
+            this.initialBackoffInNanos = unit.toNanos(backoff);
+            return this;
+        }
+        
+        /**
+         * Sets the largest backoff between retries.
+         * <p>
+         * The default is {@value #DEFAULT_MAX_BACKOFF} milliseconds. 
+         * </p>
+         * @param backoff the maximum backoff.
+         * @param unit the unit of {@code backoff}.
+         * @return this
+         */
+        public Builder withMaxBackoff(long backoff, TimeUnit unit)
+        {
+            if (backoff < 0)
+            {
+                throw new IllegalArgumentException("Backoff must not be negative");
+            }
+            this.maxBackoffInNanos = unit.toNanos(backoff);
+            return this;
+        }
+        
+        /**
+         * Sets the factor the backoff grows by after each retry.
+         * <p>
+         * The default is {@value #DEFAULT_MULTIPLIER}.
+         * </p>
+         * @param multiplier the multiplier, at least 1.
+         * @return this
+         */
+        public Builder withMultiplier(double multiplier)
+        {
+            if (multiplier < 1)
+            {
+                throw new IllegalArgumentException("Multiplier must be at least 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+        
+        /**
+         * Sets the proportion of the backoff that is random.
+         * <p>
+         * 0 disables jitter, 0.5 gives a delay between half the backoff 
+         * and the backoff, 1.0 a delay between zero and the backoff. The 
+         * default is {@value #DEFAULT_JITTER}.
+         * </p>
+         * @param jitter the jitter, from 0 to 1.
+         * @return this
+         */
+        public Builder withJitter(double jitter)
+        {
+            if (jitter < 0 || jitter > 1)
+            {
+                throw new IllegalArgumentException("Jitter must be between 0 and 1");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+        
+        /**
+         * Instantiates the {@link RetryPolicy}.
+         * @return a new RetryPolicy
+         */
+        public RetryPolicy build()
+        {
+            return build(true);
+        }
+        
+        private RetryPolicy build(boolean retry)
+        {
+            return new RetryPolicy(this, retry);
+        }
+    }
+}
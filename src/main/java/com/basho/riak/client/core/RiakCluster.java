@@ -16,9 +16,18 @@
 package com.basho.riak.client.core;
 
 
+import com.basho.riak.client.core.metrics.MetricsListener;
+import com.basho.riak.client.core.metrics.OperationType;
+import com.basho.riak.client.core.netty.RiakResponseException;
+import com.basho.riak.client.core.tracing.OperationTracer;
 import io.netty.bootstrap.Bootstrap;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,8 +35,10 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -52,16 +63,34 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
     private final AtomicInteger inFlightCount = new AtomicInteger();
     private final ScheduledExecutorService executor;
     private final Bootstrap bootstrap;
+    private final boolean ownsEventLoopGroup;
     private final List<RiakNode> nodeList;
     private final ReentrantReadWriteLock nodeListLock = new ReentrantReadWriteLock();
-    private final LinkedBlockingQueue<FutureOperation> retryQueue =
-        new LinkedBlockingQueue<FutureOperation>();
     private final List<NodeStateListener> stateListeners =
         Collections.synchronizedList(new LinkedList<NodeStateListener>());
+    // Used for both operation deadlines and retry backoff. Created when 
+    // first needed, as many clusters use neither.
+    private final Object timerLock = new Object();
+    private volatile HashedWheelTimer timer;
+    private final long operationTimeoutInNanos;
+    private final boolean retryOnTimeout;
+    private final RetryPolicy retryPolicy;
+    private final Map<Integer, RetryPolicy> retryPolicies;
+    private final RetryBudget retryBudget;
+    private final MetricsListener metricsListener;
+    private final OperationTracer tracer;
+    private final ThreadLocal<long[]> commandStart = 
+        new ThreadLocal<long[]>()
+        {
+            @Override
+            protected long[] initialValue()
+            {
+                return new long[1];
+            }
+        };
     
     
     private volatile ScheduledFuture<?> shutdownFuture;
-    private volatile ScheduledFuture<?> retrierFuture;
     
     private volatile State state;
     private final CountDownLatch shutdownLatch = new CountDownLatch(1);
@@ -69,6 +98,14 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
     private RiakCluster(Builder builder) throws UnknownHostException
     {
         this.executionAttempts = builder.executionAttempts;
+        this.operationTimeoutInNanos = 
+            TimeUnit.NANOSECONDS.convert(builder.operationTimeout, TimeUnit.MILLISECONDS);
+        this.retryOnTimeout = builder.retryOnTimeout;
+        this.retryPolicy = builder.retryPolicy;
+        this.retryPolicies = new HashMap<Integer, RetryPolicy>(builder.retryPolicies);
+        this.retryBudget = builder.retryBudget;
+        this.metricsListener = builder.metricsListener;
+        this.tracer = builder.tracer;
         
         if (null == builder.nodeManager)
         {
@@ -82,12 +119,48 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
         if (builder.bootstrap != null)
         {
             this.bootstrap = builder.bootstrap.clone();
+            this.ownsEventLoopGroup = true;
         }
         else
         {
+            // build() has checked that a supplied group is one we recognise
+            // or comes with its transport.
+            Transport transport = builder.transport;
+            EventLoopGroup group = builder.eventLoopGroup;
+            if (transport == null)
+            {
+                transport = group != null ? Transport.of(group) : Transport.NIO;
+            }
+            this.ownsEventLoopGroup = group == null;
+            if (group == null)
+            {
+                group = transport.newEventLoopGroup(builder.eventLoopThreads);
+            }
             this.bootstrap = new Bootstrap()
-                .group(new NioEventLoopGroup())
-                .channel(NioSocketChannel.class);
+                .group(group)
+                .channel(transport.getChannelClass());
+            
+            if (builder.tcpNoDelay != null)
+            {
+                bootstrap.option(ChannelOption.TCP_NODELAY, builder.tcpNoDelay);
+            }
+            if (builder.keepAlive != null)
+            {
+                bootstrap.option(ChannelOption.SO_KEEPALIVE, builder.keepAlive);
+            }
+            if (builder.sendBufferSize > 0)
+            {
+                bootstrap.option(ChannelOption.SO_SNDBUF, builder.sendBufferSize);
+            }
+            if (builder.receiveBufferSize > 0)
+            {
+                bootstrap.option(ChannelOption.SO_RCVBUF, builder.receiveBufferSize);
+            }
+            if (builder.pooledAllocator)
+            {
+                bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+            }
+            logger.debug("RiakCluster using {} transport", transport);
         }
         
         if (builder.executor != null)
@@ -105,8 +178,13 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
         {
             node.setExecutor(executor);
             node.setBootstrap(bootstrap);
+            node.setMetricsListener(metricsListener);
             node.addStateListener(nodeManager);
             nodeList.add(node);
+            if (metricsListener != null)
+            {
+                metricsListener.nodeAdded(node);
+            }
         }
         
         // Pass a *copy* of the list to the NodeManager
@@ -138,7 +216,6 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
             node.start();
         }
         
-        retrierFuture = executor.schedule(new RetryTask(), 0, TimeUnit.SECONDS);
         logger.info("RiakCluster is starting.");
         state = State.RUNNING;
     }
@@ -188,16 +265,83 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
     }
     
     public <V,S> RiakFuture<V,S> execute(FutureOperation<V, ?, S> operation)
+    {
+        return execute(operation, operationTimeoutInNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Execute an operation with a client-side timeout.
+     * <p>
+     * If an attempt to execute the operation has not completed within 
+     * {@code timeout} it is failed with a {@link TimeoutException}. The 
+     * connection it was using is closed, since Riak can't abandon a request.
+     * Whether the operation is then retried is set by 
+     * {@link Builder#withRetryOnTimeout(boolean)}.
+     * </p>
+     * @param operation the operation to execute.
+     * @param timeout the timeout for each attempt, 0 for none.
+     * @param unit the unit of {@code timeout}.
+     * @return the operation.
+     */
+    public <V,S> RiakFuture<V,S> execute(FutureOperation<V, ?, S> operation, long timeout, TimeUnit unit)
     {
         stateCheck(State.RUNNING);
         operation.setRetrier(this, executionAttempts); 
+        operation.setTimeoutInNanos(unit.toNanos(timeout));
+        if (tracer != OperationTracer.NOOP)
+        {
+            long[] start = commandStart.get();
+            operation.setTracer(tracer, start[0]);
+            // Only the command's first operation traces it; any later ones
+            // (the store after an update's fetch, say) start after that.
+            start[0] = 0;
+        }
+        if (retryBudget != null)
+        {
+            retryBudget.requestStarted();
+        }
         inFlightCount.incrementAndGet();
         this.execute(operation, null);
         return operation;
     }
     
+    /**
+     * Marks the start of a command on the calling thread.
+     * <p>
+     * Used by the RiakClient so that the first operation the command 
+     * executes can trace the time spent building it. Does nothing unless 
+     * there's an {@link OperationTracer}.
+     * </p>
+     * @see #commandSubmitted() 
+     */
+    public void commandStarted()
+    {
+        if (tracer != OperationTracer.NOOP)
+        {
+            commandStart.get()[0] = System.nanoTime();
+        }
+    }
+    
+    /**
+     * Marks the end of a command's synchronous part on the calling thread.
+     * @see #commandStarted() 
+     */
+    public void commandSubmitted()
+    {
+        if (tracer != OperationTracer.NOOP)
+        {
+            commandStart.get()[0] = 0;
+        }
+    }
+    
     private void execute(FutureOperation operation, RiakNode previousNode) 
     {
+        long timeout = operation.getTimeoutInNanos();
+        if (timeout > 0)
+        {
+            operation.setDeadline(timer().newTimeout(new DeadlineTask(operation), 
+                                                    timeout, TimeUnit.NANOSECONDS));
+        }
         nodeManager.executeOnNode(operation, previousNode);
     }
     
@@ -214,6 +358,7 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
         stateCheck(State.CREATED, State.RUNNING);
         node.setExecutor(executor);
         node.setBootstrap(bootstrap);
+        node.setMetricsListener(metricsListener);
         
         try
         {
@@ -230,6 +375,10 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
         }
         
         nodeManager.addNode(node);
+        if (metricsListener != null)
+        {
+            metricsListener.nodeAdded(node);
+        }
     }
     
     /**
@@ -255,6 +404,10 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
             nodeListLock.writeLock().unlock();
         }
         nodeManager.removeNode(node);
+        if (removed && metricsListener != null)
+        {
+            metricsListener.nodeRemoved(node);
+        }
         return removed;
     }
     
@@ -300,8 +453,12 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
                 {
                     this.state = State.SHUTDOWN;
                     executor.shutdown();
-                    bootstrap.group().shutdownGracefully();
-                    logger.debug("RiakCluster shut down bootstrap");
+                    stopTimer();
+                    if (ownsEventLoopGroup)
+                    {
+                        bootstrap.group().shutdownGracefully();
+                        logger.debug("RiakCluster shut down bootstrap");
+                    }
                     logger.info("RiakCluster has shut down");
                     shutdownLatch.countDown();
                 }
@@ -316,30 +473,78 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
     @Override
     public void operationFailed(FutureOperation operation, int remainingRetries)
     {
+        operation.cancelDeadline();
         logger.debug("operation failed; remaining retries: {}", remainingRetries);
         if (remainingRetries > 0)
         {
-            retryQueue.add(operation);
+            RetryPolicy policy = getRetryPolicy(operation.cause());
+            if (!policy.isRetryable())
+            {
+                logger.debug("operation failed with a non-retryable error");
+                operation.abandonRetry();
+                inFlightCount.decrementAndGet();
+            }
+            else if (retryBudget != null && !retryBudget.tryRetry())
+            {
+                logger.debug("retry budget exhausted; not retrying operation");
+                operation.abandonRetry();
+                inFlightCount.decrementAndGet();
+            }
+            else
+            {
+                int retryNumber = executionAttempts - remainingRetries;
+                if (metricsListener != null)
+                {
+                    metricsListener.operationRetried(operation.getLastNode(), 
+                                                     OperationType.of(operation), 
+                                                     retryNumber);
+                }
+                long backoff = policy.getBackoff(retryNumber, TimeUnit.NANOSECONDS);
+                RetryTask task = new RetryTask(operation);
+                if (backoff > 0)
+                {
+                    timer().newTimeout(task, backoff, TimeUnit.NANOSECONDS);
+                }
+                else
+                {
+                    executor.execute(task);
+                }
+            }
         }
         else
         {
             inFlightCount.decrementAndGet();
         }
     }
+    
+    private RetryPolicy getRetryPolicy(Throwable cause)
+    {
+        if (cause instanceof RiakResponseException)
+        {
+            // Retrying can't change the outcome, and callers such as 
+            // UpdateValue need to see these straight away.
+            if (((RiakResponseException) cause).isPreconditionFailure())
+            {
+                return RetryPolicy.NO_RETRY;
+            }
+            RetryPolicy policy = 
+                retryPolicies.get(((RiakResponseException) cause).getCode());
+            if (policy != null)
+            {
+                return policy;
+            }
+        }
+        return retryPolicy;
+    }
 
     @Override
     public void operationComplete(FutureOperation operation, int remainingRetries)
     {
+        operation.cancelDeadline();
         inFlightCount.decrementAndGet();
         logger.debug("operation complete; remaining retries: {}", remainingRetries);
     }
 
-    private void retryOperation() throws InterruptedException
-    {
-        FutureOperation operation = retryQueue.take();
-        execute(operation, operation.getLastNode());
-    }
-    
     /**
      * Register a NodeStateListener.
      * <p>
@@ -396,26 +601,115 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
         }
     }
     
-    private class RetryTask implements Runnable
+    private HashedWheelTimer timer()
     {
-        @Override
-        public void run()
+        HashedWheelTimer t = timer;
+        if (t == null)
         {
-            while (!Thread.interrupted())
+            synchronized (timerLock)
             {
-                try
+                t = timer;
+                if (t == null)
                 {
-                    retryOperation();
-                }
-                catch (InterruptedException ex)
-                {
-                    break;
+                    t = new HashedWheelTimer(new DefaultThreadFactory("riak-timer", true), 
+                                             10, TimeUnit.MILLISECONDS);
+                    timer = t;
                 }
             }
-            
-            logger.info("Retrier shutting down.");
+        }
+        return t;
+    }
+    
+    private void stopTimer()
+    {
+        synchronized (timerLock)
+        {
+            if (timer != null)
+            {
+                timer.stop();
+            }
+        }
+    }
+    
+    /**
+     * Runs a task on this cluster's executor once a delay has elapsed.
+     * <p>
+     * This lets commands that back off between attempts, such as 
+     * {@code UpdateValue} retrying after a conflicting write, share the 
+     * cluster's timer and threads rather than creating their own.
+     * </p>
+     * @param task the task to run.
+     * @param delay how long to wait before running it.
+     * @param unit the unit of {@code delay}.
+     */
+    public void schedule(final Runnable task, long delay, TimeUnit unit)
+    {
+        timer().newTimeout(new TimerTask()
+        {
+            @Override
+            public void run(Timeout timeout)
+            {
+                executor.execute(task);
+            }
+        }, delay, unit);
+    }
+    
+    /**
+     * Retries an operation once its backoff has elapsed. The timer thread
+     * only hands the retry to the executor so a node that blocks waiting 
+     * for a connection doesn't hold up other timeouts and retries.
+     */
+    private class RetryTask implements TimerTask, Runnable
+    {
+        private final FutureOperation operation;
+        
+        RetryTask(FutureOperation operation)
+        {
+            this.operation = operation;
+        }
+        
+        @Override
+        public void run(Timeout timeout)
+        {
+            executor.execute(this);
         }
         
+        @Override
+        public void run()
+        {
+            if (!operation.isCancelled())
+            {
+                execute(operation, operation.getLastNode());
+            }
+        }
+    }
+    
+    private class DeadlineTask implements TimerTask
+    {
+        private final FutureOperation operation;
+        
+        DeadlineTask(FutureOperation operation)
+        {
+            this.operation = operation;
+        }
+        
+        @Override
+        public void run(Timeout timeout)
+        {
+            RiakNode node = operation.getLastNode();
+            if (timeout.isCancelled() || operation.isDone() || node == null)
+            {
+                return;
+            }
+            
+            // If the node no longer has the operation it has just completed. 
+            TimeoutException ex = new TimeoutException("Operation timed out on " 
+                + node.getRemoteAddress() + ":" + node.getPort());
+            if (node.timeoutOperation(operation, ex, retryOnTimeout))
+            {
+                logger.debug("Operation timed out; {}:{}", node.getRemoteAddress(), node.getPort());
+            }
+        }
     }
     
     private class ShutdownTask implements Runnable
@@ -427,8 +721,6 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
             {
                 logger.info("All operations have completed");
 
-                retrierFuture.cancel(true);
-                
                 // Copying the list avoids any potential deadlocks on the callbacks.
                 for (RiakNode node : getNodes())
                 {
@@ -467,6 +759,22 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
         private NodeManager nodeManager;
         private ScheduledExecutorService executor;
         private Bootstrap bootstrap;
+        private Transport transport;
+        private EventLoopGroup eventLoopGroup;
+        private int eventLoopThreads;
+        private Boolean tcpNoDelay;
+        private Boolean keepAlive;
+        private int sendBufferSize;
+        private int receiveBufferSize;
+        private boolean pooledAllocator;
+        private int operationTimeout;
+        private boolean retryOnTimeout;
+        private RetryPolicy retryPolicy = RetryPolicy.IMMEDIATE;
+        private final Map<Integer, RetryPolicy> retryPolicies = 
+            new HashMap<Integer, RetryPolicy>();
+        private RetryBudget retryBudget;
+        private MetricsListener metricsListener;
+        private OperationTracer tracer = OperationTracer.NOOP;
         
         /**
          * Instantiate a Builder containing the supplied {@link RiakNode}s
@@ -499,6 +807,149 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
             return this;
         }
         
+        /**
+         * Sets a client-side timeout for each attempt of an operation.
+         * <p>
+         * An attempt that hasn't completed within this time is failed with a 
+         * {@link TimeoutException} and its connection closed. Unlike the 
+         * server-side timeouts on individual commands this covers the whole
+         * round trip, including a hung connection. Timeouts are tracked with 
+         * a single hashed wheel timer shared by all operations.
+         * </p>
+         * <p>
+         * The default is no timeout. 
+         * </p>
+         * @param timeoutInMillis the timeout in milliseconds, 0 for none.
+         * @return this
+         * @see RiakCluster#execute(FutureOperation, long, TimeUnit) 
+         */
+        public Builder withOperationTimeout(int timeoutInMillis)
+        {
+            if (timeoutInMillis < 0)
+            {
+                throw new IllegalArgumentException("Timeout must not be negative");
+            }
+            this.operationTimeout = timeoutInMillis;
+            return this;
+        }
+        
+        /**
+         * Sets whether an operation that times out is retried.
+         * <p>
+         * By default an operation that times out fails immediately. Set this 
+         * to true to retry it (if it has attempts remaining, see 
+         * {@link #withExecutionAttempts(int)}). Note the original request 
+         * may still have been carried out by Riak.
+         * </p>
+         * @param retry whether to retry operations that time out.
+         * @return this
+         */
+        public Builder withRetryOnTimeout(boolean retry)
+        {
+            this.retryOnTimeout = retry;
+            return this;
+        }
+        
+        /**
+         * Sets the default {@link RetryPolicy}.
+         * <p>
+         * Failed operations that have attempts remaining are retried on 
+         * another node after the backoff the policy gives. The default is
+         * {@link RetryPolicy#IMMEDIATE}, which retries without delay. Use a
+         * policy from {@link RetryPolicy.Builder} for exponential backoff 
+         * with jitter.
+         * </p>
+         * @param policy the policy for errors without a policy of their own.
+         * @return this
+         * @see #withRetryPolicy(int, RetryPolicy)
+         */
+        public Builder withRetryPolicy(RetryPolicy policy)
+        {
+            if (null == policy)
+            {
+                throw new IllegalArgumentException("Retry policy can not be null");
+            }
+            this.retryPolicy = policy;
+            return this;
+        }
+        
+        /**
+         * Sets the {@link RetryPolicy} for an error code returned by Riak.
+         * <p>
+         * Operations failed with a {@link RiakResponseException} having this 
+         * code use the supplied policy instead of the default. For example 
+         * {@link RetryPolicy#NO_RETRY} for errors that will fail the same 
+         * way on every node. Conditional stores that fail because the object
+         * was modified, already exists or wasn't found are never retried.
+         * </p>
+         * @param errorCode the error code from Riak.
+         * @param policy the policy for that error.
+         * @return this
+         */
+        public Builder withRetryPolicy(int errorCode, RetryPolicy policy)
+        {
+            if (null == policy)
+            {
+                throw new IllegalArgumentException("Retry policy can not be null");
+            }
+            this.retryPolicies.put(errorCode, policy);
+            return this;
+        }
+        
+        /**
+         * Sets a cluster-wide {@link RetryBudget}.
+         * <p>
+         * Once the budget is spent failed operations are not retried, 
+         * which prevents a flapping node turning into a retry storm. By 
+         * default there is no budget.
+         * </p>
+         * @param budget the retry budget.
+         * @return this
+         */
+        public Builder withRetryBudget(RetryBudget budget)
+        {
+            this.retryBudget = budget;
+            return this;
+        }
+        
+        /**
+         * Sets the {@link MetricsListener} for the cluster and its nodes.
+         * <p>
+         * It's told of operation latencies, retries, connection permit waits
+         * and new connections. By default there is none. 
+         * {@link com.basho.riak.client.core.metrics.RiakMetrics} records them 
+         * in histograms and can expose them through JMX.
+         * </p>
+         * @param listener the metrics listener.
+         * @return this
+         */
+        public Builder withMetricsListener(MetricsListener listener)
+        {
+            this.metricsListener = listener;
+            return this;
+        }
+        
+        /**
+         * Sets the {@link OperationTracer} for the cluster.
+         * <p>
+         * It's given timed spans for each stage of every operation; 
+         * building the request, waiting for a connection, writing, waiting
+         * for and decoding the response, converting it, and notifying 
+         * listeners. By default there is none, and tracing costs nothing.
+         * </p>
+         * @param tracer the tracer.
+         * @return this
+         */
+        public Builder withOperationTracer(OperationTracer tracer)
+        {
+            if (null == tracer)
+            {
+                throw new IllegalArgumentException("OperationTracer can not be null");
+            }
+            this.tracer = tracer;
+            return this;
+        }
+        
         /**
          * Sets the {@link NodeManager} for this {@link RiakCluster}
          * 
@@ -545,13 +996,154 @@ public class  RiakCluster implements OperationRetrier, NodeStateListener
             return this;
         }
         
+        /**
+         * Sets the Netty transport this cluster will use.
+         * <p>
+         * By default the transport of the group set with 
+         * {@link #withEventLoopGroup(EventLoopGroup)} is used, or if there 
+         * isn't one {@link Transport#NIO}. Native epoll is only used if 
+         * {@link Transport#EPOLL} is set here. Ignored if a Bootstrap is 
+         * supplied via {@link #withBootstrap(io.netty.bootstrap.Bootstrap)}.
+         * </p>
+         * @param transport the transport to use.
+         * @return this
+         * @throws IllegalStateException if the transport is not available.
+         */
+        public Builder withTransport(Transport transport)
+        {
+            if (transport != null)
+            {
+                transport.checkAvailable();
+            }
+            this.transport = transport;
+            return this;
+        }
+        
+        /**
+         * Sets an existing event loop group for this cluster to use.
+         * <p>
+         * Sharing one group between several clusters keeps the number of
+         * selector threads down. The transport is taken from the group's 
+         * type (an {@code NioEventLoopGroup} or {@code EpollEventLoopGroup});
+         * other groups need their transport set by 
+         * {@link #withTransport(Transport)}. The group is not shut down along
+         * with the cluster.
+         * </p>
+         * @param group the event loop group to use.
+         * @return this
+         * @see Transport#newEventLoopGroup(int) 
+         */
+        public Builder withEventLoopGroup(EventLoopGroup group)
+        {
+            this.eventLoopGroup = group;
+            return this;
+        }
+        
+        /**
+         * Sets the number of event loop threads for this cluster.
+         * <p>
+         * Connections to all the cluster's nodes share these threads. By
+         * default Netty uses twice the number of cores. Ignored if an event 
+         * loop group or Bootstrap is supplied.
+         * </p>
+         * @param threads the number of threads, or 0 for the default.
+         * @return this
+         */
+        public Builder withEventLoopThreads(int threads)
+        {
+            if (threads < 0)
+            {
+                throw new IllegalArgumentException("threads can not be negative");
+            }
+            this.eventLoopThreads = threads;
+            return this;
+        }
+        
+        /**
+         * Sets TCP_NODELAY on connections to Riak.
+         * <p>
+         * If not set the operating system default (Nagle enabled) is used.
+         * </p>
+         * @param tcpNoDelay true to disable Nagle's algorithm.
+         * @return this
+         */
+        public Builder withTcpNoDelay(boolean tcpNoDelay)
+        {
+            this.tcpNoDelay = tcpNoDelay;
+            return this;
+        }
+        
+        /**
+         * Sets SO_KEEPALIVE on connections to Riak.
+         * @param keepAlive true to enable TCP keepalive.
+         * @return this
+         */
+        public Builder withKeepAlive(boolean keepAlive)
+        {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+        
+        /**
+         * Sets the socket send buffer size (SO_SNDBUF).
+         * @param bytes the buffer size, or 0 for the operating system default.
+         * @return this
+         */
+        public Builder withSendBufferSize(int bytes)
+        {
+            this.sendBufferSize = bytes;
+            return this;
+        }
+        
+        /**
+         * Sets the socket receive buffer size (SO_RCVBUF).
+         * @param bytes the buffer size, or 0 for the operating system default.
+         * @return this
+         */
+        public Builder withReceiveBufferSize(int bytes)
+        {
+            this.receiveBufferSize = bytes;
+            return this;
+        }
+        
+        /**
+         * Use Netty's pooled ByteBuf allocator for connections to Riak.
+         * <p>
+         * Read and write buffers are then recycled rather than allocated
+         * for every message.
+         * </p>
+         * @param pooled true to use the pooled allocator.
+         * @return this
+         */
+        public Builder withPooledAllocator(boolean pooled)
+        {
+            this.pooledAllocator = pooled;
+            return this;
+        }
+        
         /**
          * Instantiates the {@link RiakCluster}
          * @return a new RiakCluster
          * @throws UnknownHostException if a node fails to start due to a DNS lookup
+         * @throws IllegalStateException if the event loop group doesn't match 
+         * the transport, or its transport can't be determined.
          */
         public RiakCluster build() throws UnknownHostException
         {
+            if (eventLoopGroup != null && bootstrap == null)
+            {
+                Transport groupTransport = Transport.of(eventLoopGroup);
+                if (groupTransport == null && transport == null)
+                {
+                    throw new IllegalStateException("Can't tell the transport of " 
+                        + eventLoopGroup.getClass().getName() + "; set it with withTransport()");
+                }
+                else if (groupTransport != null && transport != null && groupTransport != transport)
+                {
+                    throw new IllegalStateException("Event loop group is for the " 
+                        + groupTransport + " transport, not " + transport);
+                }
+            }
             return new RiakCluster(this);
         }
         
@@ -67,13 +67,14 @@ import java.util.concurrent.TimeoutException;
 public interface RiakFuture<V, T> extends Future<V>
 {
     /**
-     * Not supported due to limitations of the Riak API.
+     * Cancels the operation.
      * <p>
-     * At present time there is no way to cancel an operation sent to Riak.
-     * This method will never succeed and always return false. 
+     * At present time there is no way to cancel an operation sent to Riak. 
+     * If the operation is in progress the connection it is using is closed 
+     * so Riak stops sending to it, and the operation is not retried. 
      * </p>
-     * @param mayInterruptIfRunning
-     * @return always false.
+     * @param mayInterruptIfRunning ignored.
+     * @return false if the operation had already completed.
      */
     @Override
     boolean cancel(boolean mayInterruptIfRunning);
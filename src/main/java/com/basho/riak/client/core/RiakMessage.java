@@ -15,29 +15,163 @@
  */
 package com.basho.riak.client.core;
 
+import com.google.protobuf.CodedInputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.ReferenceCounted;
+
 /**
  * Encapsulates the raw bytes sent to or received from Riak.
+ * <p>
+ * A message is either backed by a {@code byte[]} (outbound requests, tests)
+ * or by a retained slice of the Netty {@code ByteBuf} the frame was read into.
+ * Inbound messages produced by {@link com.basho.riak.client.core.netty.RiakMessageCodec}
+ * are the latter; they are decoded directly off the buffer and released
+ * once the owning operation has decoded them.
+ * </p>
  * @author Brian Roach <roach at basho dot com>
  * @since 2.0
  */
-public final class RiakMessage
+public final class RiakMessage implements ReferenceCounted
 {
     private final byte code;
     private final byte[] data;
-    
+    private final ByteBuf dataBuffer;
+
     public RiakMessage(byte code, byte[] data)
     {
         this.code = code;
         this.data = data;
+        this.dataBuffer = null;
+    }
+
+    /**
+     * Create a RiakMessage backed by a Netty ByteBuf.
+     * <p>
+     * Ownership of the buffer is transferred to this message; it is released
+     * when {@link #release()} is called.
+     * </p>
+     * @param code the protocol buffers message code.
+     * @param dataBuffer the (retained) buffer containing the message body.
+     */
+    public RiakMessage(byte code, ByteBuf dataBuffer)
+    {
+        this.code = code;
+        this.data = null;
+        this.dataBuffer = dataBuffer;
     }
-    
+
     public byte getCode()
     {
         return code;
     }
-    
+
+    /**
+     * Returns the message body as a byte array.
+     * <p>
+     * If this message is backed by a ByteBuf, this copies the contents. Prefer
+     * {@link #getCodedInputStream()} to parse the message.
+     * </p>
+     * @return the message body.
+     */
     public byte[] getData()
     {
-        return data;
+        if (dataBuffer == null)
+        {
+            return data;
+        }
+        else
+        {
+            byte[] copy = new byte[dataBuffer.readableBytes()];
+            dataBuffer.getBytes(dataBuffer.readerIndex(), copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Returns the length of the message body in bytes.
+     * @return the number of bytes in the message body.
+     */
+    public int getDataLength()
+    {
+        return dataBuffer == null ? data.length : dataBuffer.readableBytes();
+    }
+
+    /**
+     * Returns the backing ByteBuf if there is one.
+     * @return the ByteBuf containing the message body, or null if this message is backed by a byte array.
+     */
+    public ByteBuf getDataBuffer()
+    {
+        return dataBuffer;
+    }
+
+    /**
+     * Returns a protocol buffers CodedInputStream over the message body.
+     * <p>
+     * No copy of the body is made; heap buffers are read in place and direct
+     * buffers are read through a stream view of the underlying memory.
+     * </p>
+     * @return a new CodedInputStream positioned at the start of the message body.
+     */
+    public CodedInputStream getCodedInputStream()
+    {
+        if (dataBuffer == null)
+        {
+            return CodedInputStream.newInstance(data);
+        }
+        else if (dataBuffer.hasArray())
+        {
+            return CodedInputStream.newInstance(dataBuffer.array(),
+                                                dataBuffer.arrayOffset() + dataBuffer.readerIndex(),
+                                                dataBuffer.readableBytes());
+        }
+        else
+        {
+            CodedInputStream cis =
+                CodedInputStream.newInstance(new ByteBufInputStream(dataBuffer.duplicate()));
+            // The frame has already been fully read from the socket; the
+            // default 64MB limit only makes sense for unbounded streams.
+            cis.setSizeLimit(Integer.MAX_VALUE);
+            return cis;
+        }
+    }
+
+    @Override
+    public int refCnt()
+    {
+        return dataBuffer == null ? 1 : dataBuffer.refCnt();
+    }
+
+    @Override
+    public RiakMessage retain()
+    {
+        if (dataBuffer != null)
+        {
+            dataBuffer.retain();
+        }
+        return this;
+    }
+
+    @Override
+    public RiakMessage retain(int increment)
+    {
+        if (dataBuffer != null)
+        {
+            dataBuffer.retain(increment);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean release()
+    {
+        return dataBuffer != null && dataBuffer.release();
+    }
+
+    @Override
+    public boolean release(int decrement)
+    {
+        return dataBuffer != null && dataBuffer.release(decrement);
     }
 }
@@ -17,18 +17,21 @@ package com.basho.riak.client.core;
 
 import com.basho.riak.client.core.netty.HealthCheckDecoder;
 import com.basho.riak.client.core.netty.PingHealthCheck;
+import com.basho.riak.client.core.metrics.MetricsListener;
+import com.basho.riak.client.core.metrics.OperationType;
 import com.basho.riak.client.core.netty.RiakChannelInitializer;
 import com.basho.riak.client.core.netty.RiakResponseException;
 import com.basho.riak.client.core.netty.RiakSecurityDecoder;
+import com.basho.riak.client.core.netty.RiakWriteCoalescer;
 import com.basho.riak.client.core.util.Constants;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.ChannelPromise;
 import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.Promise;
 import java.io.IOException;
 import org.slf4j.Logger;
@@ -39,6 +42,7 @@ import java.net.UnknownHostException;
 import java.security.KeyStore;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -55,6 +59,9 @@ public class RiakNode implements RiakResponseListener
         CREATED, RUNNING, HEALTH_CHECKING, SHUTTING_DOWN, SHUTDOWN;
     }
 
+    // Weight given to each new sample in the latency EWMA
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+    
     private final Logger logger = LoggerFactory.getLogger(RiakNode.class);
 
     private final LinkedBlockingDeque<ChannelWithIdleTime> available =
@@ -63,8 +70,10 @@ public class RiakNode implements RiakResponseListener
         new ConcurrentLinkedQueue<ChannelWithIdleTime>();
     private final List<NodeStateListener> stateListeners =
         Collections.synchronizedList(new LinkedList<NodeStateListener>());
-    private final Map<Channel, FutureOperation> inProgressMap =
+    private final ConcurrentMap<Channel, FutureOperation> inProgressMap =
         new ConcurrentHashMap<Channel, FutureOperation>();
+    private final Map<Channel, PipelinedChannel> pipelineMap =
+        new ConcurrentHashMap<Channel, PipelinedChannel>();
 
     private final Sync permits;
     private final String remoteAddress;
@@ -74,6 +83,16 @@ public class RiakNode implements RiakResponseListener
     private final KeyStore trustStore;
     private final AtomicLong consecutiveFailedOperations = new AtomicLong(0);
     private final AtomicLong consecutiveFailedConnectionAttempts = new AtomicLong(0);
+    private final RiakWriteCoalescer.Counters flushCounters = new RiakWriteCoalescer.Counters();
+    private final int coalesceMaxMessages;
+    private final int coalesceMaxBytes;
+    private final boolean nonBlocking;
+    private final LinkedBlockingQueue<PendingOperation> pending;
+    private final AtomicInteger connectsInProgress = new AtomicInteger(0);
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    // Double.doubleToLongBits() of the latency EWMA in nanos
+    private final AtomicLong latencyEwma = new AtomicLong(0);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
     
     private volatile Bootstrap bootstrap;
     private volatile boolean ownsBootstrap;
@@ -86,6 +105,10 @@ public class RiakNode implements RiakResponseListener
     private volatile long idleTimeoutInNanos;
     private volatile int connectionTimeout;
     private volatile boolean blockOnMaxConnections;
+    private volatile int pipelineDepth;
+    private volatile long pendingTimeoutInNanos;
+    private volatile ScheduledFuture<?> pendingReaperFuture;
+    private volatile MetricsListener metricsListener;
 
     private HealthCheckFactory healthCheckFactory;
     
@@ -123,6 +146,43 @@ public class RiakNode implements RiakResponseListener
 
         };
 
+    private final ChannelFutureListener pipelineWriteListener =
+        new ChannelFutureListener()
+        {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception
+            {
+                // A failed write leaves the pipeline in an unknown state so
+                // every operation queued on the channel is failed.
+                if (!future.isSuccess())
+                {
+                    logger.error("Pipelined write failed on RiakNode {}:{} id: {}; cause: {}",
+                                remoteAddress, port, future.channel().hashCode(),
+                                future.cause());
+                    failPipeline(future.channel(), future.cause());
+                }
+            }
+        };
+
+    private final ChannelFutureListener pipelineCloseListener =
+        new ChannelFutureListener()
+        {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception
+            {
+                logger.error("Channel closed while pipelined operations in progress; id:{} {}:{}",
+                             future.channel().hashCode(), remoteAddress, port);
+                if (future.cause() != null)
+                {
+                    failPipeline(future.channel(), future.cause());
+                }
+                else
+                {
+                    failPipeline(future.channel(), new Exception("Connection closed unexpectantly"));
+                }
+            }
+        };
+
     private final ChannelFutureListener inAvailableCloseListener =
         new ChannelFutureListener()
         {
@@ -184,7 +244,14 @@ public class RiakNode implements RiakResponseListener
         this.password = builder.password;
         this.trustStore = builder.trustStore;
         this.healthCheckFactory = builder.healthCheckFactory;
-        
+        this.pipelineDepth = builder.pipelineDepth;
+        this.coalesceMaxMessages = builder.coalesceMaxMessages;
+        this.coalesceMaxBytes = builder.coalesceMaxBytes;
+        this.nonBlocking = builder.maxPendingOperations > 0;
+        this.pending = new LinkedBlockingQueue<PendingOperation>(Math.max(1, builder.maxPendingOperations));
+        this.pendingTimeoutInNanos = 
+            TimeUnit.NANOSECONDS.convert(builder.pendingTimeout, TimeUnit.MILLISECONDS);
+
         if (builder.bootstrap != null)
         {
             this.bootstrap = builder.bootstrap.clone();
@@ -215,6 +282,16 @@ public class RiakNode implements RiakResponseListener
         }
     }
 
+    /**
+     * exposed for testing only
+     *
+     * @return number of operations waiting for a connection
+     */
+    int getNumPending()
+    {
+        return pending.size();
+    }
+
     /**
      * exposed for testing only
      *
@@ -222,7 +299,12 @@ public class RiakNode implements RiakResponseListener
      */
     int getNumInProgress()
     {
-        return inProgressMap.size();
+        int pipelined = 0;
+        for (PipelinedChannel pipeline : pipelineMap.values())
+        {
+            pipelined += pipeline.size();
+        }
+        return inProgressMap.size() + pipelined;
     }
 
     public synchronized RiakNode start()
@@ -237,14 +319,23 @@ public class RiakNode implements RiakResponseListener
 
         if (bootstrap == null)
         {
+            Transport transport = Transport.NIO;
             bootstrap = new Bootstrap()
-                .group(new NioEventLoopGroup())
-                .channel(NioSocketChannel.class);
+                .group(transport.newEventLoopGroup(1))
+                .channel(transport.getChannelClass());
             ownsBootstrap = true;
         }
 
-        bootstrap.handler(new RiakChannelInitializer(this))
-            .remoteAddress(new InetSocketAddress(remoteAddress, port));
+        if (coalesceMaxMessages > 0)
+        {
+            bootstrap.handler(new RiakChannelInitializer(this, coalesceMaxMessages, 
+                                                         coalesceMaxBytes, flushCounters));
+        }
+        else
+        {
+            bootstrap.handler(new RiakChannelInitializer(this));
+        }
+        bootstrap.remoteAddress(new InetSocketAddress(remoteAddress, port));
 
         if (connectionTimeout > 0)
         {
@@ -277,6 +368,13 @@ public class RiakNode implements RiakResponseListener
 
         idleReaperFuture = executor.scheduleWithFixedDelay(new IdleReaper(), 1, 5, TimeUnit.SECONDS);
         healthMonitorFuture = executor.scheduleWithFixedDelay(new HealthMonitorTask(), 1000, 1000, TimeUnit.MILLISECONDS);
+        
+        if (nonBlocking && pendingTimeoutInNanos > 0)
+        {
+            // Check often enough that an operation never waits much past its timeout.
+            long period = Math.max(TimeUnit.MILLISECONDS.toNanos(1), pendingTimeoutInNanos / 4);
+            pendingReaperFuture = executor.scheduleWithFixedDelay(new PendingReaper(), period, period, TimeUnit.NANOSECONDS);
+        }
 
         state = State.RUNNING;
         logger.info("RiakNode started; {}:{}", remoteAddress, port);
@@ -292,6 +390,17 @@ public class RiakNode implements RiakResponseListener
         notifyStateListeners();
         idleReaperFuture.cancel(true);
         healthMonitorFuture.cancel(true);
+        if (pendingReaperFuture != null)
+        {
+            pendingReaperFuture.cancel(true);
+        }
+        
+        PendingOperation p;
+        while ((p = pending.poll()) != null)
+        {
+            p.operation.setException(new IllegalStateException("RiakNode shutting down"));
+        }
+        
         ChannelWithIdleTime cwi = available.poll();
         while (cwi != null)
         {
@@ -376,6 +485,21 @@ public class RiakNode implements RiakResponseListener
         return this;
     }
 
+    /**
+     * Sets the {@link MetricsListener} that receives this node's measurements.
+     * <p>
+     * A {@link RiakCluster} sets its own listener on its nodes.
+     * </p>
+     * @param listener the listener, or null for none.
+     * @return a reference to this RiakNode
+     * @see RiakCluster.Builder#withMetricsListener(MetricsListener)
+     */
+    public RiakNode setMetricsListener(MetricsListener listener)
+    {
+        this.metricsListener = listener;
+        return this;
+    }
+
     /**
      * Sets the maximum number of connections allowed.
      *
@@ -464,6 +588,16 @@ public class RiakNode implements RiakResponseListener
         return blockOnMaxConnections;
     }
     
+    /**
+     * Returns the maximum number of operations in flight on a single connection.
+     * @return the pipeline depth. A value of 1 means pipelining is disabled.
+     * @see Builder#withPipelineDepth(int)
+     */
+    public int getPipelineDepth()
+    {
+        return pipelineDepth;
+    }
+
     /**
      * Sets the connection idle timeout for connections.
      *
@@ -531,6 +665,53 @@ public class RiakNode implements RiakResponseListener
         return permits.availablePermits();
     }
 
+    /**
+     * Returns the number of idle connections in the pool.
+     * @return the number of idle connections.
+     */
+    public int getAvailableConnectionCount()
+    {
+        return available.size();
+    }
+
+    /**
+     * Returns the number of operations that have been written to a connection
+     * and are awaiting a response.
+     * @return the number of operations in progress.
+     */
+    public int getInProgressCount()
+    {
+        return getNumInProgress();
+    }
+
+    /**
+     * Returns the number of socket flushes made by this node.
+     * <p>
+     * Only counted when write coalescing is enabled. Together with 
+     * {@link #getFlushedMessageCount()} this gives the number of messages
+     * sent per flush.
+     * </p>
+     * @return the number of flushes.
+     * @see Builder#withWriteCoalescing(int, int)
+     */
+    public long getFlushCount()
+    {
+        return flushCounters.getFlushCount();
+    }
+
+    /**
+     * Returns the number of messages sent by this node's flushes.
+     * <p>
+     * Only counted when write coalescing is enabled.
+     * </p>
+     * @return the number of messages flushed.
+     * @see Builder#withWriteCoalescing(int, int)
+     */
+    public long getFlushedMessageCount()
+    {
+        return flushCounters.getMessageCount();
+    }
+
     public void addStateListener(NodeStateListener listener)
     {
         stateListeners.add(listener);
@@ -538,50 +719,566 @@ public class RiakNode implements RiakResponseListener
 
     public boolean removeStateListener(NodeStateListener listener)
     {
-        return stateListeners.remove(listener);
+        return stateListeners.remove(listener);
+    }
+
+    private void notifyStateListeners()
+    {
+        synchronized (stateListeners)
+        {
+            for (Iterator<NodeStateListener> it = stateListeners.iterator(); it.hasNext(); )
+            {
+                NodeStateListener listener = it.next();
+                listener.nodeStateChanged(this, state);
+            }
+        }
+    }
+
+    /**
+     * Submits the operation to be executed on this node.
+     *
+     * @param operation The operation to perform
+     * @return {@code true} if this operation was accepted, {@code false} if there
+     *         were no available connections.
+     * @throws IllegalStateException    if this node is not in the {@code RUNNING} or {@code HEALTH_CHECKING} state
+     * @throws IllegalArgumentException if the protocol required for the operation is not supported by this node
+     */
+    public boolean execute(FutureOperation operation)
+    {
+        stateCheck(State.RUNNING, State.HEALTH_CHECKING);
+
+        operation.setLastNode(this);
+        
+        inFlight.incrementAndGet();
+        operation.attemptStarted(this);
+        if (doExecute(operation))
+        {
+            return true;
+        }
+        else
+        {
+            operation.attemptRejected();
+            inFlight.decrementAndGet();
+            return false;
+        }
+    }
+    
+    private boolean doExecute(FutureOperation operation)
+    {
+        if (nonBlocking)
+        {
+            return executeNonBlocking(operation);
+        }
+        
+        if (pipelineDepth > 1 && !operation.isStreaming())
+        {
+            return executePipelined(operation);
+        }
+
+        Channel channel = getConnection();
+        if (channel != null)
+        {
+            inProgressMap.put(channel, operation);
+            operation.setChannel(channel);
+            write(channel, operation, writeListener);
+            logger.debug("Operation being executed on RiakNode {}:{}", remoteAddress, port);
+            return true;
+        }
+        else
+        {
+            logger.debug("Operation not being executed Riaknode {}:{}; no connections available",
+                            remoteAddress, port);
+            return false;
+        }
+    }
+
+    /**
+     * Submits the operation to a pipelined connection.
+     * <p>
+     * An idle or new connection is always preferred. Only once all permits
+     * are in use is the operation queued behind others on the least loaded
+     * pipelined connection that has room. Riak replies in order on a
+     * connection, so responses are matched to the head of that queue.
+     * </p>
+     * @param operation The operation to perform
+     * @return {@code true} if this operation was accepted, {@code false} if
+     * there were no available connections or pipeline slots.
+     */
+    private boolean executePipelined(FutureOperation operation)
+    {
+        Channel channel = getConnection(false);
+        if (channel != null && startPipeline(channel).offer(operation))
+        {
+            logger.debug("Operation being executed on new pipeline RiakNode {}:{}", remoteAddress, port);
+            return true;
+        }
+
+        if (offerToPipeline(operation))
+        {
+            return true;
+        }
+
+        if (blockOnMaxConnections)
+        {
+            channel = getConnection(true);
+            if (channel != null && startPipeline(channel).offer(operation))
+            {
+                logger.debug("Operation being executed on new pipeline RiakNode {}:{}", remoteAddress, port);
+                return true;
+            }
+        }
+
+        logger.debug("Operation not being executed Riaknode {}:{}; no connections or pipeline slots available",
+                        remoteAddress, port);
+        return false;
+    }
+
+    /**
+     * Queues the operation on the least loaded pipelined connection with room.
+     * @param operation The operation to perform
+     * @return {@code true} if the operation was written to a pipeline.
+     */
+    private boolean offerToPipeline(FutureOperation operation)
+    {
+        PipelinedChannel leastLoaded = null;
+        int leastSize = pipelineDepth;
+        for (PipelinedChannel pipeline : pipelineMap.values())
+        {
+            int size = pipeline.size();
+            if (size < leastSize)
+            {
+                leastLoaded = pipeline;
+                leastSize = size;
+            }
+        }
+
+        if (leastLoaded != null && leastLoaded.offer(operation))
+        {
+            logger.debug("Operation being pipelined on RiakNode {}:{}", remoteAddress, port);
+            return true;
+        }
+
+        // Lost a race for the least loaded; take any slot we can find.
+        for (PipelinedChannel pipeline : pipelineMap.values())
+        {
+            if (pipeline.offer(operation))
+            {
+                logger.debug("Operation being pipelined on RiakNode {}:{}", remoteAddress, port);
+                return true;
+            }
+        }
+        
+        return false;
+    }
+
+    /**
+     * Submits the operation without ever blocking the caller.
+     * <p>
+     * The operation is placed on this node's pending queue and dispatched
+     * as soon as a connection is available; either one from the pool, one
+     * returned by a completed operation, or a newly made connection. New 
+     * connections (including TLS and auth) are made asynchronously, and 
+     * the operation is handed the connection from Netty's connect callback.
+     * </p>
+     * <p>
+     * If an operation waits in the queue longer than the configured timeout 
+     * it is failed with a {@link TimeoutException}.
+     * </p>
+     * @param operation The operation to perform
+     * @return {@code true} if the operation was accepted, {@code false} if
+     * the pending queue is full.
+     * @see Builder#withNonBlockingConnections(int, int) 
+     */
+    private boolean executeNonBlocking(FutureOperation operation)
+    {
+        // Only join a pipeline if there's no way to get a connection to ourselves.
+        if (pipelineDepth > 1 && !operation.isStreaming() && 
+            permits.availablePermits() == 0 && offerToPipeline(operation))
+        {
+            return true;
+        }
+        
+        if (!pending.offer(new PendingOperation(operation)))
+        {
+            logger.debug("Operation not being executed Riaknode {}:{}; pending queue full",
+                            remoteAddress, port);
+            return false;
+        }
+        
+        logger.debug("Operation queued on RiakNode {}:{}", remoteAddress, port);
+        drainPending();
+        return true;
+    }
+    
+    /**
+     * Dispatches queued operations for as long as there are permits.
+     * <p>
+     * Each permit acquired is used either for a pooled connection or to 
+     * start a new connection. Operations already covered by a connection 
+     * attempt in progress don't start another one.
+     * </p>
+     */
+    private void drainPending()
+    {
+        while (pending.size() > connectsInProgress.get() && permits.tryAcquire())
+        {
+            Channel channel = pollAvailable();
+            if (channel == null)
+            {
+                connectAsync();
+                continue;
+            }
+            
+            FutureOperation next = pollPending();
+            if (next != null)
+            {
+                dispatch(channel, next);
+            }
+            else
+            {
+                // Lost a race with a returned connection or the reaper.
+                channel.closeFuture().addListener(inAvailableCloseListener);
+                available.offerFirst(new ChannelWithIdleTime(channel));
+                permits.release();
+            }
+        }
+    }
+    
+    private Channel pollAvailable()
+    {
+        ChannelWithIdleTime cwi;
+        while ((cwi = available.poll()) != null)
+        {
+            Channel channel = cwi.getChannel();
+            channel.closeFuture().removeListener(inAvailableCloseListener);
+            if (channel.isOpen())
+            {
+                return channel;
+            }
+        }
+        return null;
+    }
+    
+    private FutureOperation pollPending()
+    {
+        PendingOperation p = pending.poll();
+        if (p == null)
+        {
+            return null;
+        }
+        MetricsListener metrics = metricsListener;
+        if (metrics != null)
+        {
+            metrics.permitAcquired(this, System.nanoTime() - p.enqueuedAt);
+        }
+        return p.operation;
+    }
+    
+    /**
+     * Writes an operation to a channel it now has exclusive use of.
+     * @param channel a connected channel with a permit held for it.
+     * @param operation the operation to write.
+     */
+    private void dispatch(Channel channel, FutureOperation operation)
+    {
+        if (pipelineDepth > 1 && !operation.isStreaming())
+        {
+            startPipeline(channel).offer(operation);
+        }
+        else
+        {
+            inProgressMap.put(channel, operation);
+            operation.setChannel(channel);
+            write(channel, operation, writeListener);
+        }
+        logger.debug("Operation being executed on RiakNode {}:{}", remoteAddress, port);
+    }
+    
+    /**
+     * Writes an operation to a channel. If the operation is being traced 
+     * its write listener is added after ours, before writing, so it's 
+     * notified as the write completes rather than after the response.
+     */
+    private void write(Channel channel, FutureOperation operation, ChannelFutureListener listener)
+    {
+        ChannelFutureListener traceListener = operation.getTraceWriteListener();
+        if (traceListener == null)
+        {
+            channel.writeAndFlush(operation).addListener(listener);
+        }
+        else
+        {
+            ChannelPromise promise = channel.newPromise();
+            promise.addListener(listener);
+            promise.addListener(traceListener);
+            channel.writeAndFlush(operation, promise);
+        }
+    }
+    
+    /**
+     * Starts a new connection without waiting for it.
+     * <p>
+     * The caller must hold a permit for the connection. Once connected (and
+     * authenticated, if security is enabled) the channel goes to the head of
+     * the pending queue via {@link #returnConnection(io.netty.channel.Channel)}.
+     * </p>
+     */
+    private void connectAsync()
+    {
+        connectsInProgress.incrementAndGet();
+        final long connectStart = System.nanoTime();
+        bootstrap.connect().addListener(new ChannelFutureListener()
+        {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception
+            {
+                if (!future.isSuccess())
+                {
+                    logger.error("Connection attempt failed: {}:{}; {}",
+                        remoteAddress, port, future.cause());
+                    consecutiveFailedConnectionAttempts.incrementAndGet();
+                    connectFailed(future.cause());
+                    return;
+                }
+                
+                consecutiveFailedConnectionAttempts.set(0);
+                connectionOpened(connectStart);
+                final Channel c = future.channel();
+                if (trustStore == null)
+                {
+                    connected(c);
+                    return;
+                }
+                
+                RiakSecurityDecoder decoder;
+                final long handshakeStart = System.nanoTime();
+                try
+                {
+                    decoder = addSecurityDecoder(c);
+                }
+                catch (ConnectionFailedException ex)
+                {
+                    connectFailed(ex.getCause());
+                    return;
+                }
+                
+                decoder.getPromise().addListener(new GenericFutureListener<io.netty.util.concurrent.Future<Void>>()
+                {
+                    @Override
+                    public void operationComplete(io.netty.util.concurrent.Future<Void> promise) throws Exception
+                    {
+                        if (promise.isSuccess())
+                        {
+                            logger.debug("Auth succeeded; {}:{}", remoteAddress, port);
+                            handshakeCompleted(handshakeStart);
+                            connected(c);
+                        }
+                        else
+                        {
+                            c.close();
+                            logger.error("Failure during Auth; {}:{} {}",remoteAddress, port, promise.cause());
+                            connectFailed(promise.cause());
+                        }
+                    }
+                });
+            }
+        });
+    }
+    
+    private void connectionOpened(long connectStart)
+    {
+        MetricsListener metrics = metricsListener;
+        if (metrics != null)
+        {
+            metrics.connectionOpened(this, System.nanoTime() - connectStart);
+        }
+    }
+    
+    private void handshakeCompleted(long handshakeStart)
+    {
+        MetricsListener metrics = metricsListener;
+        if (metrics != null)
+        {
+            metrics.securityHandshakeCompleted(this, System.nanoTime() - handshakeStart);
+        }
+    }
+    
+    private void connected(Channel c)
+    {
+        connectsInProgress.decrementAndGet();
+        returnConnection(c);
+    }
+    
+    private void connectFailed(Throwable cause)
+    {
+        connectsInProgress.decrementAndGet();
+        permits.release();
+        // Fail the operation this attempt was made for; the cluster can 
+        // retry it elsewhere.
+        FutureOperation next = pollPending();
+        if (next != null)
+        {
+            next.setException(new ConnectionFailedException(cause));
+        }
+    }
+
+    private PipelinedChannel startPipeline(Channel channel)
+    {
+        PipelinedChannel pipeline = new PipelinedChannel(channel);
+        pipelineMap.put(channel, pipeline);
+        channel.closeFuture().addListener(pipelineCloseListener);
+        return pipeline;
+    }
+
+    /**
+     * Retires an idle pipelined channel, returning it to the pool.
+     * @param channel the channel whose pipeline has drained.
+     */
+    private void endPipeline(Channel channel)
+    {
+        // If this fails, failPipeline() beat us to it and has dealt with the
+        // channel and permit.
+        if (pipelineMap.remove(channel) != null)
+        {
+            returnConnection(channel);
+        }
+    }
+
+    /**
+     * Fails every operation queued on a pipelined channel and discards the channel.
+     * @param channel the pipelined channel.
+     * @param cause the exception to set on the queued operations.
+     */
+    private void failPipeline(Channel channel, Throwable cause)
+    {
+        failPipeline(channel, null, cause, true);
+    }
+
+    /**
+     * Fails every operation queued on a pipelined channel and discards the channel.
+     * @param channel the pipelined channel.
+     * @param target an operation to fail with {@code targetRetry}; may be null.
+     * @param cause the exception to set on the queued operations.
+     * @param targetRetry whether {@code target} may be retried.
+     * @return {@code true} if {@code target} was queued on the channel and has
+     * been failed.
+     */
+    private boolean failPipeline(Channel channel, FutureOperation target, 
+                                 Throwable cause, boolean targetRetry)
+    {
+        boolean failedTarget = false;
+        PipelinedChannel pipeline = pipelineMap.remove(channel);
+        if (pipeline != null)
+        {
+            List<FutureOperation> operations = pipeline.retire();
+            closeConnection(channel);
+            recentlyClosed.add(new ChannelWithIdleTime(channel));
+            logger.debug("Released pool permit");
+            permits.release();
+            for (FutureOperation operation : operations)
+            {
+                if (operation == target)
+                {
+                    failedTarget = operation.failAttempt(cause, targetRetry);
+                }
+                else
+                {
+                    operation.failAttempt(cause, true);
+                }
+            }
+            drainPending();
+        }
+        return failedTarget;
+    }
+
+    /**
+     * Fails an operation that has passed its deadline.
+     * <p>
+     * Riak can't be told to abandon a request, so the channel the operation
+     * was written to is closed and its permit released. If the operation was 
+     * pipelined, every other operation on that channel is failed too. An
+     * operation still waiting for a connection is simply removed from the
+     * queue.
+     * </p>
+     * @param operation the operation that has timed out.
+     * @param cause the exception to fail the operation with.
+     * @param retry whether the operation may be retried if it has attempts left.
+     * @return {@code true} if the operation was in progress on this node and has 
+     * been failed, {@code false} if it had already completed.
+     */
+    boolean timeoutOperation(FutureOperation operation, Throwable cause, boolean retry)
+    {
+        if (operation.isDone())
+        {
+            return false;
+        }
+        return abortOperation(operation, cause, retry, true);
+    }
+
+    /**
+     * Removes a cancelled operation from this node.
+     * <p>
+     * As with a timeout, the channel the operation is using is closed and
+     * its permit released. The close isn't counted against the node's health.
+     * </p>
+     * @param operation the cancelled operation.
+     * @return {@code true} if the operation was in progress on this node.
+     * @see FutureOperation#cancel(boolean) 
+     */
+    boolean cancelOperation(FutureOperation operation)
+    {
+        return abortOperation(operation, 
+            new Exception("Connection closed to cancel an operation"), false, false);
     }
 
-    private void notifyStateListeners()
+    private boolean abortOperation(FutureOperation operation, Throwable cause, 
+                                   boolean retry, boolean recordClose)
     {
-        synchronized (stateListeners)
+        for (Map.Entry<Channel, FutureOperation> entry : inProgressMap.entrySet())
         {
-            for (Iterator<NodeStateListener> it = stateListeners.iterator(); it.hasNext(); )
+            if (entry.getValue() == operation)
             {
-                NodeStateListener listener = it.next();
-                listener.nodeStateChanged(this, state);
+                Channel channel = entry.getKey();
+                if (inProgressMap.remove(channel, operation))
+                {
+                    logger.debug("Operation aborted on RiakNode {}:{} id: {}", 
+                                 remoteAddress, port, channel.hashCode());
+                    // The close may not have happened yet if we're not on the
+                    // event loop, so the channel can't go back to the pool.
+                    closeConnection(channel);
+                    if (recordClose)
+                    {
+                        recentlyClosed.add(new ChannelWithIdleTime(channel));
+                    }
+                    logger.debug("Released pool permit");
+                    permits.release();
+                    drainPending();
+                    // It may have completed while the channel was being removed.
+                    return operation.failAttempt(cause, retry);
+                }
+                return false;
             }
         }
-    }
-
-    /**
-     * Submits the operation to be executed on this node.
-     *
-     * @param operation The operation to perform
-     * @return {@code true} if this operation was accepted, {@code false} if there
-     *         were no available connections.
-     * @throws IllegalStateException    if this node is not in the {@code RUNNING} or {@code HEALTH_CHECKING} state
-     * @throws IllegalArgumentException if the protocol required for the operation is not supported by this node
-     */
-    public boolean execute(FutureOperation operation)
-    {
-        stateCheck(State.RUNNING, State.HEALTH_CHECKING);
 
-        operation.setLastNode(this);
-        Channel channel = getConnection();
-        if (channel != null)
+        for (PipelinedChannel pipeline : pipelineMap.values())
         {
-            inProgressMap.put(channel, operation);
-            ChannelFuture writeFuture = channel.writeAndFlush(operation);
-            writeFuture.addListener(writeListener);
-            logger.debug("Operation being executed on RiakNode {}:{}", remoteAddress, port);
-            return true;
+            if (pipeline.contains(operation))
+            {
+                logger.debug("Pipelined operation aborted on RiakNode {}:{} id: {}", 
+                             remoteAddress, port, pipeline.channel.hashCode());
+                return failPipeline(pipeline.channel, operation, cause, retry);
+            }
         }
-        else
+
+        for (PendingOperation p : pending)
         {
-            logger.debug("Operation not being executed Riaknode {}:{}; no connections available",
-                            remoteAddress, port);
-            return false;
+            if (p.operation == operation && pending.remove(p))
+            {
+                return operation.failAttempt(cause, retry);
+            }
         }
+
+        return false;
     }
 
     // ConnectionPool Stuff
@@ -603,10 +1300,16 @@ public class RiakNode implements RiakResponseListener
      * @see Builder#withBlockOnMaxConnections(boolean) 
      */
     private Channel getConnection()
+    {
+        return getConnection(blockOnMaxConnections);
+    }
+
+    private Channel getConnection(boolean block)
     {
         stateCheck(State.RUNNING, State.HEALTH_CHECKING);
         boolean acquired = false;
-        if (blockOnMaxConnections)
+        long waitStart = 0;
+        if (block)
         {
             try
             {
@@ -614,6 +1317,7 @@ public class RiakNode implements RiakResponseListener
                 {
                     logger.info("All connections in use for {}; had to wait for one.", 
                                 remoteAddress);
+                    waitStart = System.nanoTime();
                     permits.acquire();
                 }
                 acquired = true;
@@ -628,6 +1332,12 @@ public class RiakNode implements RiakResponseListener
             acquired = permits.tryAcquire();
         }
         
+        MetricsListener metrics = metricsListener;
+        if (acquired && metrics != null)
+        {
+            metrics.permitAcquired(this, waitStart == 0 ? 0 : System.nanoTime() - waitStart);
+        }
+        
         Channel channel = null;
         if (acquired)
         {
@@ -660,6 +1370,7 @@ public class RiakNode implements RiakResponseListener
             }
         }
 
+        long connectStart = System.nanoTime();
         ChannelFuture f = bootstrap.connect();
         
         try
@@ -683,46 +1394,13 @@ public class RiakNode implements RiakResponseListener
         }
         
         consecutiveFailedConnectionAttempts.set(0);
+        connectionOpened(connectStart);
         Channel c = f.channel();
         
         if (trustStore != null) 
         {
-            SSLContext context;
-            try 
-            {
-                context = SSLContext.getInstance("TLS");
-                TrustManagerFactory tmf =
-                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-                tmf.init(trustStore);
-
-                context.init(null, tmf.getTrustManagers(), null);
-                
-            }
-            catch (Exception ex) 
-            {
-                c.close();
-                logger.error("Failure configuring SSL; {}:{} {}", remoteAddress, port, ex);
-                throw new ConnectionFailedException(ex);
-            }
-             
-            SSLEngine engine = context.createSSLEngine();
-
-            Set<String> protocols = new HashSet<String>(Arrays.asList(engine.getSupportedProtocols()));
-
-            if (protocols.contains("TLSv1.2"))
-            {
-                engine.setEnabledProtocols(new String[] {"TLSv1.2"});
-                logger.debug("Using TLSv1.2");
-            }
-            else if (protocols.contains("TLSv1.1"))
-            {
-                engine.setEnabledProtocols(new String[] {"TLSv1.1"});
-                logger.debug("Using TLSv1.1");
-            }
-
-            engine.setUseClientMode(true);
-            RiakSecurityDecoder decoder = new RiakSecurityDecoder(engine, username, password);
-            c.pipeline().addFirst(decoder);
+            long handshakeStart = System.nanoTime();
+            RiakSecurityDecoder decoder = addSecurityDecoder(c);
                 
             try
             {
@@ -732,6 +1410,7 @@ public class RiakNode implements RiakResponseListener
                 if (promise.isSuccess())
                 {
                     logger.debug("Auth succeeded; {}:{}", remoteAddress, port);
+                    handshakeCompleted(handshakeStart);
                 }
                 else
                 {
@@ -757,6 +1436,53 @@ public class RiakNode implements RiakResponseListener
 
     }
 
+    /**
+     * Adds the TLS / auth decoder to a newly connected channel.
+     * @param c the new channel
+     * @return the decoder, whose promise completes when auth is done.
+     * @throws ConnectionFailedException if the SSLContext can't be configured.
+     */
+    private RiakSecurityDecoder addSecurityDecoder(Channel c) throws ConnectionFailedException
+    {
+        SSLContext context;
+        try 
+        {
+            context = SSLContext.getInstance("TLS");
+            TrustManagerFactory tmf =
+                TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            tmf.init(trustStore);
+
+            context.init(null, tmf.getTrustManagers(), null);
+            
+        }
+        catch (Exception ex) 
+        {
+            c.close();
+            logger.error("Failure configuring SSL; {}:{} {}", remoteAddress, port, ex);
+            throw new ConnectionFailedException(ex);
+        }
+         
+        SSLEngine engine = context.createSSLEngine();
+
+        Set<String> protocols = new HashSet<String>(Arrays.asList(engine.getSupportedProtocols()));
+
+        if (protocols.contains("TLSv1.2"))
+        {
+            engine.setEnabledProtocols(new String[] {"TLSv1.2"});
+            logger.debug("Using TLSv1.2");
+        }
+        else if (protocols.contains("TLSv1.1"))
+        {
+            engine.setEnabledProtocols(new String[] {"TLSv1.1"});
+            logger.debug("Using TLSv1.1");
+        }
+
+        engine.setUseClientMode(true);
+        RiakSecurityDecoder decoder = new RiakSecurityDecoder(engine, username, password);
+        c.pipeline().addFirst(decoder);
+        return decoder;
+    }
+
     /**
      * Return a Netty channel.
      *
@@ -782,8 +1508,18 @@ public class RiakNode implements RiakResponseListener
                 {
                     if (c.isOpen())
                     {
-                        logger.debug("Channel id:{} returned to pool", c.hashCode());
                         c.closeFuture().removeListener(inProgressCloseListener);
+                        c.closeFuture().removeListener(pipelineCloseListener);
+                        // Hand the channel (and its permit) straight to a
+                        // queued operation if there is one.
+                        FutureOperation next = pollPending();
+                        if (next != null)
+                        {
+                            logger.debug("Channel id:{} handed to queued operation", c.hashCode());
+                            dispatch(c, next);
+                            return;
+                        }
+                        logger.debug("Channel id:{} returned to pool", c.hashCode());
                         c.closeFuture().addListener(inAvailableCloseListener);
                         available.offerFirst(new ChannelWithIdleTime(c));
                     }
@@ -793,6 +1529,7 @@ public class RiakNode implements RiakResponseListener
                     }
                     logger.debug("Released pool permit");
                     permits.release();
+                    drainPending();
                 }
             }
     }
@@ -802,6 +1539,7 @@ public class RiakNode implements RiakResponseListener
         // If we are explicitly closing the connection we don't want to hear
         // about it.
         c.closeFuture().removeListener(inProgressCloseListener);
+        c.closeFuture().removeListener(pipelineCloseListener);
         c.closeFuture().removeListener(inAvailableCloseListener);
         c.close();
     }
@@ -821,14 +1559,48 @@ public class RiakNode implements RiakResponseListener
         // a race. This check guards that. 
         if (inProgress != null)  
         {
+            if (inProgress.isCancelled())
+            {
+                // cancelOperation() closes the channel and releases the permit.
+                return;
+            }
+            
             inProgress.setResponse(response);
 
-            if (inProgress.isDone())
+            // A timeout may have aborted the operation and taken the channel
+            // and permit while we were handling the response.
+            if (inProgress.isDone() && inProgressMap.remove(channel, inProgress))
             {
-                inProgressMap.remove(channel);
                 returnConnection(channel); // return permit
             }
         }
+        else
+        {
+            PipelinedChannel pipeline = pipelineMap.get(channel);
+            FutureOperation head = pipeline == null ? null : pipeline.peek();
+            if (head != null)
+            {
+                try
+                {
+                    head.setResponse(response);
+                }
+                catch (RuntimeException ex)
+                {
+                    // The response couldn't be decoded. The head is left at
+                    // the front of the queue and the channel's position in
+                    // the response stream is unknown, so fail the head and
+                    // discard the channel; the others may be retried.
+                    logger.error("Failed to decode pipelined response on RiakNode {}:{}; cause: {}",
+                                 remoteAddress, port, ex);
+                    failPipeline(channel, head, ex, false);
+                    return;
+                }
+                if (head.isDone() && pipeline.complete())
+                {
+                    endPipeline(channel);
+                }
+            }
+        }
     }
 
     @Override
@@ -842,6 +1614,21 @@ public class RiakNode implements RiakResponseListener
             inProgress.setException(ex);
             returnConnection(channel); // release permit
         }
+        else
+        {
+            // Riak carries on with the rest of the pipeline after an error.
+            PipelinedChannel pipeline = pipelineMap.get(channel);
+            FutureOperation head = pipeline == null ? null : pipeline.peek();
+            if (head != null)
+            {
+                boolean idle = pipeline.complete();
+                head.setException(ex);
+                if (idle)
+                {
+                    endPipeline(channel);
+                }
+            }
+        }
     }
     
     @Override
@@ -860,6 +1647,103 @@ public class RiakNode implements RiakResponseListener
             inProgress.setException(t);
             returnConnection(channel); // release permit
         }
+        else
+        {
+            failPipeline(channel, t);
+        }
+    }
+
+    /**
+     * Called when an attempt to execute an operation on this node ends.
+     * @param operation the operation.
+     * @param latencyInNanos the time since the operation was accepted.
+     * @param success false if the attempt failed.
+     * @param recordLatency false if the attempt was cancelled, and shouldn't
+     * be included in the average latency or metrics.
+     */
+    void attemptFinished(FutureOperation operation, long latencyInNanos, 
+                         boolean success, boolean recordLatency)
+    {
+        inFlight.decrementAndGet();
+        if (!recordLatency)
+        {
+            return;
+        }
+        
+        MetricsListener metrics = metricsListener;
+        if (metrics != null)
+        {
+            metrics.operationCompleted(this, OperationType.of(operation), latencyInNanos, success);
+        }
+        
+        if (success)
+        {
+            consecutiveFailures.set(0);
+        }
+        else
+        {
+            consecutiveFailures.incrementAndGet();
+        }
+        
+        // Streaming operations take as long as there are results to send, 
+        // which says nothing about how loaded the node is. A node that fails
+        // fast mustn't look fast, so failures are left out too.
+        if (success && !operation.isStreaming())
+        {
+            long current;
+            long updated;
+            do
+            {
+                current = latencyEwma.get();
+                double avg = Double.longBitsToDouble(current);
+                avg = avg == 0 ? latencyInNanos : avg + LATENCY_EWMA_WEIGHT * (latencyInNanos - avg);
+                updated = Double.doubleToLongBits(avg);
+            }
+            while (!latencyEwma.compareAndSet(current, updated));
+        }
+    }
+    
+    /**
+     * Returns the number of operations accepted by this node that have not
+     * yet completed.
+     * <p>
+     * This includes operations waiting for a connection.
+     * </p>
+     * @return the number of operations in flight.
+     */
+    public int getInFlightCount()
+    {
+        return inFlight.get();
+    }
+    
+    /**
+     * Returns the number of attempts on this node that have failed since
+     * the last one that succeeded.
+     * <p>
+     * Cancelled attempts are not counted either way.
+     * </p>
+     * @return the number of consecutive failed attempts.
+     */
+    public int getConsecutiveFailures()
+    {
+        return consecutiveFailures.get();
+    }
+    
+    /**
+     * Returns the average time operations take to complete on this node.
+     * <p>
+     * This is an exponentially weighted moving average, measured from when 
+     * the operation is accepted by {@link #execute(FutureOperation)} to when
+     * it completes, so it includes any time spent waiting for a 
+     * connection. Failed attempts and streaming operations are not included.
+     * </p>
+     * @param unit the unit to return the latency in.
+     * @return the average latency, or 0 if no operations have completed.
+     */
+    public double getAverageLatency(TimeUnit unit)
+    {
+        double nanos = Double.longBitsToDouble(latencyEwma.get());
+        return nanos / unit.toNanos(1);
     }
 
     /**
@@ -914,6 +1798,88 @@ public class RiakNode implements RiakResponseListener
         }
     }
 
+    /**
+     * A connection with a FIFO queue of operations awaiting responses.
+     * <p>
+     * Operations are queued and written under the same lock so the queue
+     * order always matches the order they were written to the wire.
+     * </p>
+     */
+    private class PipelinedChannel
+    {
+        private final Channel channel;
+        private final LinkedList<FutureOperation> operations = new LinkedList<FutureOperation>();
+        private boolean retired;
+
+        public PipelinedChannel(Channel channel)
+        {
+            this.channel = channel;
+        }
+
+        synchronized int size()
+        {
+            return operations.size();
+        }
+
+        synchronized boolean offer(FutureOperation operation)
+        {
+            if (retired || operations.size() >= pipelineDepth)
+            {
+                return false;
+            }
+            operations.add(operation);
+            write(channel, operation, pipelineWriteListener);
+            return true;
+        }
+
+        synchronized boolean contains(FutureOperation operation)
+        {
+            return operations.contains(operation);
+        }
+
+        synchronized FutureOperation peek()
+        {
+            return operations.peek();
+        }
+
+        /**
+         * Removes the operation at the head of the queue.
+         * @return true if the queue is now empty and the channel has been
+         * retired from pipelining.
+         */
+        synchronized boolean complete()
+        {
+            operations.poll();
+            if (operations.isEmpty())
+            {
+                retired = true;
+            }
+            return retired;
+        }
+
+        synchronized List<FutureOperation> retire()
+        {
+            retired = true;
+            List<FutureOperation> drained = new ArrayList<FutureOperation>(operations);
+            operations.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * An operation waiting in the pending queue for a connection.
+     */
+    private static class PendingOperation
+    {
+        private final FutureOperation operation;
+        private final long enqueuedAt = System.nanoTime();
+
+        public PendingOperation(FutureOperation operation)
+        {
+            this.operation = operation;
+        }
+    }
+
     private class Sync extends Semaphore
     {
         private static final long serialVersionUID = -5118488872281021072L;
@@ -972,7 +1938,7 @@ public class RiakNode implements RiakResponseListener
     {
         // with all the concurrency there's really no reason to keep 
         // checking the sizes. This is really just a "best guess"
-        int currentNum = inProgressMap.size() + available.size();
+        int currentNum = inProgressMap.size() + pipelineMap.size() + available.size();
         if (currentNum > minConnections)
         {
             // Note this will not throw a ConncurrentModificationException
@@ -1005,6 +1971,33 @@ public class RiakNode implements RiakResponseListener
         }
     }
 
+    private class PendingReaper implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            reapPendingOperations();
+        }
+    }
+
+    private void reapPendingOperations()
+    {
+        // The queue is FIFO so we can stop at the first operation that 
+        // hasn't been waiting too long.
+        long now = System.nanoTime();
+        PendingOperation p;
+        while ((p = pending.peek()) != null && now - p.enqueuedAt > pendingTimeoutInNanos)
+        {
+            // If this fails the operation has just been dispatched.
+            if (pending.remove(p))
+            {
+                logger.debug("Operation timed out waiting for a connection; {}:{}", remoteAddress, port);
+                p.operation.setException(new TimeoutException("Timed out waiting for a connection to " 
+                                                              + remoteAddress + ":" + port));
+            }
+        }
+    }
+
     // TODO: Revisit if we ever support multiple protocols or change protocols.
     // As-is the parameters work well for protocol buffers.
     /**
@@ -1152,7 +2145,7 @@ public class RiakNode implements RiakResponseListener
         @Override
         public void run()
         {
-            if (inProgressMap.isEmpty())
+            if (inProgressMap.isEmpty() && pipelineMap.isEmpty())
             {
                 state = State.SHUTDOWN;
                 notifyStateListeners();
@@ -1167,6 +2160,12 @@ public class RiakNode implements RiakResponseListener
                 logger.debug("RiakNode shut down {}:{}", remoteAddress, port);
                 shutdownLatch.countDown();
             }
+            else
+            {
+                // An operation may have completed but not yet released its
+                // connection; check again shortly.
+                executor.schedule(this, 100, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -1211,6 +2210,12 @@ public class RiakNode implements RiakResponseListener
          * @see #withConnectionTimeout(int)
          */
         public final static int DEFAULT_CONNECTION_TIMEOUT = 0;
+        /**
+         * The default maximum number of in-flight operations per connection: {@value #DEFAULT_PIPELINE_DEPTH}
+         *
+         * @see #withPipelineDepth(int)
+         */
+        public final static int DEFAULT_PIPELINE_DEPTH = 1;
         
         /**
          * The default HealthCheckFactory.
@@ -1228,6 +2233,11 @@ public class RiakNode implements RiakResponseListener
         private int maxConnections = DEFAULT_MAX_CONNECTIONS;
         private int idleTimeout = DEFAULT_IDLE_TIMEOUT;
         private int connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+        private int pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+        private int coalesceMaxMessages;
+        private int coalesceMaxBytes;
+        private int maxPendingOperations;
+        private int pendingTimeout;
         private HealthCheckFactory healthCheckFactory = DEFAULT_HEALTHCHECK_FACTORY;
         private Bootstrap bootstrap;
         private ScheduledExecutorService executor;
@@ -1360,7 +2370,8 @@ public class RiakNode implements RiakResponseListener
         /**
          * Provides a Netty Bootstrap for this node to use.
          * If not provided one
-         * will be created with its own {@code NioEventLoopGroup}.
+         * will be created with its own single threaded event loop group 
+         * using {@link Transport#NIO}.
          *
          * @param bootstrap
          * @return this
@@ -1391,6 +2402,98 @@ public class RiakNode implements RiakResponseListener
             return this;
         }
         
+        /**
+         * Set the maximum number of operations in flight on a single connection.
+         * <p>
+         * By default each operation has exclusive use of a connection until
+         * its response has been received. Setting this above 1 enables
+         * pipelining; once all connections allowed by
+         * {@link #withMaxConnections(int)} are in use, further operations are
+         * written to a busy connection (up to this depth) rather than being
+         * rejected. Riak replies in order on a connection so responses are
+         * matched to operations in FIFO order.
+         * </p>
+         * <p>
+         * Streaming operations (list keys, list buckets, MapReduce,
+         * secondary index queries) always have exclusive use of their connection.
+         * </p>
+         * @param depth the maximum number of in-flight operations per connection.
+         * @return this
+         * @see #DEFAULT_PIPELINE_DEPTH
+         */
+        public Builder withPipelineDepth(int depth)
+        {
+            if (depth < 1)
+            {
+                throw new IllegalArgumentException("Pipeline depth must be at least 1");
+            }
+            this.pipelineDepth = depth;
+            return this;
+        }
+        
+        /**
+         * Enable write coalescing.
+         * <p>
+         * By default every operation is flushed to the socket as soon as it
+         * is written. With coalescing enabled, flushes are deferred to the end
+         * of the current event loop tick so writes made in the meantime go out
+         * together in one syscall. A flush is made immediately once 
+         * {@code maxMessages} writes or {@code maxBytes} bytes are pending.
+         * This is most useful with {@link #withPipelineDepth(int) pipelining}
+         * or many concurrent operations.
+         * </p>
+         * @param maxMessages max pending writes on a connection before flushing.
+         * @param maxBytes max pending bytes on a connection before flushing.
+         * @return this
+         * @see RiakNode#getFlushCount() 
+         * @see RiakNode#getFlushedMessageCount() 
+         */
+        public Builder withWriteCoalescing(int maxMessages, int maxBytes)
+        {
+            if (maxMessages < 1 || maxBytes < 1)
+            {
+                throw new IllegalArgumentException("Max messages and max bytes must be greater than zero");
+            }
+            this.coalesceMaxMessages = maxMessages;
+            this.coalesceMaxBytes = maxBytes;
+            return this;
+        }
+        
+        /**
+         * Never block the calling thread when executing an operation.
+         * <p>
+         * By default {@link RiakNode#execute(FutureOperation)} makes a new 
+         * connection (including TLS and auth) on the calling thread, and 
+         * if {@link #withBlockOnMaxConnections(boolean)} is set will wait 
+         * for a connection to be returned. With this set, operations are 
+         * instead placed on a per-node queue and dispatched from Netty's 
+         * connect callback or when a connection is returned to the pool. 
+         * {@code withBlockOnMaxConnections()} has no effect.
+         * </p>
+         * <p>
+         * Once {@code maxPending} operations are queued, further operations 
+         * are rejected. An operation that waits in the queue more than 
+         * {@code timeoutInMillis} fails with a {@link TimeoutException}.
+         * </p>
+         * @param maxPending the maximum number of operations waiting for a connection.
+         * @param timeoutInMillis the maximum time an operation can wait, 0 to wait indefinitely.
+         * @return this
+         */
+        public Builder withNonBlockingConnections(int maxPending, int timeoutInMillis)
+        {
+            if (maxPending < 1)
+            {
+                throw new IllegalArgumentException("Max pending operations must be greater than zero");
+            }
+            if (timeoutInMillis < 0)
+            {
+                throw new IllegalArgumentException("Timeout must not be negative");
+            }
+            this.maxPendingOperations = maxPending;
+            this.pendingTimeout = timeoutInMillis;
+            return this;
+        }
+        
         /**
          * Set the credentials for Riak security and authentication. 
          * <p>
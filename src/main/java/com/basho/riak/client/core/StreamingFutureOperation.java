@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A FutureOperation that can hand its results to a consumer as they arrive.
+ * <p>
+ * Operations such as listing keys receive a stream of response messages. 
+ * Normally every message is kept until the last one arrives and the whole
+ * lot is converted at once. When streaming is enabled each message is 
+ * instead converted to a chunk of results by {@link #convertChunk(Object)}
+ * and either queued for the consumer, which takes them with 
+ * {@link #takeChunk()}, or passed straight to a {@link ChunkListener}. 
+ * The final response is then empty.
+ * </p>
+ * <p>
+ * When queueing, memory is bounded by pausing reads from the connection whenever 
+ * {@code maxBufferedChunks} chunks are waiting, and resuming once the 
+ * consumer has taken half of them. Riak (and TCP) then hold the rest of 
+ * the stream until the consumer catches up. A consumer that stops taking 
+ * chunks before the end of the stream should cancel the operation so the 
+ * connection isn't held indefinitely.
+ * </p>
+ * <p>
+ * Once part of a stream has been delivered the operation is not retried,
+ * as that would deliver the same results again.
+ * </p>
+ * 
+ * @param <T> The converted response type.
+ * @param <U> The protocol type returned.
+ * @param <S> The query info type.
+ * @param <C> The type of the chunks handed to the consumer.
+ * @since 2.0.2
+ */
+public abstract class StreamingFutureOperation<T, U, S, C> extends FutureOperation<T, U, S>
+{
+    // Marks the end of the stream in the queue.
+    private static final Object END = new Object();
+    
+    private final int maxBufferedChunks;
+    private final LinkedBlockingQueue<Object> chunks;
+    // Reads are paused and resumed from both the I/O thread and the 
+    // consumer's; the flag and the channel's autoRead change together.
+    private final Object pauseLock = new Object();
+    private boolean paused;
+    private final ChunkListener<C> chunkListener;
+    
+    /**
+     * Constructs a StreamingFutureOperation.
+     * @param maxBufferedChunks the number of chunks to queue before pausing 
+     * reads, or 0 to not queue results.
+     */
+    protected StreamingFutureOperation(int maxBufferedChunks)
+    {
+        this(maxBufferedChunks, null);
+    }
+    
+    /**
+     * Constructs a StreamingFutureOperation that either queues chunks or 
+     * passes them to a listener. If neither is given results are not streamed.
+     * @param maxBufferedChunks the number of chunks to queue before pausing 
+     * reads, or 0 to not queue results.
+     * @param chunkListener the listener to pass chunks to, or null.
+     */
+    protected StreamingFutureOperation(int maxBufferedChunks, ChunkListener<C> chunkListener)
+    {
+        if (maxBufferedChunks < 0)
+        {
+            throw new IllegalArgumentException("maxBufferedChunks can not be negative");
+        }
+        else if (maxBufferedChunks > 0 && chunkListener != null)
+        {
+            throw new IllegalArgumentException("Results can either be queued or passed to a listener, not both");
+        }
+        this.maxBufferedChunks = maxBufferedChunks;
+        this.chunkListener = chunkListener;
+        if (maxBufferedChunks > 0)
+        {
+            chunks = new LinkedBlockingQueue<Object>();
+            addListener(new RiakFutureListener<T,S>()
+            {
+                @Override
+                public void handle(RiakFuture<T, S> f)
+                {
+                    chunks.offer(END);
+                }
+            });
+        }
+        else
+        {
+            chunks = null;
+        }
+    }
+    
+    /**
+     * Returns whether results are being streamed to a consumer.
+     * @return true if results are streamed.
+     */
+    public final boolean isStreamingResults()
+    {
+        return chunks != null || chunkListener != null;
+    }
+    
+    @Override
+    protected final void processMessage(U decodedMessage)
+    {
+        if (chunkListener != null)
+        {
+            C chunk = convertChunk(decodedMessage);
+            if (chunk != null)
+            {
+                chunkListener.onChunk(chunk);
+            }
+            return;
+        }
+        else if (chunks == null)
+        {
+            super.processMessage(decodedMessage);
+            return;
+        }
+        
+        C chunk = convertChunk(decodedMessage);
+        if (chunk != null)
+        {
+            chunks.offer(chunk);
+            updateReading();
+        }
+    }
+    
+    /**
+     * Converts a response message to a chunk of results for the consumer.
+     * <p>
+     * Called on the I/O thread as each message arrives when streaming.
+     * </p>
+     * @param decodedMessage the decoded message.
+     * @return the results it contains, or null if there are none.
+     */
+    protected abstract C convertChunk(U decodedMessage);
+    
+    /**
+     * Takes the next chunk of results, waiting for one to arrive if necessary.
+     * <p>
+     * When the operation fails, the remaining chunks are returned and then the
+     * end of the stream. Check {@link #isSuccess()} after the end of the
+     * stream to find out whether all the results were received.
+     * </p>
+     * @return the next chunk, or null at the end of the stream.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalStateException if results aren't being queued.
+     */
+    public final C takeChunk() throws InterruptedException
+    {
+        checkStreaming();
+        return chunkTaken(chunks.take());
+    }
+    
+    /**
+     * Takes the next chunk of results, waiting up to the given time for one
+     * to arrive.
+     * @param timeout how long to wait.
+     * @param unit the unit of {@code timeout}.
+     * @return the next chunk, or null at the end of the stream or on timeout.
+     * Use {@link #isDone()} to tell them apart.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public final C pollChunk(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        checkStreaming();
+        return chunkTaken(chunks.poll(timeout, unit));
+    }
+    
+    private void checkStreaming()
+    {
+        if (chunks == null)
+        {
+            throw new IllegalStateException("Operation is not queueing results");
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private C chunkTaken(Object chunk)
+    {
+        if (chunk == END)
+        {
+            // Leave the marker for any further calls.
+            chunks.offer(END);
+            return null;
+        }
+        
+        updateReading();
+        return (C) chunk;
+    }
+    
+    @Override
+    final void releaseChannel()
+    {
+        // Under the lock so a consumer can't pause reads on the connection
+        // after it has been resumed for the pool.
+        synchronized (pauseLock)
+        {
+            paused = false;
+            super.releaseChannel();
+        }
+    }
+    
+    /**
+     * Pauses reads when the queue is full and resumes them once it has 
+     * drained by half. The queue's size is read under the lock, so whichever
+     * thread runs this last leaves reading in the right state.
+     */
+    private void updateReading()
+    {
+        synchronized (pauseLock)
+        {
+            if (isDone())
+            {
+                // The connection may already belong to another operation.
+                return;
+            }
+            int size = chunks.size();
+            if (!paused && size >= maxBufferedChunks)
+            {
+                paused = true;
+                setAutoRead(false);
+            }
+            else if (paused && size <= maxBufferedChunks / 2)
+            {
+                paused = false;
+                setAutoRead(true);
+            }
+        }
+    }
+}
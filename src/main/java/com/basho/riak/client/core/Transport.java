@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transport used for connections to Riak.
+ * <p>
+ * {@link #NIO} works everywhere and is the default. {@link #EPOLL} uses 
+ * Netty's native edge-triggered epoll transport, which has lower latency and
+ * produces less garbage, but needs Linux and Netty's 
+ * {@code netty-transport-native-epoll} library (bundled in {@code netty-all}
+ * for x86 and x86_64). It is still marked experimental in Netty 4.0, so it
+ * is only used when asked for.
+ * </p>
+ * 
+ * @since 2.0.2
+ * @see RiakCluster.Builder#withTransport(Transport) 
+ */
+public enum Transport
+{
+    /**
+     * Java NIO selectors ({@code NioEventLoopGroup} / {@code NioSocketChannel}).
+     */
+    NIO
+    {
+        @Override
+        public boolean isAvailable()
+        {
+            return true;
+        }
+        
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads)
+        {
+            return new NioEventLoopGroup(threads);
+        }
+        
+        @Override
+        public Class<? extends SocketChannel> getChannelClass()
+        {
+            return NioSocketChannel.class;
+        }
+    },
+    /**
+     * Native epoll ({@code EpollEventLoopGroup} / {@code EpollSocketChannel}).
+     */
+    EPOLL
+    {
+        @Override
+        public boolean isAvailable()
+        {
+            return EpollCheck.AVAILABLE;
+        }
+        
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads)
+        {
+            checkAvailable();
+            return new EpollEventLoopGroup(threads);
+        }
+        
+        @Override
+        public Class<? extends SocketChannel> getChannelClass()
+        {
+            checkAvailable();
+            return EpollSocketChannel.class;
+        }
+    };
+    
+    /**
+     * Returns whether this transport can be used on this platform.
+     * @return true if this transport is available.
+     */
+    public abstract boolean isAvailable();
+    
+    /**
+     * Creates a new event loop group for this transport.
+     * @param threads the number of event loop threads, or 0 for Netty's 
+     * default of twice the number of cores.
+     * @return a new EventLoopGroup.
+     * @throws IllegalStateException if this transport is not available.
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads);
+    
+    /**
+     * Returns the channel class to use with this transport's event loop groups.
+     * @return the SocketChannel implementation.
+     * @throws IllegalStateException if this transport is not available.
+     */
+    public abstract Class<? extends SocketChannel> getChannelClass();
+    
+    /**
+     * Returns the transport an event loop group belongs to.
+     * @param group the event loop group.
+     * @return the transport, or null if the group is of neither kind.
+     */
+    static Transport of(EventLoopGroup group)
+    {
+        if (group instanceof EpollEventLoopGroup)
+        {
+            return EPOLL;
+        }
+        else if (group instanceof NioEventLoopGroup)
+        {
+            return NIO;
+        }
+        return null;
+    }
+    
+    void checkAvailable()
+    {
+        if (!isAvailable())
+        {
+            throw new IllegalStateException("Transport " + this + " is not available on this platform");
+        }
+    }
+    
+    // Checked once, on first use of EPOLL.
+    private static class EpollCheck
+    {
+        static final boolean AVAILABLE = check();
+        
+        private static boolean check()
+        {
+            if (!System.getProperty("os.name", "").toLowerCase().startsWith("linux"))
+            {
+                return false;
+            }
+            
+            try
+            {
+                // Netty 4.0 logs rather than throws if the native library 
+                // can't be loaded; the first native call is what fails. 
+                // Creating the group opens an epoll descriptor, and shutting 
+                // it down starts its event loop thread briefly to close it.
+                new EpollEventLoopGroup(1).shutdownGracefully(0, 0, TimeUnit.SECONDS);
+                return true;
+            }
+            catch (Throwable t)
+            {
+                Logger logger = LoggerFactory.getLogger(Transport.class);
+                logger.debug("Native epoll transport is not available; {}", t.toString());
+                return false;
+            }
+        }
+    }
+}
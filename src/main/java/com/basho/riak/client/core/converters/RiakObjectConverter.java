@@ -152,7 +152,11 @@ public class RiakObjectConverter
             builder.setCharset(ByteString.copyFromUtf8(ro.getCharset()));
         }
         
-        if (ro.hasValue())
+        if (ro.hasBufferedValue())
+        {
+            builder.setValue(ByteString.copyFrom(ro.getBufferedValue().asByteBuffer()));
+        }
+        else if (ro.hasValue())
         {
             builder.setValue(ByteString.copyFrom(ro.getValue().unsafeGetValue()));
         }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets in the manner of HdrHistogram: 
+ * values below 64 are counted exactly, and above that each power of two is
+ * split into 32 equal sub-buckets, so a recorded value is accurate to 
+ * within about 3%. Values up to 2^41 nanoseconds (about 36 minutes) are 
+ * tracked; anything longer is counted as that.
+ * </p>
+ * <p>
+ * Recording a value is an atomic increment of its bucket and of the total,
+ * with no locks, so many threads can record at once without contending. 
+ * Reads walk the buckets and are not an atomic snapshot; a value recorded 
+ * during a read may or may not be included.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF << 1;
+    private static final long MAX_TRACKABLE = (1L << 41) - 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_TRACKABLE) + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    
+    /**
+     * Records a value.
+     * @param nanos the latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long nanos)
+    {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE);
+        counts.incrementAndGet(indexOf(value));
+        total.addAndGet(value);
+        
+        long current;
+        while (value > (current = max.get()))
+        {
+            if (max.compareAndSet(current, value))
+            {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of values recorded.
+     * @return the count.
+     */
+    public long getCount()
+    {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++)
+        {
+            count += counts.get(i);
+        }
+        return count;
+    }
+    
+    /**
+     * Returns the largest value recorded.
+     * @param unit the unit to return the value in.
+     * @return the maximum, or 0 if nothing has been recorded.
+     */
+    public long getMax(TimeUnit unit)
+    {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Returns the mean of the values recorded.
+     * @param unit the unit to return the value in.
+     * @return the mean, or 0 if nothing has been recorded.
+     */
+    public double getMean(TimeUnit unit)
+    {
+        long count = getCount();
+        return count == 0 ? 0 : (double) total.get() / count / unit.toNanos(1);
+    }
+    
+    /**
+     * Returns the value at a percentile.
+     * <p>
+     * This is the highest value that falls in the same bucket as the value 
+     * at the percentile, capped at the maximum recorded.
+     * </p>
+     * @param percentile the percentile, from 0 to 100.
+     * @param unit the unit to return the value in.
+     * @return the value at the percentile, or 0 if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile, TimeUnit unit)
+    {
+        if (percentile < 0 || percentile > 100)
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++)
+        {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0)
+        {
+            return 0;
+        }
+        
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++)
+        {
+            seen += snapshot[i];
+            if (seen >= target)
+            {
+                return unit.convert(Math.min(highestEquivalentValue(i), max.get()), TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Clears all recorded values.
+     * <p>
+     * Values recorded while the reset is in progress may be kept or lost.
+     * </p>
+     */
+    public void reset()
+    {
+        for (int i = 0; i < counts.length(); i++)
+        {
+            counts.set(i, 0);
+        }
+        total.set(0);
+        max.set(0);
+    }
+    
+    static int indexOf(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+        int bucket = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> bucket);
+        return SUB_BUCKET_COUNT + (bucket - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+    
+    static long highestEquivalentValue(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+        int bucket = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << bucket) - 1;
+    }
+}
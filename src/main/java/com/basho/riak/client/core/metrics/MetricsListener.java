@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import com.basho.riak.client.core.RiakNode;
+
+/**
+ * Receives measurements from a {@link com.basho.riak.client.core.RiakCluster}
+ * and its nodes.
+ * <p>
+ * Callbacks are made on the threads doing the work; Netty I/O threads and 
+ * the threads executing operations. Implementations must be thread safe and
+ * must not block. {@link RiakMetrics} records everything in lock-free 
+ * histograms and counters and can expose them through JMX.
+ * </p>
+ * 
+ * @since 2.0.2
+ * @see com.basho.riak.client.core.RiakCluster.Builder#withMetricsListener(MetricsListener) 
+ */
+public interface MetricsListener
+{
+    /**
+     * Called when a node is added to the cluster.
+     * @param node the node.
+     */
+    void nodeAdded(RiakNode node);
+    
+    /**
+     * Called when a node is removed from the cluster.
+     * @param node the node.
+     */
+    void nodeRemoved(RiakNode node);
+    
+    /**
+     * Called when an attempt to execute an operation on a node finishes.
+     * <p>
+     * The latency is from when the node accepted the operation, so includes 
+     * any time spent waiting for a connection. Cancelled attempts are not 
+     * reported.
+     * </p>
+     * @param node the node that executed the attempt.
+     * @param type the type of operation.
+     * @param latencyInNanos how long the attempt took.
+     * @param success false if the attempt failed.
+     */
+    void operationCompleted(RiakNode node, OperationType type, long latencyInNanos, boolean success);
+    
+    /**
+     * Called when the cluster schedules a retry of a failed operation.
+     * @param node the node the failed attempt was made on, if known.
+     * @param type the type of operation.
+     * @param retryNumber 1 for the first retry, 2 for the second, and so on.
+     */
+    void operationRetried(RiakNode node, OperationType type, int retryNumber);
+    
+    /**
+     * Called when an operation gets a connection permit from a node.
+     * <p>
+     * When all of a node's connections are in use, operations wait for 
+     * one to be returned; blocked, or in the pending queue with non-blocking
+     * connections. This reports that wait, which is 0 if a permit was free.
+     * </p>
+     * @param node the node.
+     * @param waitInNanos how long the operation waited.
+     */
+    void permitAcquired(RiakNode node, long waitInNanos);
+    
+    /**
+     * Called when a node opens a new connection.
+     * @param node the node.
+     * @param connectInNanos how long the TCP connect took.
+     */
+    void connectionOpened(RiakNode node, long connectInNanos);
+    
+    /**
+     * Called when the TLS handshake and authentication on a new connection 
+     * succeed.
+     * @param node the node.
+     * @param handshakeInNanos how long the handshake and authentication took.
+     */
+    void securityHandshakeCompleted(RiakNode node, long handshakeInNanos);
+}
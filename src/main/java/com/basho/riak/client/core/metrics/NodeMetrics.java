@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import com.basho.riak.client.core.RiakNode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics for one {@link RiakNode}.
+ * <p>
+ * Along with the latency and outcome of the attempts made on the node, 
+ * this records the time operations wait for a connection permit and the 
+ * time taken to open connections. The connection pool gauges are read from
+ * the node when asked for.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public class NodeMetrics extends OperationMetrics implements NodeMetricsMXBean
+{
+    private final RiakNode node;
+    private final LatencyHistogram permitWait = new LatencyHistogram();
+    private final LatencyHistogram connect = new LatencyHistogram();
+    private final LatencyHistogram handshake = new LatencyHistogram();
+    
+    NodeMetrics(RiakNode node)
+    {
+        this.node = node;
+    }
+    
+    /**
+     * Returns the node these metrics are for.
+     * @return the node.
+     */
+    public RiakNode getNode()
+    {
+        return node;
+    }
+    
+    /**
+     * Returns the histogram of time spent waiting for a connection permit.
+     * @return the histogram.
+     */
+    public LatencyHistogram getPermitWait()
+    {
+        return permitWait;
+    }
+    
+    /**
+     * Returns the histogram of TCP connect times.
+     * @return the histogram.
+     */
+    public LatencyHistogram getConnect()
+    {
+        return connect;
+    }
+    
+    /**
+     * Returns the histogram of TLS handshake and authentication times.
+     * @return the histogram.
+     */
+    public LatencyHistogram getHandshake()
+    {
+        return handshake;
+    }
+    
+    @Override
+    public String getRemoteAddress()
+    {
+        return node.getRemoteAddress();
+    }
+
+    @Override
+    public int getPort()
+    {
+        return node.getPort();
+    }
+
+    @Override
+    public int getAvailableConnections()
+    {
+        return node.getAvailableConnectionCount();
+    }
+
+    @Override
+    public int getInProgressOperations()
+    {
+        return node.getInProgressCount();
+    }
+
+    @Override
+    public int getAvailablePermits()
+    {
+        return node.availablePermits();
+    }
+
+    @Override
+    public int getInFlightOperations()
+    {
+        return node.getInFlightCount();
+    }
+
+    @Override
+    public double getMeanPermitWaitMicros()
+    {
+        return permitWait.getMean(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getPermitWait99thPercentileMicros()
+    {
+        return permitWait.getValueAtPercentile(99, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxPermitWaitMicros()
+    {
+        return permitWait.getMax(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getConnectionCount()
+    {
+        return connect.getCount();
+    }
+
+    @Override
+    public double getMeanConnectMicros()
+    {
+        return connect.getMean(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxConnectMicros()
+    {
+        return connect.getMax(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getHandshakeCount()
+    {
+        return handshake.getCount();
+    }
+
+    @Override
+    public double getMeanHandshakeMicros()
+    {
+        return handshake.getMean(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxHandshakeMicros()
+    {
+        return handshake.getMax(TimeUnit.MICROSECONDS);
+    }
+}
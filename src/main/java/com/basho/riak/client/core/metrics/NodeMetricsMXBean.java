@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+/**
+ * The JMX view of {@link NodeMetrics}.
+ * <p>
+ * Times are in microseconds.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public interface NodeMetricsMXBean extends OperationMetricsMXBean
+{
+    String getRemoteAddress();
+    int getPort();
+    int getAvailableConnections();
+    int getInProgressOperations();
+    int getAvailablePermits();
+    int getInFlightOperations();
+    double getMeanPermitWaitMicros();
+    long getPermitWait99thPercentileMicros();
+    long getMaxPermitWaitMicros();
+    long getConnectionCount();
+    double getMeanConnectMicros();
+    long getMaxConnectMicros();
+    long getHandshakeCount();
+    double getMeanHandshakeMicros();
+    long getMaxHandshakeMicros();
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and outcome counts for one type of operation.
+ * <p>
+ * The latency histogram holds successful attempts only, so timeouts and 
+ * connection failures don't distort it; failed attempts are counted.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public class OperationMetrics implements OperationMetricsMXBean
+{
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    
+    void operationCompleted(long latencyInNanos, boolean success)
+    {
+        if (success)
+        {
+            latency.record(latencyInNanos);
+        }
+        else
+        {
+            failures.incrementAndGet();
+        }
+    }
+    
+    void operationRetried()
+    {
+        retries.incrementAndGet();
+    }
+    
+    /**
+     * Returns the histogram of successful attempts' latencies.
+     * @return the histogram.
+     */
+    public LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+    
+    @Override
+    public long getSuccessCount()
+    {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getFailureCount()
+    {
+        return failures.get();
+    }
+
+    @Override
+    public long getRetryCount()
+    {
+        return retries.get();
+    }
+
+    @Override
+    public double getMeanLatencyMicros()
+    {
+        return latency.getMean(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getMaxLatencyMicros()
+    {
+        return latency.getMax(TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getLatency50thPercentileMicros()
+    {
+        return latency.getValueAtPercentile(50, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getLatency95thPercentileMicros()
+    {
+        return latency.getValueAtPercentile(95, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getLatency99thPercentileMicros()
+    {
+        return latency.getValueAtPercentile(99, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public long getLatency999thPercentileMicros()
+    {
+        return latency.getValueAtPercentile(99.9, TimeUnit.MICROSECONDS);
+    }
+}
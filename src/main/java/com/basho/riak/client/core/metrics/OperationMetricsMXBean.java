@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+/**
+ * The JMX view of {@link OperationMetrics}.
+ * <p>
+ * Latencies are of successful attempts, in microseconds.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public interface OperationMetricsMXBean
+{
+    long getSuccessCount();
+    long getFailureCount();
+    long getRetryCount();
+    double getMeanLatencyMicros();
+    long getMaxLatencyMicros();
+    long getLatency50thPercentileMicros();
+    long getLatency95thPercentileMicros();
+    long getLatency99thPercentileMicros();
+    long getLatency999thPercentileMicros();
+}
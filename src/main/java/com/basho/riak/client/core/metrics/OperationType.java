@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.operations.DeleteOperation;
+import com.basho.riak.client.core.operations.DtFetchOperation;
+import com.basho.riak.client.core.operations.DtUpdateOperation;
+import com.basho.riak.client.core.operations.FetchOperation;
+import com.basho.riak.client.core.operations.ListKeysOperation;
+import com.basho.riak.client.core.operations.MapReduceOperation;
+import com.basho.riak.client.core.operations.SearchOperation;
+import com.basho.riak.client.core.operations.SecondaryIndexQueryOperation;
+import com.basho.riak.client.core.operations.StoreOperation;
+
+/**
+ * The kinds of operation metrics are kept for.
+ * 
+ * @since 2.0.2
+ */
+public enum OperationType
+{
+    FETCH, STORE, DELETE, LIST_KEYS, SECONDARY_INDEX, MAP_REDUCE, 
+    DATATYPE_FETCH, DATATYPE_UPDATE, SEARCH, OTHER;
+    
+    /**
+     * Returns the type of an operation.
+     * @param operation the operation.
+     * @return its type; {@code OTHER} for anything not listed.
+     */
+    public static OperationType of(FutureOperation<?, ?, ?> operation)
+    {
+        if (operation instanceof FetchOperation)
+        {
+            return FETCH;
+        }
+        else if (operation instanceof StoreOperation)
+        {
+            return STORE;
+        }
+        else if (operation instanceof DeleteOperation)
+        {
+            return DELETE;
+        }
+        else if (operation instanceof SecondaryIndexQueryOperation)
+        {
+            return SECONDARY_INDEX;
+        }
+        else if (operation instanceof DtFetchOperation)
+        {
+            return DATATYPE_FETCH;
+        }
+        else if (operation instanceof DtUpdateOperation)
+        {
+            return DATATYPE_UPDATE;
+        }
+        else if (operation instanceof MapReduceOperation)
+        {
+            return MAP_REDUCE;
+        }
+        else if (operation instanceof SearchOperation)
+        {
+            return SEARCH;
+        }
+        else if (operation instanceof ListKeysOperation)
+        {
+            return LIST_KEYS;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import com.basho.riak.client.core.RiakNode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The default {@link MetricsListener}; records latency histograms and 
+ * counts per operation type and per node.
+ * <p>
+ * Everything is recorded with atomic operations on preallocated 
+ * histograms, so recording never takes a lock. The metrics can be read 
+ * directly, and if constructed with an {@link MBeanServer} they're also 
+ * registered as MXBeans:
+ * </p>
+ * <pre>
+ * com.basho.riak.client:type=Operation,cluster="main",name="FETCH"
+ * com.basho.riak.client:type=Node,cluster="main",name="127.0.0.1:8087"
+ * </pre>
+ * <pre>
+ * RiakMetrics metrics = 
+ *     new RiakMetrics(ManagementFactory.getPlatformMBeanServer(), "main");
+ * RiakCluster cluster = new RiakCluster.Builder(nodes)
+ *                           .withMetricsListener(metrics)
+ *                           .build();
+ * </pre>
+ * 
+ * @since 2.0.2
+ */
+public class RiakMetrics implements MetricsListener
+{
+    public static final String JMX_DOMAIN = "com.basho.riak.client";
+    
+    private final Logger logger = LoggerFactory.getLogger(RiakMetrics.class);
+    
+    private final Map<OperationType, OperationMetrics> operations = 
+        new EnumMap<OperationType, OperationMetrics>(OperationType.class);
+    private final ConcurrentMap<RiakNode, NodeMetrics> nodes = 
+        new ConcurrentHashMap<RiakNode, NodeMetrics>();
+    private final MBeanServer mbeanServer;
+    private final String clusterName;
+    
+    /**
+     * Constructs a RiakMetrics that isn't registered with JMX.
+     */
+    public RiakMetrics()
+    {
+        this(null, null);
+    }
+    
+    /**
+     * Constructs a RiakMetrics and registers its MXBeans.
+     * <p>
+     * The operation MXBeans are registered now and each node's when it's 
+     * added to the cluster.
+     * </p>
+     * @param mbeanServer the server to register with.
+     * @param clusterName distinguishes these MXBeans from those of other clusters.
+     * @throws IllegalStateException if the MXBeans can't be registered.
+     */
+    public RiakMetrics(MBeanServer mbeanServer, String clusterName)
+    {
+        if (mbeanServer != null && clusterName == null)
+        {
+            throw new IllegalArgumentException("Cluster name can not be null");
+        }
+        this.mbeanServer = mbeanServer;
+        this.clusterName = clusterName;
+        for (OperationType type : OperationType.values())
+        {
+            OperationMetrics metrics = new OperationMetrics();
+            operations.put(type, metrics);
+            if (mbeanServer != null)
+            {
+                try
+                {
+                    register(metrics, OperationMetricsMXBean.class, objectName("Operation", type.name()));
+                }
+                catch (JMException ex)
+                {
+                    unregister();
+                    throw new IllegalStateException("Unable to register metrics MXBeans", ex);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the metrics for a type of operation.
+     * @param type the type of operation.
+     * @return the metrics.
+     */
+    public OperationMetrics getOperationMetrics(OperationType type)
+    {
+        return operations.get(type);
+    }
+    
+    /**
+     * Returns the metrics for a node.
+     * @param node the node.
+     * @return the metrics, or null if nothing has been recorded for the node.
+     */
+    public NodeMetrics getNodeMetrics(RiakNode node)
+    {
+        return nodes.get(node);
+    }
+    
+    /**
+     * Returns the metrics for all the nodes.
+     * @return a list of node metrics.
+     */
+    public List<NodeMetrics> getNodeMetrics()
+    {
+        return new ArrayList<NodeMetrics>(nodes.values());
+    }
+    
+    /**
+     * Unregisters all the MXBeans.
+     */
+    public void unregister()
+    {
+        if (mbeanServer == null)
+        {
+            return;
+        }
+        for (OperationType type : operations.keySet())
+        {
+            unregister(objectNameOrNull("Operation", type.name()));
+        }
+        for (RiakNode node : nodes.keySet())
+        {
+            unregister(objectNameOrNull("Node", nodeName(node)));
+        }
+    }
+
+    @Override
+    public void nodeAdded(RiakNode node)
+    {
+        nodeMetrics(node);
+    }
+
+    @Override
+    public void nodeRemoved(RiakNode node)
+    {
+        if (nodes.remove(node) != null && mbeanServer != null)
+        {
+            unregister(objectNameOrNull("Node", nodeName(node)));
+        }
+    }
+
+    @Override
+    public void operationCompleted(RiakNode node, OperationType type, long latencyInNanos, boolean success)
+    {
+        operations.get(type).operationCompleted(latencyInNanos, success);
+        nodeMetrics(node).operationCompleted(latencyInNanos, success);
+    }
+
+    @Override
+    public void operationRetried(RiakNode node, OperationType type, int retryNumber)
+    {
+        operations.get(type).operationRetried();
+        if (node != null)
+        {
+            nodeMetrics(node).operationRetried();
+        }
+    }
+
+    @Override
+    public void permitAcquired(RiakNode node, long waitInNanos)
+    {
+        nodeMetrics(node).getPermitWait().record(waitInNanos);
+    }
+
+    @Override
+    public void connectionOpened(RiakNode node, long connectInNanos)
+    {
+        nodeMetrics(node).getConnect().record(connectInNanos);
+    }
+
+    @Override
+    public void securityHandshakeCompleted(RiakNode node, long handshakeInNanos)
+    {
+        nodeMetrics(node).getHandshake().record(handshakeInNanos);
+    }
+    
+    private NodeMetrics nodeMetrics(RiakNode node)
+    {
+        NodeMetrics metrics = nodes.get(node);
+        if (metrics == null)
+        {
+            NodeMetrics created = new NodeMetrics(node);
+            metrics = nodes.putIfAbsent(node, created);
+            if (metrics == null)
+            {
+                metrics = created;
+                if (mbeanServer != null)
+                {
+                    try
+                    {
+                        register(created, NodeMetricsMXBean.class, objectName("Node", nodeName(node)));
+                    }
+                    catch (JMException ex)
+                    {
+                        logger.warn("Unable to register metrics MXBean for {}: {}", nodeName(node), ex);
+                    }
+                }
+            }
+        }
+        return metrics;
+    }
+    
+    private <T> void register(T metrics, Class<T> mxbeanInterface, ObjectName name) throws JMException
+    {
+        mbeanServer.registerMBean(new StandardMBean(metrics, mxbeanInterface, true), name);
+    }
+    
+    private void unregister(ObjectName name)
+    {
+        try
+        {
+            if (name != null && mbeanServer.isRegistered(name))
+            {
+                mbeanServer.unregisterMBean(name);
+            }
+        }
+        catch (JMException ex)
+        {
+            logger.warn("Unable to unregister metrics MXBean {}: {}", name, ex);
+        }
+    }
+    
+    private ObjectName objectName(String type, String name) throws JMException
+    {
+        return new ObjectName(JMX_DOMAIN + ":type=" + type 
+                              + ",cluster=" + ObjectName.quote(clusterName)
+                              + ",name=" + ObjectName.quote(name));
+    }
+    
+    private ObjectName objectNameOrNull(String type, String name)
+    {
+        try
+        {
+            return objectName(type, name);
+        }
+        catch (JMException ex)
+        {
+            return null;
+        }
+    }
+    
+    private static String nodeName(RiakNode node)
+    {
+        return node.getRemoteAddress() + ":" + node.getPort();
+    }
+}
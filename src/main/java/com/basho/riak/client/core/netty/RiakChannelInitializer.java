@@ -29,16 +29,41 @@ import io.netty.channel.socket.SocketChannel;
 public class RiakChannelInitializer extends ChannelInitializer<SocketChannel>
 {
     private final RiakResponseListener listener;
+    private final int coalesceMaxMessages;
+    private final int coalesceMaxBytes;
+    private final RiakWriteCoalescer.Counters coalesceCounters;
+    
     public RiakChannelInitializer(RiakResponseListener listener)
+    {
+        this(listener, 0, 0, null);
+    }
+    
+    /**
+     * Create an initializer that adds a {@link RiakWriteCoalescer} to each channel.
+     * @param listener the listener for responses.
+     * @param coalesceMaxMessages max pending writes before an immediate flush.
+     * @param coalesceMaxBytes max pending bytes before an immediate flush.
+     * @param coalesceCounters the counters to record flushes in, or null to disable coalescing.
+     */
+    public RiakChannelInitializer(RiakResponseListener listener, int coalesceMaxMessages, 
+                                  int coalesceMaxBytes, RiakWriteCoalescer.Counters coalesceCounters)
     {
         super();
         this.listener = listener;
+        this.coalesceMaxMessages = coalesceMaxMessages;
+        this.coalesceMaxBytes = coalesceMaxBytes;
+        this.coalesceCounters = coalesceCounters;
     }
 
     @Override
     public void initChannel(SocketChannel ch) throws Exception
     {
         ChannelPipeline p = ch.pipeline();
+        if (coalesceCounters != null)
+        {
+            p.addLast(Constants.WRITE_COALESCER, 
+                      new RiakWriteCoalescer(coalesceMaxMessages, coalesceMaxBytes, coalesceCounters));
+        }
         p.addLast(Constants.MESSAGE_CODEC, new RiakMessageCodec());
         p.addLast(Constants.OPERATION_ENCODER, new RiakOperationEncoder());
         p.addLast(Constants.RESPONSE_HANDLER, new RiakResponseHandler(listener));
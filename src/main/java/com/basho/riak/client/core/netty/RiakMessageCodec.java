@@ -30,10 +30,18 @@ public class RiakMessageCodec extends ByteToMessageCodec<RiakMessage>
     @Override
     protected void encode(ChannelHandlerContext ctx, RiakMessage msg, ByteBuf out) throws Exception
     {
-        int length = msg.getData().length + 1;
+        int length = msg.getDataLength() + 1;
         out.writeInt(length);
         out.writeByte(msg.getCode());
-        out.writeBytes(msg.getData());        
+        if (msg.getDataBuffer() != null)
+        {
+            ByteBuf data = msg.getDataBuffer();
+            out.writeBytes(data, data.readerIndex(), data.readableBytes());
+        }
+        else
+        {
+            out.writeBytes(msg.getData());
+        }
     }
 
     @Override
@@ -54,9 +62,11 @@ public class RiakMessageCodec extends ByteToMessageCodec<RiakMessage>
             else
             {
                 byte code = in.readByte();
-                byte[] array = new byte[length - 1];
-                in.readBytes(array);
-                out.add(new RiakMessage(code,array));
+                // Rather than copying the frame, hand off a retained slice of
+                // the cumulation buffer. It's released by RiakResponseHandler
+                // once the operation has decoded it.
+                ByteBuf data = in.readSlice(length - 1).retain();
+                out.add(new RiakMessage(code, data));
             }
             
         }
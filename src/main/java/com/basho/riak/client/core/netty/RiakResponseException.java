@@ -15,6 +15,10 @@
  */
 package com.basho.riak.client.core.netty;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * 
  * @author Brian Roach <roach at basho dot com>
@@ -22,6 +26,10 @@ package com.basho.riak.client.core.netty;
 public class RiakResponseException extends Exception
 {
     private static final long serialVersionUID = 2843706291883485752L;
+    // Errors from Riak when a conditional store's precondition didn't hold
+    // (if_not_modified / if_none_match).
+    private static final Set<String> PRECONDITION_ERRORS = 
+        new HashSet<String>(Arrays.asList("modified", "match_found", "notfound"));
     private final int code;
     
     public RiakResponseException(int code, String message)
@@ -35,4 +43,16 @@ public class RiakResponseException extends Exception
         return code;
     }
     
+    /**
+     * Returns whether Riak refused a conditional store because its 
+     * precondition didn't hold.
+     * @return true if the object had been modified, already existed or 
+     * wasn't found.
+     * @since 2.0.2
+     */
+    public boolean isPreconditionFailure()
+    {
+        return PRECONDITION_ERRORS.contains(getMessage());
+    }
+    
 }
@@ -45,17 +45,27 @@ public class RiakResponseHandler extends ChannelInboundHandlerAdapter
     public void channelRead(ChannelHandlerContext chc, Object message) throws Exception
     {
         RiakMessage riakMessage = (RiakMessage) message;
-        if (riakMessage.getCode() == RiakMessageCodes.MSG_ErrorResp)
+        try
         {
-            RiakPB.RpbErrorResp error = RiakPB.RpbErrorResp.parseFrom(riakMessage.getData());
-                                                
-            listener.onRiakErrorResponse(chc.channel(), 
-                                         new RiakResponseException(error.getErrcode(), 
-                                             error.getErrmsg().toStringUtf8()));
+            if (riakMessage.getCode() == RiakMessageCodes.MSG_ErrorResp)
+            {
+                RiakPB.RpbErrorResp error = 
+                    RiakPB.RpbErrorResp.parseFrom(riakMessage.getCodedInputStream());
+
+                listener.onRiakErrorResponse(chc.channel(), 
+                                             new RiakResponseException(error.getErrcode(), 
+                                                 error.getErrmsg().toStringUtf8()));
+            }
+            else
+            {
+                listener.onSuccess(chc.channel(), riakMessage);
+            }
         }
-        else
+        finally
         {
-            listener.onSuccess(chc.channel(), riakMessage);
+            // The message has been fully decoded by the operation at this 
+            // point; return the underlying buffer.
+            riakMessage.release();
         }
     }
     
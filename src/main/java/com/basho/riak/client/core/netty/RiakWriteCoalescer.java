@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces flushes so multiple writes go out in a single syscall.
+ * <p>
+ * Rather than flushing on every {@code writeAndFlush()}, a flush is deferred
+ * to the end of the current event loop tick, so that writes submitted in the
+ * meantime are sent together. A flush happens immediately once
+ * {@code maxMessages} writes or {@code maxBytes} bytes are pending.
+ * </p>
+ * <p>
+ * This handler must sit between the {@link RiakMessageCodec} and the socket
+ * so it sees encoded bytes.
+ * </p>
+ * @since 2.0.2
+ */
+public class RiakWriteCoalescer extends ChannelOutboundHandlerAdapter
+{
+    private final int maxMessages;
+    private final int maxBytes;
+    private final Counters counters;
+
+    // Only ever touched from the channel's event loop.
+    private int pendingMessages;
+    private long pendingBytes;
+    private boolean flushScheduled;
+
+    /**
+     * Create a new RiakWriteCoalescer.
+     * @param maxMessages flush immediately once this many writes are pending.
+     * @param maxBytes flush immediately once this many bytes are pending.
+     * @param counters where to record the number of messages per flush.
+     */
+    public RiakWriteCoalescer(int maxMessages, int maxBytes, Counters counters)
+    {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.counters = counters;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+    {
+        pendingMessages++;
+        if (msg instanceof ByteBuf)
+        {
+            pendingBytes += ((ByteBuf) msg).readableBytes();
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) throws Exception
+    {
+        if (pendingMessages >= maxMessages || pendingBytes >= maxBytes)
+        {
+            doFlush(ctx);
+        }
+        else if (!flushScheduled)
+        {
+            flushScheduled = true;
+            ctx.executor().execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    flushScheduled = false;
+                    doFlush(ctx);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception
+    {
+        doFlush(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception
+    {
+        doFlush(ctx);
+    }
+
+    private void doFlush(ChannelHandlerContext ctx)
+    {
+        if (pendingMessages > 0)
+        {
+            counters.recordFlush(pendingMessages);
+            pendingMessages = 0;
+            pendingBytes = 0;
+        }
+        ctx.flush();
+    }
+
+    /**
+     * Flush counters shared by all the coalescers for a node.
+     */
+    public static class Counters
+    {
+        private final AtomicLong flushes = new AtomicLong();
+        private final AtomicLong messages = new AtomicLong();
+
+        void recordFlush(int numMessages)
+        {
+            flushes.incrementAndGet();
+            messages.addAndGet(numMessages);
+        }
+
+        /**
+         * Returns the number of flushes that sent at least one message.
+         * @return the number of flushes.
+         */
+        public long getFlushCount()
+        {
+            return flushes.get();
+        }
+
+        /**
+         * Returns the total number of messages flushed.
+         * @return the number of messages.
+         */
+        public long getMessageCount()
+        {
+            return messages.get();
+        }
+
+        /**
+         * Returns the mean number of messages sent per flush.
+         * @return messages per flush, or 0 if nothing has been flushed.
+         */
+        public double getMessagesPerFlush()
+        {
+            long numFlushes = flushes.get();
+            return numFlushes == 0 ? 0 : (double) messages.get() / numFlushes;
+        }
+    }
+}
@@ -24,7 +24,7 @@ import com.basho.riak.client.core.util.BinaryValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakDtPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 
 import java.util.List;
 
@@ -77,9 +77,9 @@ public class DtFetchOperation extends FutureOperation<DtFetchOperation.Response,
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_DtFetchResp);
         try
         {
-            return RiakDtPB.DtFetchResp.parseFrom(rawMessage.getData());
+            return RiakDtPB.DtFetchResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException ex)
+        catch (IOException ex)
         {
             throw new IllegalArgumentException("Invalid message received", ex);
         }
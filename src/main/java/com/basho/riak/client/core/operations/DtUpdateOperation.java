@@ -31,7 +31,7 @@ import com.basho.riak.client.core.util.BinaryValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakDtPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 
 import java.util.List;
 
@@ -89,10 +89,10 @@ public class DtUpdateOperation extends FutureOperation<DtUpdateOperation.Respons
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_DtUpdateResp);
         try
         {
-            RiakDtPB.DtUpdateResp resp = RiakDtPB.DtUpdateResp.parseFrom(rawMessage.getData());
+            RiakDtPB.DtUpdateResp resp = RiakDtPB.DtUpdateResp.parseFrom(rawMessage.getCodedInputStream());
             return resp;
         }
-        catch (InvalidProtocolBufferException ex)
+        catch (IOException ex)
         {
             throw new IllegalArgumentException("Invalid message received", ex);
         }
@@ -23,7 +23,7 @@ import com.basho.riak.client.core.query.Namespace;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -63,9 +63,9 @@ public class FetchBucketPropsOperation extends FutureOperation<FetchBucketPropsO
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_GetBucketResp);
         try
         {
-            return RiakPB.RpbGetBucketResp.parseFrom(rawMessage.getData());
+            return RiakPB.RpbGetBucketResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException ex)
+        catch (IOException ex)
         {
             throw new IllegalArgumentException("Invalid message received", ex);
         }
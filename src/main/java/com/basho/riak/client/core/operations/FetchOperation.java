@@ -22,10 +22,18 @@ import com.basho.riak.client.core.RiakMessage;
 import com.basho.riak.client.core.converters.RiakObjectConverter;
 import com.basho.riak.client.core.query.Location;
 import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BufferedValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakKvPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import org.slf4j.Logger;
@@ -33,13 +41,31 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An operation used to fetch an object from Riak.
+ * <p>
+ * If a value allocator is supplied via {@link Builder#withValueAllocator(ByteBufAllocator)}
+ * each sibling's value is copied straight from the network buffer into a 
+ * buffer from that allocator and exposed as a {@link BufferedValue} 
+ * rather than as a {@code byte[]} on the heap. 
+ * </p>
  *
  * @author Brian Roach <roach at basho dot com>
  * @since 2.0
  */
 public class FetchOperation extends FutureOperation<FetchOperation.Response, RiakKvPB.RpbGetResp, Location>
 {
+    private static final int CONTENT_TAG = 
+        (RiakKvPB.RpbGetResp.CONTENT_FIELD_NUMBER << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int VCLOCK_TAG = 
+        (RiakKvPB.RpbGetResp.VCLOCK_FIELD_NUMBER << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int UNCHANGED_TAG = 
+        (RiakKvPB.RpbGetResp.UNCHANGED_FIELD_NUMBER << 3) | WireFormat.WIRETYPE_VARINT;
+    private static final int VALUE_TAG = 
+        (RiakKvPB.RpbContent.VALUE_FIELD_NUMBER << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    
     private final RiakKvPB.RpbGetReq.Builder reqBuilder;
+    private final ByteBufAllocator valueAllocator;
+    // One entry per sibling (null if it has no value) when valueAllocator is set
+    private volatile List<BufferedValue> bufferedValues;
     Location location;
     
     private final Logger logger = LoggerFactory.getLogger(FetchOperation.class);
@@ -48,6 +74,7 @@ public class FetchOperation extends FutureOperation<FetchOperation.Response, Ria
     {
         this.reqBuilder = builder.reqBuilder;
         this.location = builder.location;
+        this.valueAllocator = builder.valueAllocator;
     }
 
     @Override
@@ -57,22 +84,152 @@ public class FetchOperation extends FutureOperation<FetchOperation.Response, Ria
         
         try
         {
-            byte[] data = message.getData();
-
-            if (data.length == 0) // not found
+            if (message.getDataLength() == 0) // not found
             {
                 return null;
             }
 
-            return RiakKvPB.RpbGetResp.parseFrom(data);
+            if (valueAllocator != null)
+            {
+                return decodeBuffered(message);
+            }
+            return RiakKvPB.RpbGetResp.parseFrom(message.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException e)
+        catch (IOException e)
         {
             logger.error("Invalid message received; {}", e);
             throw new IllegalArgumentException("Invalid message received", e);
         }
     }
 
+    /**
+     * Parses an RpbGetResp, copying each content's value into a buffer from
+     * the value allocator instead of into a ByteString. The returned contents
+     * have empty values; the buffers are kept in bufferedValues.
+     * <p>
+     * The frame can't simply be sliced; with Netty 4.0 the decoder's 
+     * cumulation buffer is compacted in place once the read completes.
+     * </p>
+     */
+    private RiakKvPB.RpbGetResp decodeBuffered(RiakMessage message) throws IOException
+    {
+        ByteBuf frame = message.getDataBuffer() != null 
+            ? message.getDataBuffer() 
+            : Unpooled.wrappedBuffer(message.getData());
+        CodedInputStream cis = message.getCodedInputStream();
+        RiakKvPB.RpbGetResp.Builder builder = RiakKvPB.RpbGetResp.newBuilder();
+        List<BufferedValue> values = new ArrayList<BufferedValue>(1);
+        boolean decoded = false;
+        
+        try
+        {
+            int tag;
+            while ((tag = cis.readTag()) != 0)
+            {
+                if (tag == CONTENT_TAG)
+                {
+                    int limit = cis.pushLimit(cis.readRawVarint32());
+                    builder.addContent(decodeContent(cis, frame, values));
+                    cis.popLimit(limit);
+                }
+                else if (tag == VCLOCK_TAG)
+                {
+                    builder.setVclock(cis.readBytes());
+                }
+                else if (tag == UNCHANGED_TAG)
+                {
+                    builder.setUnchanged(cis.readBool());
+                }
+                else
+                {
+                    cis.skipField(tag);
+                }
+            }
+            decoded = true;
+        }
+        finally
+        {
+            if (!decoded)
+            {
+                release(values);
+            }
+        }
+        
+        bufferedValues = values;
+        return builder.build();
+    }
+    
+    private RiakKvPB.RpbContent decodeContent(CodedInputStream cis, ByteBuf frame, 
+                                              List<BufferedValue> values) throws IOException
+    {
+        // Everything but the value is copied out and parsed as usual; it's 
+        // small. Riak puts the value first, so this is normally one range.
+        int base = frame.readerIndex();
+        ByteBuf metadata = Unpooled.buffer(0);
+        BufferedValue value = null;
+        boolean added = false;
+        int start = cis.getTotalBytesRead();
+        
+        try
+        {
+            while (!cis.isAtEnd())
+            {
+                int fieldStart = cis.getTotalBytesRead();
+                int tag = cis.readTag();
+                if (tag == VALUE_TAG)
+                {
+                    int length = cis.readRawVarint32();
+                    int valueStart = cis.getTotalBytesRead();
+                    cis.skipRawBytes(length);
+                    metadata.writeBytes(frame, base + start, fieldStart - start);
+                    start = cis.getTotalBytesRead();
+                    
+                    if (value != null)
+                    {
+                        value.release();
+                        value = null;
+                    }
+                    if (length > 0)
+                    {
+                        ByteBuf buf = valueAllocator.buffer(length);
+                        value = BufferedValue.wrap(buf.writeBytes(frame, base + valueStart, length));
+                    }
+                }
+                else
+                {
+                    cis.skipField(tag);
+                }
+            }
+            metadata.writeBytes(frame, base + start, cis.getTotalBytesRead() - start);
+            
+            RiakKvPB.RpbContent content = RiakKvPB.RpbContent.newBuilder()
+                .mergeFrom(metadata.array(), metadata.arrayOffset(), metadata.readableBytes())
+                .setValue(ByteString.EMPTY)
+                .build();
+            values.add(value);
+            added = true;
+            return content;
+        }
+        finally
+        {
+            if (!added && value != null)
+            {
+                value.release();
+            }
+        }
+    }
+    
+    private static void release(List<BufferedValue> values)
+    {
+        for (BufferedValue value : values)
+        {
+            if (value != null)
+            {
+                value.release();
+            }
+        }
+    }
+    
     @Override
     protected FetchOperation.Response convert(List<RiakKvPB.RpbGetResp> responses) 
     {
@@ -109,7 +266,39 @@ public class FetchOperation extends FutureOperation<FetchOperation.Response, Ria
             }
             else
             {
-                responseBuilder.addObjects(RiakObjectConverter.convert(response.getContentList(), response.getVclock()));
+                // The buffers go to this response only; if it can't be 
+                // built they're released here.
+                List<BufferedValue> values = bufferedValues;
+                bufferedValues = null;
+                boolean attached = false;
+                
+                try
+                {
+                    List<RiakObject> objects = 
+                        RiakObjectConverter.convert(response.getContentList(), response.getVclock());
+
+                    if (values != null)
+                    {
+                        Iterator<BufferedValue> iterator = values.iterator();
+                        for (RiakObject ro : objects)
+                        {
+                            BufferedValue value = iterator.next();
+                            if (value != null)
+                            {
+                                ro.setBufferedValue(value);
+                            }
+                        }
+                    }
+                    responseBuilder.addObjects(objects);
+                    attached = true;
+                }
+                finally
+                {
+                    if (!attached && values != null)
+                    {
+                        release(values);
+                    }
+                }
             }
 
             responseBuilder.withUnchanged(response.hasUnchanged() ? response.getUnchanged() : false);
@@ -137,6 +326,7 @@ public class FetchOperation extends FutureOperation<FetchOperation.Response, Ria
         private final RiakKvPB.RpbGetReq.Builder reqBuilder = 
             RiakKvPB.RpbGetReq.newBuilder();
         private final Location location;
+        private ByteBufAllocator valueAllocator;
         
         /**
          * Construct a FetchOperation that will retrieve an object from Riak stored
@@ -291,6 +481,34 @@ public class FetchOperation extends FutureOperation<FetchOperation.Response, Ria
 			return this;
 		}
         
+        /**
+         * Hold fetched values in buffers from the supplied allocator.
+         * <p>
+         * Each sibling's value is copied once, from the network buffer into
+         * a buffer from {@code allocator}, and set on the RiakObject as a 
+         * {@link BufferedValue}. With a direct (and optionally pooled) 
+         * allocator large values never touch the Java heap. 
+         * The caller must release every returned RiakObject's buffered value 
+         * via {@link RiakObject#release()}.
+         * </p>
+         * <p>
+         * The buffers belong to the operation until its response is first 
+         * retrieved, and are released if the response can't be decoded or 
+         * converted. Always retrieve the response of a successful fetch, 
+         * even if it isn't needed, so they can be released.
+         * </p>
+         * <p>
+         * By default (null) values are returned as heap {@code byte[]}s.
+         * </p>
+         * @param allocator the allocator for value buffers, or null.
+         * @return a reference to this object.
+         */
+        public Builder withValueAllocator(ByteBufAllocator allocator)
+        {
+            this.valueAllocator = allocator;
+            return this;
+        }
+        
         public FetchOperation build()
         {
             return new FetchOperation(this);
@@ -22,7 +22,7 @@ import com.basho.riak.client.core.util.BinaryValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakKvPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +44,12 @@ public class ListBucketsOperation extends FutureOperation<ListBucketsOperation.R
         return message.getDone();
     }
 
+    @Override
+    protected boolean isStreaming()
+    {
+        return true;
+    }
+
     @Override
     protected ListBucketsOperation.Response convert(List<RiakKvPB.RpbListBucketsResp> rawResponse) 
     {
@@ -70,9 +76,9 @@ public class ListBucketsOperation extends FutureOperation<ListBucketsOperation.R
         try
         {
             Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_ListBucketsResp);
-            return RiakKvPB.RpbListBucketsResp.parseFrom(rawMessage.getData());
+            return RiakKvPB.RpbListBucketsResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException e)
+        catch (IOException e)
         {
             throw new IllegalArgumentException("Invalid message received", e);
         }
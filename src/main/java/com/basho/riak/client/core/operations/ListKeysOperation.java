@@ -15,25 +15,26 @@
  */
 package com.basho.riak.client.core.operations;
 
-import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.StreamingFutureOperation;
 import com.basho.riak.client.core.RiakMessage;
 import com.basho.riak.client.core.query.Namespace;
 import com.basho.riak.client.core.util.BinaryValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakKvPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class ListKeysOperation extends FutureOperation<ListKeysOperation.Response, RiakKvPB.RpbListKeysResp, Namespace>
+public class ListKeysOperation extends StreamingFutureOperation<ListKeysOperation.Response, RiakKvPB.RpbListKeysResp, Namespace, List<BinaryValue>>
 {
     private final Namespace namespace;
     private final RiakKvPB.RpbListKeysReq.Builder reqBuilder;
     
     private ListKeysOperation(Builder builder)
     {
+        super(builder.maxBufferedChunks);
         this.reqBuilder = builder.reqBuilder;
         this.namespace = builder.namespace;
     }
@@ -52,6 +53,21 @@ public class ListKeysOperation extends FutureOperation<ListKeysOperation.Respons
         return builder.build();
     }
 
+    @Override
+    protected List<BinaryValue> convertChunk(RiakKvPB.RpbListKeysResp resp)
+    {
+        if (resp.getKeysCount() == 0)
+        {
+            return null;
+        }
+        List<BinaryValue> keys = new ArrayList<BinaryValue>(resp.getKeysCount());
+        for (ByteString key : resp.getKeysList())
+        {
+            keys.add(BinaryValue.unsafeCreate(key.toByteArray()));
+        }
+        return keys;
+    }
+
     @Override
     protected RiakMessage createChannelMessage()
     {
@@ -64,9 +80,9 @@ public class ListKeysOperation extends FutureOperation<ListKeysOperation.Respons
         try
         {
             Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_ListKeysResp);
-            return RiakKvPB.RpbListKeysResp.parseFrom(rawMessage.getData());
+            return RiakKvPB.RpbListKeysResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException e)
+        catch (IOException e)
         {
             throw new IllegalArgumentException("Invalid message received", e);
         }
@@ -78,6 +94,12 @@ public class ListKeysOperation extends FutureOperation<ListKeysOperation.Respons
         return message.getDone();
     }
 
+    @Override
+    protected boolean isStreaming()
+    {
+        return true;
+    }
+
     @Override
     public Namespace getQueryInfo()
     {
@@ -89,6 +111,7 @@ public class ListKeysOperation extends FutureOperation<ListKeysOperation.Respons
         private final RiakKvPB.RpbListKeysReq.Builder reqBuilder =
             RiakKvPB.RpbListKeysReq.newBuilder();
         private final Namespace namespace;
+        private int maxBufferedChunks;
         
         /**
          * Construct a builder for a ListKeysOperaiton.
@@ -115,6 +138,27 @@ public class ListKeysOperation extends FutureOperation<ListKeysOperation.Respons
             return this;
         }
         
+        /**
+         * Stream the keys to a consumer rather than collecting them.
+         * <p>
+         * Each message from Riak is queued as a chunk of keys to be taken 
+         * with {@link ListKeysOperation#takeChunk()}. Reading from Riak is 
+         * paused while {@code maxBufferedChunks} chunks are waiting, so 
+         * memory use doesn't grow with the size of the bucket.
+         * </p>
+         * @param maxBufferedChunks the number of chunks to queue before pausing.
+         * @return a reference to this object.
+         */
+        public Builder streamResults(int maxBufferedChunks)
+        {
+            if (maxBufferedChunks <= 0)
+            {
+                throw new IllegalArgumentException("maxBufferedChunks must be greater than zero");
+            }
+            this.maxBufferedChunks = maxBufferedChunks;
+            return this;
+        }
+        
         public ListKeysOperation build()
         {
             return new ListKeysOperation(this);
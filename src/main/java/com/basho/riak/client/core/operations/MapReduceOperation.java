@@ -15,19 +15,22 @@
  */
 package com.basho.riak.client.core.operations;
 
-import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.ChunkListener;
 import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.StreamingFutureOperation;
 import com.basho.riak.client.core.util.BinaryValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakKvPB;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
 import java.io.IOException;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,15 +40,29 @@ import org.slf4j.LoggerFactory;
 /**
  * A Map/Reduce Operation on Riak. No error checking is done on the content type of the content itself
  * with the exception to making sure they are provided.
+ * <p>
+ * Results are parsed directly from the bytes of each message using a shared
+ * ObjectMapper. Rather than collecting all the results, they can be streamed 
+ * a message at a time as {@link PhaseResult}s; see 
+ * {@link Builder#streamResults(int)} and 
+ * {@link Builder#streamResults(ChunkListener)}.
+ * </p>
  */
-public class MapReduceOperation extends FutureOperation<MapReduceOperation.Response, RiakKvPB.RpbMapRedResp, BinaryValue>
+public class MapReduceOperation extends StreamingFutureOperation<MapReduceOperation.Response, RiakKvPB.RpbMapRedResp, BinaryValue, MapReduceOperation.PhaseResult>
 {
+    // ObjectMapper is thread safe once configured and caches deserializers,
+    // so one is shared by every operation.
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Logger logger = LoggerFactory.getLogger(MapReduceOperation.class);
+    
     private final RiakKvPB.RpbMapRedReq.Builder reqBuilder;
     private final BinaryValue mapReduce;
-    private final Logger logger = LoggerFactory.getLogger(MapReduceOperation.class);
+    // Only used on the I/O thread when streaming.
+    private int currentPhase;
     
     private MapReduceOperation(Builder builder)
     {
+        super(builder.maxBufferedChunks, builder.chunkListener);
         this.reqBuilder = builder.reqBuilder;
         this.mapReduce = builder.mapReduce;
     }
@@ -58,7 +75,6 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
         // can span multiple messages. Each result chunk is a JSON array.
         
         final JsonNodeFactory factory = JsonNodeFactory.instance;
-        final ObjectMapper mapper = new ObjectMapper();
         final Map<Integer, ArrayNode> resultMap = new LinkedHashMap<Integer, ArrayNode>();
         
         int phase = 0;
@@ -82,28 +98,87 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
                     resultMap.put(phase, jsonArray);
                 }
                 
-                JsonNode responseJson;
-                try
+                parseInto(response.getResponse(), jsonArray);
+            }
+        }
+        return new Response(resultMap);
+    }
+    
+    @Override
+    protected PhaseResult convertChunk(RiakKvPB.RpbMapRedResp decodedMessage)
+    {
+        if (decodedMessage.hasPhase())
+        {
+            currentPhase = decodedMessage.getPhase();
+        }
+        if (decodedMessage.hasResponse())
+        {
+            return new PhaseResult(currentPhase, decodedMessage.getResponse());
+        }
+        return null;
+    }
+    
+    /**
+     * Parses a JSON array from the raw bytes, adding its elements to the 
+     * given ArrayNode.
+     */
+    private static void parseInto(ByteString json, ArrayNode jsonArray)
+    {
+        try
+        {
+            JsonParser parser = MAPPER.getFactory().createParser(json.newInput());
+            try
+            {
+                if (parser.nextToken() != JsonToken.START_ARRAY)
                 {
-                    responseJson = mapper.readTree(response.getResponse().toStringUtf8());
+                    logger.error("Mapreduce job returned JSON that wasn't an array; {}", json.toStringUtf8());
+                    return;
                 }
-                catch (IOException ex)
+                while (parser.nextToken() != JsonToken.END_ARRAY)
                 {
-                    logger.error("Mapreduce job returned non-JSON; {}",response.getResponse().toStringUtf8());
-                    throw new RuntimeException("Non-JSON response from MR job", ex);
+                    JsonNode element = MAPPER.readTree(parser);
+                    jsonArray.add(element);
                 }
-                
-                if (responseJson.isArray())
+            }
+            finally
+            {
+                parser.close();
+            }
+        }
+        catch (IOException ex)
+        {
+            logger.error("Mapreduce job returned non-JSON; {}", json.toStringUtf8());
+            throw new RuntimeException("Non-JSON response from MR job", ex);
+        }
+    }
+    
+    private static <E> List<E> parseAs(ByteString json, Class<E> resultType)
+    {
+        List<E> results = new ArrayList<E>();
+        try
+        {
+            JsonParser parser = MAPPER.getFactory().createParser(json.newInput());
+            try
+            {
+                if (parser.nextToken() != JsonToken.START_ARRAY)
                 {
-                    jsonArray.addAll((ArrayNode)responseJson);
+                    throw new RuntimeException("Mapreduce job returned JSON that wasn't an array");
                 }
-                else
+                while (parser.nextToken() != JsonToken.END_ARRAY)
                 {
-                    logger.error("Mapreduce job returned JSON that wasn't an array; {}", response.getResponse().toStringUtf8());
+                    results.add(MAPPER.readValue(parser, resultType));
                 }
             }
+            finally
+            {
+                parser.close();
+            }
         }
-        return new Response(resultMap);
+        catch (IOException ex)
+        {
+            throw new RuntimeException("Could not convert MR result to " + resultType.getName(), ex);
+        }
+        return results;
     }
 
     @Override
@@ -119,9 +194,9 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_MapRedResp);
         try
         {
-            return RiakKvPB.RpbMapRedResp.parseFrom(rawMessage.getData());
+            return RiakKvPB.RpbMapRedResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException e)
+        catch (IOException e)
         {
             throw new IllegalArgumentException(e);
         }
@@ -133,6 +208,12 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
         return message.getDone();
     }
 
+    @Override
+    protected boolean isStreaming()
+    {
+        return true;
+    }
+
     @Override
     public BinaryValue getQueryInfo()
     {
@@ -144,6 +225,8 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
         private final RiakKvPB.RpbMapRedReq.Builder reqBuilder =
             RiakKvPB.RpbMapRedReq.newBuilder();
         private final BinaryValue mapReduce;
+        private int maxBufferedChunks;
+        private ChunkListener<PhaseResult> chunkListener;
         
         /**
          * Create a MapReduce operation builder with the given function.
@@ -164,6 +247,43 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
         
         }
         
+        /**
+         * Queue each message's results for a consumer rather than collecting them.
+         * <p>
+         * Each message from Riak is queued as a {@link PhaseResult}, to be 
+         * taken with {@link MapReduceOperation#takeChunk()}. Reading from Riak 
+         * is paused while {@code maxBufferedChunks} are waiting.
+         * </p>
+         * @param maxBufferedChunks the number of chunks to queue before pausing.
+         * @return a reference to this object.
+         */
+        public Builder streamResults(int maxBufferedChunks)
+        {
+            if (maxBufferedChunks <= 0)
+            {
+                throw new IllegalArgumentException("maxBufferedChunks must be greater than zero");
+            }
+            this.maxBufferedChunks = maxBufferedChunks;
+            this.chunkListener = null;
+            return this;
+        }
+        
+        /**
+         * Pass each message's results to a listener rather than collecting them.
+         * @param listener the listener for the results.
+         * @return a reference to this object.
+         */
+        public Builder streamResults(ChunkListener<PhaseResult> listener)
+        {
+            if (listener == null)
+            {
+                throw new IllegalArgumentException("Listener can not be null");
+            }
+            this.chunkListener = listener;
+            this.maxBufferedChunks = 0;
+            return this;
+        }
+        
         public MapReduceOperation build()
         {
             return new MapReduceOperation(this);
@@ -185,4 +305,82 @@ public class MapReduceOperation extends FutureOperation<MapReduceOperation.Respo
         }
         
     }
+    
+    /**
+     * The results from a phase carried by one message from Riak.
+     * <p>
+     * A phase's results may span many messages. The JSON is held as 
+     * received and only parsed when asked for, on the caller's thread, so 
+     * decoding doesn't hold up the connection.
+     * </p>
+     */
+    public static class PhaseResult
+    {
+        private final int phase;
+        private final ByteString json;
+        private final ArrayNode parsed;
+        
+        PhaseResult(int phase, ByteString json)
+        {
+            this.phase = phase;
+            this.json = json;
+            this.parsed = null;
+        }
+        
+        /**
+         * Creates a PhaseResult from results that have already been parsed.
+         * @param phase the phase the results are from.
+         * @param results the results.
+         */
+        public PhaseResult(int phase, ArrayNode results)
+        {
+            this.phase = phase;
+            this.json = null;
+            this.parsed = results;
+        }
+        
+        /**
+         * Returns the phase these results are from.
+         * @return the phase number.
+         */
+        public int getPhase()
+        {
+            return phase;
+        }
+        
+        /**
+         * Parses the results.
+         * @return the results as a JSON array.
+         */
+        public ArrayNode getResults()
+        {
+            if (parsed != null)
+            {
+                return parsed;
+            }
+            ArrayNode results = JsonNodeFactory.instance.arrayNode();
+            parseInto(json, results);
+            return results;
+        }
+        
+        /**
+         * Parses the results, decoding each one to the given type.
+         * @param <E> the result type.
+         * @param resultType the class of the result type.
+         * @return the decoded results.
+         */
+        public <E> List<E> getResults(Class<E> resultType)
+        {
+            if (parsed != null)
+            {
+                List<E> results = new ArrayList<E>(parsed.size());
+                for (JsonNode node : parsed)
+                {
+                    results.add(MAPPER.convertValue(node, resultType));
+                }
+                return results;
+            }
+            return parseAs(json, resultType);
+        }
+    }
 }
@@ -22,7 +22,7 @@ import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakPB.RpbPair;
 import com.basho.riak.protobuf.RiakSearchPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -95,9 +95,9 @@ public class SearchOperation extends FutureOperation<SearchOperation.Response, R
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_SearchQueryResp);
         try
         {
-            return RiakSearchPB.RpbSearchQueryResp.parseFrom(rawMessage.getData());
+            return RiakSearchPB.RpbSearchQueryResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException ex)
+        catch (IOException ex)
         {
             throw new IllegalArgumentException("Invalid message received", ex);
         }
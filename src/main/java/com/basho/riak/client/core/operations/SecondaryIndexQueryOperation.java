@@ -15,7 +15,8 @@
  */
 package com.basho.riak.client.core.operations;
 
-import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.ChunkListener;
+import com.basho.riak.client.core.StreamingFutureOperation;
 import com.basho.riak.client.core.RiakMessage;
 import com.basho.riak.client.core.query.Location;
 import com.basho.riak.client.core.query.Namespace;
@@ -24,7 +25,7 @@ import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakKvPB;
 import com.basho.riak.protobuf.RiakPB.RpbPair;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,13 +35,14 @@ import java.util.List;
  * @author Alex Moore <amoore at basho dot com>
  * @since 2.0
  */
-public class SecondaryIndexQueryOperation extends FutureOperation<SecondaryIndexQueryOperation.Response, RiakKvPB.RpbIndexResp, SecondaryIndexQueryOperation.Query>
+public class SecondaryIndexQueryOperation extends StreamingFutureOperation<SecondaryIndexQueryOperation.Response, RiakKvPB.RpbIndexResp, SecondaryIndexQueryOperation.Query, SecondaryIndexQueryOperation.Response>
 {
     private final RiakKvPB.RpbIndexReq pbReq;
     private final Query query;
     
     private SecondaryIndexQueryOperation(Builder builder)
     {
+        super(builder.maxBufferedChunks, builder.chunkListener);
         // Yo dawg, we don't ever not want to use streaming.
         builder.pbReqBuilder.setStream(true);
         this.query = builder.query;
@@ -55,52 +57,71 @@ public class SecondaryIndexQueryOperation extends FutureOperation<SecondaryIndex
         
         for (RiakKvPB.RpbIndexResp pbEntry : rawResponse)
         {
-            /**
-             * The 2i API is inconsistent on the Riak side. If it's not 
-             * a range query, return_terms is ignored it only returns the 
-             * list of object keys and you have to have
-             * preserved the index key if you want to return it to the user
-             * with the results. 
-             * 
-             * Also, the $key index queries just ignore return_terms altogether.
-             */
-            
-            if (pbReq.getReturnTerms() && !query.indexName.toString().equalsIgnoreCase("$key"))
+            addEntries(responseBuilder, pbEntry);
+        }
+        return responseBuilder.build();
+    }
+    
+    @Override
+    protected SecondaryIndexQueryOperation.Response convertChunk(RiakKvPB.RpbIndexResp pbEntry)
+    {
+        if (pbEntry.getKeysCount() == 0 && pbEntry.getResultsCount() == 0 && !pbEntry.hasContinuation())
+        {
+            return null;
+        }
+        SecondaryIndexQueryOperation.Response.Builder responseBuilder = 
+            new SecondaryIndexQueryOperation.Response.Builder();
+        addEntries(responseBuilder, pbEntry);
+        return responseBuilder.build();
+    }
+    
+    private void addEntries(SecondaryIndexQueryOperation.Response.Builder responseBuilder, 
+                            RiakKvPB.RpbIndexResp pbEntry)
+    {
+        /**
+         * The 2i API is inconsistent on the Riak side. If it's not 
+         * a range query, return_terms is ignored it only returns the 
+         * list of object keys and you have to have
+         * preserved the index key if you want to return it to the user
+         * with the results. 
+         * 
+         * Also, the $key index queries just ignore return_terms altogether.
+         */
+        
+        if (pbReq.getReturnTerms() && !query.indexName.toString().equalsIgnoreCase("$key"))
+        {
+            if (pbReq.hasRangeMin())
             {
-                if (pbReq.hasRangeMin())
-                {
-                    for (RpbPair pair : pbEntry.getResultsList())
-                    {
-                        responseBuilder.addEntry(new Response.Entry(BinaryValue.unsafeCreate(pair.getKey().toByteArray()), 
-                                                             BinaryValue.unsafeCreate(pair.getValue().toByteArray())));
-                    }
-                }
-                else
+                for (RpbPair pair : pbEntry.getResultsList())
                 {
-                    for (ByteString objKey : pbEntry.getKeysList())
-                    {
-                        responseBuilder.addEntry(new Response.Entry(BinaryValue.unsafeCreate(pbReq.getKey().toByteArray()),
-                                                             BinaryValue.unsafeCreate(objKey.toByteArray())));
-                    }
+                    responseBuilder.addEntry(new Response.Entry(BinaryValue.unsafeCreate(pair.getKey().toByteArray()), 
+                                                         BinaryValue.unsafeCreate(pair.getValue().toByteArray())));
                 }
             }
             else
             {
-                /**
-                 * If return_terms wasn't specified only the object keys are returned
-                 */
                 for (ByteString objKey : pbEntry.getKeysList())
                 {
-                    responseBuilder.addEntry(new Response.Entry(BinaryValue.unsafeCreate(objKey.toByteArray())));
+                    responseBuilder.addEntry(new Response.Entry(BinaryValue.unsafeCreate(pbReq.getKey().toByteArray()),
+                                                         BinaryValue.unsafeCreate(objKey.toByteArray())));
                 }
             }
-            
-            if (pbEntry.hasContinuation())
+        }
+        else
+        {
+            /**
+             * If return_terms wasn't specified only the object keys are returned
+             */
+            for (ByteString objKey : pbEntry.getKeysList())
             {
-                responseBuilder.withContinuation(BinaryValue.unsafeCreate(pbEntry.getContinuation().toByteArray()));
+                responseBuilder.addEntry(new Response.Entry(BinaryValue.unsafeCreate(objKey.toByteArray())));
             }
         }
-        return responseBuilder.build();
+        
+        if (pbEntry.hasContinuation())
+        {
+            responseBuilder.withContinuation(BinaryValue.unsafeCreate(pbEntry.getContinuation().toByteArray()));
+        }
     }
 
     @Override
@@ -115,9 +136,9 @@ public class SecondaryIndexQueryOperation extends FutureOperation<SecondaryIndex
         try
         {
             Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_IndexResp);
-            return RiakKvPB.RpbIndexResp.parseFrom(rawMessage.getData());
+            return RiakKvPB.RpbIndexResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException e)
+        catch (IOException e)
         {
             throw new IllegalArgumentException("Invalid message received", e);
         }
@@ -129,6 +150,12 @@ public class SecondaryIndexQueryOperation extends FutureOperation<SecondaryIndex
         return msg.getDone();
     }
 
+    @Override
+    protected boolean isStreaming()
+    {
+        return true;
+    }
+
     @Override
     public Query getQueryInfo()
     {
@@ -143,6 +170,8 @@ public class SecondaryIndexQueryOperation extends FutureOperation<SecondaryIndex
     {
         private final RiakKvPB.RpbIndexReq.Builder pbReqBuilder = RiakKvPB.RpbIndexReq.newBuilder();
         private final Query query;
+        private int maxBufferedChunks;
+        private ChunkListener<Response> chunkListener;
         
         /**
          * Constructs a builder for a QueryOperation. 
@@ -201,6 +230,48 @@ public class SecondaryIndexQueryOperation extends FutureOperation<SecondaryIndex
             }
         }
         
+        /**
+         * Queue each message's results for a consumer rather than collecting them.
+         * <p>
+         * Each message from Riak is queued as a Response holding its entries,
+         * to be taken with {@link SecondaryIndexQueryOperation#takeChunk()}.
+         * The last one holds the continuation, if any. Reading from Riak is 
+         * paused while {@code maxBufferedChunks} are waiting.
+         * </p>
+         * @param maxBufferedChunks the number of chunks to queue before pausing.
+         * @return a reference to this object.
+         */
+        public Builder streamResults(int maxBufferedChunks)
+        {
+            if (maxBufferedChunks <= 0)
+            {
+                throw new IllegalArgumentException("maxBufferedChunks must be greater than zero");
+            }
+            this.maxBufferedChunks = maxBufferedChunks;
+            this.chunkListener = null;
+            return this;
+        }
+        
+        /**
+         * Pass each message's results to a listener rather than collecting them.
+         * <p>
+         * The listener receives a Response holding the entries from each 
+         * message as it is decoded. The last one holds the continuation, if any.
+         * </p>
+         * @param listener the listener for the results.
+         * @return a reference to this object.
+         */
+        public Builder streamResults(ChunkListener<Response> listener)
+        {
+            if (listener == null)
+            {
+                throw new IllegalArgumentException("Listener can not be null");
+            }
+            this.chunkListener = listener;
+            this.maxBufferedChunks = 0;
+            return this;
+        }
+        
         /**
          * Construct a new QueryOperation.
          * @return a QueryOperation
@@ -23,7 +23,7 @@ import com.basho.riak.client.core.util.BinaryValue;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakKvPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 
 import java.util.List;
 
@@ -84,9 +84,9 @@ public class StoreOperation extends FutureOperation<StoreOperation.Response, Ria
         checkMessageType(rawMessage, RiakMessageCodes.MSG_PutResp);
         try
         {
-            return RiakKvPB.RpbPutResp.parseFrom(rawMessage.getData());
+            return RiakKvPB.RpbPutResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException e)
+        catch (IOException e)
         {
             logger.error("Invalid message received; {}", e);
             throw new IllegalArgumentException(e);
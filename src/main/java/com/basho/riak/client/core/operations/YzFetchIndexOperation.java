@@ -21,7 +21,7 @@ import com.basho.riak.client.core.query.search.YokozunaIndex;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakYokozunaPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 /**
@@ -69,9 +69,9 @@ public class YzFetchIndexOperation extends FutureOperation<YzFetchIndexOperation
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_YokozunaIndexGetResp);
         try
         {
-            return RiakYokozunaPB.RpbYokozunaIndexGetResp.parseFrom(rawMessage.getData());
+            return RiakYokozunaPB.RpbYokozunaIndexGetResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException ex)
+        catch (IOException ex)
         {
             throw new IllegalArgumentException("Invalid message received", ex);
         }
@@ -21,7 +21,7 @@ import com.basho.riak.client.core.query.search.YokozunaSchema;
 import com.basho.riak.protobuf.RiakMessageCodes;
 import com.basho.riak.protobuf.RiakYokozunaPB;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -64,9 +64,9 @@ public class YzGetSchemaOperation extends FutureOperation<YzGetSchemaOperation.R
         Operations.checkMessageType(rawMessage, RiakMessageCodes.MSG_YokozunaSchemaGetResp);
         try
         {
-            return RiakYokozunaPB.RpbYokozunaSchemaGetResp.parseFrom(rawMessage.getData());
+            return RiakYokozunaPB.RpbYokozunaSchemaGetResp.parseFrom(rawMessage.getCodedInputStream());
         }
-        catch (InvalidProtocolBufferException ex)
+        catch (IOException ex)
         {
             throw new IllegalArgumentException("Invalid message received", ex);
         }
@@ -21,6 +21,7 @@ import com.basho.riak.client.core.query.UserMetadata.RiakUserMetadata;
 import com.basho.riak.client.core.query.indexes.RiakIndexes;
 import com.basho.riak.client.core.query.links.RiakLinks;
 import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.client.core.util.BufferedValue;
 import com.basho.riak.client.core.util.CharsetUtils;
 import java.nio.charset.Charset;
 
@@ -60,6 +61,9 @@ public final class RiakObject
     // are not guaranteed to be seen outside of a single thread. We never 
     // expose it directly outside the RiakObject except via "unsafe" methods
     private volatile BinaryValue value;
+    // Set instead of value when the fetch asked for buffered values. Owned
+    // (and released) by the user.
+    private volatile BufferedValue bufferedValue;
     
     // Mutable collections 
     private volatile RiakIndexes riakIndexes;
@@ -95,17 +99,85 @@ public final class RiakObject
      */
     public boolean hasValue()
     {
-        return value != null;
+        return value != null || bufferedValue != null;
     }
     
     /**
      * Returns the value of this RiakObject.
-     * 
+     * <p>
+     * If the value is held in a {@link BufferedValue} it is copied onto the 
+     * heap the first time this is called. Use {@link #getBufferedValue()} 
+     * to read it without copying.
+     * </p>
      * @return the value of this RiakObject
      */
     public BinaryValue getValue()
     {
-        return value;
+        BinaryValue v = value;
+        if (v == null)
+        {
+            BufferedValue buffered = bufferedValue;
+            if (buffered != null)
+            {
+                v = buffered.toBinaryValue();
+                value = v;
+            }
+        }
+        return v;
+    }
+    
+    /**
+     * Returns whether the value of this RiakObject is held in a BufferedValue.
+     * @return true if a buffered value has been set, false otherwise.
+     * @see com.basho.riak.client.core.operations.FetchOperation.Builder#withValueAllocator(io.netty.buffer.ByteBufAllocator) 
+     */
+    public boolean hasBufferedValue()
+    {
+        return bufferedValue != null;
+    }
+    
+    /**
+     * Returns the buffered value of this RiakObject.
+     * <p>
+     * Objects fetched with a value allocator hold their value in a 
+     * {@code BufferedValue} rather than on the heap. The caller is 
+     * responsible for releasing it; see {@link #release()}.
+     * </p>
+     * @return the buffered value, or null if there isn't one.
+     */
+    public BufferedValue getBufferedValue()
+    {
+        return bufferedValue;
+    }
+    
+    /**
+     * Set the value for this RiakObject from a BufferedValue.
+     * <p>
+     * Ownership of the buffer passes to this object; it is not retained. 
+     * Any {@code BinaryValue} previously set is discarded.
+     * </p>
+     * @param value the value to be stored in Riak.
+     * @return a reference to this object.
+     */
+    public RiakObject setBufferedValue(BufferedValue value)
+    {
+        this.value = null;
+        this.bufferedValue = value;
+        return this;
+    }
+    
+    /**
+     * Release the buffered value of this RiakObject, if there is one.
+     * <p>
+     * A heap copy made by {@link #getValue()} remains available.
+     * </p>
+     * @return true if the buffer's reference count reached zero and its 
+     * memory was returned.
+     */
+    public boolean release()
+    {
+        BufferedValue buffered = bufferedValue;
+        return buffered != null && buffered.release();
     }
     
     /**
@@ -127,6 +199,7 @@ public final class RiakObject
             throw new IllegalArgumentException("value can not be zero length");
         }
         this.value = value;
+        this.bufferedValue = null;
         return this;
     }
     
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.tracing;
+
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakNode;
+
+/**
+ * Receives timed spans covering each stage of an operation's execution.
+ * <p>
+ * This shows where an operation's time went; building the request, 
+ * waiting for a connection, on the wire, decoding, converting, or in 
+ * listeners. Spans are reported as each stage ends, on the thread that 
+ * ran it, which is often a Netty I/O thread; implementations must be 
+ * thread safe and fast.
+ * </p>
+ * <p>
+ * By default a cluster uses {@link #NOOP}. Operations check for it 
+ * before reading the clock, so when tracing is off it costs a reference 
+ * comparison per stage and allocates nothing.
+ * </p>
+ * 
+ * @since 2.0.2
+ * @see com.basho.riak.client.core.RiakCluster.Builder#withOperationTracer(OperationTracer) 
+ */
+public interface OperationTracer
+{
+    /**
+     * A tracer that ignores everything.
+     */
+    OperationTracer NOOP = new OperationTracer()
+    {
+        @Override
+        public void span(FutureOperation<?, ?, ?> operation, TraceStage stage, 
+                         long startNanos, long endNanos, RiakNode node, int attempt)
+        {
+        }
+    };
+    
+    /**
+     * Reports a completed stage.
+     * @param operation the operation.
+     * @param stage the stage that completed.
+     * @param startNanos when the stage started, from {@link System#nanoTime()}.
+     * @param endNanos when the stage ended, from {@link System#nanoTime()}.
+     * @param node the node executing the operation, or null before it's 
+     * been sent to one.
+     * @param attempt 1 for the first attempt, 2 for the first retry, and so
+     * on; 0 before the first attempt.
+     */
+    void span(FutureOperation<?, ?, ?> operation, TraceStage stage, 
+              long startNanos, long endNanos, RiakNode node, int attempt);
+}
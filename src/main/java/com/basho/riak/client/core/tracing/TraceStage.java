@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.tracing;
+
+/**
+ * The stages of an operation's life reported to an {@link OperationTracer}.
+ * <p>
+ * For each attempt the stages follow one another; each span starts where
+ * the previous one ended. A streaming operation reports {@code RESPONSE} 
+ * and {@code DECODE} once per message.
+ * </p>
+ * 
+ * @since 2.0.2
+ */
+public enum TraceStage
+{
+    /**
+     * From the command being executed by the RiakClient to its operation 
+     * being submitted to the cluster; building the request, including 
+     * converting the domain object.
+     */
+    COMMAND,
+    /**
+     * From a node accepting the operation to it being written to a 
+     * connection; waiting for a connection permit and any new connection. 
+     */
+    CONNECTION_WAIT,
+    /**
+     * Encoding the request and writing it to the socket.
+     */
+    WRITE,
+    /**
+     * From the write completing to a response arriving; the network and Riak.
+     */
+    RESPONSE,
+    /**
+     * Decoding a response message.
+     */
+    DECODE,
+    /**
+     * Converting the decoded response into the operation's result. This 
+     * happens when the result is first asked for.
+     */
+    CONVERT,
+    /**
+     * Notifying the operation's listeners that it has completed.
+     */
+    LISTENERS
+}
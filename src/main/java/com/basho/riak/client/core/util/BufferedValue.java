@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.ReferenceCounted;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A value held in a reference counted Netty {@code ByteBuf}.
+ * <p>
+ * Unlike {@link BinaryValue} the bytes are never copied onto the heap unless
+ * you ask for it with {@link #toBinaryValue()}. The buffer may be direct
+ * (off-heap) and may come from a pool, so large values don't add to garbage
+ * collection pressure. Read it with {@link #asInputStream()} or
+ * {@link #asByteBuffer()}, then call {@link #release()} to return the memory.
+ * </p>
+ * @riak.threadsafety The views returned by this class share the underlying
+ * memory. Using a view or calling {@link #toBinaryValue()} after the last
+ * {@link #release()} results in an {@code IllegalReferenceCountException}.
+ * @since 2.0.2
+ */
+public final class BufferedValue implements ReferenceCounted
+{
+    private final ByteBuf buffer;
+
+    private BufferedValue(ByteBuf buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create a BufferedValue that takes ownership of the supplied buffer.
+     * <p>
+     * The readable bytes of the buffer are the value. The buffer is not
+     * copied or retained; it is released when this value is released.
+     * </p>
+     * @param buffer the buffer to wrap.
+     * @return a new {@code BufferedValue}
+     * @throws IllegalArgumentException if {@code buffer} is null or empty.
+     */
+    public static BufferedValue wrap(ByteBuf buffer)
+    {
+        if (buffer == null || !buffer.isReadable())
+        {
+            throw new IllegalArgumentException("buffer can not be null or empty");
+        }
+        return new BufferedValue(buffer);
+    }
+
+    /**
+     * Return the length of the value in bytes.
+     * @return the length.
+     */
+    public int length()
+    {
+        return buffer.readableBytes();
+    }
+
+    /**
+     * Return whether the value is held outside the Java heap.
+     * @return true if the underlying buffer is direct.
+     */
+    public boolean isDirect()
+    {
+        return buffer.isDirect();
+    }
+
+    /**
+     * Return an InputStream that reads the value.
+     * <p>
+     * Each call returns a new stream positioned at the start of the value.
+     * Closing the stream does not release this value.
+     * </p>
+     * @return a new {@code InputStream} over the value.
+     */
+    public InputStream asInputStream()
+    {
+        return new ByteBufInputStream(buffer.duplicate());
+    }
+
+    /**
+     * Return a read only ByteBuffer view of the value.
+     * <p>
+     * Where the underlying buffer is a single region of memory no copy is made.
+     * </p>
+     * @return a new read only {@code ByteBuffer} over the value.
+     */
+    public ByteBuffer asByteBuffer()
+    {
+        return buffer.nioBuffer().asReadOnlyBuffer();
+    }
+
+    /**
+     * Return the underlying ByteBuf.
+     * @return the buffer holding the value.
+     * @riak.threadsafety Changing the reader or writer index or the contents
+     * of the returned buffer will lead to undefined behavior.
+     */
+    public ByteBuf unsafeGetBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Copy the value onto the heap.
+     * @return a new {@code BinaryValue} containing a copy of the value.
+     */
+    public BinaryValue toBinaryValue()
+    {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return BinaryValue.unsafeCreate(bytes);
+    }
+
+    @Override
+    public int refCnt()
+    {
+        return buffer.refCnt();
+    }
+
+    @Override
+    public BufferedValue retain()
+    {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public BufferedValue retain(int increment)
+    {
+        buffer.retain(increment);
+        return this;
+    }
+
+    @Override
+    public boolean release()
+    {
+        return buffer.release();
+    }
+
+    @Override
+    public boolean release(int decrement)
+    {
+        return buffer.release(decrement);
+    }
+}
@@ -97,5 +97,6 @@ public interface Constants {
     public static final String RESPONSE_HANDLER = "responseHandler";
     public static final String SSL_HANDLER = "sslHandler";
     public static final String HEALTHCHECK_CODEC = "healthCheckCodec";
+    public static final String WRITE_COALESCER = "writeCoalescer";
     
 }
@@ -50,6 +50,16 @@ public class ConflictResolverFactoryTest
         resolver.resolve(Arrays.asList(new Pojo()));
     }
     
+    @Test
+    public void defaultResolverIsShared()
+    {
+        ConflictResolverFactory factory = ConflictResolverFactory.getInstance();
+        ConflictResolver<Pojo> resolver = factory.getConflictResolver(Pojo.class);
+        ConflictResolver<String> other = factory.getConflictResolver(String.class);
+        
+        assertSame(resolver, other);
+    }
+    
     @Test
     public void registerResolverClass() throws UnresolvedConflictException
     {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.cap;
+
+import com.basho.riak.client.core.query.RiakObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class RiakObjectResolverTest
+{
+    private RiakObject sibling(String vtag, long lastModified, boolean deleted)
+    {
+        return new RiakObject().setVTag(vtag).setLastModified(lastModified).setDeleted(deleted);
+    }
+    
+    @Test
+    public void lastModifiedWins() throws UnresolvedConflictException
+    {
+        RiakObject older = sibling("b", 100, false);
+        RiakObject newer = sibling("a", 200, false);
+        LastModifiedWinsResolver resolver = new LastModifiedWinsResolver();
+        
+        assertSame(newer, resolver.resolve(Arrays.asList(older, newer)));
+        assertSame(newer, resolver.resolve(Arrays.asList(newer, older)));
+        assertNull(resolver.resolve(new ArrayList<RiakObject>()));
+        
+        // Ties are broken by vtag
+        RiakObject tied = sibling("c", 200, false);
+        assertSame(tied, resolver.resolve(Arrays.asList(newer, tied)));
+        assertSame(tied, resolver.resolve(Arrays.asList(tied, newer)));
+    }
+    
+    @Test
+    public void vtagOrdered() throws UnresolvedConflictException
+    {
+        RiakObject a = sibling("a", 300, false);
+        RiakObject b = sibling("b", 100, false);
+        RiakObject none = sibling(null, 500, false);
+        VTagOrderedResolver resolver = new VTagOrderedResolver();
+        
+        assertSame(b, resolver.resolve(Arrays.asList(a, b, none)));
+        assertSame(b, resolver.resolve(Arrays.asList(none, b, a)));
+    }
+    
+    @Test
+    public void tombstonesIgnoredWhenLiveSiblingsExist() throws UnresolvedConflictException
+    {
+        RiakObject live = sibling("a", 100, false);
+        RiakObject tombstone = sibling("b", 200, true);
+        TombstoneAwareResolver resolver = new TombstoneAwareResolver();
+        
+        assertSame(live, resolver.resolve(Arrays.asList(tombstone, live)));
+        
+        RiakObject newerLive = sibling("c", 150, false);
+        assertSame(newerLive, resolver.resolve(Arrays.asList(live, tombstone, newerLive)));
+        
+        RiakObject olderTombstone = sibling("d", 50, true);
+        assertSame(tombstone, resolver.resolve(Arrays.asList(olderTombstone, tombstone)));
+    }
+    
+    @Test
+    public void tombstoneAwareDelegatesLiveSiblings() throws UnresolvedConflictException
+    {
+        final List<Integer> sizes = new ArrayList<Integer>();
+        TombstoneAwareResolver resolver = new TombstoneAwareResolver(new ConflictResolver<RiakObject>()
+        {
+            @Override
+            public RiakObject resolve(List<RiakObject> siblings)
+            {
+                sizes.add(siblings.size());
+                return siblings.get(0);
+            }
+        });
+        
+        RiakObject first = sibling("a", 100, false);
+        resolver.resolve(Arrays.asList(sibling("b", 200, true), first, sibling("c", 300, false)));
+        resolver.resolve(Arrays.asList(first, sibling("c", 300, false)));
+        assertSame(2, sizes.size());
+        assertSame(2, sizes.get(0));
+        assertSame(2, sizes.get(1));
+    }
+}
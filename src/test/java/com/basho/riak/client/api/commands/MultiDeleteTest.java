@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.commands.kv.MultiDelete;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.operations.DeleteOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import static org.mockito.Mockito.*;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class MultiDeleteTest
+{
+    @Test
+    public void deletesStreamAsTheyComplete() throws Exception
+    {
+        final List<DeleteOperation> executed = new ArrayList<DeleteOperation>();
+        RiakCluster cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<DeleteOperation>()
+        {
+            @Override
+            public DeleteOperation answer(InvocationOnMock invocation)
+            {
+                DeleteOperation op = (DeleteOperation) invocation.getArguments()[0];
+                executed.add(op);
+                return op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<Void, ?, Location>>any());
+        
+        Namespace ns = new Namespace("bucket");
+        MultiDelete md = new MultiDelete.Builder()
+            .addLocations(new Location(ns, "key0"), new Location(ns, "key1"), new Location(ns, "key2"))
+            .withTimeout(1000)
+            .withMaxInFlight(3)
+            .build();
+        
+        RiakFuture<MultiDelete.Response, List<Location>> future = 
+            new RiakClient(cluster).executeAsyncStreaming(md, 3);
+        Iterator<RiakFuture<Void, Location>> iterator = future.get().iterator();
+        assertEquals(3, executed.size());
+        
+        for (int i = 2; i >= 0; i--)
+        {
+            DeleteOperation op = executed.get(i);
+            RiakKvPB.RpbDelReq.Builder builder = 
+                (RiakKvPB.RpbDelReq.Builder) Whitebox.getInternalState(op, "reqBuilder");
+            assertEquals(1000, builder.getTimeout());
+            op.setResponse(new RiakMessage(RiakMessageCodes.MSG_DelResp, new byte[0]));
+        }
+        
+        for (int i = 2; i >= 0; i--)
+        {
+            RiakFuture<Void, Location> f = iterator.next();
+            assertTrue(f.isSuccess());
+            assertEquals("key" + i, f.getQueryInfo().getKeyAsString());
+        }
+        assertFalse(iterator.hasNext());
+        assertTrue(future.isDone());
+        assertEquals(3, future.get().getStats().getCompletedCount());
+    }
+}
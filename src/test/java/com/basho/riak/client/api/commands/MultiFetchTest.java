@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.commands.kv.FetchValue;
+import com.basho.riak.client.api.commands.kv.MultiFetch;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.operations.FetchOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class MultiFetchTest
+{
+    private final Namespace ns = new Namespace("bucket");
+    private final List<FetchOperation> executed = new ArrayList<FetchOperation>();
+    private boolean completeImmediately;
+    private String failToSend;
+    private RiakClient client;
+    
+    @Before
+    public void setUp()
+    {
+        RiakCluster cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<FetchOperation>()
+        {
+            @Override
+            public FetchOperation answer(InvocationOnMock invocation)
+            {
+                FetchOperation op = (FetchOperation) invocation.getArguments()[0];
+                if (op.getQueryInfo().getKeyAsString().equals(failToSend))
+                {
+                    throw new IllegalStateException("required: [RUNNING] current: SHUTDOWN");
+                }
+                executed.add(op);
+                if (completeImmediately)
+                {
+                    complete(op);
+                }
+                return op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<Object, ?, Object>>any());
+        client = new RiakClient(cluster);
+    }
+    
+    private void complete(FetchOperation op)
+    {
+        op.setResponse(new RiakMessage(RiakMessageCodes.MSG_GetResp, 
+                                       RiakKvPB.RpbGetResp.newBuilder().build().toByteArray()));
+    }
+    
+    private MultiFetch multiFetch(int numLocations, int maxInFlight)
+    {
+        MultiFetch.Builder builder = new MultiFetch.Builder().withMaxInFlight(maxInFlight);
+        for (int i = 0; i < numLocations; i++)
+        {
+            builder.addLocation(new Location(ns, "key" + i));
+        }
+        return builder.build();
+    }
+    
+    @Test
+    public void completionSendsNextFetchAndResultsKeepOrder() throws Exception
+    {
+        RiakFuture<MultiFetch.Response, List<Location>> future = 
+            client.executeAsync(multiFetch(5, 2));
+        assertEquals(2, executed.size());
+        
+        complete(executed.get(1));
+        assertEquals(3, executed.size());
+        
+        complete(executed.get(2));
+        complete(executed.get(0));
+        assertEquals(5, executed.size());
+        assertFalse(future.isDone());
+        
+        complete(executed.get(3));
+        complete(executed.get(4));
+        
+        assertTrue(future.isDone());
+        List<RiakFuture<FetchValue.Response, Location>> responses = future.get().getResponses();
+        assertEquals(5, responses.size());
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals("key" + i, responses.get(i).getQueryInfo().getKeyAsString());
+        }
+    }
+    
+    @Test
+    public void immediateCompletionsDoNotRecurse() throws Exception
+    {
+        completeImmediately = true;
+        RiakFuture<MultiFetch.Response, List<Location>> future = 
+            client.executeAsync(multiFetch(20000, 1));
+        assertTrue(future.isDone());
+        assertEquals(20000, future.get().getResponses().size());
+    }
+    
+    @Test
+    public void emptyMultiFetchCompletes() throws Exception
+    {
+        RiakFuture<MultiFetch.Response, List<Location>> future = 
+            client.executeAsync(multiFetch(0, 2));
+        assertTrue(future.isDone());
+        assertTrue(future.get().getResponses().isEmpty());
+    }
+    
+    @Test
+    public void fetchThatCantBeSentDoesNotStallTheBatch() throws Exception
+    {
+        failToSend = "key1";
+        RiakFuture<MultiFetch.Response, List<Location>> future = 
+            client.executeAsync(multiFetch(4, 2));
+        // key1 failed on this thread and key2 was sent in its place
+        assertEquals(2, executed.size());
+        
+        complete(executed.get(0));
+        complete(executed.get(1));
+        complete(executed.get(2));
+        
+        assertTrue(future.isDone());
+        List<RiakFuture<FetchValue.Response, Location>> responses = future.get().getResponses();
+        assertEquals(4, responses.size());
+        assertFalse(responses.get(1).isSuccess());
+        assertEquals("key1", responses.get(1).getQueryInfo().getKeyAsString());
+        assertTrue(responses.get(1).cause() instanceof IllegalStateException);
+        assertTrue(responses.get(3).isSuccess());
+    }
+    
+    @Test(expected = TimeoutException.class)
+    public void timedGetThrowsWhileFetchesAreOutstanding() throws Exception
+    {
+        RiakFuture<MultiFetch.Response, List<Location>> future = 
+            client.executeAsync(multiFetch(2, 2));
+        future.get(10, TimeUnit.MILLISECONDS);
+    }
+    
+    @Test
+    public void streamedResultsArriveInCompletionOrder() throws Exception
+    {
+        RiakFuture<MultiFetch.Response, List<Location>> future = 
+            client.executeAsyncStreaming(multiFetch(4, 2), 1);
+        Iterator<RiakFuture<FetchValue.Response, Location>> iterator = future.get().iterator();
+        assertEquals(2, executed.size());
+        
+        complete(executed.get(1));
+        assertEquals(3, executed.size());
+        complete(executed.get(0));
+        // Two completions are waiting; the next fetch waits for the consumer
+        assertEquals(3, executed.size());
+        
+        assertEquals("key1", iterator.next().getQueryInfo().getKeyAsString());
+        assertEquals(4, executed.size());
+        assertEquals("key0", iterator.next().getQueryInfo().getKeyAsString());
+        
+        complete(executed.get(3));
+        complete(executed.get(2));
+        assertEquals("key3", iterator.next().getQueryInfo().getKeyAsString());
+        assertEquals("key2", iterator.next().getQueryInfo().getKeyAsString());
+        assertFalse(iterator.hasNext());
+        assertTrue(future.isDone());
+    }
+}
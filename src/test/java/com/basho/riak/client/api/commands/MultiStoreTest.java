@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.cap.Quorum;
+import com.basho.riak.client.api.convert.ConversionException;
+import com.basho.riak.client.api.commands.kv.MultiStore;
+import com.basho.riak.client.api.commands.kv.StoreValue;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.operations.StoreOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import static org.mockito.Mockito.*;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class MultiStoreTest
+{
+    public static class Pojo
+    {
+        public String value = "pojo";
+    }
+    
+    public static class BadPojo
+    {
+        public String getValue()
+        {
+            throw new IllegalStateException("can't serialize");
+        }
+    }
+    
+    @Test
+    public void storesEachValueWithSharedOptions() throws Exception
+    {
+        final List<StoreOperation> executed = new ArrayList<StoreOperation>();
+        RiakCluster cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<StoreOperation>()
+        {
+            @Override
+            public StoreOperation answer(InvocationOnMock invocation)
+            {
+                StoreOperation op = (StoreOperation) invocation.getArguments()[0];
+                executed.add(op);
+                return op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<StoreOperation.Response, ?, Location>>any());
+        
+        Namespace ns = new Namespace("bucket");
+        RiakObject ro = new RiakObject().setValue(BinaryValue.create("value"));
+        MultiStore ms = new MultiStore.Builder()
+            .addValue(new Location(ns, "key0"), ro)
+            .addValue(new Location(ns, "key1"), new Pojo())
+            .addValue(new Location(ns, "key2"), new Pojo())
+            .withOption(StoreValue.Option.W, new Quorum(2))
+            .withMaxInFlight(2)
+            .build();
+        
+        RiakFuture<MultiStore.Response, List<Location>> future = 
+            new RiakClient(cluster).executeAsync(ms);
+        assertEquals(2, executed.size());
+        
+        for (int i = 0; i < 3; i++)
+        {
+            StoreOperation op = executed.get(i);
+            RiakKvPB.RpbPutReq.Builder builder = 
+                (RiakKvPB.RpbPutReq.Builder) Whitebox.getInternalState(op, "reqBuilder");
+            assertEquals(2, builder.getW());
+            assertEquals("key" + i, builder.getKey().toStringUtf8());
+            op.setResponse(new RiakMessage(RiakMessageCodes.MSG_PutResp, 
+                                           RiakKvPB.RpbPutResp.newBuilder().build().toByteArray()));
+        }
+        
+        assertTrue(future.isDone());
+        MultiStore.Response response = future.get();
+        assertEquals(3, response.getResponses().size());
+        assertEquals("key1", response.getResponses().get(1).getQueryInfo().getKeyAsString());
+        assertEquals(3, response.getStats().getCompletedCount());
+        assertEquals(0, response.getStats().getFailedCount());
+    }
+    
+    @Test
+    public void failureToSendIsReportedPerItem() throws Exception
+    {
+        RiakCluster cluster = mock(RiakCluster.class);
+        doThrow(new IllegalStateException("shut down"))
+            .when(cluster).execute(Matchers.<FutureOperation<StoreOperation.Response, ?, Location>>any());
+        
+        Namespace ns = new Namespace("bucket");
+        MultiStore ms = new MultiStore.Builder()
+            .addValue(new Location(ns, "key0"), new Pojo())
+            .addValue(new Location(ns, "key1"), new Pojo())
+            .build();
+        
+        MultiStore.Response response = new RiakClient(cluster).execute(ms);
+        assertEquals(2, response.getStats().getFailedCount());
+        RiakFuture<StoreValue.Response, Location> f = response.getResponses().get(0);
+        assertFalse(f.isSuccess());
+        assertEquals("key0", f.getQueryInfo().getKeyAsString());
+        assertTrue(f.cause() instanceof IllegalStateException);
+    }
+    
+    @Test
+    public void valueThatCantBeConvertedFailsOnlyItsStore() throws Exception
+    {
+        final List<StoreOperation> executed = new ArrayList<StoreOperation>();
+        RiakCluster cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<StoreOperation>()
+        {
+            @Override
+            public StoreOperation answer(InvocationOnMock invocation)
+            {
+                StoreOperation op = (StoreOperation) invocation.getArguments()[0];
+                executed.add(op);
+                op.setResponse(new RiakMessage(RiakMessageCodes.MSG_PutResp, 
+                                               RiakKvPB.RpbPutResp.newBuilder().build().toByteArray()));
+                return op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<StoreOperation.Response, ?, Location>>any());
+        
+        Namespace ns = new Namespace("bucket");
+        MultiStore ms = new MultiStore.Builder()
+            .addValue(new Location(ns, "key0"), new Pojo())
+            .addValue(new Location(ns, "key1"), new BadPojo())
+            .addValue(new Location(ns, "key2"), new Pojo())
+            .build();
+        
+        MultiStore.Response response = new RiakClient(cluster).execute(ms);
+        assertEquals(2, executed.size());
+        assertEquals(1, response.getStats().getFailedCount());
+        assertTrue(response.getResponses().get(0).isSuccess());
+        RiakFuture<StoreValue.Response, Location> f = response.getResponses().get(1);
+        assertFalse(f.isSuccess());
+        assertEquals("key1", f.getQueryInfo().getKeyAsString());
+        assertTrue(f.cause() instanceof ConversionException);
+        assertTrue(response.getResponses().get(2).isSuccess());
+    }
+}
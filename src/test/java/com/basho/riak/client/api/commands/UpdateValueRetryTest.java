@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.commands.kv.UpdateValue;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RetryPolicy;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakFutureListener;
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.netty.RiakResponseException;
+import com.basho.riak.client.core.operations.FetchOperation;
+import com.basho.riak.client.core.operations.StoreOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+import org.mockito.Matchers;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class UpdateValueRetryTest
+{
+    private final Location location = new Location(new Namespace("bucket"), "key");
+    private final List<RiakKvPB.RpbPutReq.Builder> stores = 
+        new ArrayList<RiakKvPB.RpbPutReq.Builder>();
+    private RiakCluster cluster;
+    private int conflicts;
+    private int fetches;
+    private boolean rejectRetries;
+    
+    @Before
+    public void setUp()
+    {
+        cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<RiakFuture<?, ?>>()
+        {
+            @Override
+            public RiakFuture<?, ?> answer(InvocationOnMock invocation)
+            {
+                Object op = invocation.getArguments()[0];
+                if (op instanceof FetchOperation)
+                {
+                    if (rejectRetries && fetches > 0)
+                    {
+                        throw new IllegalStateException("shutting down");
+                    }
+                    fetches++;
+                    RiakKvPB.RpbGetResp resp = RiakKvPB.RpbGetResp.newBuilder()
+                        .setVclock(ByteString.copyFromUtf8("vclock" + fetches))
+                        .addContent(RiakKvPB.RpbContent.newBuilder()
+                            .setValue(ByteString.copyFromUtf8("value")))
+                        .build();
+                    ((FetchOperation) op).setResponse(
+                        new RiakMessage(RiakMessageCodes.MSG_GetResp, resp.toByteArray()));
+                    return (FetchOperation) op;
+                }
+                else
+                {
+                    stores.add((RiakKvPB.RpbPutReq.Builder) Whitebox.getInternalState(op, "reqBuilder"));
+                    if (conflicts > 0)
+                    {
+                        conflicts--;
+                        return new FailedFuture(new RiakResponseException(0, "modified"));
+                    }
+                    ((StoreOperation) op).setResponse(
+                        new RiakMessage(RiakMessageCodes.MSG_PutResp, new byte[0]));
+                    return (StoreOperation) op;
+                }
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<Object, ?, Object>>any());
+        doAnswer(new Answer<Void>()
+        {
+            @Override
+            public Void answer(InvocationOnMock invocation)
+            {
+                try
+                {
+                    ((Runnable) invocation.getArguments()[0]).run();
+                }
+                catch (RuntimeException ex)
+                {
+                    // Dropped, as the cluster's executor would.
+                }
+                return null;
+            }
+        }).when(cluster).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+    
+    @Test
+    public void unconditionalByDefault() throws Exception
+    {
+        UpdateValue.Response response = new RiakClient(cluster).execute(
+            new UpdateValue.Builder(location).withUpdate(new Append()).build());
+        
+        assertEquals(1, response.getAttempts());
+        assertEquals(1, stores.size());
+        assertFalse(stores.get(0).hasIfNotModified());
+    }
+    
+    @Test
+    public void retriesAfterConflict() throws Exception
+    {
+        conflicts = 2;
+        Append update = new Append();
+        UpdateValue.Response response = new RiakClient(cluster).execute(
+            new UpdateValue.Builder(location).withUpdate(update).withRetryOnConflict(5).build());
+        
+        assertTrue(response.wasUpdated());
+        assertEquals(3, response.getAttempts());
+        assertEquals(3, fetches);
+        assertEquals(3, update.applied);
+        for (int i = 0; i < 3; i++)
+        {
+            assertTrue(stores.get(i).getIfNotModified());
+            assertEquals("vclock" + (i + 1), stores.get(i).getVclock().toStringUtf8());
+        }
+        verify(cluster, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+    
+    @Test
+    public void givesUpAfterMaxAttempts() throws Exception
+    {
+        conflicts = 10;
+        try
+        {
+            new RiakClient(cluster).execute(
+                new UpdateValue.Builder(location)
+                    .withUpdate(new Append())
+                    .withRetryOnConflict(3, RetryPolicy.IMMEDIATE)
+                    .build());
+            fail("Expected ExecutionException");
+        }
+        catch (ExecutionException ex)
+        {
+            assertEquals("modified", ex.getCause().getMessage());
+        }
+        assertEquals(3, stores.size());
+        verify(cluster, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+    
+    @Test
+    public void retryThatCantBeSentFailsTheUpdate() throws Exception
+    {
+        conflicts = 1;
+        rejectRetries = true;
+        RiakFuture<UpdateValue.Response, Location> future = new RiakClient(cluster).executeAsync(
+            new UpdateValue.Builder(location).withUpdate(new Append()).withRetryOnConflict(3).build());
+        
+        future.await(1, TimeUnit.SECONDS);
+        assertTrue(future.isDone());
+        assertFalse(future.isSuccess());
+        assertTrue(future.cause() instanceof IllegalStateException);
+    }
+    
+    private static class Append extends UpdateValue.Update<RiakObject>
+    {
+        int applied;
+        
+        @Override
+        public RiakObject apply(RiakObject original)
+        {
+            applied++;
+            original.setValue(BinaryValue.create(original.getValue().toString() + "!"));
+            return original;
+        }
+    }
+    
+    private static class FailedFuture implements RiakFuture<Object, Object>
+    {
+        private final Throwable cause;
+        
+        FailedFuture(Throwable cause)
+        {
+            this.cause = cause;
+        }
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            return false;
+        }
+
+        @Override
+        public Object get() throws ExecutionException
+        {
+            throw new ExecutionException(cause);
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) throws ExecutionException
+        {
+            throw new ExecutionException(cause);
+        }
+
+        @Override
+        public Object getNow()
+        {
+            return null;
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return true;
+        }
+
+        @Override
+        public void await()
+        {
+        }
+
+        @Override
+        public void await(long timeout, TimeUnit unit)
+        {
+        }
+
+        @Override
+        public boolean isSuccess()
+        {
+            return false;
+        }
+
+        @Override
+        public Throwable cause()
+        {
+            return cause;
+        }
+
+        @Override
+        public Object getQueryInfo()
+        {
+            return null;
+        }
+
+        @Override
+        public void addListener(RiakFutureListener<Object, Object> listener)
+        {
+            listener.handle(this);
+        }
+
+        @Override
+        public void removeListener(RiakFutureListener<Object, Object> listener)
+        {
+        }
+    }
+}
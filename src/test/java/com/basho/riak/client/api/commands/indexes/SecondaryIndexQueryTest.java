@@ -16,12 +16,31 @@
 
 package com.basho.riak.client.api.commands.indexes;
 
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.RiakCommand;
+import com.basho.riak.client.core.ChunkListener;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakMessage;
 import com.basho.riak.client.core.operations.SecondaryIndexQueryOperation;
 import com.basho.riak.client.core.query.Namespace;
 import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Test;
+import org.mockito.Matchers;
+import static org.mockito.Mockito.*;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 /**
  *
@@ -162,4 +181,123 @@ public class SecondaryIndexQueryTest
         assertEquals(indexEnd, query.getRangeEnd());
         
     }
+    
+    private RiakMessage indexMessage(String continuation, boolean done, String... keys)
+    {
+        RiakKvPB.RpbIndexResp.Builder builder = RiakKvPB.RpbIndexResp.newBuilder();
+        for (String key : keys)
+        {
+            builder.addKeys(ByteString.copyFromUtf8(key));
+        }
+        if (continuation != null)
+        {
+            builder.setContinuation(ByteString.copyFromUtf8(continuation));
+        }
+        builder.setDone(done);
+        return new RiakMessage(RiakMessageCodes.MSG_IndexResp, builder.build().toByteArray());
+    }
+    
+    @Test
+    public void streamingQueryFollowsContinuations() throws Exception
+    {
+        Namespace ns = new Namespace("bucket_type", "bucket_name");
+        final List<BinaryValue> continuations = new ArrayList<BinaryValue>();
+        
+        RiakCluster cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<SecondaryIndexQueryOperation>()
+        {
+            @Override
+            public SecondaryIndexQueryOperation answer(InvocationOnMock invocation)
+            {
+                SecondaryIndexQueryOperation op = 
+                    (SecondaryIndexQueryOperation) invocation.getArguments()[0];
+                continuations.add(op.getQueryInfo().getContinuation());
+                if (continuations.size() == 1)
+                {
+                    op.setResponse(indexMessage(null, false, "k1", "k2"));
+                    op.setResponse(indexMessage("page2", true));
+                }
+                else
+                {
+                    op.setResponse(indexMessage(null, false, "k3"));
+                    op.setResponse(indexMessage(null, true));
+                }
+                return op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<SecondaryIndexQueryOperation.Response, ?, SecondaryIndexQueryOperation.Query>>any());
+        
+        BinIndexQuery query = new BinIndexQuery.Builder(ns, "test_index", "aaa", "zzz")
+            .withMaxResults(2)
+            .withPaginationSort(true)
+            .build();
+        
+        final List<String> keys = new ArrayList<String>();
+        RiakCommand<Void, BinIndexQuery> command = 
+            query.streamTo(new ChunkListener<BinIndexQuery.Response>()
+            {
+                @Override
+                public void onChunk(BinIndexQuery.Response chunk)
+                {
+                    for (BinIndexQuery.Response.Entry e : chunk.getEntries())
+                    {
+                        keys.add(e.getRiakObjectLocation().getKeyAsString());
+                    }
+                }
+            });
+        
+        RiakFuture<Void, BinIndexQuery> future = new RiakClient(cluster).executeAsync(command);
+        future.get(1, TimeUnit.SECONDS);
+        
+        assertTrue(future.isSuccess());
+        assertEquals(query, future.getQueryInfo());
+        assertEquals(2, continuations.size());
+        assertEquals(null, continuations.get(0));
+        assertEquals("page2", continuations.get(1).toString());
+        assertEquals(3, keys.size());
+        assertEquals("k3", keys.get(2));
+    }
+    
+    @Test
+    public void streamedQueryReturnsEachMessage() throws Exception
+    {
+        Namespace ns = new Namespace("bucket_type", "bucket_name");
+        
+        RiakCluster cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<SecondaryIndexQueryOperation>()
+        {
+            @Override
+            public SecondaryIndexQueryOperation answer(InvocationOnMock invocation)
+            {
+                SecondaryIndexQueryOperation op = 
+                    (SecondaryIndexQueryOperation) invocation.getArguments()[0];
+                assertTrue(op.isStreamingResults());
+                op.setResponse(indexMessage(null, false, "k1", "k2"));
+                op.setResponse(indexMessage(null, false, "k3"));
+                op.setResponse(indexMessage("page2", true));
+                return op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<SecondaryIndexQueryOperation.Response, ?, SecondaryIndexQueryOperation.Query>>any());
+        
+        BinIndexQuery query = new BinIndexQuery.Builder(ns, "test_index", "aaa", "zzz")
+            .withMaxResults(3)
+            .withPaginationSort(true)
+            .build();
+        
+        RiakFuture<SecondaryIndexQuery.StreamingResponse<BinIndexQuery.Response>, BinIndexQuery> future = 
+            new RiakClient(cluster).executeAsyncStreaming(query.stream(), 4);
+        
+        List<BinIndexQuery.Response> chunks = new ArrayList<BinIndexQuery.Response>();
+        for (BinIndexQuery.Response chunk : future.get())
+        {
+            chunks.add(chunk);
+        }
+        
+        assertTrue(future.isSuccess());
+        assertEquals(query, future.getQueryInfo());
+        assertEquals(3, chunks.size());
+        assertEquals(2, chunks.get(0).getEntries().size());
+        assertEquals("k3", chunks.get(1).getEntries().get(0).getRiakObjectLocation().getKeyAsString());
+        assertFalse(chunks.get(2).hasEntries());
+        assertEquals("page2", chunks.get(2).getContinuation().toString());
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import com.basho.riak.client.api.cap.BasicVClock;
+import com.basho.riak.client.api.cap.LastModifiedWinsResolver;
+import com.basho.riak.client.api.convert.ConversionException;
+import com.basho.riak.client.api.convert.Converter;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class FetchValueResponseTest
+{
+    private final Location location = new Location(new Namespace("bucket"), "key");
+    
+    @Test
+    public void resolvesBeforeConverting() throws Exception
+    {
+        BasicVClock vclock = new BasicVClock(new byte[] { 1 });
+        RiakObject older = new RiakObject().setValue(BinaryValue.create("older"))
+            .setLastModified(100).setVClock(vclock);
+        RiakObject newer = new RiakObject().setValue(BinaryValue.create("newer"))
+            .setLastModified(200).setVClock(vclock);
+        FetchValue.Response response = new FetchValue.Response.Builder()
+            .withLocation(location)
+            .withValues(Arrays.asList(older, newer, older))
+            .build();
+        
+        CountingConverter converter = new CountingConverter();
+        assertEquals("newer", response.getValue(new LastModifiedWinsResolver(), converter));
+        assertEquals(1, converter.conversions);
+        assertEquals("newer", response.getValue(new LastModifiedWinsResolver(), String.class));
+    }
+    
+    @Test
+    public void noValues() throws Exception
+    {
+        FetchValue.Response response = new FetchValue.Response.Builder()
+            .withLocation(location)
+            .withNotFound(true)
+            .build();
+        
+        assertNull(response.getValue(new LastModifiedWinsResolver(), String.class));
+    }
+    
+    private static class CountingConverter extends Converter<String>
+    {
+        int conversions;
+        
+        CountingConverter()
+        {
+            super(String.class);
+        }
+        
+        @Override
+        public String toDomain(BinaryValue value, String contentType) throws ConversionException
+        {
+            conversions++;
+            return value.toString();
+        }
+
+        @Override
+        public ContentAndType fromDomain(String domainObject) throws ConversionException
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.api.commands.kv;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.cap.Quorum;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakFuture;
+import com.basho.riak.client.core.RiakFutureListener;
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.operations.DeleteOperation;
+import com.basho.riak.client.core.operations.FetchOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.google.protobuf.ByteString;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.*;
+import org.mockito.Matchers;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class ValueCacheTest
+{
+    private final Namespace ns = new Namespace("bucket");
+    private RiakCluster cluster;
+    private int fetches;
+    private int conditionalFetches;
+    // When set, fetches are left for the test to answer with respond().
+    private boolean holdFetches;
+    private FetchOperation heldFetch;
+    
+    @Before
+    public void setUp()
+    {
+        cluster = mock(RiakCluster.class);
+        doAnswer(new Answer<FutureOperation<?, ?, ?>>()
+        {
+            @Override
+            public FutureOperation<?, ?, ?> answer(InvocationOnMock invocation)
+            {
+                Object op = invocation.getArguments()[0];
+                if (op instanceof FetchOperation)
+                {
+                    fetches++;
+                    if (holdFetches)
+                    {
+                        heldFetch = (FetchOperation) op;
+                    }
+                    else
+                    {
+                        respond((FetchOperation) op);
+                    }
+                }
+                else if (op instanceof DeleteOperation)
+                {
+                    ((DeleteOperation) op).setResponse(new RiakMessage(RiakMessageCodes.MSG_DelResp, new byte[0]));
+                }
+                return (FutureOperation<?, ?, ?>) op;
+            }
+        }).when(cluster).execute(Matchers.<FutureOperation<Object, ?, Object>>any());
+    }
+    
+    private void respond(FetchOperation fetch)
+    {
+        RiakKvPB.RpbGetReq.Builder req = 
+            (RiakKvPB.RpbGetReq.Builder) Whitebox.getInternalState(fetch, "reqBuilder");
+        RiakKvPB.RpbGetResp.Builder resp = RiakKvPB.RpbGetResp.newBuilder();
+        if (req.hasIfModified())
+        {
+            conditionalFetches++;
+            resp.setUnchanged(true);
+        }
+        else
+        {
+            resp.setVclock(ByteString.copyFromUtf8("vclock"))
+                .addContent(RiakKvPB.RpbContent.newBuilder()
+                    .setValue(req.getKey()));
+        }
+        fetch.setResponse(new RiakMessage(RiakMessageCodes.MSG_GetResp, 
+                                          resp.build().toByteArray()));
+    }
+    
+    private FetchValue.Response fetch(RiakClient client, String key) throws Exception
+    {
+        return client.execute(new FetchValue.Builder(new Location(ns, key)).build());
+    }
+    
+    @Test
+    public void secondFetchIsAHit() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        fetch(client, "key");
+        FetchValue.Response second = fetch(client, "key");
+        assertEquals("key", second.getValue(RiakObject.class).getValue().toString());
+        assertEquals(1, fetches);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        
+        // Not configured for caching
+        client.execute(new FetchValue.Builder(new Location(new Namespace("other"), "key")).build());
+        client.execute(new FetchValue.Builder(new Location(new Namespace("other"), "key")).build());
+        assertEquals(3, fetches);
+    }
+    
+    @Test
+    public void callersGetTheirOwnCopies() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        RiakObject first = fetch(client, "key").getValue(RiakObject.class);
+        first.setValue(BinaryValue.create("changed"));
+        first.getUserMeta().put("meta", "changed");
+        
+        RiakObject second = fetch(client, "key").getValue(RiakObject.class);
+        assertEquals("key", second.getValue().toString());
+        assertFalse(second.hasUserMeta());
+        second.setValue(BinaryValue.create("changed again"));
+        
+        RiakObject third = fetch(client, "key").getValue(RiakObject.class);
+        assertEquals("key", third.getValue().toString());
+        assertEquals(1, fetches);
+        assertEquals(2, cache.getHitCount());
+    }
+    
+    @Test
+    public void missIsCachedBeforeTheCallerSeesIt() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        holdFetches = true;
+        RiakFuture<FetchValue.Response, Location> future = 
+            client.executeAsync(new FetchValue.Builder(new Location(ns, "key")).build());
+        assertFalse(future.isDone());
+        future.addListener(new RiakFutureListener<FetchValue.Response, Location>()
+        {
+            @Override
+            public void handle(RiakFuture<FetchValue.Response, Location> f)
+            {
+                f.getNow().getValues().get(0).setValue(BinaryValue.create("changed"));
+            }
+        });
+        respond(heldFetch);
+        assertTrue(future.isSuccess());
+        
+        holdFetches = false;
+        assertEquals("key", fetch(client, "key").getValue(RiakObject.class).getValue().toString());
+        assertEquals(1, cache.getHitCount());
+    }
+    
+    @Test
+    public void cancellingAMissCancelsTheFetch() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        holdFetches = true;
+        RiakFuture<FetchValue.Response, Location> future = 
+            client.executeAsync(new FetchValue.Builder(new Location(ns, "key")).build());
+        assertTrue(future.cancel(true));
+        assertTrue(heldFetch.isCancelled());
+        assertTrue(future.isCancelled());
+        assertFalse(future.isSuccess());
+    }
+    
+    @Test
+    public void fetchWithReadOptionsBypassesCache() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        fetch(client, "key");
+        client.execute(new FetchValue.Builder(new Location(ns, "key"))
+                            .withOption(FetchValue.Option.R, new Quorum(3))
+                            .build());
+        client.execute(new FetchValue.Builder(new Location(ns, "key"))
+                            .withOption(FetchValue.Option.NOTFOUND_OK, false)
+                            .build());
+        assertEquals(3, fetches);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.size(ns));
+    }
+    
+    @Test
+    public void expiredValueIsRevalidated() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 0, TimeUnit.SECONDS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        fetch(client, "key");
+        FetchValue.Response second = fetch(client, "key");
+        assertFalse(second.isUnchanged());
+        assertEquals("key", second.getValue(RiakObject.class)
+                                  .getValue().toString());
+        assertEquals(2, fetches);
+        assertEquals(1, conditionalFetches);
+        assertEquals(1, cache.getRevalidationCount());
+        assertEquals(1, cache.getUnchangedCount());
+    }
+    
+    @Test
+    public void deleteInvalidates() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        fetch(client, "key");
+        assertEquals(1, cache.size(ns));
+        client.execute(new DeleteValue.Builder(new Location(ns, "key")).build());
+        assertEquals(0, cache.size(ns));
+        assertEquals(1, cache.getInvalidationCount());
+        
+        fetch(client, "key");
+        assertEquals(2, fetches);
+        assertEquals(0, cache.getHitCount());
+    }
+    
+    @Test
+    public void frequentlyReadValuesSurviveAScan() throws Exception
+    {
+        ValueCache cache = new ValueCache.Builder().withNamespace(ns, 100, 1, TimeUnit.HOURS).build();
+        RiakClient client = new RiakClient(cluster, cache);
+        
+        for (int round = 0; round < 5; round++)
+        {
+            for (int i = 0; i < 50; i++)
+            {
+                fetch(client, "hot" + i);
+            }
+        }
+        for (int i = 0; i < 300; i++)
+        {
+            fetch(client, "scan" + i);
+        }
+        
+        int before = fetches;
+        for (int i = 0; i < 50; i++)
+        {
+            fetch(client, "hot" + i);
+        }
+        assertEquals(before, fetches);
+        assertEquals(100, cache.size(ns));
+        assertEquals(250, cache.getEvictionCount());
+    }
+    
+    @Test
+    public void sketchCountsFrequency()
+    {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 5; i++)
+        {
+            sketch.increment("a");
+        }
+        sketch.increment("b");
+        assertTrue(sketch.frequency("a") >= 5);
+        assertTrue(sketch.frequency("a") > sketch.frequency("b"));
+        assertEquals(0, sketch.frequency("c") > 1 ? 1 : 0);
+    }
+}
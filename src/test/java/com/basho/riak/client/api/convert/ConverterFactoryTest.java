@@ -79,6 +79,21 @@ public class ConverterFactoryTest
         
     }
     
+    @Test
+    public void defaultConverterIsReused()
+    {
+        ConverterFactory factory = ConverterFactory.getInstance();
+        Converter<Pojo> converter = factory.getConverter(Pojo.class);
+        assertSame(converter, factory.getConverter(Pojo.class));
+        assertSame(converter, factory.getConverter(new TypeReference<Pojo>(){}));
+        
+        factory.registerConverterForClass(Pojo.class, new MyConverter());
+        Converter<Pojo> registered = factory.getConverter(Pojo.class);
+        assertTrue(registered instanceof MyConverter);
+        factory.unregisterConverterForClass(Pojo.class);
+        assertSame(converter, factory.getConverter(Pojo.class));
+    }
+    
     @Test
     public void stringConverter()
     {
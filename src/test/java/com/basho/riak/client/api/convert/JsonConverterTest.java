@@ -38,6 +38,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
@@ -154,6 +155,27 @@ public class JsonConverterTest
 
     }
     
+    @Test
+    public void mapperChangesApplyAfterFirstConversion()
+    {
+        JSONConverter<PojoWithRiakFields> jc = 
+            new JSONConverter<PojoWithRiakFields>(new TypeReference<PojoWithRiakFields>(){});
+        
+        String before = jc.fromDomain(new PojoWithRiakFields(), null, null).getRiakObject().getValue().toString();
+        assertFalse(before.contains("\n"));
+        
+        JSONConverter.getObjectMapper().configure(SerializationFeature.INDENT_OUTPUT, true);
+        try
+        {
+            String after = jc.fromDomain(new PojoWithRiakFields(), null, null).getRiakObject().getValue().toString();
+            assertTrue(after.contains("\n"));
+        }
+        finally
+        {
+            JSONConverter.getObjectMapper().configure(SerializationFeature.INDENT_OUTPUT, false);
+        }
+    }
+    
     @Test
     public void convertBackAndForth()
     {
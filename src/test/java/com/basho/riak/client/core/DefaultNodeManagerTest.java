@@ -15,6 +15,7 @@
  */
 package com.basho.riak.client.core;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import static org.junit.Assert.assertEquals;
@@ -59,8 +60,8 @@ public class DefaultNodeManagerTest
         DefaultNodeManager nodeManager = new DefaultNodeManager();
         nodeManager.init(mockNodes);
         
-        List<RiakNode> nodes = Whitebox.getInternalState(nodeManager, "healthy");
-        assertEquals(mockNodes.size(), nodes.size());
+        RiakNode[] nodes = Whitebox.getInternalState(nodeManager, "healthy");
+        assertEquals(mockNodes.size(), nodes.length);
     }
     
     @Test
@@ -99,11 +100,11 @@ public class DefaultNodeManagerTest
         DefaultNodeManager nodeManager = new DefaultNodeManager();
         nodeManager.init(mockNodes);
         nodeManager.nodeStateChanged(mockNodes.get(0), RiakNode.State.HEALTH_CHECKING);
-        List<RiakNode> healthy = Whitebox.getInternalState(nodeManager, "healthy");
-        List<RiakNode> unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
-        assertEquals(mockNodes.size() - 1, healthy.size());
-        assertEquals(1, unhealthy.size());
-        assertEquals(mockNodes.get(0), unhealthy.get(0));
+        RiakNode[] healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        RiakNode[] unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertEquals(mockNodes.size() - 1, healthy.length);
+        assertEquals(1, unhealthy.length);
+        assertEquals(mockNodes.get(0), unhealthy[0]);
     }
     
     @Test
@@ -113,11 +114,11 @@ public class DefaultNodeManagerTest
         nodeManager.init(mockNodes);
         nodeManager.nodeStateChanged(mockNodes.get(0), RiakNode.State.HEALTH_CHECKING);
         nodeManager.nodeStateChanged(mockNodes.get(0), RiakNode.State.RUNNING);
-        List<RiakNode> healthy = Whitebox.getInternalState(nodeManager, "healthy");
-        List<RiakNode> unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
-        assertEquals(mockNodes.size(), healthy.size());
-        assertEquals(0, unhealthy.size());
-        assertTrue(healthy.contains(mockNodes.get(0)));
+        RiakNode[] healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        RiakNode[] unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertEquals(mockNodes.size(), healthy.length);
+        assertEquals(0, unhealthy.length);
+        assertTrue(Arrays.asList(healthy).contains(mockNodes.get(0)));
     }
     
     @Test
@@ -126,11 +127,11 @@ public class DefaultNodeManagerTest
         DefaultNodeManager nodeManager = new DefaultNodeManager();
         nodeManager.init(mockNodes);
         nodeManager.nodeStateChanged(mockNodes.get(0), RiakNode.State.SHUTDOWN);
-        List<RiakNode> healthy = Whitebox.getInternalState(nodeManager, "healthy");
-        List<RiakNode> unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
-        assertEquals(mockNodes.size() - 1, healthy.size());
-        assertEquals(0, unhealthy.size());
-        assertTrue(!healthy.contains(mockNodes.get(0)));
+        RiakNode[] healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        RiakNode[] unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertEquals(mockNodes.size() - 1, healthy.length);
+        assertEquals(0, unhealthy.length);
+        assertTrue(!Arrays.asList(healthy).contains(mockNodes.get(0)));
     }
     
     @Test
@@ -139,10 +140,10 @@ public class DefaultNodeManagerTest
         DefaultNodeManager nodeManager = new DefaultNodeManager();
         nodeManager.init(mockNodes);
         nodeManager.removeNode(mockNodes.get(0));
-        List<RiakNode> healthy = Whitebox.getInternalState(nodeManager, "healthy");
-        List<RiakNode> unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
-        assertEquals(mockNodes.size() - 1, healthy.size());
-        assertEquals(0, unhealthy.size());
+        RiakNode[] healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        RiakNode[] unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertEquals(mockNodes.size() - 1, healthy.length);
+        assertEquals(0, unhealthy.length);
         verify(mockNodes.get(0)).removeStateListener(nodeManager);
         verify(mockNodes.get(0)).shutdown();
     }
@@ -154,9 +155,9 @@ public class DefaultNodeManagerTest
         nodeManager.init(mockNodes);
         RiakNode newNode = mock(RiakNode.class);
         nodeManager.addNode(newNode);
-        List<RiakNode> healthy = Whitebox.getInternalState(nodeManager, "healthy");
-        List<RiakNode> unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
-        assertEquals(mockNodes.size() + 1, healthy.size());
+        RiakNode[] healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        RiakNode[] unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertEquals(mockNodes.size() + 1, healthy.length);
     }
     
     private class IsException extends ArgumentMatcher<Exception>
@@ -24,6 +24,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -32,6 +33,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 
@@ -337,6 +339,61 @@ public class FutureOperationTest
 
     }
 
+    @Test
+    public void cancelNotifiesListenersWithoutRetry() throws InterruptedException, ExecutionException
+    {
+        FutureOperation<String, ?, Void> operation = new FutureOperationImpl();
+        OperationRetrier retrier = mock(OperationRetrier.class);
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+        operation.setRetrier(retrier, 3);
+
+        final AtomicBoolean called = new AtomicBoolean(false);
+        operation.addListener(new RiakFutureListener<String, Void>()
+        {
+            @Override
+            public void handle(RiakFuture<String, Void> f)
+            {
+                called.set(f.cause() instanceof CancellationException);
+            }
+        });
+
+        assertTrue(operation.cancel(true));
+        assertTrue(called.get());
+        assertTrue(operation.isCancelled());
+        assertTrue(operation.isDone());
+        assertFalse(operation.isSuccess());
+        verify(retrier).operationFailed(operation, 0);
+        assertFalse(operation.cancel(true));
+
+        // A response or failure arriving after cancellation is dropped.
+        operation.setResponse(response);
+        operation.setException(new Exception());
+        verify(retrier, never()).operationComplete(operation, 2);
+        assertNull(operation.getNow());
+        
+        try
+        {
+            operation.get();
+            fail("Expected CancellationException");
+        }
+        catch (CancellationException ex)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void cannotCancelCompletedOperation()
+    {
+        FutureOperation operation = new FutureOperationImpl();
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+
+        operation.setResponse(response);
+        assertFalse(operation.cancel(true));
+        assertFalse(operation.isCancelled());
+        assertTrue(operation.isSuccess());
+    }
+
     private class FutureOperationImpl extends FutureOperation<String, Message, Void>
     {
         public FutureOperationImpl()
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(FutureOperation.class)
+public class LatencyAwareNodeManagerTest
+{
+    private List<RiakNode> mockNodes;
+
+    @Before
+    public void setUp()
+    {
+        mockNodes = new LinkedList<RiakNode>();
+        for (int i = 0; i < 5; i++)
+        {
+            RiakNode mock = mock(RiakNode.class);
+            mockNodes.add(mock);
+        }
+    }
+
+    @Test
+    public void executeOnNodeFailure()
+    {
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        LatencyAwareNodeManager nodeManager = new LatencyAwareNodeManager();
+        nodeManager.init(mockNodes);
+        nodeManager.executeOnNode(operation, null);
+        for (int i = 0; i < mockNodes.size(); i++)
+        {
+            verify(mockNodes.get(i)).execute(operation);
+        }
+        verify(operation).setException(any(NoNodesAvailableException.class));
+    }
+
+    @Test
+    public void prefersLessLoadedNode()
+    {
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        List<RiakNode> nodes = mockNodes.subList(0, 2);
+        doReturn(true).when(nodes.get(0)).execute(operation);
+        doReturn(true).when(nodes.get(1)).execute(operation);
+        doReturn(10).when(nodes.get(0)).getInFlightCount();
+        doReturn(1).when(nodes.get(1)).getInFlightCount();
+
+        LatencyAwareNodeManager nodeManager = new LatencyAwareNodeManager();
+        nodeManager.init(nodes);
+        for (int i = 0; i < 10; i++)
+        {
+            nodeManager.executeOnNode(operation, null);
+        }
+        verify(nodes.get(0), never()).execute(operation);
+        verify(nodes.get(1), times(10)).execute(operation);
+    }
+
+    @Test
+    public void avoidsNodeThatFailsFast()
+    {
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        List<RiakNode> nodes = mockNodes.subList(0, 2);
+        doReturn(true).when(nodes.get(0)).execute(operation);
+        doReturn(true).when(nodes.get(1)).execute(operation);
+        // Node 0 has never succeeded, so has no average latency.
+        doReturn(0d).when(nodes.get(0)).getAverageLatency(any(TimeUnit.class));
+        doReturn(3).when(nodes.get(0)).getConsecutiveFailures();
+        doReturn(500d).when(nodes.get(1)).getAverageLatency(any(TimeUnit.class));
+        doReturn(2).when(nodes.get(1)).getInFlightCount();
+
+        LatencyAwareNodeManager nodeManager = new LatencyAwareNodeManager();
+        nodeManager.init(nodes);
+        for (int i = 0; i < 10; i++)
+        {
+            nodeManager.executeOnNode(operation, null);
+        }
+        verify(nodes.get(0), never()).execute(operation);
+        verify(nodes.get(1), times(10)).execute(operation);
+    }
+
+    @Test
+    public void costsNewNodeAtClusterMean()
+    {
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        List<RiakNode> nodes = mockNodes.subList(0, 2);
+        doReturn(true).when(nodes.get(0)).execute(operation);
+        doReturn(true).when(nodes.get(1)).execute(operation);
+        // The new node would win on latency alone, but it's costed at the
+        // mean of the others and has more in flight.
+        doReturn(0d).when(nodes.get(0)).getAverageLatency(any(TimeUnit.class));
+        doReturn(1).when(nodes.get(0)).getInFlightCount();
+        doReturn(200d).when(nodes.get(1)).getAverageLatency(any(TimeUnit.class));
+
+        LatencyAwareNodeManager nodeManager = new LatencyAwareNodeManager();
+        nodeManager.init(nodes);
+        for (int i = 0; i < 10; i++)
+        {
+            nodeManager.executeOnNode(operation, null);
+        }
+        verify(nodes.get(0), never()).execute(operation);
+        verify(nodes.get(1), times(10)).execute(operation);
+    }
+
+    @Test
+    public void removeAndRestoreUnhealthyNode()
+    {
+        LatencyAwareNodeManager nodeManager = new LatencyAwareNodeManager();
+        nodeManager.init(mockNodes);
+        nodeManager.nodeStateChanged(mockNodes.get(0), RiakNode.State.HEALTH_CHECKING);
+        RiakNode[] healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        RiakNode[] unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertEquals(mockNodes.size() - 1, healthy.length);
+        assertEquals(1, unhealthy.length);
+        assertEquals(mockNodes.get(0), unhealthy[0]);
+
+        nodeManager.nodeStateChanged(mockNodes.get(0), RiakNode.State.RUNNING);
+        healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        assertEquals(mockNodes.size(), healthy.length);
+        unhealthy = Whitebox.getInternalState(nodeManager, "unhealthy");
+        assertTrue(Arrays.asList(healthy).contains(mockNodes.get(0)));
+        assertEquals(0, unhealthy.length);
+
+        nodeManager.nodeStateChanged(mockNodes.get(1), RiakNode.State.SHUTDOWN);
+        healthy = Whitebox.getInternalState(nodeManager, "healthy");
+        assertEquals(mockNodes.size() - 1, healthy.length);
+    }
+
+    /**
+     * Simulates a cluster with one slow node (e.g. in compaction) and
+     * compares the 99th percentile latency under round robin and under
+     * latency aware routing. Time is simulated so the result doesn't
+     * depend on the speed of the machine running the test.
+     */
+    @Test
+    public void slowNodeBenchmark()
+    {
+        long roundRobinP99 = new SlowNodeSimulation(new DefaultNodeManager()).run();
+        long latencyAwareP99 = new SlowNodeSimulation(new LatencyAwareNodeManager()).run();
+
+        assertEquals(SlowNodeSimulation.SLOW_LATENCY, roundRobinP99);
+        assertTrue("p99 " + latencyAwareP99, latencyAwareP99 < SlowNodeSimulation.SLOW_LATENCY);
+    }
+
+    private static class SlowNodeSimulation
+    {
+        static final int NUM_NODES = 8;
+        static final int NUM_OPERATIONS = 20000;
+        static final long ARRIVAL_INTERVAL = 100; // micros
+        static final long FAST_LATENCY = 2000;
+        static final long SLOW_LATENCY = 20000;
+
+        private final NodeManager nodeManager;
+        private final List<SimulatedNode> nodes = new ArrayList<SimulatedNode>();
+        private final PriorityQueue<long[]> completions = new PriorityQueue<long[]>(16,
+            new Comparator<long[]>()
+            {
+                @Override
+                public int compare(long[] a, long[] b)
+                {
+                    return a[0] < b[0] ? -1 : (a[0] == b[0] ? 0 : 1);
+                }
+            });
+        private final long[] latencies = new long[NUM_OPERATIONS];
+        private int completed;
+        private long now;
+
+        SlowNodeSimulation(NodeManager nodeManager)
+        {
+            this.nodeManager = nodeManager;
+        }
+
+        long run()
+        {
+            List<RiakNode> riakNodes = new ArrayList<RiakNode>();
+            for (int i = 0; i < NUM_NODES; i++)
+            {
+                SimulatedNode node = new SimulatedNode(i, i == 0 ? SLOW_LATENCY : FAST_LATENCY);
+                nodes.add(node);
+                riakNodes.add(node.mock);
+            }
+            nodeManager.init(riakNodes);
+
+            FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+            for (int i = 0; i < NUM_OPERATIONS; i++)
+            {
+                now = i * ARRIVAL_INTERVAL;
+                completeUntil(now);
+                nodeManager.executeOnNode(operation, null);
+            }
+            completeUntil(Long.MAX_VALUE);
+
+            Arrays.sort(latencies);
+            return latencies[(int) (NUM_OPERATIONS * 0.99)];
+        }
+
+        private void completeUntil(long time)
+        {
+            while (!completions.isEmpty() && completions.peek()[0] <= time)
+            {
+                long[] c = completions.poll();
+                SimulatedNode node = nodes.get((int) c[1]);
+                node.inFlight--;
+                node.ewma = node.ewma == 0 ? node.latency : node.ewma + 0.2 * (node.latency - node.ewma);
+                latencies[completed++] = node.latency;
+            }
+        }
+
+        private class SimulatedNode
+        {
+            final RiakNode mock = mock(RiakNode.class);
+            final long latency;
+            int inFlight;
+            double ewma;
+
+            SimulatedNode(final int id, long latency)
+            {
+                this.latency = latency;
+                doAnswer(new Answer<Boolean>()
+                {
+                    @Override
+                    public Boolean answer(InvocationOnMock invocation)
+                    {
+                        inFlight++;
+                        completions.add(new long[] { now + SimulatedNode.this.latency, id });
+                        return true;
+                    }
+                }).when(mock).execute(any(FutureOperation.class));
+                doAnswer(new Answer<Integer>()
+                {
+                    @Override
+                    public Integer answer(InvocationOnMock invocation)
+                    {
+                        return inFlight;
+                    }
+                }).when(mock).getInFlightCount();
+                doAnswer(new Answer<Double>()
+                {
+                    @Override
+                    public Double answer(InvocationOnMock invocation)
+                    {
+                        TimeUnit unit = (TimeUnit) invocation.getArguments()[0];
+                        return ewma * 1000 / unit.toNanos(1);
+                    }
+                }).when(mock).getAverageLatency(any(TimeUnit.class));
+            }
+        }
+    }
+}
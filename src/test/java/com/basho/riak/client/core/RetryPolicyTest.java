@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class RetryPolicyTest
+{
+    @Test
+    public void backoffGrowsUpToMax()
+    {
+        RetryPolicy policy = new RetryPolicy.Builder()
+                                .withInitialBackoff(10, TimeUnit.MILLISECONDS)
+                                .withMaxBackoff(50, TimeUnit.MILLISECONDS)
+                                .withMultiplier(2)
+                                .withJitter(0)
+                                .build();
+        
+        assertEquals(10, policy.getBackoff(1, TimeUnit.MILLISECONDS));
+        assertEquals(20, policy.getBackoff(2, TimeUnit.MILLISECONDS));
+        assertEquals(40, policy.getBackoff(3, TimeUnit.MILLISECONDS));
+        assertEquals(50, policy.getBackoff(4, TimeUnit.MILLISECONDS));
+        assertEquals(50, policy.getBackoff(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void jitterStaysWithinBounds()
+    {
+        RetryPolicy policy = new RetryPolicy.Builder()
+                                .withInitialBackoff(100, TimeUnit.MILLISECONDS)
+                                .withJitter(0.5)
+                                .build();
+        
+        for (int i = 0; i < 1000; i++)
+        {
+            long backoff = policy.getBackoff(1, TimeUnit.MILLISECONDS);
+            assertTrue(backoff >= 50 && backoff <= 100);
+        }
+    }
+    
+    @Test
+    public void predefinedPolicies()
+    {
+        assertFalse(RetryPolicy.NO_RETRY.isRetryable());
+        assertTrue(RetryPolicy.IMMEDIATE.isRetryable());
+        assertEquals(0, RetryPolicy.IMMEDIATE.getBackoff(3, TimeUnit.NANOSECONDS));
+    }
+    
+    @Test
+    public void budgetLimitsRetriesToRatio()
+    {
+        RetryBudget budget = new RetryBudget(0.1, 0);
+        assertFalse(budget.tryRetry());
+        
+        for (int i = 0; i < 20; i++)
+        {
+            budget.requestStarted();
+        }
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+    
+    @Test
+    public void budgetIsCapped()
+    {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        for (int i = 0; i < RetryBudget.RECENT_REQUESTS * 10; i++)
+        {
+            budget.requestStarted();
+        }
+        assertEquals(2 + RetryBudget.RECENT_REQUESTS / 2, budget.getAvailableRetries());
+    }
+}
@@ -15,6 +15,13 @@
  */
 package com.basho.riak.client.core;
 
+import com.basho.riak.client.core.netty.RiakResponseException;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.api.mockito.PowerMockito;
@@ -23,10 +30,16 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import java.net.UnknownHostException;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -45,6 +58,8 @@ public class RiakClusterTest
         RiakNode.Builder nodeBuilder = new RiakNode.Builder();
         RiakCluster cluster = new RiakCluster.Builder(nodeBuilder.build()).build();
         assertTrue(!cluster.getNodes().isEmpty());
+        // Retries are immediate unless a backoff policy is configured.
+        assertSame(RetryPolicy.IMMEDIATE, Whitebox.getInternalState(cluster, "retryPolicy"));
     }
     
     @Test
@@ -110,11 +125,181 @@ public class RiakClusterTest
         cluster.operationComplete(operation, 2);
         assertEquals(0, cluster.inFlightCount());
         
+        doReturn(node).when(operation).getLastNode();
         cluster.execute(operation);
         cluster.operationFailed(operation, 1);
-        LinkedBlockingQueue<?> retryQueue = Whitebox.getInternalState(cluster, "retryQueue");
-        assertEquals(1, retryQueue.size());
+        verify(nodeManager, timeout(1000).times(3)).executeOnNode(eq(operation), any(RiakNode.class));
+        verify(nodeManager).executeOnNode(operation, node);
+        assertEquals(1, cluster.inFlightCount());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void clusterDoesNotRetryNonRetryableError() throws UnknownHostException
+    {
+        NodeManager nodeManager = mock(NodeManager.class);
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        RiakNode node = mock(RiakNode.class);
+        RiakNode.Builder nodeBuilder = spy(new RiakNode.Builder());
+        doReturn(node).when(nodeBuilder).build();
+        doReturn(new RiakResponseException(42, "nope")).when(operation).cause();
+        
+        RiakCluster cluster = new RiakCluster.Builder(nodeBuilder.build())
+                                .withNodeManager(nodeManager)
+                                .withRetryPolicy(RetryPolicy.IMMEDIATE)
+                                .withRetryPolicy(42, RetryPolicy.NO_RETRY)
+                                .build();
+        Whitebox.setInternalState(cluster, "state", RiakCluster.State.RUNNING);
+        cluster.execute(operation);
+        cluster.operationFailed(operation, 2);
+        verify(operation).abandonRetry();
+        assertEquals(0, cluster.inFlightCount());
+        verify(nodeManager, times(1)).executeOnNode(eq(operation), any(RiakNode.class));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void clusterDoesNotRetryFailedPrecondition() throws UnknownHostException
+    {
+        NodeManager nodeManager = mock(NodeManager.class);
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        RiakNode node = mock(RiakNode.class);
+        RiakNode.Builder nodeBuilder = spy(new RiakNode.Builder());
+        doReturn(node).when(nodeBuilder).build();
+        doReturn(new RiakResponseException(0, "modified")).when(operation).cause();
+        
+        RiakCluster cluster = new RiakCluster.Builder(nodeBuilder.build())
+                                .withNodeManager(nodeManager)
+                                .withRetryPolicy(RetryPolicy.IMMEDIATE)
+                                .withRetryPolicy(0, RetryPolicy.IMMEDIATE)
+                                .build();
+        Whitebox.setInternalState(cluster, "state", RiakCluster.State.RUNNING);
+        cluster.execute(operation);
+        cluster.operationFailed(operation, 2);
+        verify(operation).abandonRetry();
+        assertEquals(0, cluster.inFlightCount());
+        verify(nodeManager, times(1)).executeOnNode(eq(operation), any(RiakNode.class));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void retryBudgetLimitsRetries() throws UnknownHostException
+    {
+        NodeManager nodeManager = mock(NodeManager.class);
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        RiakNode node = mock(RiakNode.class);
+        RiakNode.Builder nodeBuilder = spy(new RiakNode.Builder());
+        doReturn(node).when(nodeBuilder).build();
         
+        RiakCluster cluster = new RiakCluster.Builder(nodeBuilder.build())
+                                .withNodeManager(nodeManager)
+                                .withRetryPolicy(RetryPolicy.IMMEDIATE)
+                                .withRetryBudget(new RetryBudget(0, 1))
+                                .build();
+        Whitebox.setInternalState(cluster, "state", RiakCluster.State.RUNNING);
+        cluster.execute(operation);
+        cluster.operationFailed(operation, 2);
+        verify(operation, never()).abandonRetry();
+        cluster.operationFailed(operation, 1);
+        verify(operation).abandonRetry();
+        assertEquals(0, cluster.inFlightCount());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void clusterTimesOutOperation() throws UnknownHostException
+    {
+        NodeManager nodeManager = mock(NodeManager.class);
+        FutureOperation operation = PowerMockito.mock(FutureOperation.class);
+        RiakNode node = mock(RiakNode.class);
+        RiakNode.Builder nodeBuilder = spy(new RiakNode.Builder());
+        doReturn(node).when(nodeBuilder).build();
+        doReturn(TimeUnit.MILLISECONDS.toNanos(50)).when(operation).getTimeoutInNanos();
+        doReturn(node).when(operation).getLastNode();
+        
+        RiakCluster cluster = new RiakCluster.Builder(nodeBuilder.build())
+                                .withNodeManager(nodeManager)
+                                .withOperationTimeout(50)
+                                .build();
+        Whitebox.setInternalState(cluster, "state", RiakCluster.State.RUNNING);
+        cluster.execute(operation);
+        verify(operation).setTimeoutInNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        verify(node, timeout(1000)).timeoutOperation(eq(operation), any(TimeoutException.class), eq(false));
+    }
+    
+    @Test
+    public void builderAppliesTransportOptions() throws UnknownHostException
+    {
+        RiakCluster cluster = new RiakCluster.Builder(new RiakNode.Builder().build())
+                                .withTransport(Transport.NIO)
+                                .withEventLoopThreads(2)
+                                .withTcpNoDelay(true)
+                                .withKeepAlive(true)
+                                .withSendBufferSize(65536)
+                                .withPooledAllocator(true)
+                                .build();
+        Bootstrap bootstrap = Whitebox.getInternalState(cluster, "bootstrap");
+        Map<ChannelOption<?>, Object> options = Whitebox.getInternalState(bootstrap, "options");
+        
+        assertTrue(bootstrap.group() instanceof NioEventLoopGroup);
+        assertEquals(2, ((NioEventLoopGroup) bootstrap.group()).executorCount());
+        assertEquals(Boolean.TRUE, options.get(ChannelOption.TCP_NODELAY));
+        assertEquals(Boolean.TRUE, options.get(ChannelOption.SO_KEEPALIVE));
+        assertEquals(65536, options.get(ChannelOption.SO_SNDBUF));
+        assertFalse(options.containsKey(ChannelOption.SO_RCVBUF));
+        assertEquals(PooledByteBufAllocator.DEFAULT, options.get(ChannelOption.ALLOCATOR));
+        bootstrap.group().shutdownGracefully();
+    }
+    
+    @Test
+    public void sharedEventLoopGroupNotShutDown() throws UnknownHostException
+    {
+        EventLoopGroup group = Transport.NIO.newEventLoopGroup(1);
+        RiakNode node = mock(RiakNode.class);
+        RiakCluster cluster = new RiakCluster.Builder(node)
+                                .withTransport(Transport.NIO)
+                                .withEventLoopGroup(group)
+                                .build();
+        Bootstrap bootstrap = Whitebox.getInternalState(cluster, "bootstrap");
+        assertEquals(group, bootstrap.group());
+        
+        cluster.nodeStateChanged(node, RiakNode.State.SHUTDOWN);
+        assertFalse(group.isShuttingDown());
+        group.shutdownGracefully();
+    }
+    
+    @Test
+    public void transportTakenFromEventLoopGroup() throws UnknownHostException
+    {
+        EventLoopGroup group = Transport.NIO.newEventLoopGroup(1);
+        RiakCluster cluster = new RiakCluster.Builder(mock(RiakNode.class))
+                                .withEventLoopGroup(group)
+                                .build();
+        Bootstrap bootstrap = Whitebox.getInternalState(cluster, "bootstrap");
+        Object channelFactory = Whitebox.getInternalState(bootstrap, "channelFactory");
+        assertEquals(NioSocketChannel.class, Whitebox.getInternalState(channelFactory, "clazz"));
+        group.shutdownGracefully();
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void eventLoopGroupOfUnknownTransportRejected() throws UnknownHostException
+    {
+        new RiakCluster.Builder(mock(RiakNode.class))
+            .withEventLoopGroup(mock(EventLoopGroup.class))
+            .build();
+    }
+    
+    @Test
+    public void transportDefaultsToNio() throws UnknownHostException
+    {
+        // Epoll is only used when asked for, even where it's available
+        RiakCluster cluster = new RiakCluster.Builder(mock(RiakNode.class)).build();
+        Bootstrap bootstrap = Whitebox.getInternalState(cluster, "bootstrap");
+        Object channelFactory = Whitebox.getInternalState(bootstrap, "channelFactory");
         
+        assertTrue(bootstrap.group() instanceof NioEventLoopGroup);
+        assertEquals(NioSocketChannel.class, Whitebox.getInternalState(channelFactory, "clazz"));
+        assertTrue(Transport.NIO.isAvailable());
+        bootstrap.group().shutdownGracefully();
     }
 }
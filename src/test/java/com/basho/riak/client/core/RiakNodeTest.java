@@ -24,6 +24,8 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelPipeline;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -36,6 +38,7 @@ import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.jayway.awaitility.Awaitility.await;
 import static com.jayway.awaitility.Awaitility.fieldIn;
@@ -362,6 +365,322 @@ public class RiakNodeTest
         await().atMost(500, TimeUnit.MILLISECONDS).until(fieldIn(operation).ofType(Throwable.class).andWithName("exception"), equalTo(t));
     }
 
+    @Test
+    public void nodePipelinesOperations() throws InterruptedException, UnknownHostException
+    {
+        Channel channel = mock(Channel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        ChannelFuture future = mock(ChannelFuture.class);
+        FutureOperation operation1 = PowerMockito.spy(new FutureOperationImpl());
+        FutureOperation operation2 = PowerMockito.spy(new FutureOperationImpl());
+        FutureOperation operation3 = PowerMockito.spy(new FutureOperationImpl());
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+
+        doReturn(future).when(channel).closeFuture();
+        doReturn(true).when(channel).isOpen();
+        doReturn(channelPipeline).when(channel).pipeline();
+        doReturn(future).when(channel).writeAndFlush(any());
+        doReturn(future).when(future).await();
+        doReturn(true).when(future).isSuccess();
+        doReturn(channel).when(future).channel();
+        doReturn(future).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMaxConnections(1)
+            .withPipelineDepth(2)
+            .build();
+        node.start();
+
+        assertTrue(node.execute(operation1));
+        assertTrue(node.execute(operation2));
+        assertFalse(node.execute(operation3));
+        verify(channel).writeAndFlush(operation1);
+        verify(channel).writeAndFlush(operation2);
+        assertEquals(2, node.getNumInProgress());
+
+        node.onSuccess(channel, response);
+        assertTrue(operation1.isDone());
+        assertFalse(operation2.isDone());
+        assertEquals(1, node.getNumInProgress());
+
+        node.onSuccess(channel, response);
+        assertTrue(operation2.isDone());
+        assertEquals(0, node.getNumInProgress());
+        assertEquals(1, node.availablePermits());
+    }
+
+    @Test
+    public void undecodablePipelinedResponseFailsPipeline() throws InterruptedException, UnknownHostException
+    {
+        Channel channel = mock(Channel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        ChannelFuture future = mock(ChannelFuture.class);
+        FutureOperation operation1 = PowerMockito.spy(new FutureOperationImpl());
+        FutureOperation operation2 = PowerMockito.spy(new FutureOperationImpl());
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+        IllegalStateException decodeFailure = new IllegalStateException("bad response");
+
+        doReturn(future).when(channel).closeFuture();
+        doReturn(true).when(channel).isOpen();
+        doReturn(channelPipeline).when(channel).pipeline();
+        doReturn(future).when(channel).writeAndFlush(any());
+        doReturn(future).when(future).await();
+        doReturn(true).when(future).isSuccess();
+        doReturn(channel).when(future).channel();
+        doReturn(future).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+        doThrow(decodeFailure).when(operation1).decode(response);
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMaxConnections(1)
+            .withPipelineDepth(2)
+            .build();
+        node.start();
+
+        assertTrue(node.execute(operation1));
+        assertTrue(node.execute(operation2));
+
+        node.onSuccess(channel, response);
+        assertTrue(operation1.isDone());
+        assertSame(decodeFailure, operation1.cause());
+        assertTrue(operation2.isDone());
+        assertFalse(operation2.isSuccess());
+        verify(channel).close();
+        assertEquals(0, node.getNumInProgress());
+        assertEquals(1, node.availablePermits());
+    }
+
+    @Test
+    public void nodeQueuesOperationsWithoutBlocking() throws Exception
+    {
+        Channel channel = mock(Channel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        ChannelFuture future = mock(ChannelFuture.class);
+        final ChannelFuture connectFuture = mock(ChannelFuture.class);
+        FutureOperation operation1 = PowerMockito.spy(new FutureOperationImpl());
+        FutureOperation operation2 = PowerMockito.spy(new FutureOperationImpl());
+        FutureOperation operation3 = PowerMockito.spy(new FutureOperationImpl());
+        FutureOperation operation4 = PowerMockito.spy(new FutureOperationImpl());
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+
+        doReturn(future).when(channel).closeFuture();
+        doReturn(true).when(channel).isOpen();
+        doReturn(channelPipeline).when(channel).pipeline();
+        doReturn(future).when(channel).writeAndFlush(any());
+        doReturn(true).when(connectFuture).isSuccess();
+        doReturn(channel).when(connectFuture).channel();
+        doAnswer(new Answer<Object>()
+        {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable
+            {
+                ((ChannelFutureListener) invocation.getArguments()[0]).operationComplete(connectFuture);
+                return connectFuture;
+            }
+        }).when(connectFuture).addListener(any(ChannelFutureListener.class));
+        doReturn(connectFuture).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMinConnections(0)
+            .withMaxConnections(1)
+            .withNonBlockingConnections(2, 0)
+            .build();
+        node.start();
+
+        assertTrue(node.execute(operation1));
+        verify(connectFuture, never()).await();
+        verify(channel).writeAndFlush(operation1);
+        
+        assertTrue(node.execute(operation2));
+        assertTrue(node.execute(operation3));
+        assertFalse(node.execute(operation4));
+        assertEquals(2, node.getNumPending());
+        verify(channel, never()).writeAndFlush(operation2);
+
+        node.onSuccess(channel, response);
+        assertTrue(operation1.isDone());
+        verify(channel).writeAndFlush(operation2);
+        assertEquals(1, node.getNumPending());
+        assertEquals(0, node.availablePermits());
+    }
+
+    @Test
+    public void nodeTimesOutQueuedOperations() throws Exception
+    {
+        ChannelFuture connectFuture = mock(ChannelFuture.class);
+        FutureOperation operation = new FutureOperationImpl();
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+
+        // The connection attempt never completes.
+        doReturn(connectFuture).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMinConnections(0)
+            .withMaxConnections(1)
+            .withNonBlockingConnections(10, 50)
+            .build();
+        node.start();
+
+        assertTrue(node.execute(operation));
+        assertEquals(1, node.getNumPending());
+        operation.await(1, TimeUnit.SECONDS);
+        assertTrue(operation.isDone());
+        assertTrue(operation.cause() instanceof TimeoutException);
+        assertEquals(0, node.getNumPending());
+    }
+
+    @Test
+    public void nodeTimesOutOperation() throws InterruptedException, UnknownHostException
+    {
+        Channel channel = mock(Channel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        ChannelFuture future = mock(ChannelFuture.class);
+        FutureOperation operation = new FutureOperationImpl();
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+        
+        doReturn(future).when(channel).closeFuture();
+        doReturn(true).when(channel).isOpen();
+        doReturn(channelPipeline).when(channel).pipeline();
+        doReturn(future).when(channel).writeAndFlush(operation);
+        doReturn(future).when(future).await();
+        doReturn(true).when(future).isSuccess();
+        doReturn(channel).when(future).channel();
+        doReturn(future).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMaxConnections(1)
+            .build();
+        node.start();
+        assertTrue(node.execute(operation));
+        assertEquals(0, node.availablePermits());
+        
+        TimeoutException ex = new TimeoutException();
+        assertTrue(node.timeoutOperation(operation, ex, false));
+        assertTrue(operation.isDone());
+        assertEquals(ex, operation.cause());
+        verify(channel).close();
+        assertEquals(0, node.getNumInProgress());
+        assertEquals(1, node.availablePermits());
+        
+        assertFalse(node.timeoutOperation(operation, ex, false));
+    }
+
+    @Test
+    public void cancelReleasesConnection() throws InterruptedException, UnknownHostException
+    {
+        Channel channel = mock(Channel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        ChannelFuture future = mock(ChannelFuture.class);
+        FutureOperation operation = new FutureOperationImpl();
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+        
+        doReturn(future).when(channel).closeFuture();
+        doReturn(true).when(channel).isOpen();
+        doReturn(channelPipeline).when(channel).pipeline();
+        doReturn(future).when(channel).writeAndFlush(operation);
+        doReturn(future).when(future).await();
+        doReturn(true).when(future).isSuccess();
+        doReturn(channel).when(future).channel();
+        doReturn(future).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMaxConnections(1)
+            .build();
+        node.start();
+        assertTrue(node.execute(operation));
+        assertEquals(0, node.availablePermits());
+        
+        assertTrue(operation.cancel(true));
+        verify(channel).close();
+        assertEquals(0, node.getNumInProgress());
+        assertEquals(1, node.availablePermits());
+        
+        // Late response on the closed channel is ignored
+        node.onSuccess(channel, response);
+        assertTrue(operation.isCancelled());
+        assertEquals(1, node.availablePermits());
+    }
+
+    @Test
+    public void timeoutAfterResponseIsIgnored() throws InterruptedException, UnknownHostException
+    {
+        Channel channel = mock(Channel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        ChannelFuture future = mock(ChannelFuture.class);
+        FutureOperation operation = new FutureOperationImpl();
+        RiakMessage response = PowerMockito.mock(RiakMessage.class);
+        Bootstrap bootstrap = PowerMockito.spy(new Bootstrap());
+        
+        doReturn(future).when(channel).closeFuture();
+        doReturn(true).when(channel).isOpen();
+        doReturn(channelPipeline).when(channel).pipeline();
+        doReturn(future).when(channel).writeAndFlush(operation);
+        doReturn(future).when(future).await();
+        doReturn(true).when(future).isSuccess();
+        doReturn(channel).when(future).channel();
+        doReturn(future).when(bootstrap).connect();
+        doReturn(bootstrap).when(bootstrap).clone();
+
+        RiakNode node = new RiakNode.Builder()
+            .withBootstrap(bootstrap)
+            .withMaxConnections(1)
+            .build();
+        node.start();
+        assertTrue(node.execute(operation));
+        node.onSuccess(channel, response);
+        assertTrue(operation.isSuccess());
+        assertEquals(1, node.availablePermits());
+        
+        assertFalse(node.timeoutOperation(operation, new TimeoutException(), true));
+        verify(channel, never()).close();
+        assertEquals(1, node.availablePermits());
+        assertTrue(operation.isSuccess());
+    }
+
+    @Test
+    public void failedAttemptsDontCountTowardsLatency() throws UnknownHostException
+    {
+        RiakNode node = new RiakNode.Builder().build();
+        FutureOperation operation = new FutureOperationImpl();
+        
+        node.attemptFinished(operation, 1000, false, true);
+        assertEquals(0, node.getAverageLatency(TimeUnit.NANOSECONDS), 0);
+        node.attemptFinished(operation, 2000, true, true);
+        assertEquals(2000, node.getAverageLatency(TimeUnit.NANOSECONDS), 0);
+        node.attemptFinished(operation, 10, false, true);
+        assertEquals(2000, node.getAverageLatency(TimeUnit.NANOSECONDS), 0);
+    }
+
+    @Test
+    public void successResetsConsecutiveFailures() throws UnknownHostException
+    {
+        RiakNode node = new RiakNode.Builder().build();
+        FutureOperation operation = new FutureOperationImpl();
+        
+        node.attemptFinished(operation, 1000, false, true);
+        node.attemptFinished(operation, 1000, false, true);
+        assertEquals(2, node.getConsecutiveFailures());
+        node.attemptFinished(operation, 1000, false, false);
+        assertEquals(2, node.getConsecutiveFailures());
+        node.attemptFinished(operation, 1000, true, true);
+        assertEquals(0, node.getConsecutiveFailures());
+    }
+
     private class FutureOperationImpl extends FutureOperation<String, Message, Void>
     {
 
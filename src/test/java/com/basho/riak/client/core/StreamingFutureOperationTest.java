@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core;
+
+import com.basho.riak.client.core.operations.ListKeysOperation;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.google.protobuf.ByteString;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import static org.mockito.Mockito.*;
+
+public class StreamingFutureOperationTest
+{
+    private Channel channel;
+    private ChannelConfig config;
+    
+    @Before
+    public void setUp()
+    {
+        channel = mock(Channel.class);
+        config = mock(ChannelConfig.class);
+        doReturn(config).when(channel).config();
+    }
+    
+    private RiakMessage keysMessage(boolean done, String... keys)
+    {
+        RiakKvPB.RpbListKeysResp.Builder builder = RiakKvPB.RpbListKeysResp.newBuilder();
+        for (String key : keys)
+        {
+            builder.addKeys(ByteString.copyFromUtf8(key));
+        }
+        builder.setDone(done);
+        return new RiakMessage(RiakMessageCodes.MSG_ListKeysResp, builder.build().toByteArray());
+    }
+    
+    @Test
+    public void chunksAreDeliveredAsTheyArrive() throws InterruptedException
+    {
+        ListKeysOperation operation = 
+            new ListKeysOperation.Builder(new Namespace("bucket")).streamResults(4).build();
+        ((FutureOperation) operation).setChannel(channel);
+        
+        operation.setResponse(keysMessage(false, "a", "b"));
+        List<BinaryValue> chunk = operation.takeChunk();
+        assertEquals(2, chunk.size());
+        assertEquals("a", chunk.get(0).toString());
+        assertNull(operation.pollChunk(10, TimeUnit.MILLISECONDS));
+        
+        operation.setResponse(keysMessage(false, "c"));
+        operation.setResponse(keysMessage(true));
+        assertEquals(1, operation.takeChunk().size());
+        assertNull(operation.takeChunk());
+        assertNull(operation.takeChunk());
+        assertTrue(operation.isSuccess());
+        assertTrue(operation.getNow().getKeys().isEmpty());
+    }
+    
+    @Test
+    public void readingPausesWhenConsumerFallsBehind() throws InterruptedException
+    {
+        ListKeysOperation operation = 
+            new ListKeysOperation.Builder(new Namespace("bucket")).streamResults(4).build();
+        ((FutureOperation) operation).setChannel(channel);
+        
+        for (int i = 0; i < 3; i++)
+        {
+            operation.setResponse(keysMessage(false, "k" + i));
+        }
+        verify(config, never()).setAutoRead(false);
+        operation.setResponse(keysMessage(false, "k3"));
+        verify(config).setAutoRead(false);
+        
+        operation.takeChunk();
+        verify(config, never()).setAutoRead(true);
+        operation.takeChunk();
+        verify(config).setAutoRead(true);
+    }
+    
+    @Test
+    public void readingResumesWhenStreamEnds() throws InterruptedException
+    {
+        ListKeysOperation operation = 
+            new ListKeysOperation.Builder(new Namespace("bucket")).streamResults(1).build();
+        ((FutureOperation) operation).setChannel(channel);
+        
+        operation.setResponse(keysMessage(false, "a"));
+        verify(config).setAutoRead(false);
+        operation.setResponse(keysMessage(true));
+        verify(config).setAutoRead(true);
+    }
+    
+    @Test
+    public void drainingAfterStreamEndsLeavesConnectionAlone() throws InterruptedException
+    {
+        ListKeysOperation operation = 
+            new ListKeysOperation.Builder(new Namespace("bucket")).streamResults(2).build();
+        ((FutureOperation) operation).setChannel(channel);
+        
+        operation.setResponse(keysMessage(false, "a"));
+        operation.setResponse(keysMessage(false, "b"));
+        verify(config).setAutoRead(false);
+        operation.setResponse(keysMessage(true));
+        verify(config).setAutoRead(true);
+        
+        // The connection is back in the pool by now.
+        assertEquals(1, operation.takeChunk().size());
+        assertEquals(1, operation.takeChunk().size());
+        assertNull(operation.takeChunk());
+        verify(config, times(1)).setAutoRead(false);
+        verify(config, times(1)).setAutoRead(true);
+    }
+    
+    @Test(timeout = 30000)
+    public void readingIsNeverLeftPausedWithAnEmptyQueue() throws InterruptedException
+    {
+        final AtomicBoolean autoRead = new AtomicBoolean(true);
+        doAnswer(new Answer<Object>()
+        {
+            @Override
+            public Object answer(InvocationOnMock invocation)
+            {
+                autoRead.set((Boolean) invocation.getArguments()[0]);
+                return config;
+            }
+        }).when(config).setAutoRead(anyBoolean());
+        
+        final int messages = 20000;
+        final ListKeysOperation operation = 
+            new ListKeysOperation.Builder(new Namespace("bucket")).streamResults(2).build();
+        ((FutureOperation) operation).setChannel(channel);
+        
+        // Stands in for the I/O thread, which only reads while autoRead is on.
+        Thread reader = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                for (int i = 0; i < messages; i++)
+                {
+                    while (!autoRead.get())
+                    {
+                        Thread.yield();
+                    }
+                    operation.setResponse(keysMessage(i == messages - 1, "k"));
+                }
+            }
+        });
+        reader.start();
+        
+        int keys = 0;
+        List<BinaryValue> chunk;
+        while ((chunk = operation.takeChunk()) != null)
+        {
+            keys += chunk.size();
+        }
+        reader.join();
+        assertEquals(messages, keys);
+    }
+    
+    @Test
+    public void partialStreamIsNotRetried() throws InterruptedException
+    {
+        OperationRetrier retrier = mock(OperationRetrier.class);
+        ListKeysOperation operation = 
+            new ListKeysOperation.Builder(new Namespace("bucket")).streamResults(4).build();
+        ((FutureOperation) operation).setRetrier(retrier, 3);
+        ((FutureOperation) operation).setChannel(channel);
+        
+        operation.setResponse(keysMessage(false, "a"));
+        ((FutureOperation) operation).setException(new IOException("connection reset"));
+        verify(retrier).operationFailed(operation, 0);
+        
+        assertEquals(1, operation.takeChunk().size());
+        assertNull(operation.takeChunk());
+        assertTrue(operation.isDone());
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.fake;
+
+import com.basho.riak.client.core.query.crdt.types.RiakCounter;
+import com.basho.riak.client.core.query.crdt.types.RiakDatatype;
+import com.basho.riak.client.core.query.crdt.types.RiakMap;
+import com.basho.riak.client.core.query.crdt.types.RiakSet;
+import com.basho.riak.protobuf.RiakDtPB;
+import com.basho.riak.protobuf.RiakDtPB.MapField;
+import com.basho.riak.protobuf.RiakDtPB.MapField.MapFieldType;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The data types held by a {@link FakeRiakServer}.
+ * <p>
+ * Values are a {@link Counter}, a {@code TreeSet<ByteString>} or a 
+ * {@code Map<MapField, Object>}. Maps additionally hold registers 
+ * ({@code ByteString}) and flags ({@code Boolean}). Operations are applied 
+ * in place. Unlike Riak, removing something that isn't there is not an error.
+ * </p>
+ * @since 2.0.2
+ */
+final class FakeDatatypes
+{
+    private FakeDatatypes() {}
+    
+    static final class Counter
+    {
+        long value;
+    }
+    
+    static Object newValue(Class<? extends RiakDatatype> datatype)
+    {
+        if (datatype == RiakCounter.class)
+        {
+            return new Counter();
+        }
+        else if (datatype == RiakSet.class)
+        {
+            return new TreeSet<ByteString>(FakeRiakStore.BYTES);
+        }
+        else
+        {
+            return new LinkedHashMap<MapField, Object>();
+        }
+    }
+    
+    static Class<? extends RiakDatatype> datatypeOf(Object value)
+    {
+        if (value instanceof Counter)
+        {
+            return RiakCounter.class;
+        }
+        else if (value instanceof TreeSet)
+        {
+            return RiakSet.class;
+        }
+        else
+        {
+            return RiakMap.class;
+        }
+    }
+    
+    static Class<? extends RiakDatatype> datatypeOf(RiakDtPB.DtOp op)
+    {
+        if (op.hasCounterOp())
+        {
+            return RiakCounter.class;
+        }
+        else if (op.hasSetOp())
+        {
+            return RiakSet.class;
+        }
+        else if (op.hasMapOp())
+        {
+            return RiakMap.class;
+        }
+        throw new IllegalArgumentException("Empty data type operation");
+    }
+    
+    static RiakDtPB.DtFetchResp.DataType fetchType(Class<? extends RiakDatatype> datatype)
+    {
+        if (datatype == RiakCounter.class)
+        {
+            return RiakDtPB.DtFetchResp.DataType.COUNTER;
+        }
+        else if (datatype == RiakSet.class)
+        {
+            return RiakDtPB.DtFetchResp.DataType.SET;
+        }
+        else
+        {
+            return RiakDtPB.DtFetchResp.DataType.MAP;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    static void apply(Object value, RiakDtPB.DtOp op)
+    {
+        if (op.hasCounterOp())
+        {
+            ((Counter) value).value += increment(op.getCounterOp());
+        }
+        else if (op.hasSetOp())
+        {
+            apply((TreeSet<ByteString>) value, op.getSetOp());
+        }
+        else
+        {
+            apply((Map<MapField, Object>) value, op.getMapOp());
+        }
+    }
+    
+    private static long increment(RiakDtPB.CounterOp op)
+    {
+        return op.hasIncrement() ? op.getIncrement() : 1;
+    }
+    
+    private static void apply(TreeSet<ByteString> set, RiakDtPB.SetOp op)
+    {
+        set.removeAll(op.getRemovesList());
+        set.addAll(op.getAddsList());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void apply(Map<MapField, Object> map, RiakDtPB.MapOp op)
+    {
+        for (MapField field : op.getRemovesList())
+        {
+            map.remove(field);
+        }
+        
+        for (RiakDtPB.MapUpdate update : op.getUpdatesList())
+        {
+            MapField field = update.getField();
+            Object current = map.get(field);
+            switch (field.getType())
+            {
+                case COUNTER:
+                    Counter counter = current != null ? (Counter) current : new Counter();
+                    counter.value += increment(update.getCounterOp());
+                    map.put(field, counter);
+                    break;
+                case SET:
+                    TreeSet<ByteString> set = current != null 
+                        ? (TreeSet<ByteString>) current 
+                        : new TreeSet<ByteString>(FakeRiakStore.BYTES);
+                    apply(set, update.getSetOp());
+                    map.put(field, set);
+                    break;
+                case REGISTER:
+                    map.put(field, update.getRegisterOp());
+                    break;
+                case FLAG:
+                    map.put(field, update.getFlagOp() == RiakDtPB.MapUpdate.FlagOp.ENABLE);
+                    break;
+                case MAP:
+                    Map<MapField, Object> nested = current != null 
+                        ? (Map<MapField, Object>) current 
+                        : new LinkedHashMap<MapField, Object>();
+                    apply(nested, update.getMapOp());
+                    map.put(field, nested);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown map field type " + field.getType());
+            }
+        }
+    }
+    
+    static RiakDtPB.DtValue toDtValue(Object value)
+    {
+        RiakDtPB.DtValue.Builder builder = RiakDtPB.DtValue.newBuilder();
+        if (value instanceof Counter)
+        {
+            builder.setCounterValue(((Counter) value).value);
+        }
+        else if (value instanceof TreeSet)
+        {
+            builder.addAllSetValue(asSet(value));
+        }
+        else
+        {
+            builder.addAllMapValue(toEntries(value));
+        }
+        return builder.build();
+    }
+    
+    static void setValue(RiakDtPB.DtUpdateResp.Builder builder, Object value)
+    {
+        if (value instanceof Counter)
+        {
+            builder.setCounterValue(((Counter) value).value);
+        }
+        else if (value instanceof TreeSet)
+        {
+            builder.addAllSetValue(asSet(value));
+        }
+        else
+        {
+            builder.addAllMapValue(toEntries(value));
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static TreeSet<ByteString> asSet(Object value)
+    {
+        return (TreeSet<ByteString>) value;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<RiakDtPB.MapEntry> toEntries(Object value)
+    {
+        Map<MapField, Object> map = (Map<MapField, Object>) value;
+        RiakDtPB.MapEntry[] entries = new RiakDtPB.MapEntry[map.size()];
+        int i = 0;
+        for (Map.Entry<MapField, Object> e : map.entrySet())
+        {
+            RiakDtPB.MapEntry.Builder entry = RiakDtPB.MapEntry.newBuilder().setField(e.getKey());
+            Object v = e.getValue();
+            MapFieldType type = e.getKey().getType();
+            if (type == MapFieldType.COUNTER)
+            {
+                entry.setCounterValue(((Counter) v).value);
+            }
+            else if (type == MapFieldType.SET)
+            {
+                entry.addAllSetValue(asSet(v));
+            }
+            else if (type == MapFieldType.REGISTER)
+            {
+                entry.setRegisterValue((ByteString) v);
+            }
+            else if (type == MapFieldType.FLAG)
+            {
+                entry.setFlagValue((Boolean) v);
+            }
+            else
+            {
+                entry.addAllMapValue(toEntries(v));
+            }
+            entries[i++] = entry.build();
+        }
+        return Arrays.asList(entries);
+    }
+}
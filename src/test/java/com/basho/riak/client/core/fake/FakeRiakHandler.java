@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.fake;
+
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.basho.riak.protobuf.RiakPB;
+import com.google.protobuf.ByteString;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Answers the requests on one connection to a {@link FakeRiakServer}.
+ * <p>
+ * Delayed responses are scheduled on the connection's event loop no
+ * earlier than the previous one, so jitter never reorders them.
+ * </p>
+ * @since 2.0.2
+ */
+class FakeRiakHandler extends SimpleChannelInboundHandler<RiakMessage>
+{
+    private final Logger logger = LoggerFactory.getLogger(FakeRiakHandler.class);
+    private final FakeRiakServer server;
+    // nanoTime at which the last response on this connection is sent.
+    private long lastDeadline;
+    
+    FakeRiakHandler(FakeRiakServer server)
+    {
+        this.server = server;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, RiakMessage request)
+    {
+        if (server.drop())
+        {
+            ctx.close();
+            return;
+        }
+        
+        List<RiakMessage> responses;
+        if (server.injectError())
+        {
+            responses = Collections.singletonList(error(server.getErrorMessage()));
+        }
+        else
+        {
+            try
+            {
+                responses = server.getStore().handle(request);
+            }
+            catch (Exception e)
+            {
+                logger.debug("Request with code {} failed; {}", request.getCode(), e.toString());
+                responses = Collections.singletonList(error(String.valueOf(e.getMessage())));
+            }
+        }
+        
+        long delay = server.nextDelayNanos();
+        long now = System.nanoTime();
+        if (delay <= 0 && lastDeadline - now <= 0)
+        {
+            write(ctx, responses);
+        }
+        else
+        {
+            long deadline = Math.max(now + delay, lastDeadline);
+            lastDeadline = deadline;
+            final ChannelHandlerContext context = ctx;
+            final List<RiakMessage> toWrite = responses;
+            ctx.executor().schedule(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    write(context, toWrite);
+                }
+            }, deadline - now, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
+    {
+        logger.debug("Closing connection; {}", cause.toString());
+        ctx.close();
+    }
+    
+    private static void write(ChannelHandlerContext ctx, List<RiakMessage> responses)
+    {
+        if (ctx.channel().isActive())
+        {
+            for (RiakMessage response : responses)
+            {
+                ctx.write(response);
+            }
+            ctx.flush();
+        }
+    }
+    
+    static RiakMessage error(String message)
+    {
+        RiakPB.RpbErrorResp resp = RiakPB.RpbErrorResp.newBuilder()
+            .setErrmsg(ByteString.copyFromUtf8(message))
+            .setErrcode(0)
+            .build();
+        return new RiakMessage(RiakMessageCodes.MSG_ErrorResp, resp.toByteArray());
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.fake;
+
+import com.basho.riak.client.core.netty.RiakMessageCodec;
+import com.basho.riak.client.core.query.crdt.types.RiakCounter;
+import com.basho.riak.client.core.query.crdt.types.RiakDatatype;
+import com.basho.riak.client.core.query.crdt.types.RiakMap;
+import com.basho.riak.client.core.query.crdt.types.RiakSet;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-process stand-in for a Riak node speaking the protocol buffers API.
+ * <p>
+ * The server listens on the loopback interface and keeps everything in 
+ * memory. It handles ping, server info, get / put / delete, list buckets,
+ * list keys, secondary index queries, MapReduce and the counter, set and
+ * map data types, which is enough to run the client's KV, 2i and CRDT 
+ * commands, integration-style tests and benchmarks without a Riak cluster.
+ * </p>
+ * <p>
+ * Network conditions can be simulated; a fixed latency plus uniformly
+ * distributed jitter before each response, a rate of injected error
+ * responses, and a rate of connections closed instead of answered. Random
+ * choices come from a seeded generator so a run can be reproduced. 
+ * Responses on a connection are always sent in request order.
+ * </p>
+ * <p>
+ * It is not Riak. There is no replication and there are no siblings; the 
+ * last write wins. Quorum values and timeouts are ignored. MapReduce jobs
+ * don't run their phases; the result of phase 0 is the values of the inputs
+ * (JSON values as JSON, anything else as a string), as if a single
+ * {@code Riak.mapValuesJson} phase had run. Key filters are ignored.
+ * </p>
+ * <p>
+ * This package is published in the client's test-jar (classifier 
+ * {@code tests}) for the benchmarks module.
+ * </p>
+ * <pre class="prettyprint">
+ * {@code
+ * FakeRiakServer server = new FakeRiakServer.Builder()
+ *                             .withLatency(1, TimeUnit.MILLISECONDS)
+ *                             .withJitter(500, TimeUnit.MICROSECONDS)
+ *                             .withErrorRate(0.01)
+ *                             .build()
+ *                             .start();
+ * RiakNode node = new RiakNode.Builder()
+ *                     .withRemoteAddress("127.0.0.1")
+ *                     .withRemotePort(server.getPort())
+ *                     .build();
+ * ...
+ * server.shutdown();}</pre>
+ * 
+ * @since 2.0.2
+ */
+public class FakeRiakServer
+{
+    /**
+     * The errmsg sent in injected error responses unless another is supplied.
+     */
+    public static final String DEFAULT_ERROR_MESSAGE = "injected error";
+    
+    private final Logger logger = LoggerFactory.getLogger(FakeRiakServer.class);
+    
+    private final int port;
+    private final int threads;
+    private final FakeRiakStore store;
+    private final Random random;
+    private final String errorMessage;
+    
+    private volatile long latencyNanos;
+    private volatile long jitterNanos;
+    private volatile double errorRate;
+    private volatile double dropRate;
+    
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong droppedConnections = new AtomicLong();
+    
+    private EventLoopGroup group;
+    private Channel serverChannel;
+    
+    private FakeRiakServer(Builder builder)
+    {
+        this.port = builder.port;
+        this.threads = builder.threads;
+        this.store = new FakeRiakStore(builder.datatypes);
+        this.random = new Random(builder.seed);
+        this.errorMessage = builder.errorMessage;
+        this.latencyNanos = builder.latencyNanos;
+        this.jitterNanos = builder.jitterNanos;
+        this.errorRate = builder.errorRate;
+        this.dropRate = builder.dropRate;
+    }
+    
+    /**
+     * Starts listening for connections.
+     * @return a reference to this object.
+     * @throws InterruptedException if interrupted while binding.
+     */
+    public synchronized FakeRiakServer start() throws InterruptedException
+    {
+        if (group != null)
+        {
+            throw new IllegalStateException("Server already started");
+        }
+        
+        group = new NioEventLoopGroup(threads);
+        serverChannel = new ServerBootstrap()
+            .group(group)
+            .channel(NioServerSocketChannel.class)
+            .option(ChannelOption.SO_REUSEADDR, true)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new ChannelInitializer<SocketChannel>()
+            {
+                @Override
+                protected void initChannel(SocketChannel ch)
+                {
+                    ch.pipeline().addLast(new RiakMessageCodec(), 
+                                          new FakeRiakHandler(FakeRiakServer.this));
+                }
+            })
+            .bind(new InetSocketAddress("127.0.0.1", port))
+            .sync()
+            .channel();
+        
+        logger.info("FakeRiakServer listening on 127.0.0.1:{}", getPort());
+        return this;
+    }
+    
+    /**
+     * Closes the listening socket and all connections.
+     * @throws InterruptedException if interrupted while waiting for shutdown.
+     */
+    public synchronized void shutdown() throws InterruptedException
+    {
+        if (group != null)
+        {
+            serverChannel.close().sync();
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+            group = null;
+        }
+    }
+    
+    /**
+     * Returns the port the server is listening on.
+     * @return the local port.
+     */
+    public int getPort()
+    {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+    
+    /**
+     * Removes all stored objects and data types.
+     */
+    public void clear()
+    {
+        store.clear();
+    }
+    
+    /**
+     * Sets the fixed delay before each response.
+     * @param latency the delay.
+     * @param unit the unit for {@code latency}.
+     */
+    public void setLatency(long latency, TimeUnit unit)
+    {
+        this.latencyNanos = unit.toNanos(latency);
+    }
+    
+    /**
+     * Sets the maximum random delay added to the latency of each response.
+     * @param jitter the maximum additional delay.
+     * @param unit the unit for {@code jitter}.
+     */
+    public void setJitter(long jitter, TimeUnit unit)
+    {
+        this.jitterNanos = unit.toNanos(jitter);
+    }
+    
+    /**
+     * Sets the fraction of requests answered with an error response.
+     * @param rate a value from 0.0 to 1.0.
+     */
+    public void setErrorRate(double rate)
+    {
+        this.errorRate = checkRate(rate);
+    }
+    
+    /**
+     * Sets the fraction of requests answered by closing the connection.
+     * @param rate a value from 0.0 to 1.0.
+     */
+    public void setDropRate(double rate)
+    {
+        this.dropRate = checkRate(rate);
+    }
+    
+    /**
+     * Returns the number of requests received.
+     * @return the request count.
+     */
+    public long getRequestCount()
+    {
+        return requests.get();
+    }
+    
+    /**
+     * Returns the number of injected error responses sent.
+     * @return the injected error count.
+     */
+    public long getInjectedErrorCount()
+    {
+        return injectedErrors.get();
+    }
+    
+    /**
+     * Returns the number of connections closed instead of answered.
+     * @return the dropped connection count.
+     */
+    public long getDroppedConnectionCount()
+    {
+        return droppedConnections.get();
+    }
+    
+    FakeRiakStore getStore()
+    {
+        return store;
+    }
+    
+    String getErrorMessage()
+    {
+        return errorMessage;
+    }
+    
+    // The methods below are called once per request, in this order.
+    
+    boolean drop()
+    {
+        requests.incrementAndGet();
+        double rate = dropRate;
+        if (rate > 0 && random.nextDouble() < rate)
+        {
+            droppedConnections.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    boolean injectError()
+    {
+        double rate = errorRate;
+        if (rate > 0 && random.nextDouble() < rate)
+        {
+            injectedErrors.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    long nextDelayNanos()
+    {
+        long delay = latencyNanos;
+        long jitter = jitterNanos;
+        if (jitter > 0)
+        {
+            delay += (long) (random.nextDouble() * jitter);
+        }
+        return delay;
+    }
+    
+    private static double checkRate(double rate)
+    {
+        if (rate < 0 || rate > 1)
+        {
+            throw new IllegalArgumentException("rate must be between 0.0 and 1.0");
+        }
+        return rate;
+    }
+    
+    /**
+     * Builder used to create {@link FakeRiakServer} instances.
+     */
+    public static class Builder
+    {
+        private int port;
+        private int threads = 1;
+        private long seed = 42;
+        private long latencyNanos;
+        private long jitterNanos;
+        private double errorRate;
+        private double dropRate;
+        private String errorMessage = DEFAULT_ERROR_MESSAGE;
+        private final Map<String, Class<? extends RiakDatatype>> datatypes = 
+            new HashMap<String, Class<? extends RiakDatatype>>();
+        
+        /**
+         * Sets the port to listen on.
+         * <p>
+         * By default (0) an ephemeral port is used; see {@link FakeRiakServer#getPort()}.
+         * </p>
+         * @param port the port.
+         * @return a reference to this object.
+         */
+        public Builder withPort(int port)
+        {
+            this.port = port;
+            return this;
+        }
+        
+        /**
+         * Sets the number of event loop threads serving connections.
+         * <p>
+         * The default is one, which keeps runs with a given seed reproducible.
+         * </p>
+         * @param threads the number of threads.
+         * @return a reference to this object.
+         */
+        public Builder withThreads(int threads)
+        {
+            if (threads < 1)
+            {
+                throw new IllegalArgumentException("threads must be at least 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+        
+        /**
+         * Sets the seed for the random choices (jitter, errors, drops).
+         * @param seed the seed.
+         * @return a reference to this object.
+         */
+        public Builder withSeed(long seed)
+        {
+            this.seed = seed;
+            return this;
+        }
+        
+        /**
+         * Sets the fixed delay before each response.
+         * @param latency the delay.
+         * @param unit the unit for {@code latency}.
+         * @return a reference to this object.
+         */
+        public Builder withLatency(long latency, TimeUnit unit)
+        {
+            this.latencyNanos = unit.toNanos(latency);
+            return this;
+        }
+        
+        /**
+         * Sets the maximum random delay added to the latency of each response.
+         * @param jitter the maximum additional delay.
+         * @param unit the unit for {@code jitter}.
+         * @return a reference to this object.
+         */
+        public Builder withJitter(long jitter, TimeUnit unit)
+        {
+            this.jitterNanos = unit.toNanos(jitter);
+            return this;
+        }
+        
+        /**
+         * Sets the fraction of requests answered with an error response.
+         * @param rate a value from 0.0 to 1.0.
+         * @return a reference to this object.
+         */
+        public Builder withErrorRate(double rate)
+        {
+            this.errorRate = checkRate(rate);
+            return this;
+        }
+        
+        /**
+         * Sets the errmsg of injected error responses.
+         * @param message the error message.
+         * @return a reference to this object.
+         */
+        public Builder withErrorMessage(String message)
+        {
+            this.errorMessage = message;
+            return this;
+        }
+        
+        /**
+         * Sets the fraction of requests answered by closing the connection.
+         * @param rate a value from 0.0 to 1.0.
+         * @return a reference to this object.
+         */
+        public Builder withDropRate(double rate)
+        {
+            this.dropRate = checkRate(rate);
+            return this;
+        }
+        
+        /**
+         * Declares the data type held in a bucket type.
+         * <p>
+         * The server needs this to answer fetches of data types that don't
+         * exist yet. Bucket types whose names end in "counters", "sets" or 
+         * "maps" don't need to be declared.
+         * </p>
+         * @param bucketType the name of the bucket type.
+         * @param datatype {@link RiakCounter}, {@link RiakSet} or {@link RiakMap}.
+         * @return a reference to this object.
+         */
+        public Builder withDatatype(String bucketType, Class<? extends RiakDatatype> datatype)
+        {
+            if (datatype != RiakCounter.class && datatype != RiakSet.class && datatype != RiakMap.class)
+            {
+                throw new IllegalArgumentException("Bucket types can hold counters, sets or maps");
+            }
+            datatypes.put(bucketType, datatype);
+            return this;
+        }
+        
+        /**
+         * Builds the server. It is not started.
+         * @return a new FakeRiakServer.
+         */
+        public FakeRiakServer build()
+        {
+            return new FakeRiakServer(this);
+        }
+    }
+}
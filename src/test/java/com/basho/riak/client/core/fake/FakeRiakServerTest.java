@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.fake;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.commands.datatypes.CounterUpdate;
+import com.basho.riak.client.api.commands.datatypes.FetchCounter;
+import com.basho.riak.client.api.commands.datatypes.FetchMap;
+import com.basho.riak.client.api.commands.datatypes.FetchSet;
+import com.basho.riak.client.api.commands.datatypes.MapUpdate;
+import com.basho.riak.client.api.commands.datatypes.RegisterUpdate;
+import com.basho.riak.client.api.commands.datatypes.SetUpdate;
+import com.basho.riak.client.api.commands.datatypes.UpdateCounter;
+import com.basho.riak.client.api.commands.datatypes.UpdateMap;
+import com.basho.riak.client.api.commands.datatypes.UpdateSet;
+import com.basho.riak.client.api.commands.indexes.IntIndexQuery;
+import com.basho.riak.client.api.commands.kv.DeleteValue;
+import com.basho.riak.client.api.commands.kv.FetchValue;
+import com.basho.riak.client.api.commands.kv.ListKeys;
+import com.basho.riak.client.api.commands.kv.StoreValue;
+import com.basho.riak.client.api.commands.mapreduce.BucketMapReduce;
+import com.basho.riak.client.api.commands.mapreduce.MapReduce;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakNode;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.query.crdt.types.RiakMap;
+import com.basho.riak.client.core.query.functions.Function;
+import com.basho.riak.client.core.query.indexes.LongIntIndex;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FakeRiakServerTest
+{
+    private final Namespace ns = new Namespace("test_bucket");
+    private FakeRiakServer server;
+    private RiakClient client;
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        server = new FakeRiakServer.Builder().build().start();
+        RiakNode node = new RiakNode.Builder()
+                            .withRemotePort(server.getPort())
+                            .build();
+        RiakCluster cluster = new RiakCluster.Builder(node).build();
+        cluster.start();
+        client = new RiakClient(cluster);
+    }
+    
+    @After
+    public void tearDown() throws Exception
+    {
+        client.shutdown().get();
+        server.shutdown();
+    }
+    
+    private void store(String key, String value) throws ExecutionException, InterruptedException
+    {
+        RiakObject obj = new RiakObject().setValue(BinaryValue.create(value));
+        client.execute(new StoreValue.Builder(obj).withLocation(new Location(ns, key)).build());
+    }
+    
+    @Test
+    public void storeFetchDelete() throws ExecutionException, InterruptedException
+    {
+        Location location = new Location(ns, "key");
+        store("key", "value");
+        
+        FetchValue.Response response = client.execute(new FetchValue.Builder(location).build());
+        assertFalse(response.isNotFound());
+        assertEquals("value", response.getValue(RiakObject.class).getValue().toString());
+        assertTrue(response.getVectorClock() != null);
+        
+        client.execute(new DeleteValue.Builder(location).build());
+        response = client.execute(new FetchValue.Builder(location).build());
+        assertTrue(response.isNotFound());
+    }
+    
+    @Test
+    public void generatedKey() throws ExecutionException, InterruptedException
+    {
+        RiakObject obj = new RiakObject().setValue(BinaryValue.create("value"));
+        StoreValue.Response response = client.execute(new StoreValue.Builder(obj).withNamespace(ns).build());
+        
+        Location location = new Location(ns, response.getGeneratedKey());
+        FetchValue.Response fetched = client.execute(new FetchValue.Builder(location).build());
+        assertEquals("value", fetched.getValue(RiakObject.class).getValue().toString());
+    }
+    
+    @Test
+    public void listKeys() throws ExecutionException, InterruptedException
+    {
+        Set<String> expected = new HashSet<String>();
+        for (int i = 0; i < 250; i++)
+        {
+            store("key" + i, "value");
+            expected.add("key" + i);
+        }
+        
+        Set<String> keys = new HashSet<String>();
+        for (Location location : client.execute(new ListKeys.Builder(ns).build()))
+        {
+            keys.add(location.getKeyAsString());
+        }
+        assertEquals(expected, keys);
+    }
+    
+    @Test
+    public void intIndexRangeQuery() throws ExecutionException, InterruptedException
+    {
+        for (long i = 0; i < 20; i++)
+        {
+            RiakObject obj = new RiakObject().setValue(BinaryValue.create("value"));
+            obj.getIndexes().getIndex(LongIntIndex.named("age")).add(i);
+            client.execute(new StoreValue.Builder(obj).withLocation(new Location(ns, "key" + i)).build());
+        }
+        
+        IntIndexQuery.Response response = 
+            client.execute(new IntIndexQuery.Builder(ns, "age", 5L, 14L).withKeyAndIndex(true).build());
+        assertEquals(10, response.getEntries().size());
+        // Numeric, not lexical, ordering of terms
+        assertEquals(Long.valueOf(5), response.getEntries().get(0).getIndexKey());
+        assertEquals("key14", response.getEntries().get(9).getRiakObjectLocation().getKeyAsString());
+        
+        response = client.execute(new IntIndexQuery.Builder(ns, "age", 5L, 14L)
+                                    .withMaxResults(4)
+                                    .withPaginationSort(true)
+                                    .build());
+        assertEquals(4, response.getEntries().size());
+        assertTrue(response.hasContinuation());
+        
+        response = client.execute(new IntIndexQuery.Builder(ns, "age", 5L, 14L)
+                                    .withMaxResults(10)
+                                    .withPaginationSort(true)
+                                    .withContinuation(response.getContinuation())
+                                    .build());
+        assertEquals(6, response.getEntries().size());
+        assertFalse(response.hasContinuation());
+    }
+    
+    @Test
+    public void mapReduceReturnsInputValues() throws ExecutionException, InterruptedException
+    {
+        store("key1", "one");
+        store("key2", "two");
+        
+        MapReduce mr = new BucketMapReduce.Builder()
+                        .withNamespace(ns)
+                        .withMapPhase(Function.newNamedJsFunction("Riak.mapValues"))
+                        .build();
+        MapReduce.Response response = client.execute(mr);
+        assertEquals(2, response.getResultsFromAllPhases().size());
+    }
+    
+    @Test
+    public void datatypes() throws ExecutionException, InterruptedException
+    {
+        Location counter = new Location(new Namespace("counters", "test"), "counter");
+        client.execute(new UpdateCounter.Builder(counter, new CounterUpdate(5)).build());
+        client.execute(new UpdateCounter.Builder(counter, new CounterUpdate(-2)).build());
+        assertEquals(Long.valueOf(3), 
+                     client.execute(new FetchCounter.Builder(counter).build()).getDatatype().view());
+        
+        Location set = new Location(new Namespace("sets", "test"), "set");
+        client.execute(new UpdateSet.Builder(set, new SetUpdate().add("a").add("b")).build());
+        FetchSet.Response fetchedSet = client.execute(new FetchSet.Builder(set).build());
+        assertEquals(2, fetchedSet.getDatatype().view().size());
+        client.execute(new UpdateSet.Builder(set, new SetUpdate().remove("a"))
+                        .withContext(fetchedSet.getContext())
+                        .build());
+        Set<BinaryValue> members = client.execute(new FetchSet.Builder(set).build()).getDatatype().view();
+        assertEquals(1, members.size());
+        assertTrue(members.contains(BinaryValue.create("b")));
+        
+        Location map = new Location(new Namespace("maps", "test"), "map");
+        MapUpdate update = new MapUpdate()
+                            .update("visits", new CounterUpdate(1))
+                            .update("name", new RegisterUpdate("fake"))
+                            .update("inner", new MapUpdate().update("tags", new SetUpdate().add("x")));
+        UpdateMap.Response updated = 
+            client.execute(new UpdateMap.Builder(map, update).withReturnDatatype(true).build());
+        assertEquals(Long.valueOf(1), updated.getDatatype().getCounter("visits").view());
+        
+        RiakMap fetched = client.execute(new FetchMap.Builder(map).build()).getDatatype();
+        assertEquals(Long.valueOf(1), fetched.getCounter("visits").view());
+        assertEquals("fake", fetched.getRegister("name").view().toString());
+        assertTrue(fetched.getMap("inner").getSet("tags").view().contains(BinaryValue.create("x")));
+    }
+    
+    @Test
+    public void injectedErrors() throws InterruptedException
+    {
+        server.setErrorRate(1.0);
+        try
+        {
+            store("key", "value");
+            fail("Expected an injected error");
+        }
+        catch (ExecutionException ex)
+        {
+            assertTrue(ex.getCause().getMessage().contains(FakeRiakServer.DEFAULT_ERROR_MESSAGE));
+        }
+        assertTrue(server.getInjectedErrorCount() > 0);
+    }
+    
+    @Test
+    public void droppedConnections() throws InterruptedException
+    {
+        server.setDropRate(1.0);
+        try
+        {
+            store("key", "value");
+            fail("Expected the connection to be dropped");
+        }
+        catch (ExecutionException ex)
+        {
+            // expected
+        }
+        assertTrue(server.getDroppedConnectionCount() > 0);
+    }
+    
+    @Test
+    public void injectedLatency() throws ExecutionException, InterruptedException
+    {
+        store("key", "value");
+        server.setLatency(100, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        client.execute(new FetchValue.Builder(new Location(ns, "key")).build());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
@@ -0,0 +1,718 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.fake;
+
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.query.crdt.types.RiakCounter;
+import com.basho.riak.client.core.query.crdt.types.RiakDatatype;
+import com.basho.riak.client.core.query.crdt.types.RiakMap;
+import com.basho.riak.client.core.query.crdt.types.RiakSet;
+import com.basho.riak.protobuf.RiakDtPB;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.basho.riak.protobuf.RiakPB;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.MessageLite;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * The in-memory data held by a {@link FakeRiakServer} and the logic that 
+ * answers each request.
+ * <p>
+ * Every request is handled while holding this object's lock. Errors are
+ * thrown as exceptions whose message becomes the errmsg of the response.
+ * </p>
+ * @since 2.0.2
+ */
+class FakeRiakStore
+{
+    static final Comparator<ByteString> BYTES = new Comparator<ByteString>()
+    {
+        @Override
+        public int compare(ByteString a, ByteString b)
+        {
+            int n = Math.min(a.size(), b.size());
+            for (int i = 0; i < n; i++)
+            {
+                int diff = (a.byteAt(i) & 0xff) - (b.byteAt(i) & 0xff);
+                if (diff != 0)
+                {
+                    return diff;
+                }
+            }
+            return a.size() - b.size();
+        }
+    };
+    
+    private static final int KEYS_PER_MESSAGE = 100;
+    private static final byte[] EMPTY = new byte[0];
+    private static final ByteString DEFAULT_TYPE = ByteString.copyFromUtf8("default");
+    private static final ByteString KEY_INDEX = ByteString.copyFromUtf8("$key");
+    private static final ByteString BUCKET_INDEX = ByteString.copyFromUtf8("$bucket");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final Map<String, Class<? extends RiakDatatype>> datatypes;
+    private final Map<BucketId, TreeMap<ByteString, Stored>> buckets = 
+        new HashMap<BucketId, TreeMap<ByteString, Stored>>();
+    private long writes;
+    
+    FakeRiakStore(Map<String, Class<? extends RiakDatatype>> datatypes)
+    {
+        this.datatypes = new HashMap<String, Class<? extends RiakDatatype>>(datatypes);
+    }
+    
+    synchronized void clear()
+    {
+        buckets.clear();
+    }
+    
+    synchronized List<RiakMessage> handle(RiakMessage request) throws IOException
+    {
+        // Not RiakMessage.getCodedInputStream(); protobuf is relocated in
+        // the shaded client jar the benchmarks run against.
+        CodedInputStream in = CodedInputStream.newInstance(request.getData());
+        switch (request.getCode())
+        {
+            case RiakMessageCodes.MSG_PingReq:
+                return Collections.singletonList(new RiakMessage(RiakMessageCodes.MSG_PingResp, EMPTY));
+            case RiakMessageCodes.MSG_GetServerInfoReq:
+                return reply(RiakMessageCodes.MSG_GetServerInfoResp, 
+                             RiakPB.RpbGetServerInfoResp.newBuilder()
+                                .setNode(ByteString.copyFromUtf8("fake@127.0.0.1"))
+                                .setServerVersion(ByteString.copyFromUtf8("2.0.0-fake"))
+                                .build());
+            case RiakMessageCodes.MSG_GetReq:
+                return get(RiakKvPB.RpbGetReq.parseFrom(in));
+            case RiakMessageCodes.MSG_PutReq:
+                return put(RiakKvPB.RpbPutReq.parseFrom(in));
+            case RiakMessageCodes.MSG_DelReq:
+                return delete(RiakKvPB.RpbDelReq.parseFrom(in));
+            case RiakMessageCodes.MSG_ListBucketsReq:
+                return listBuckets(RiakKvPB.RpbListBucketsReq.parseFrom(in));
+            case RiakMessageCodes.MSG_ListKeysReq:
+                return listKeys(RiakKvPB.RpbListKeysReq.parseFrom(in));
+            case RiakMessageCodes.MSG_IndexReq:
+                return index(RiakKvPB.RpbIndexReq.parseFrom(in));
+            case RiakMessageCodes.MSG_MapRedReq:
+                return mapReduce(RiakKvPB.RpbMapRedReq.parseFrom(in));
+            case RiakMessageCodes.MSG_DtFetchReq:
+                return dtFetch(RiakDtPB.DtFetchReq.parseFrom(in));
+            case RiakMessageCodes.MSG_DtUpdateReq:
+                return dtUpdate(RiakDtPB.DtUpdateReq.parseFrom(in));
+            default:
+                throw new IllegalArgumentException("Unknown message code: " + request.getCode());
+        }
+    }
+    
+    private List<RiakMessage> get(RiakKvPB.RpbGetReq req)
+    {
+        Stored stored = lookup(req.hasType(), req.getType(), req.getBucket(), req.getKey());
+        if (stored == null || stored.content == null)
+        {
+            // Not found is a response with no body.
+            return Collections.singletonList(new RiakMessage(RiakMessageCodes.MSG_GetResp, EMPTY));
+        }
+        
+        RiakKvPB.RpbGetResp.Builder resp = RiakKvPB.RpbGetResp.newBuilder().setVclock(stored.vclock);
+        if (req.hasIfModified() && req.getIfModified().equals(stored.vclock))
+        {
+            resp.setUnchanged(true);
+        }
+        else
+        {
+            resp.addContent(req.getHead() ? head(stored.content) : stored.content);
+        }
+        return reply(RiakMessageCodes.MSG_GetResp, resp.build());
+    }
+    
+    private List<RiakMessage> put(RiakKvPB.RpbPutReq req)
+    {
+        TreeMap<ByteString, Stored> bucket = bucket(req.hasType(), req.getType(), req.getBucket(), true);
+        ByteString key = req.hasKey() ? req.getKey() : generateKey();
+        Stored existing = bucket.get(key);
+        
+        // The errors Riak returns for failed conditional puts.
+        if (req.getIfNoneMatch() && existing != null)
+        {
+            throw new IllegalStateException("match_found");
+        }
+        if (req.getIfNotModified())
+        {
+            if (existing == null)
+            {
+                throw new IllegalStateException("notfound");
+            }
+            else if (!existing.vclock.equals(req.getVclock()))
+            {
+                throw new IllegalStateException("modified");
+            }
+        }
+        
+        long write = ++writes;
+        long now = System.currentTimeMillis();
+        RiakKvPB.RpbContent content = req.getContent().toBuilder()
+            .setVtag(ByteString.copyFromUtf8(Long.toString(write, 36)))
+            .setLastMod((int) (now / 1000))
+            .setLastModUsecs((int) (now % 1000) * 1000)
+            .build();
+        Stored stored = new Stored(vclock(write), content, null);
+        bucket.put(key, stored);
+        
+        RiakKvPB.RpbPutResp.Builder resp = RiakKvPB.RpbPutResp.newBuilder();
+        if (!req.hasKey())
+        {
+            resp.setKey(key);
+        }
+        if (req.getReturnBody() || req.getReturnHead())
+        {
+            resp.setVclock(stored.vclock)
+                .addContent(req.getReturnBody() ? content : head(content));
+        }
+        return reply(RiakMessageCodes.MSG_PutResp, resp.build());
+    }
+    
+    private List<RiakMessage> delete(RiakKvPB.RpbDelReq req)
+    {
+        TreeMap<ByteString, Stored> bucket = bucket(req.hasType(), req.getType(), req.getBucket(), false);
+        if (bucket != null)
+        {
+            bucket.remove(req.getKey());
+        }
+        return Collections.singletonList(new RiakMessage(RiakMessageCodes.MSG_DelResp, EMPTY));
+    }
+    
+    private List<RiakMessage> listBuckets(RiakKvPB.RpbListBucketsReq req)
+    {
+        ByteString type = req.hasType() ? req.getType() : DEFAULT_TYPE;
+        List<ByteString> names = new ArrayList<ByteString>();
+        for (Map.Entry<BucketId, TreeMap<ByteString, Stored>> e : buckets.entrySet())
+        {
+            if (e.getKey().type.equals(type) && !e.getValue().isEmpty())
+            {
+                names.add(e.getKey().bucket);
+            }
+        }
+        Collections.sort(names, BYTES);
+        
+        RiakKvPB.RpbListBucketsResp resp = RiakKvPB.RpbListBucketsResp.newBuilder()
+            .addAllBuckets(names)
+            .build();
+        if (!req.getStream())
+        {
+            return reply(RiakMessageCodes.MSG_ListBucketsResp, resp);
+        }
+        
+        List<RiakMessage> messages = new ArrayList<RiakMessage>(2);
+        if (!names.isEmpty())
+        {
+            messages.add(message(RiakMessageCodes.MSG_ListBucketsResp, resp));
+        }
+        messages.add(message(RiakMessageCodes.MSG_ListBucketsResp, 
+                             RiakKvPB.RpbListBucketsResp.newBuilder().setDone(true).build()));
+        return messages;
+    }
+    
+    private List<RiakMessage> listKeys(RiakKvPB.RpbListKeysReq req)
+    {
+        TreeMap<ByteString, Stored> bucket = bucket(req.hasType(), req.getType(), req.getBucket(), false);
+        List<RiakMessage> messages = new ArrayList<RiakMessage>();
+        if (bucket != null)
+        {
+            RiakKvPB.RpbListKeysResp.Builder chunk = RiakKvPB.RpbListKeysResp.newBuilder();
+            for (ByteString key : bucket.keySet())
+            {
+                chunk.addKeys(key);
+                if (chunk.getKeysCount() == KEYS_PER_MESSAGE)
+                {
+                    messages.add(message(RiakMessageCodes.MSG_ListKeysResp, chunk.build()));
+                    chunk = RiakKvPB.RpbListKeysResp.newBuilder();
+                }
+            }
+            if (chunk.getKeysCount() > 0)
+            {
+                messages.add(message(RiakMessageCodes.MSG_ListKeysResp, chunk.build()));
+            }
+        }
+        messages.add(message(RiakMessageCodes.MSG_ListKeysResp, 
+                             RiakKvPB.RpbListKeysResp.newBuilder().setDone(true).build()));
+        return messages;
+    }
+    
+    private List<RiakMessage> index(RiakKvPB.RpbIndexReq req)
+    {
+        boolean range = req.getQtype() == RiakKvPB.RpbIndexReq.IndexQueryType.range;
+        List<IndexEntry> matches = indexQuery(bucket(req.hasType(), req.getType(), req.getBucket(), false),
+                                              req.getIndex(), 
+                                              range ? req.getRangeMin() : req.getKey(),
+                                              range ? req.getRangeMax() : req.getKey(),
+                                              req.hasTermRegex() ? req.getTermRegex().toStringUtf8() : null);
+        
+        int start = 0;
+        if (req.hasContinuation())
+        {
+            IndexEntry after = IndexEntry.fromContinuation(req.getContinuation(), isInteger(req.getIndex()));
+            while (start < matches.size() && matches.get(start).compareTo(after) <= 0)
+            {
+                start++;
+            }
+        }
+        int end = matches.size();
+        if (req.hasMaxResults() && end - start > req.getMaxResults())
+        {
+            end = start + req.getMaxResults();
+        }
+        
+        RiakKvPB.RpbIndexResp.Builder results = RiakKvPB.RpbIndexResp.newBuilder();
+        for (IndexEntry entry : matches.subList(start, end))
+        {
+            if (req.getReturnTerms())
+            {
+                results.addResults(RiakPB.RpbPair.newBuilder().setKey(entry.term).setValue(entry.key));
+            }
+            else
+            {
+                results.addKeys(entry.key);
+            }
+        }
+        ByteString continuation = end < matches.size() ? matches.get(end - 1).toContinuation() : null;
+        
+        if (!req.getStream())
+        {
+            if (continuation != null)
+            {
+                results.setContinuation(continuation);
+            }
+            return reply(RiakMessageCodes.MSG_IndexResp, results.build());
+        }
+        
+        List<RiakMessage> messages = new ArrayList<RiakMessage>(2);
+        if (end > start)
+        {
+            messages.add(message(RiakMessageCodes.MSG_IndexResp, results.build()));
+        }
+        RiakKvPB.RpbIndexResp.Builder done = RiakKvPB.RpbIndexResp.newBuilder().setDone(true);
+        if (continuation != null)
+        {
+            done.setContinuation(continuation);
+        }
+        messages.add(message(RiakMessageCodes.MSG_IndexResp, done.build()));
+        return messages;
+    }
+    
+    private List<IndexEntry> indexQuery(TreeMap<ByteString, Stored> bucket, ByteString index, 
+                                        ByteString min, ByteString max, String termRegex)
+    {
+        List<IndexEntry> matches = new ArrayList<IndexEntry>();
+        if (bucket == null)
+        {
+            return matches;
+        }
+        
+        boolean integer = isInteger(index);
+        Pattern pattern = termRegex != null ? Pattern.compile(termRegex) : null;
+        for (Map.Entry<ByteString, Stored> e : bucket.entrySet())
+        {
+            if (index.equals(BUCKET_INDEX))
+            {
+                matches.add(new IndexEntry(e.getKey(), e.getKey(), false));
+            }
+            else if (index.equals(KEY_INDEX))
+            {
+                if (inRange(e.getKey(), min, max, false, pattern))
+                {
+                    matches.add(new IndexEntry(e.getKey(), e.getKey(), false));
+                }
+            }
+            else if (e.getValue().content != null)
+            {
+                for (RiakPB.RpbPair pair : e.getValue().content.getIndexesList())
+                {
+                    if (pair.getKey().equals(index) && inRange(pair.getValue(), min, max, integer, pattern))
+                    {
+                        matches.add(new IndexEntry(pair.getValue(), e.getKey(), integer));
+                    }
+                }
+            }
+        }
+        Collections.sort(matches);
+        return matches;
+    }
+    
+    private static boolean isInteger(ByteString index)
+    {
+        return index.toStringUtf8().endsWith("_int");
+    }
+    
+    private static boolean inRange(ByteString term, ByteString min, ByteString max, 
+                                   boolean integer, Pattern pattern)
+    {
+        if (pattern != null && !pattern.matcher(term.toStringUtf8()).find())
+        {
+            return false;
+        }
+        if (integer)
+        {
+            BigInteger value = new BigInteger(term.toStringUtf8());
+            return value.compareTo(new BigInteger(min.toStringUtf8())) >= 0 
+                && value.compareTo(new BigInteger(max.toStringUtf8())) <= 0;
+        }
+        return BYTES.compare(term, min) >= 0 && BYTES.compare(term, max) <= 0;
+    }
+    
+    private List<RiakMessage> mapReduce(RiakKvPB.RpbMapRedReq req) throws IOException
+    {
+        JsonNode inputs = MAPPER.readTree(req.getRequest().toByteArray()).get("inputs");
+        if (inputs == null)
+        {
+            throw new IllegalArgumentException("MapReduce request has no inputs");
+        }
+        
+        List<Stored> objects = new ArrayList<Stored>();
+        if (inputs.isTextual() || (inputs.isArray() && inputs.size() == 2 && inputs.get(0).isTextual() 
+                                   && inputs.get(1).isTextual()))
+        {
+            // A bucket; "bucket" or ["type", "bucket"]
+            addAll(objects, bucketInput(inputs));
+        }
+        else if (inputs.isArray())
+        {
+            // [[bucket, key, keydata(, type)], ...]
+            for (JsonNode input : inputs)
+            {
+                ByteString type = input.size() > 3 ? utf8(input.get(3).asText()) : DEFAULT_TYPE;
+                Stored stored = lookup(true, type, utf8(input.get(0).asText()), utf8(input.get(1).asText()));
+                if (stored != null && stored.content != null)
+                {
+                    objects.add(stored);
+                }
+            }
+        }
+        else if (inputs.has("index"))
+        {
+            TreeMap<ByteString, Stored> bucket = bucketInput(inputs.get("bucket"));
+            ByteString min = utf8(inputs.has("key") ? inputs.get("key").asText() : inputs.get("start").asText());
+            ByteString max = utf8(inputs.has("key") ? inputs.get("key").asText() : inputs.get("end").asText());
+            for (IndexEntry entry : indexQuery(bucket, utf8(inputs.get("index").asText()), min, max, null))
+            {
+                objects.add(bucket.get(entry.key));
+            }
+        }
+        else if (inputs.has("bucket"))
+        {
+            // Key filters are ignored.
+            addAll(objects, bucketInput(inputs.get("bucket")));
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unsupported MapReduce inputs: " + inputs);
+        }
+        
+        List<RiakMessage> messages = new ArrayList<RiakMessage>(2);
+        if (!objects.isEmpty())
+        {
+            ArrayNode values = MAPPER.createArrayNode();
+            for (Stored stored : objects)
+            {
+                ByteString value = stored.content.getValue();
+                if (stored.content.getContentType().toStringUtf8().startsWith("application/json"))
+                {
+                    values.add(MAPPER.readTree(value.toByteArray()));
+                }
+                else
+                {
+                    values.add(value.toStringUtf8());
+                }
+            }
+            messages.add(message(RiakMessageCodes.MSG_MapRedResp, 
+                                 RiakKvPB.RpbMapRedResp.newBuilder()
+                                    .setPhase(0)
+                                    .setResponse(ByteString.copyFrom(MAPPER.writeValueAsBytes(values)))
+                                    .build()));
+        }
+        messages.add(message(RiakMessageCodes.MSG_MapRedResp, 
+                             RiakKvPB.RpbMapRedResp.newBuilder().setDone(true).build()));
+        return messages;
+    }
+    
+    private TreeMap<ByteString, Stored> bucketInput(JsonNode bucket)
+    {
+        if (bucket.isArray())
+        {
+            return bucket(true, utf8(bucket.get(0).asText()), utf8(bucket.get(1).asText()), false);
+        }
+        return bucket(false, null, utf8(bucket.asText()), false);
+    }
+    
+    private static void addAll(List<Stored> objects, TreeMap<ByteString, Stored> bucket)
+    {
+        if (bucket != null)
+        {
+            for (Stored stored : bucket.values())
+            {
+                if (stored.content != null)
+                {
+                    objects.add(stored);
+                }
+            }
+        }
+    }
+    
+    private List<RiakMessage> dtFetch(RiakDtPB.DtFetchReq req)
+    {
+        Stored stored = lookup(true, req.getType(), req.getBucket(), req.getKey());
+        RiakDtPB.DtFetchResp.Builder resp = RiakDtPB.DtFetchResp.newBuilder();
+        if (stored == null)
+        {
+            resp.setType(FakeDatatypes.fetchType(datatypeOf(req.getType(), null)));
+        }
+        else
+        {
+            checkDatatype(stored);
+            resp.setType(FakeDatatypes.fetchType(FakeDatatypes.datatypeOf(stored.datatype)))
+                .setValue(FakeDatatypes.toDtValue(stored.datatype));
+            if (!req.hasIncludeContext() || req.getIncludeContext())
+            {
+                resp.setContext(stored.vclock);
+            }
+        }
+        return reply(RiakMessageCodes.MSG_DtFetchResp, resp.build());
+    }
+    
+    private List<RiakMessage> dtUpdate(RiakDtPB.DtUpdateReq req)
+    {
+        Class<? extends RiakDatatype> datatype = datatypeOf(req.getType(), req.getOp());
+        if (datatype != FakeDatatypes.datatypeOf(req.getOp()))
+        {
+            throw new IllegalArgumentException("Operation type is " + FakeDatatypes.datatypeOf(req.getOp()).getSimpleName() 
+                + " but bucket type " + req.getType().toStringUtf8() + " holds " + datatype.getSimpleName());
+        }
+        
+        TreeMap<ByteString, Stored> bucket = bucket(true, req.getType(), req.getBucket(), true);
+        ByteString key = req.hasKey() ? req.getKey() : generateKey();
+        Stored existing = bucket.get(key);
+        Object value;
+        if (existing != null)
+        {
+            checkDatatype(existing);
+            value = existing.datatype;
+        }
+        else
+        {
+            value = FakeDatatypes.newValue(datatype);
+        }
+        FakeDatatypes.apply(value, req.getOp());
+        Stored stored = new Stored(vclock(++writes), null, value);
+        bucket.put(key, stored);
+        
+        RiakDtPB.DtUpdateResp.Builder resp = RiakDtPB.DtUpdateResp.newBuilder();
+        if (!req.hasKey())
+        {
+            resp.setKey(key);
+        }
+        if (req.getReturnBody())
+        {
+            FakeDatatypes.setValue(resp, value);
+            if (!req.hasIncludeContext() || req.getIncludeContext())
+            {
+                resp.setContext(stored.vclock);
+            }
+        }
+        return reply(RiakMessageCodes.MSG_DtUpdateResp, resp.build());
+    }
+    
+    private Class<? extends RiakDatatype> datatypeOf(ByteString bucketType, RiakDtPB.DtOp op)
+    {
+        String name = bucketType.toStringUtf8();
+        Class<? extends RiakDatatype> datatype = datatypes.get(name);
+        if (datatype != null)
+        {
+            return datatype;
+        }
+        else if (name.endsWith("counters"))
+        {
+            return RiakCounter.class;
+        }
+        else if (name.endsWith("sets"))
+        {
+            return RiakSet.class;
+        }
+        else if (name.endsWith("maps"))
+        {
+            return RiakMap.class;
+        }
+        else if (op != null)
+        {
+            return FakeDatatypes.datatypeOf(op);
+        }
+        throw new IllegalArgumentException("Bucket type " + name + " is not a data type bucket type");
+    }
+    
+    private static void checkDatatype(Stored stored)
+    {
+        if (stored.datatype == null)
+        {
+            throw new IllegalStateException("Object is not a data type");
+        }
+    }
+    
+    private Stored lookup(boolean hasType, ByteString type, ByteString bucket, ByteString key)
+    {
+        TreeMap<ByteString, Stored> objects = bucket(hasType, type, bucket, false);
+        return objects == null ? null : objects.get(key);
+    }
+    
+    private TreeMap<ByteString, Stored> bucket(boolean hasType, ByteString type, ByteString bucket, boolean create)
+    {
+        BucketId id = new BucketId(hasType ? type : DEFAULT_TYPE, bucket);
+        TreeMap<ByteString, Stored> objects = buckets.get(id);
+        if (objects == null && create)
+        {
+            objects = new TreeMap<ByteString, Stored>(BYTES);
+            buckets.put(id, objects);
+        }
+        return objects;
+    }
+    
+    private ByteString generateKey()
+    {
+        return utf8(Long.toString(writes + 1, 36) + "-" + Long.toHexString(System.nanoTime()));
+    }
+    
+    private static ByteString vclock(long write)
+    {
+        return ByteString.copyFrom(ByteBuffer.allocate(8).putLong(0, write));
+    }
+    
+    private static RiakKvPB.RpbContent head(RiakKvPB.RpbContent content)
+    {
+        return content.toBuilder().setValue(ByteString.EMPTY).build();
+    }
+    
+    private static ByteString utf8(String s)
+    {
+        return ByteString.copyFromUtf8(s);
+    }
+    
+    private static List<RiakMessage> reply(byte code, MessageLite message)
+    {
+        return Collections.singletonList(message(code, message));
+    }
+    
+    private static RiakMessage message(byte code, MessageLite message)
+    {
+        return new RiakMessage(code, message.toByteArray());
+    }
+    
+    private static final class BucketId
+    {
+        final ByteString type;
+        final ByteString bucket;
+        
+        BucketId(ByteString type, ByteString bucket)
+        {
+            this.type = type;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof BucketId))
+            {
+                return false;
+            }
+            BucketId other = (BucketId) o;
+            return type.equals(other.type) && bucket.equals(other.bucket);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * type.hashCode() + bucket.hashCode();
+        }
+    }
+    
+    // A KV object (content) or a data type (datatype).
+    private static final class Stored
+    {
+        final ByteString vclock;
+        final RiakKvPB.RpbContent content;
+        final Object datatype;
+        
+        Stored(ByteString vclock, RiakKvPB.RpbContent content, Object datatype)
+        {
+            this.vclock = vclock;
+            this.content = content;
+            this.datatype = datatype;
+        }
+    }
+    
+    private static final class IndexEntry implements Comparable<IndexEntry>
+    {
+        final ByteString term;
+        final ByteString key;
+        // Non-null for _int indexes, whose terms sort numerically.
+        final BigInteger number;
+        
+        IndexEntry(ByteString term, ByteString key, boolean integer)
+        {
+            this.term = term;
+            this.key = key;
+            this.number = integer ? new BigInteger(term.toStringUtf8()) : null;
+        }
+        
+        @Override
+        public int compareTo(IndexEntry other)
+        {
+            int c = number != null ? number.compareTo(other.number) : BYTES.compare(term, other.term);
+            return c != 0 ? c : BYTES.compare(key, other.key);
+        }
+        
+        // Opaque to the client; the last entry returned.
+        ByteString toContinuation()
+        {
+            ByteBuffer buf = ByteBuffer.allocate(4 + term.size() + key.size());
+            buf.putInt(term.size());
+            term.copyTo(buf);
+            key.copyTo(buf);
+            buf.flip();
+            return ByteString.copyFrom(buf);
+        }
+        
+        static IndexEntry fromContinuation(ByteString continuation, boolean integer)
+        {
+            ByteBuffer buf = continuation.asReadOnlyByteBuffer();
+            int termLength = buf.getInt();
+            return new IndexEntry(continuation.substring(4, 4 + termLength), 
+                                  continuation.substring(4 + termLength),
+                                  integer);
+        }
+    }
+}
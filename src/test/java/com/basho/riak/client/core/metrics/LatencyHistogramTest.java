@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void smallValuesAreExact()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++)
+        {
+            histogram.record(i);
+        }
+        assertEquals(50, histogram.getCount());
+        assertEquals(25, histogram.getValueAtPercentile(50, TimeUnit.NANOSECONDS));
+        assertEquals(50, histogram.getValueAtPercentile(100, TimeUnit.NANOSECONDS));
+        assertEquals(25.5, histogram.getMean(TimeUnit.NANOSECONDS), 0.001);
+        assertEquals(50, histogram.getMax(TimeUnit.NANOSECONDS));
+    }
+    
+    @Test
+    public void percentilesWithinPrecision()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1ms to 1000ms
+        for (int i = 1; i <= 1000; i++)
+        {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        
+        assertWithin(500, histogram.getValueAtPercentile(50, TimeUnit.MILLISECONDS));
+        assertWithin(990, histogram.getValueAtPercentile(99, TimeUnit.MILLISECONDS));
+        assertEquals(1000, histogram.getValueAtPercentile(100, TimeUnit.MILLISECONDS));
+        assertEquals(1000, histogram.getMax(TimeUnit.MILLISECONDS));
+    }
+    
+    private void assertWithin(long expected, long actual)
+    {
+        assertTrue("expected about " + expected + " but was " + actual, 
+                   Math.abs(actual - expected) <= expected * 0.035);
+    }
+    
+    @Test
+    public void bucketsCoverEveryValue()
+    {
+        long previous = -1;
+        for (int i = 0; i <= LatencyHistogram.indexOf(Long.MAX_VALUE >>> 22); i++)
+        {
+            long highest = LatencyHistogram.highestEquivalentValue(i);
+            assertEquals(i, LatencyHistogram.indexOf(highest));
+            assertEquals(i, LatencyHistogram.indexOf(previous + 1));
+            previous = highest;
+        }
+    }
+    
+    @Test
+    public void outOfRangeValuesAreClamped()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50, TimeUnit.NANOSECONDS));
+        assertTrue(histogram.getMax(TimeUnit.MINUTES) >= 30);
+    }
+    
+    @Test
+    public void emptyAndReset()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99, TimeUnit.NANOSECONDS));
+        assertEquals(0, histogram.getMean(TimeUnit.NANOSECONDS), 0);
+        
+        histogram.record(1000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax(TimeUnit.NANOSECONDS));
+    }
+    
+    @Test
+    public void concurrentRecording() throws InterruptedException
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for (int j = 0; j < 10000; j++)
+                    {
+                        histogram.record(j);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads)
+        {
+            t.join();
+        }
+        assertEquals(80000, histogram.getCount());
+        assertEquals(9999, histogram.getMax(TimeUnit.NANOSECONDS));
+    }
+}
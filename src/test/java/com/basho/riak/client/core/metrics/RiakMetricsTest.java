@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.metrics;
+
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakNode;
+import com.basho.riak.client.core.fake.FakeRiakServer;
+import com.basho.riak.client.core.operations.FetchOperation;
+import com.basho.riak.client.core.operations.StoreOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RiakMetricsTest
+{
+    private final Location location = new Location(new Namespace("bucket"), "key");
+    private FakeRiakServer server;
+    private RiakNode node;
+    private RiakCluster cluster;
+    private RiakMetrics metrics;
+    private MBeanServer mbeanServer;
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        server = new FakeRiakServer.Builder().build().start();
+        node = new RiakNode.Builder()
+                    .withRemotePort(server.getPort())
+                    .build();
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        metrics = new RiakMetrics(mbeanServer, "RiakMetricsTest");
+        cluster = new RiakCluster.Builder(node)
+                    .withMetricsListener(metrics)
+                    .build();
+        cluster.start();
+    }
+    
+    @After
+    public void tearDown() throws Exception
+    {
+        cluster.shutdown().get();
+        server.shutdown();
+        metrics.unregister();
+    }
+    
+    private void store() throws Exception
+    {
+        StoreOperation store = 
+            new StoreOperation.Builder(location)
+                .withContent(new RiakObject().setValue(BinaryValue.create("value")))
+                .build();
+        cluster.execute(store).await();
+    }
+    
+    @Test
+    public void recordsOperationsPerTypeAndNode() throws Exception
+    {
+        store();
+        FetchOperation fetch = new FetchOperation.Builder(location).build();
+        cluster.execute(fetch).get();
+        
+        assertEquals(1, metrics.getOperationMetrics(OperationType.STORE).getSuccessCount());
+        assertEquals(1, metrics.getOperationMetrics(OperationType.FETCH).getSuccessCount());
+        assertEquals(0, metrics.getOperationMetrics(OperationType.DELETE).getSuccessCount());
+        
+        NodeMetrics nodeMetrics = metrics.getNodeMetrics(node);
+        assertEquals(2, nodeMetrics.getSuccessCount());
+        assertEquals(2, nodeMetrics.getPermitWait().getCount());
+        assertTrue(nodeMetrics.getConnectionCount() >= 1);
+        assertEquals(0, nodeMetrics.getHandshakeCount());
+        assertEquals(0, nodeMetrics.getInProgressOperations());
+        assertTrue(nodeMetrics.getAvailableConnections() >= 1);
+        assertEquals(node.availablePermits(), nodeMetrics.getAvailablePermits());
+    }
+    
+    @Test
+    public void recordsFailuresAndRetries() throws Exception
+    {
+        server.setErrorRate(1.0);
+        FetchOperation fetch = new FetchOperation.Builder(location).build();
+        cluster.execute(fetch).await();
+        assertFalse(fetch.isSuccess());
+        
+        OperationMetrics fetchMetrics = metrics.getOperationMetrics(OperationType.FETCH);
+        int attempts = RiakCluster.Builder.DEFAULT_EXECUTION_ATTEMPTS;
+        assertEquals(0, fetchMetrics.getSuccessCount());
+        assertEquals(attempts, fetchMetrics.getFailureCount());
+        assertEquals(attempts - 1, fetchMetrics.getRetryCount());
+        assertEquals(attempts - 1, metrics.getNodeMetrics(node).getRetryCount());
+    }
+    
+    @Test
+    public void registersMXBeans() throws Exception
+    {
+        store();
+        
+        ObjectName storeName = 
+            new ObjectName("com.basho.riak.client:type=Operation,cluster=\"RiakMetricsTest\",name=\"STORE\"");
+        assertEquals(1L, mbeanServer.getAttribute(storeName, "SuccessCount"));
+        assertTrue((Long) mbeanServer.getAttribute(storeName, "Latency99thPercentileMicros") > 0);
+        
+        ObjectName nodeName = 
+            new ObjectName("com.basho.riak.client:type=Node,cluster=\"RiakMetricsTest\",name=\"127.0.0.1:" 
+                           + server.getPort() + "\"");
+        assertEquals(1L, mbeanServer.getAttribute(nodeName, "SuccessCount"));
+        assertEquals(node.availablePermits(), mbeanServer.getAttribute(nodeName, "AvailablePermits"));
+        
+        metrics.nodeRemoved(node);
+        assertFalse(mbeanServer.isRegistered(nodeName));
+        metrics.unregister();
+        assertFalse(mbeanServer.isRegistered(storeName));
+    }
+}
@@ -88,4 +88,21 @@ public class RiakMessageCodecTest
         assertArrayEquals(data, message.getData());
         
     }
+    
+    @Test
+    public void decodeDoesNotCopyFrame() throws Exception
+    {
+        RiakMessageCodec codec = new RiakMessageCodec();
+        List<Object> outList = new ArrayList<Object>();
+        Whitebox.invokeMethod(codec, "decode", mockContext, buffer, outList);
+        RiakMessage message = (RiakMessage) outList.get(0);
+        
+        assertEquals(SIZE_DATA, message.getDataLength());
+        assertEquals(2, buffer.refCnt());
+        byte[] parsed = message.getCodedInputStream().readRawBytes(SIZE_DATA);
+        assertArrayEquals(data, parsed);
+        
+        message.release();
+        assertEquals(1, buffer.refCnt());
+    }
 }
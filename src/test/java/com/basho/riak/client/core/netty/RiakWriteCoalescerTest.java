@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class RiakWriteCoalescerTest
+{
+    @Test
+    public void flushDeferredToEndOfTick()
+    {
+        RiakWriteCoalescer.Counters counters = new RiakWriteCoalescer.Counters();
+        EmbeddedChannel channel =
+            new EmbeddedChannel(new RiakWriteCoalescer(100, 65536, counters));
+
+        for (int i = 0; i < 3; i++)
+        {
+            channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[10]));
+        }
+
+        assertNull(channel.readOutbound());
+        assertEquals(0, counters.getFlushCount());
+
+        channel.runPendingTasks();
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertNotNull(channel.readOutbound());
+        }
+        assertEquals(1, counters.getFlushCount());
+        assertEquals(3, counters.getMessageCount());
+        assertEquals(3.0, counters.getMessagesPerFlush(), 0.0);
+    }
+
+    @Test
+    public void flushImmediatelyAtMaxMessages()
+    {
+        RiakWriteCoalescer.Counters counters = new RiakWriteCoalescer.Counters();
+        EmbeddedChannel channel =
+            new EmbeddedChannel(new RiakWriteCoalescer(2, 65536, counters));
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[10]));
+        assertNull(channel.readOutbound());
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[10]));
+        assertNotNull(channel.readOutbound());
+        assertNotNull(channel.readOutbound());
+        assertEquals(1, counters.getFlushCount());
+    }
+
+    @Test
+    public void flushImmediatelyAtMaxBytes()
+    {
+        RiakWriteCoalescer.Counters counters = new RiakWriteCoalescer.Counters();
+        EmbeddedChannel channel =
+            new EmbeddedChannel(new RiakWriteCoalescer(100, 16, counters));
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[20]));
+        assertNotNull(channel.readOutbound());
+        assertEquals(1, counters.getFlushCount());
+        assertEquals(1, counters.getMessageCount());
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.operations;
+
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.converters.RiakObjectConverter;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import com.basho.riak.client.core.query.RiakObject;
+import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.client.core.util.BufferedValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.basho.riak.protobuf.RiakPB;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class FetchOperationTest
+{
+    private final Location location = 
+        new Location(new Namespace("bucket"), "key");
+    private final byte[] first = bytes(1000, 1);
+    private final byte[] second = bytes(3000, 7);
+    private final List<ByteBuf> allocated = new ArrayList<ByteBuf>();
+    private final ByteBufAllocator trackingAllocator = new AbstractByteBufAllocator()
+    {
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity)
+        {
+            ByteBuf buf = Unpooled.buffer(initialCapacity, maxCapacity);
+            allocated.add(buf);
+            return buf;
+        }
+
+        @Override
+        protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity)
+        {
+            ByteBuf buf = Unpooled.directBuffer(initialCapacity, maxCapacity);
+            allocated.add(buf);
+            return buf;
+        }
+
+        @Override
+        public boolean isDirectBufferPooled()
+        {
+            return false;
+        }
+    };
+
+    @Test
+    public void heapValuesByDefault() throws Exception
+    {
+        FetchOperation operation = new FetchOperation.Builder(location).build();
+        operation.setResponse(new RiakMessage(RiakMessageCodes.MSG_GetResp, response()));
+        List<RiakObject> objects = operation.get().getObjectList();
+
+        assertEquals(2, objects.size());
+        assertFalse(objects.get(0).hasBufferedValue());
+        assertArrayEquals(first, objects.get(0).getValue().getValue());
+        assertArrayEquals(second, objects.get(1).getValue().getValue());
+        assertEquals("text/plain", objects.get(1).getContentType());
+    }
+
+    @Test
+    public void bufferedValuesFromHeapFrame() throws Exception
+    {
+        // Offset the frame inside a larger array as the decoder's 
+        // cumulation buffer would
+        byte[] body = response();
+        ByteBuf frame = Unpooled.buffer(body.length + 16).writeZero(16).writeBytes(body);
+        frame.skipBytes(16);
+        
+        checkBuffered(new RiakMessage(RiakMessageCodes.MSG_GetResp, frame.slice()));
+    }
+
+    @Test
+    public void bufferedValuesFromDirectFrame() throws Exception
+    {
+        byte[] body = response();
+        ByteBuf frame = Unpooled.directBuffer(body.length).writeBytes(body);
+        
+        checkBuffered(new RiakMessage(RiakMessageCodes.MSG_GetResp, frame));
+        frame.release();
+    }
+
+    @Test
+    public void bufferedValueIsStored() throws Exception
+    {
+        RiakObject ro = new RiakObject()
+            .setBufferedValue(BufferedValue.wrap(Unpooled.directBuffer().writeBytes(first)));
+        
+        RiakKvPB.RpbContent content = RiakObjectConverter.convert(ro);
+        assertArrayEquals(first, content.getValue().toByteArray());
+        assertTrue(ro.release());
+    }
+
+    @Test
+    public void bufferedResponseIsConvertedOnce() throws Exception
+    {
+        final FetchOperation operation = new FetchOperation.Builder(location)
+            .withValueAllocator(trackingAllocator)
+            .build();
+        operation.setResponse(new RiakMessage(RiakMessageCodes.MSG_GetResp, response()));
+        
+        final CyclicBarrier barrier = new CyclicBarrier(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<FetchOperation.Response>> results = 
+            new ArrayList<Future<FetchOperation.Response>>();
+        for (int i = 0; i < 4; i++)
+        {
+            final boolean now = i % 2 == 0;
+            results.add(executor.submit(new Callable<FetchOperation.Response>()
+            {
+                @Override
+                public FetchOperation.Response call() throws Exception
+                {
+                    barrier.await();
+                    return now ? operation.getNow() : operation.get();
+                }
+            }));
+        }
+        executor.shutdown();
+        
+        FetchOperation.Response response = results.get(0).get();
+        for (Future<FetchOperation.Response> result : results)
+        {
+            assertSame(response, result.get());
+        }
+        
+        // Each buffer belongs to the one response
+        assertEquals(2, allocated.size());
+        for (RiakObject ro : response.getObjectList())
+        {
+            assertEquals(1, ro.getBufferedValue().refCnt());
+            assertTrue(ro.release());
+        }
+    }
+
+    @Test
+    public void undecodableResponseReleasesBuffers() throws Exception
+    {
+        FetchOperation operation = new FetchOperation.Builder(location)
+            .withValueAllocator(trackingAllocator)
+            .build();
+        
+        // The second sibling's user metadata is missing its required key, 
+        // which isn't found until after its value has been copied.
+        RiakKvPB.RpbContent good = RiakKvPB.RpbContent.newBuilder()
+            .setValue(ByteString.copyFrom(first))
+            .build();
+        RiakKvPB.RpbContent bad = RiakKvPB.RpbContent.newBuilder()
+            .setValue(ByteString.copyFrom(second))
+            .addUsermeta(RiakPB.RpbPair.newBuilder()
+                .setValue(ByteString.copyFromUtf8("meta"))
+                .buildPartial())
+            .buildPartial();
+        byte[] body = RiakKvPB.RpbGetResp.newBuilder()
+            .addContent(good)
+            .addContent(bad)
+            .buildPartial()
+            .toByteArray();
+        
+        try
+        {
+            operation.setResponse(new RiakMessage(RiakMessageCodes.MSG_GetResp, body));
+            fail("Expected the response not to decode");
+        }
+        catch (RuntimeException ex)
+        {
+            // expected
+        }
+        
+        assertEquals(2, allocated.size());
+        for (ByteBuf buf : allocated)
+        {
+            assertEquals(0, buf.refCnt());
+        }
+    }
+
+    private void checkBuffered(RiakMessage message) throws Exception
+    {
+        FetchOperation operation = new FetchOperation.Builder(location)
+            .withValueAllocator(PooledByteBufAllocator.DEFAULT)
+            .build();
+        operation.setResponse(message);
+        FetchOperation.Response response = operation.get();
+        List<RiakObject> objects = response.getObjectList();
+
+        assertEquals(2, objects.size());
+        
+        RiakObject ro = objects.get(0);
+        assertTrue(ro.hasBufferedValue());
+        assertTrue(ro.getBufferedValue().isDirect());
+        byte[] read = new byte[first.length];
+        new DataInputStream(ro.getBufferedValue().asInputStream()).readFully(read);
+        assertArrayEquals(first, read);
+        assertEquals("vtag1", ro.getVTag());
+        assertArrayEquals("vclock".getBytes(), ro.getVClock().getBytes());
+        
+        ro = objects.get(1);
+        ByteBuffer view = ro.getBufferedValue().asByteBuffer();
+        assertEquals(second.length, view.remaining());
+        read = new byte[second.length];
+        view.get(read);
+        assertArrayEquals(second, read);
+        assertEquals("text/plain", ro.getContentType());
+        assertEquals("vtag2", ro.getVTag());
+        assertEquals(BinaryValue.create("meta"), 
+                     ro.getUserMeta().get(BinaryValue.create("key")));
+        
+        // A heap copy is only made on request
+        assertArrayEquals(second, ro.getValue().getValue());
+        
+        for (RiakObject o : objects)
+        {
+            assertTrue(o.release());
+            assertEquals(0, o.getBufferedValue().refCnt());
+        }
+    }
+
+    private byte[] response() throws IOException
+    {
+        RiakKvPB.RpbContent sibling = RiakKvPB.RpbContent.newBuilder()
+            .setValue(ByteString.copyFrom(first))
+            .setVtag(ByteString.copyFromUtf8("vtag1"))
+            .build();
+        
+        // Put the second sibling's value between its metadata fields.
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        RiakKvPB.RpbContent.newBuilder()
+            .setContentType(ByteString.copyFromUtf8("text/plain"))
+            .buildPartial().writeTo(content);
+        CodedOutputStream out = CodedOutputStream.newInstance(content);
+        out.writeBytes(RiakKvPB.RpbContent.VALUE_FIELD_NUMBER, ByteString.copyFrom(second));
+        out.flush();
+        RiakKvPB.RpbContent.newBuilder()
+            .setVtag(ByteString.copyFromUtf8("vtag2"))
+            .addUsermeta(RiakPB.RpbPair.newBuilder()
+                .setKey(ByteString.copyFromUtf8("key"))
+                .setValue(ByteString.copyFromUtf8("meta")))
+            .buildPartial().writeTo(content);
+        
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        out = CodedOutputStream.newInstance(body);
+        out.writeMessage(RiakKvPB.RpbGetResp.CONTENT_FIELD_NUMBER, sibling);
+        out.writeBytes(RiakKvPB.RpbGetResp.CONTENT_FIELD_NUMBER, ByteString.copyFrom(content.toByteArray()));
+        out.writeBytes(RiakKvPB.RpbGetResp.VCLOCK_FIELD_NUMBER, ByteString.copyFromUtf8("vclock"));
+        out.flush();
+        return body.toByteArray();
+    }
+
+    private static byte[] bytes(int length, int seed)
+    {
+        byte[] b = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            b[i] = (byte) (i * seed);
+        }
+        return b;
+    }
+}
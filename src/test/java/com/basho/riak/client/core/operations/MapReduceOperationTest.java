@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.operations;
+
+import com.basho.riak.client.core.RiakMessage;
+import com.basho.riak.client.core.util.BinaryValue;
+import com.basho.riak.protobuf.RiakKvPB;
+import com.basho.riak.protobuf.RiakMessageCodes;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class MapReduceOperationTest
+{
+    private final BinaryValue job = BinaryValue.create("{\"inputs\":\"bucket\"}");
+    
+    private RiakMessage mapRedMessage(Integer phase, String json, boolean done)
+    {
+        RiakKvPB.RpbMapRedResp.Builder builder = RiakKvPB.RpbMapRedResp.newBuilder();
+        if (phase != null)
+        {
+            builder.setPhase(phase);
+        }
+        if (json != null)
+        {
+            builder.setResponse(ByteString.copyFromUtf8(json));
+        }
+        builder.setDone(done);
+        return new RiakMessage(RiakMessageCodes.MSG_MapRedResp, builder.build().toByteArray());
+    }
+    
+    @Test
+    public void resultsAreMergedPerPhase() throws Exception
+    {
+        MapReduceOperation operation = new MapReduceOperation.Builder(job).build();
+        operation.setResponse(mapRedMessage(0, "[1,2]", false));
+        operation.setResponse(mapRedMessage(1, "[{\"a\":1}]", false));
+        operation.setResponse(mapRedMessage(0, "[3]", false));
+        operation.setResponse(mapRedMessage(null, null, true));
+        
+        Map<Integer, ArrayNode> results = operation.get().getResults();
+        assertEquals(2, results.size());
+        assertEquals(3, results.get(0).size());
+        assertEquals(3, results.get(0).get(2).asInt());
+        assertEquals(1, results.get(1).get(0).get("a").asInt());
+    }
+    
+    @Test
+    public void resultsAreStreamedPerMessage() throws Exception
+    {
+        MapReduceOperation operation = 
+            new MapReduceOperation.Builder(job).streamResults(4).build();
+        operation.setResponse(mapRedMessage(0, "[1,2]", false));
+        operation.setResponse(mapRedMessage(1, "[\"x\"]", false));
+        operation.setResponse(mapRedMessage(null, null, true));
+        
+        MapReduceOperation.PhaseResult result = operation.takeChunk();
+        assertEquals(0, result.getPhase());
+        assertEquals(Arrays.asList(1, 2), result.getResults(Integer.class));
+        assertEquals(2, result.getResults().size());
+        
+        result = operation.takeChunk();
+        assertEquals(1, result.getPhase());
+        assertEquals(Arrays.asList("x"), result.getResults(String.class));
+        
+        assertNull(operation.takeChunk());
+        assertTrue(operation.isSuccess());
+        assertTrue(operation.get().getResults().isEmpty());
+    }
+}
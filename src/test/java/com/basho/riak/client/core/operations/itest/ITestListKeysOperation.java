@@ -179,4 +179,35 @@ public class ITestListKeysOperation extends ITestBase
         ITestBase.resetAndEmptyBucket(ns);
         
     }
+    
+    @Test
+    public void testStreamKeysDefaultType() throws InterruptedException, ExecutionException
+    {
+        final Namespace ns = new Namespace(Namespace.DEFAULT_BUCKET_TYPE, bucketName.toString() + "_4");
+        final String value = "{\"value\":\"value\"}";
+        
+        for (int i = 0; i < 100; i++)
+        {
+            BinaryValue key = BinaryValue.unsafeCreate(("my_key" + i).getBytes());
+            StoreOperation storeOp = 
+                new StoreOperation.Builder(new Location(ns, key))
+                .withContent(new RiakObject().setValue(BinaryValue.create(value)))
+                .build();
+            cluster.execute(storeOp);
+            storeOp.get();
+        }
+        
+        ListKeysOperation klistOp = new ListKeysOperation.Builder(ns).streamResults(2).build();
+        cluster.execute(klistOp);
+        int count = 0;
+        List<BinaryValue> chunk;
+        while ((chunk = klistOp.takeChunk()) != null)
+        {
+            count += chunk.size();
+        }
+        
+        assertTrue(klistOp.isSuccess());
+        assertEquals(100, count);
+        resetAndEmptyBucket(ns);
+    }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.basho.riak.client.core.tracing;
+
+import com.basho.riak.client.api.RiakClient;
+import com.basho.riak.client.api.commands.kv.FetchValue;
+import com.basho.riak.client.core.FutureOperation;
+import com.basho.riak.client.core.RiakCluster;
+import com.basho.riak.client.core.RiakNode;
+import com.basho.riak.client.core.fake.FakeRiakServer;
+import com.basho.riak.client.core.operations.FetchOperation;
+import com.basho.riak.client.core.query.Location;
+import com.basho.riak.client.core.query.Namespace;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OperationTracerTest
+{
+    private final Location location = new Location(new Namespace("bucket"), "key");
+    private final BlockingQueue<Span> spans = new LinkedBlockingQueue<Span>();
+    private FakeRiakServer server;
+    private RiakNode node;
+    private RiakCluster cluster;
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        server = new FakeRiakServer.Builder().build().start();
+        node = new RiakNode.Builder()
+                    .withRemotePort(server.getPort())
+                    .build();
+        cluster = new RiakCluster.Builder(node)
+                    .withOperationTracer(new OperationTracer()
+                    {
+                        @Override
+                        public void span(FutureOperation<?, ?, ?> operation, TraceStage stage, 
+                                         long startNanos, long endNanos, RiakNode node, int attempt)
+                        {
+                            spans.add(new Span(operation, stage, startNanos, endNanos, node, attempt));
+                        }
+                    })
+                    .build();
+        cluster.start();
+    }
+    
+    @After
+    public void tearDown() throws Exception
+    {
+        cluster.shutdown().get();
+        server.shutdown();
+    }
+    
+    private List<Span> takeSpans(int count) throws InterruptedException
+    {
+        List<Span> taken = new ArrayList<Span>();
+        for (int i = 0; i < count; i++)
+        {
+            Span span = spans.poll(5, TimeUnit.SECONDS);
+            assertNotNull("Expected " + count + " spans, got " + taken, span);
+            taken.add(span);
+        }
+        return taken;
+    }
+    
+    @Test
+    public void tracesEachStageOfACommand() throws Exception
+    {
+        // The command's result is converted when it's asked for, which
+        // races the operation's listeners completing the command's future.
+        RiakClient client = new RiakClient(cluster);
+        FetchValue fv = new FetchValue.Builder(location).build();
+        client.execute(fv);
+        
+        List<Span> taken = takeSpans(7);
+        List<TraceStage> stages = new ArrayList<TraceStage>();
+        for (Span span : taken)
+        {
+            stages.add(span.stage);
+            assertSame(taken.get(0).operation, span.operation);
+            assertTrue(span.end >= span.start);
+        }
+        assertEquals(Arrays.asList(TraceStage.COMMAND, TraceStage.CONNECTION_WAIT, 
+                                   TraceStage.WRITE, TraceStage.RESPONSE, 
+                                   TraceStage.DECODE), 
+                     stages.subList(0, 5));
+        assertEquals(EnumSet.of(TraceStage.LISTENERS, TraceStage.CONVERT), 
+                     EnumSet.copyOf(stages.subList(5, 7)));
+        
+        // Before the operation is sent to a node
+        assertEquals(null, taken.get(0).node);
+        assertEquals(0, taken.get(0).attempt);
+        for (Span span : taken.subList(1, taken.size()))
+        {
+            assertSame(node, span.node);
+            assertEquals(1, span.attempt);
+        }
+        
+        // The stages of the attempt follow on from each other
+        for (int i = 2; i < 5; i++)
+        {
+            assertEquals(taken.get(i - 1).end, taken.get(i).start);
+        }
+    }
+    
+    @Test
+    public void tracesEachAttempt() throws Exception
+    {
+        server.setErrorRate(1.0);
+        FetchOperation fetch = new FetchOperation.Builder(location).build();
+        cluster.execute(fetch).await();
+        assertFalse(fetch.isSuccess());
+        
+        // No command span for an operation executed directly on the cluster
+        List<Integer> attempts = new ArrayList<Integer>();
+        Span span;
+        while ((span = spans.poll(1, TimeUnit.SECONDS)) != null)
+        {
+            assertFalse(span.stage == TraceStage.COMMAND);
+            if (span.stage == TraceStage.CONNECTION_WAIT)
+            {
+                attempts.add(span.attempt);
+            }
+        }
+        assertEquals(Arrays.asList(1, 2, 3), attempts);
+    }
+    
+    @Test
+    public void onlyFirstOperationOfACommandTracesIt() throws Exception
+    {
+        // As a command that sends more than one operation would
+        FetchOperation first = new FetchOperation.Builder(location).build();
+        FetchOperation second = new FetchOperation.Builder(location).build();
+        cluster.commandStarted();
+        try
+        {
+            cluster.execute(first);
+            cluster.execute(second);
+        }
+        finally
+        {
+            cluster.commandSubmitted();
+        }
+        first.await();
+        second.await();
+        
+        List<Span> commands = new ArrayList<Span>();
+        Span span;
+        while ((span = spans.poll(1, TimeUnit.SECONDS)) != null)
+        {
+            if (span.stage == TraceStage.COMMAND)
+            {
+                commands.add(span);
+            }
+        }
+        assertEquals(1, commands.size());
+        assertSame(first, commands.get(0).operation);
+    }
+    
+    private static class Span
+    {
+        final FutureOperation<?, ?, ?> operation;
+        final TraceStage stage;
+        final long start;
+        final long end;
+        final RiakNode node;
+        final int attempt;
+
+        Span(FutureOperation<?, ?, ?> operation, TraceStage stage, long start, 
+             long end, RiakNode node, int attempt)
+        {
+            this.operation = operation;
+            this.stage = stage;
+            this.start = start;
+            this.end = end;
+            this.node = node;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public String toString()
+        {
+            return stage + "/" + attempt;
+        }
+    }
+}